@@ -1,73 +1,212 @@
 package com.communityplatform.content;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.communityplatform.content.cache.FollowingIdsCache;
+import com.communityplatform.content.cache.UserProfileCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
+    /** Must not exceed the batch limit enforced by user-service. */
+    private static final int BATCH_SIZE = 100;
+
     private final WebClient userServiceWebClient;
+    private final FollowingIdsCache followingIdsCache;
+    private final UserProfileCache userProfileCache;
 
     @Value("${user-service.timeout-ms:2000}")
     private long timeoutMs;
 
+    @Value("${user-service.batch-concurrency:4}")
+    private int batchConcurrency;
+
+    @Value("${user-service.page-deadline-ms:2500}")
+    private long pageDeadlineMs;
+
+    /**
+     * Get a user profile. Served from the profile cache; concurrent misses for
+     * the same user share one call to user-service.
+     */
     public Optional<UserProfileDto> getUserById(Long userId) {
         if (userId == null) {
             return Optional.empty();
         }
 
-        try {
-            UserProfileDto profile = userServiceWebClient.get()
-                    .uri("/api/v1/users/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(UserProfileDto.class)
-                    .timeout(Duration.ofMillis(timeoutMs))
-                    .block();
-            return Optional.ofNullable(profile);
-        } catch (Exception ex) {
-            log.warn("Failed to fetch user {} from user-service: {}", userId, ex.getMessage());
-            return Optional.empty();
+        Optional<UserProfileDto> profile = userProfileCache.get(userId, this::fetchUser).block();
+        return profile == null ? Optional.empty() : profile;
+    }
+
+    /**
+     * Resolve several user profiles with as few calls to user-service as possible.
+     * Cached profiles are used first; the remaining IDs are de-duplicated and sent
+     * in chunks through the batch endpoint, with up to {@code batch-concurrency}
+     * chunks in flight at once. The whole lookup is bounded by one page deadline;
+     * IDs that cannot be resolved by then are simply absent from the returned map.
+     */
+    public Map<Long, UserProfileDto> getUsersByIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
         }
+
+        List<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, UserProfileDto> profiles = userProfileCache.getAll(distinctIds, this::fetchUsers).block();
+        return profiles == null ? Collections.emptyMap() : profiles;
+    }
+
+    /**
+     * Load one profile. A 404 resolves to an empty optional, which is cached as
+     * a negative result; any other failure is signalled as an error.
+     */
+    private Mono<Optional<UserProfileDto>> fetchUser(Long userId) {
+        return userServiceWebClient.get()
+                .uri("/api/v1/users/{id}", userId)
+                .retrieve()
+                .bodyToMono(UserProfileDto.class)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.just(Optional.empty()))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .doOnError(ex -> log.warn("Failed to fetch user {} from user-service: {}", userId, ex.getMessage()));
+    }
+
+    /**
+     * Load profiles through the batch endpoint, chunks in parallel. Every ID of a
+     * chunk that was answered gets an entry (empty when user-service does not know
+     * it); IDs of failed chunks, or of chunks still pending at the page deadline,
+     * are left out so they are not cached as missing.
+     */
+    private Mono<Map<Long, Optional<UserProfileDto>>> fetchUsers(List<Long> userIds) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+            chunks.add(userIds.subList(from, Math.min(from + BATCH_SIZE, userIds.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+                .flatMap(chunk -> fetchUsersChunk(chunk)
+                        .onErrorResume(ex -> {
+                            log.warn("Failed to fetch {} users from user-service: {}", chunk.size(), ex.getMessage());
+                            return Mono.just(Map.of());
+                        }), batchConcurrency)
+                .take(Duration.ofMillis(pageDeadlineMs))
+                .collectList()
+                .map(answered -> {
+                    Map<Long, Optional<UserProfileDto>> resolved = new HashMap<>();
+                    answered.forEach(resolved::putAll);
+                    return resolved;
+                });
+    }
+
+    private Mono<Map<Long, Optional<UserProfileDto>>> fetchUsersChunk(List<Long> chunk) {
+        return userServiceWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/users/batch")
+                        .queryParam("ids", chunk)
+                        .build())
+                .retrieve()
+                .bodyToFlux(UserProfileDto.class)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .filter(profile -> profile.getId() != null)
+                .collectMap(UserProfileDto::getId)
+                .map(found -> {
+                    Map<Long, Optional<UserProfileDto>> resolved = new HashMap<>();
+                    chunk.forEach(id -> resolved.put(id, Optional.ofNullable(found.get(id))));
+                    return resolved;
+                });
     }
 
+    /**
+     * Get the IDs of users a user is following. Served from the local follow
+     * graph cache; misses load the ids-only endpoint of user-service.
+     */
     public List<Long> getFollowingIds(Long userId) {
         if (userId == null) {
             return Collections.emptyList();
         }
 
+        return followingIdsCache.get(userId, () -> fetchFollowingIds(userId))
+                .map(ids -> Arrays.stream(ids).boxed().toList())
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Drop the cached following set of a user after a follow change.
+     */
+    public void evictFollowingIds(Long userId) {
+        followingIdsCache.evict(userId);
+    }
+
+    private Optional<long[]> fetchFollowingIds(Long userId) {
         try {
-            List<UserSummaryDto> following = userServiceWebClient.get()
-                    .uri("/api/v1/users/{id}/following", userId)
+            List<Long> following = userServiceWebClient.get()
+                    .uri("/api/v1/users/{id}/following/ids", userId)
                     .retrieve()
-                    .bodyToFlux(UserSummaryDto.class)
+                    .bodyToFlux(Long.class)
                     .timeout(Duration.ofMillis(timeoutMs))
                     .collectList()
                     .block();
 
-            if (following == null || following.isEmpty()) {
-                return Collections.emptyList();
+            if (following == null) {
+                return Optional.of(new long[0]);
             }
-
-            return following.stream()
-                    .map(UserSummaryDto::getId)
+            return Optional.of(following.stream()
                     .filter(Objects::nonNull)
+                    .mapToLong(Long::longValue)
                     .distinct()
-                    .toList();
+                    .toArray());
         } catch (Exception ex) {
             log.warn("Failed to fetch following for user {}: {}", userId, ex.getMessage());
-            return Collections.emptyList();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get the IDs of a user's followers. An empty optional means the lookup
+     * failed, which callers must not confuse with having no followers.
+     */
+    public Optional<List<Long>> getFollowerIds(Long userId) {
+        if (userId == null) {
+            return Optional.of(Collections.emptyList());
+        }
+
+        try {
+            List<Long> followerIds = userServiceWebClient.get()
+                    .uri("/api/v1/users/{id}/followers/ids", userId)
+                    .retrieve()
+                    .bodyToFlux(Long.class)
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .collectList()
+                    .block();
+
+            return Optional.of(followerIds == null ? Collections.emptyList() : followerIds);
+        } catch (Exception ex) {
+            log.warn("Failed to fetch followers for user {}: {}", userId, ex.getMessage());
+            return Optional.empty();
         }
     }
 }
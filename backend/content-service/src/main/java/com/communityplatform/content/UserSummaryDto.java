@@ -1,16 +0,0 @@
-package com.communityplatform.content;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class UserSummaryDto {
-
-    private Long id;
-    private String username;
-    private String fullName;
-    private String profilePictureUrl;
-}
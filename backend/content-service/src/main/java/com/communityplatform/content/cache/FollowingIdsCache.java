@@ -0,0 +1,81 @@
+package com.communityplatform.content.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local cache of each user's following set, stored as primitive long arrays.
+ * 
+ * Features:
+ * - Entries expire after a TTL so missed invalidations only delay visibility
+ * - Follow/unfollow events evict the follower's entry
+ * - Bounded size; expired entries are purged first when full
+ * - A load that overlaps an eviction is not cached, so an invalidated set
+ *   cannot be re-inserted by a slow in-flight lookup
+ */
+@Component
+@Slf4j
+public class FollowingIdsCache {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${follow-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${follow-cache.max-entries:50000}")
+    private int maxEntries;
+
+    /**
+     * Get the cached following IDs of a user, loading them on a miss.
+     * Failed loads (empty optional) are not cached.
+     */
+    public Optional<long[]> get(Long userId, Supplier<Optional<long[]>> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt() - now > 0) {
+            return Optional.of(entry.ids());
+        }
+
+        long generation = invalidations.get();
+        Optional<long[]> loaded = loader.get();
+        if (loaded.isPresent() && generation == invalidations.get()) {
+            put(userId, loaded.get(), now);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop a user's cached following set.
+     */
+    public void evict(Long userId) {
+        invalidations.incrementAndGet();
+        entries.remove(userId);
+        log.debug("Evicted following cache for user {}", userId);
+    }
+
+    private void put(Long userId, long[] ids, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(existing -> existing.expiresAt() - now <= 0);
+            Iterator<Long> keys = entries.keySet().iterator();
+            while (entries.size() >= maxEntries && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        entries.put(userId, new Entry(ids, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+    }
+
+    private record Entry(long[] ids, long expiresAt) {
+    }
+}
@@ -0,0 +1,304 @@
+package com.communityplatform.content.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.communityplatform.content.exception.MediaStorageException;
+import com.communityplatform.content.media.MediaStorage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded read-through cache of media objects on local disk, in front
+ * of the configured MediaStorage.
+ *
+ * Features:
+ * - In-memory LRU index of cached objects; the least recently used are
+ *   evicted once {@code max-bytes} is exceeded
+ * - Concurrent misses for the same object share a single fill
+ * - Objects larger than {@code max-object-bytes} are not cached; callers
+ *   stream them from storage instead
+ * - Files of evicted entries are deleted after {@code delete-delay-ms}, so
+ *   responses still sending them are not cut short
+ * - Hit/miss/bypass, coalesced, eviction and size metrics under media.proxy.cache.*
+ *
+ * Stored objects are never rewritten under the same key, so cached copies
+ * need no revalidation, but every delete of an object must {@link #evict}
+ * it. A fill that raced with an evict is served once and not kept. The
+ * index is not persisted; files left by a previous run are deleted on
+ * startup.
+ */
+@Component
+@Slf4j
+public class MediaObjectCache {
+
+    private final MediaStorage storage;
+    private final Path dir;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+    private final long deleteDelayNanos;
+
+    /** Access-ordered; guarded by {@code this}. */
+    private final LinkedHashMap<String, CachedObject> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    /** Count of {@link #evict} calls; guarded by {@code this}. */
+    private long invalidations;
+
+    private final Map<String, CompletableFuture<Optional<CachedObject>>> inFlight = new ConcurrentHashMap<>();
+    private final Queue<RetiredFile> retired = new ConcurrentLinkedQueue<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypassed;
+    private final Counter coalesced;
+    private final Counter evictions;
+
+    public MediaObjectCache(MediaStorage storage, MeterRegistry meterRegistry,
+            @Value("${media.proxy.cache.dir:data/media-cache}") String dir,
+            @Value("${media.proxy.cache.max-bytes:1073741824}") long maxBytes,
+            @Value("${media.proxy.cache.max-object-bytes:52428800}") long maxObjectBytes,
+            @Value("${media.proxy.cache.delete-delay-ms:60000}") long deleteDelayMs) {
+        this.storage = storage;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.maxObjectBytes = Math.min(maxObjectBytes, maxBytes);
+        this.deleteDelayNanos = TimeUnit.MILLISECONDS.toNanos(deleteDelayMs);
+        clearDirectory();
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.bypassed = requests(meterRegistry, "bypass");
+        this.coalesced = Counter.builder("media.proxy.cache.coalesced")
+                .description("Lookups that joined an in-flight fill")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("media.proxy.cache.evictions")
+                .description("Objects evicted to stay within the size bound")
+                .register(meterRegistry);
+        Gauge.builder("media.proxy.cache.bytes", this, MediaObjectCache::cachedBytes)
+                .description("Bytes of cached objects")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("media.proxy.cache.size", this, MediaObjectCache::size)
+                .description("Cached objects")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get an object, copying it to the cache on a miss.
+     *
+     * @return Empty if the object does not exist; otherwise the object, with
+     *         no file if it is too large to cache
+     */
+    public Optional<CachedObject> get(String bucket, String key) {
+        String id = bucket + "/" + key;
+        CachedObject cached = lookup(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        CompletableFuture<Optional<CachedObject>> fill = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedObject>> existing = inFlight.putIfAbsent(id, fill);
+        if (existing != null) {
+            coalesced.increment();
+            return MediaStorage.await(existing, "Failed to load media file " + key);
+        }
+
+        try {
+            // Another fill may have finished between the lookup and registering ours
+            cached = lookup(id);
+            Optional<CachedObject> result = cached != null ? Optional.of(cached) : load(bucket, key, id);
+            fill.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            fill.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, fill);
+        }
+    }
+
+    /**
+     * Drop an object that was deleted from storage. Its file is removed once
+     * responses still sending it are done.
+     */
+    public void evict(String bucket, String key) {
+        String id = bucket + "/" + key;
+        synchronized (this) {
+            invalidations++;
+            CachedObject removed = index.remove(id);
+            if (removed != null) {
+                cachedBytes -= removed.size();
+                retire(removed);
+            }
+        }
+    }
+
+    /**
+     * Delete files of evicted entries once no response can still be sending them.
+     */
+    @Scheduled(fixedDelayString = "${media.proxy.cache.purge-interval-ms:10000}")
+    public void purgeRetired() {
+        long now = System.nanoTime();
+        RetiredFile file;
+        while ((file = retired.peek()) != null && now - file.retiredAt() >= deleteDelayNanos) {
+            retired.poll();
+            deleteQuietly(file.path());
+        }
+    }
+
+    private Optional<CachedObject> load(String bucket, String key, String id) {
+        long generation = invalidations();
+        Optional<MediaStorage.ObjectStat> stat = storage.stat(bucket, key);
+        if (stat.isEmpty()) {
+            return Optional.empty();
+        }
+        long size = stat.get().size();
+        String etag = '"' + Integer.toHexString(id.hashCode()) + "-" + Long.toHexString(size) + '"';
+        if (size > maxObjectBytes) {
+            bypassed.increment();
+            return Optional.of(new CachedObject(null, size, stat.get().contentType(), etag));
+        }
+
+        misses.increment();
+        CachedObject object = new CachedObject(copy(bucket, key, size), size, stat.get().contentType(), etag);
+        admit(id, object, generation);
+        return Optional.of(object);
+    }
+
+    private Path copy(String bucket, String key, long size) {
+        Path file;
+        try {
+            file = Files.createTempFile(dir, "object-", ".bin");
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to create cache file", ex);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long copied = storage.transferTo(bucket, key, 0, size, channel);
+            if (copied != size) {
+                throw new MediaStorageException("Read " + copied + " of " + size + " bytes of " + key);
+            }
+            return file;
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(file);
+            if (ex instanceof MediaStorageException storageException) {
+                throw storageException;
+            }
+            throw new MediaStorageException("Failed to cache media file " + key, ex);
+        }
+    }
+
+    private synchronized CachedObject lookup(String id) {
+        return index.get(id);
+    }
+
+    /**
+     * Add a filled object, unless an object was evicted since the fill began
+     * and this copy may be of a deleted object; it is then only retired.
+     */
+    private synchronized void admit(String id, CachedObject object, long generation) {
+        if (invalidations != generation) {
+            retire(object);
+            return;
+        }
+        CachedObject previous = index.put(id, object);
+        cachedBytes += object.size();
+        if (previous != null) {
+            cachedBytes -= previous.size();
+            retire(previous);
+        }
+
+        Iterator<Map.Entry<String, CachedObject>> entries = index.entrySet().iterator();
+        while (cachedBytes > maxBytes && entries.hasNext()) {
+            Map.Entry<String, CachedObject> eldest = entries.next();
+            if (eldest.getKey().equals(id)) {
+                continue;
+            }
+            entries.remove();
+            cachedBytes -= eldest.getValue().size();
+            retire(eldest.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void retire(CachedObject object) {
+        retired.add(new RetiredFile(object.file(), System.nanoTime()));
+    }
+
+    private synchronized long invalidations() {
+        return invalidations;
+    }
+
+    private synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+
+    private synchronized int size() {
+        return index.size();
+    }
+
+    private void clearDirectory() {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                files.filter(Files::isRegularFile).forEach(MediaObjectCache::deleteQuietly);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to prepare media cache directory " + dir, ex);
+        }
+        log.info("Caching proxied media under {} (max {} bytes)", dir, maxBytes);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Failed to delete cached media file {}", file, ex);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("media.proxy.cache.requests")
+                .description("Media proxy cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A media object as seen by the proxy.
+     *
+     * @param file Cached copy, or null if the object is streamed from storage
+     * @param etag Strong entity tag, stable for the object key
+     */
+    public record CachedObject(Path file, long size, String contentType, String etag) {
+
+        public boolean isCached() {
+            return file != null;
+        }
+    }
+
+    private record RetiredFile(Path path, long retiredAt) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.communityplatform.content.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local cache of presigned download URLs, keyed by bucket and object.
+ *
+ * Features:
+ * - A signed URL is handed out again until less than
+ *   {@code min-remaining-seconds} of its lifetime is left, so repeated views
+ *   of the same media cost no signing and return the same, browser-cacheable URL
+ * - Callers get the remaining lifetime, not the original one
+ * - Bounded size; expired entries are purged first when full
+ * - Entries of removed objects are evicted
+ */
+@Component
+@Slf4j
+public class PresignedUrlCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${media.presigned-cache.min-remaining-seconds:300}")
+    private long minRemainingSeconds;
+
+    @Value("${media.presigned-cache.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * Get a URL for the object that stays valid for at least
+     * {@code min-remaining-seconds}, signing a new one on a miss.
+     *
+     * @param lifetimeSeconds Lifetime of URLs produced by the signer
+     */
+    public SignedUrl get(String bucket, String objectKey, long lifetimeSeconds, Supplier<String> signer) {
+        String key = bucket + "/" + objectKey;
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - now >= TimeUnit.SECONDS.toNanos(minRemainingSeconds)) {
+            return new SignedUrl(entry.url(), TimeUnit.NANOSECONDS.toSeconds(entry.expiresAt() - now));
+        }
+
+        String url = signer.get();
+        put(key, new Entry(url, now + TimeUnit.SECONDS.toNanos(lifetimeSeconds)), now);
+        return new SignedUrl(url, lifetimeSeconds);
+    }
+
+    /**
+     * Drop the cached URL of an object.
+     */
+    public void evict(String bucket, String objectKey) {
+        entries.remove(bucket + "/" + objectKey);
+    }
+
+    private void put(String key, Entry entry, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(existing -> existing.expiresAt() - now <= 0);
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() >= maxEntries && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * A presigned URL and how long it remains valid.
+     */
+    public record SignedUrl(String url, long expiresInSeconds) {
+    }
+
+    private record Entry(String url, long expiresAt) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.communityplatform.content.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.communityplatform.content.UserProfileDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Size-bounded, TTL-based cache of user profiles fetched from user-service.
+ * 
+ * Features:
+ * - Fresh entries are served without a remote call
+ * - Expired entries remain servable for a stale window while one background
+ *   refresh runs (stale-while-revalidate); failed refreshes keep the stale value
+ * - Users reported missing by user-service are cached with a shorter TTL
+ * - Past {@code max-entries}, the least recently used entries are evicted
+ * - Concurrent misses and refreshes for the same user share a single
+ *   in-flight lookup, whether single or batched; a batch only asks for the
+ *   users no other lookup is already fetching
+ * - Hit/stale/miss, coalesced, eviction and size metrics under user.profile.cache.*
+ * 
+ * Loaders return an empty optional for "user does not exist" and signal an
+ * error for failures; only the former is cached.
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    /** Access-ordered, least recently used first; guarded by {@code this}. */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Mono<Optional<UserProfileDto>>> inFlight = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final long negativeTtlNanos;
+    private final int maxEntries;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter evictions;
+
+    public UserProfileCache(MeterRegistry meterRegistry,
+            @Value("${user-profile-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${user-profile-cache.stale-seconds:300}") long staleSeconds,
+            @Value("${user-profile-cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            @Value("${user-profile-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.staleNanos = TimeUnit.SECONDS.toNanos(staleSeconds);
+        this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        this.maxEntries = maxEntries;
+
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.coalesced = Counter.builder("user.profile.cache.coalesced")
+                .description("Lookups that joined an in-flight load")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("user.profile.cache.evictions")
+                .description("Entries evicted to stay within the size bound")
+                .register(meterRegistry);
+        Gauge.builder("user.profile.cache.size", this, UserProfileCache::size)
+                .description("Cached user profiles")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get one profile, loading it on a miss.
+     */
+    public Mono<Optional<UserProfileDto>> get(Long userId, Function<Long, Mono<Optional<UserProfileDto>>> loader) {
+        long now = System.nanoTime();
+        Entry entry = lookup(userId, now);
+        if (entry != null && entry.isFresh(now)) {
+            hits.increment();
+            return Mono.just(entry.profile());
+        }
+        if (entry != null) {
+            staleHits.increment();
+            load(userId, loader).subscribe(profile -> {
+            }, ex -> log.debug("Background refresh of user {} failed: {}", userId, ex.getMessage()));
+            return Mono.just(entry.profile());
+        }
+
+        misses.increment();
+        return load(userId, loader)
+                .onErrorResume(ex -> Mono.just(Optional.empty()));
+    }
+
+    /**
+     * Get several profiles. Fresh and stale entries are served from the cache,
+     * stale ones are refreshed in the background, and the rest are loaded with
+     * one call to the batch loader. Missing users are absent from the result.
+     * 
+     * The batch loader returns an entry for every ID it resolved (empty when the
+     * user does not exist); IDs it could not resolve are simply left out.
+     */
+    public Mono<Map<Long, UserProfileDto>> getAll(Collection<Long> userIds,
+            Function<List<Long>, Mono<Map<Long, Optional<UserProfileDto>>>> batchLoader) {
+        long now = System.nanoTime();
+        Map<Long, UserProfileDto> found = new HashMap<>();
+        List<Long> stale = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long userId : userIds) {
+            Entry entry = lookup(userId, now);
+            if (entry != null && entry.isFresh(now)) {
+                hits.increment();
+                entry.profile().ifPresent(profile -> found.put(userId, profile));
+            } else if (entry != null) {
+                staleHits.increment();
+                stale.add(userId);
+                entry.profile().ifPresent(profile -> found.put(userId, profile));
+            } else {
+                misses.increment();
+                missing.add(userId);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            loadAll(stale, batchLoader).forEach((userId, refresh) -> refresh.subscribe(profile -> {
+            }, ex -> log.debug("Background refresh of user {} failed: {}", userId, ex.getMessage())));
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+
+        return Flux.fromIterable(loadAll(missing, batchLoader).entrySet())
+                .flatMap(load -> load.getValue()
+                        .onErrorResume(ex -> Mono.just(Optional.empty()))
+                        .map(profile -> Map.entry(load.getKey(), profile)))
+                .collectList()
+                .map(loaded -> {
+                    loaded.forEach(result -> result.getValue().ifPresent(p -> found.put(result.getKey(), p)));
+                    return found;
+                });
+    }
+
+    private Mono<Optional<UserProfileDto>> load(Long userId, Function<Long, Mono<Optional<UserProfileDto>>> loader) {
+        Mono<Optional<UserProfileDto>> existing = inFlight.get(userId);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        return inFlight.computeIfAbsent(userId, id -> loader.apply(id)
+                .doOnNext(profile -> put(id, profile))
+                .doFinally(signal -> inFlight.remove(id))
+                .cache());
+    }
+
+    /**
+     * Load several users, joining lookups already in flight and sending only
+     * the remaining IDs to the batch loader. The batch is started right away so
+     * every registered lookup completes, whether or not anyone subscribes.
+     */
+    private Map<Long, Mono<Optional<UserProfileDto>>> loadAll(List<Long> userIds,
+            Function<List<Long>, Mono<Map<Long, Optional<UserProfileDto>>>> batchLoader) {
+        Map<Long, Mono<Optional<UserProfileDto>>> loads = new HashMap<>();
+        Map<Long, Sinks.One<Optional<UserProfileDto>>> claimed = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            Sinks.One<Optional<UserProfileDto>> sink = Sinks.one();
+            Mono<Optional<UserProfileDto>> existing = inFlight.putIfAbsent(userId, sink.asMono());
+            if (existing != null) {
+                coalesced.increment();
+                loads.put(userId, existing);
+            } else {
+                claimed.put(userId, sink);
+                loads.put(userId, sink.asMono());
+            }
+        }
+        if (claimed.isEmpty()) {
+            return loads;
+        }
+
+        batchLoader.apply(new ArrayList<>(claimed.keySet()))
+                .defaultIfEmpty(Map.of())
+                .subscribe(loaded -> claimed.forEach((userId, sink) -> {
+                    Optional<UserProfileDto> profile = loaded.get(userId);
+                    if (profile != null) {
+                        put(userId, profile);
+                    }
+                    inFlight.remove(userId);
+                    if (profile != null) {
+                        sink.tryEmitValue(profile);
+                    } else {
+                        sink.tryEmitError(new IllegalStateException("User " + userId + " was not resolved"));
+                    }
+                }), ex -> claimed.forEach((userId, sink) -> {
+                    inFlight.remove(userId);
+                    sink.tryEmitError(ex);
+                }));
+        return loads;
+    }
+
+    /**
+     * Get a servable entry; one past its stale window is dropped.
+     */
+    private synchronized Entry lookup(Long userId, long now) {
+        Entry entry = entries.get(userId);
+        if (entry != null && !entry.isServable(now)) {
+            entries.remove(userId);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Store an entry, evicting the least recently used ones over the bound.
+     */
+    private synchronized void put(Long userId, Optional<UserProfileDto> profile) {
+        long now = System.nanoTime();
+        long ttl = profile.isPresent() ? ttlNanos : negativeTtlNanos;
+        long stale = profile.isPresent() ? staleNanos : 0;
+        entries.put(userId, new Entry(profile, now + ttl, now + ttl + stale));
+
+        Iterator<Long> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.profile.cache.requests")
+                .description("User profile cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(Optional<UserProfileDto> profile, long freshUntil, long servableUntil) {
+
+        boolean isFresh(long now) {
+            return freshUntil - now > 0;
+        }
+
+        boolean isServable(long now) {
+            return servableUntil - now > 0;
+        }
+    }
+}
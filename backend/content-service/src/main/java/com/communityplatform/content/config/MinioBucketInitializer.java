@@ -1,6 +1,7 @@
 package com.communityplatform.content.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import io.minio.BucketExistsArgs;
@@ -12,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "minio", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class MinioBucketInitializer {
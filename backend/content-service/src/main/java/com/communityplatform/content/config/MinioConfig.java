@@ -1,13 +1,21 @@
 package com.communityplatform.content.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.communityplatform.content.media.MinioMultipartClient;
+
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 
+/**
+ * MinIO clients, created only when media is stored in MinIO.
+ */
 @Configuration
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "minio", matchIfMissing = true)
 public class MinioConfig {
 
     @Bean
@@ -36,4 +44,17 @@ public class MinioConfig {
                 .region(region)
                 .build();
     }
+
+    @Bean
+    public MinioMultipartClient minioMultipartClient(
+            @Value("${minio.url}") String url,
+            @Value("${minio.access-key}") String accessKey,
+            @Value("${minio.secret-key}") String secretKey,
+            @Value("${minio.region:us-east-1}") String region) {
+        return new MinioMultipartClient(MinioAsyncClient.builder()
+                .endpoint(url)
+                .credentials(accessKey, secretKey)
+                .region(region)
+                .build());
+    }
 }
@@ -7,8 +7,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.comment.CommentCreateDto;
 import com.communityplatform.content.dto.comment.CommentResponseDto;
+import com.communityplatform.content.dto.comment.CommentThreadNodeDto;
 import com.communityplatform.content.dto.comment.CommentUpdateDto;
 import com.communityplatform.content.service.CommentService;
 
@@ -112,6 +114,23 @@ public class CommentController {
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get all comments for a post with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/posts/{postId}/comments/cursor")
+        public ResponseEntity<CursorPageResponseDto<CommentResponseDto>> getCommentsByPostByCursor(
+                        @PathVariable Long postId,
+                        @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting comments by cursor for post: {}", postId);
+                CursorPageResponseDto<CommentResponseDto> response = commentService.getCommentsByPostIdByCursor(
+                                postId, currentUserId, cursor, size);
+                return ResponseEntity.ok(response);
+        }
+
         @Operation(summary = "Get top-level comments for a post")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Top-level comments retrieved successfully")
@@ -126,6 +145,62 @@ public class CommentController {
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get top-level comments for a post with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Top-level comments retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/posts/{postId}/comments/top/cursor")
+        public ResponseEntity<CursorPageResponseDto<CommentResponseDto>> getTopLevelCommentsByCursor(
+                        @PathVariable Long postId,
+                        @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting top-level comments by cursor for post: {}", postId);
+                CursorPageResponseDto<CommentResponseDto> response = commentService.getTopLevelCommentsByCursor(
+                                postId, currentUserId, cursor, size);
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Get the comment thread of a post as a tree")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Comment thread retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/posts/{postId}/comments/thread")
+        public ResponseEntity<CursorPageResponseDto<CommentThreadNodeDto>> getCommentThread(
+                        @PathVariable Long postId,
+                        @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size,
+                        @RequestParam(defaultValue = "3") Integer depth,
+                        @RequestParam(defaultValue = "5") Integer replies) {
+                log.info("Getting comment thread for post: {}", postId);
+                CursorPageResponseDto<CommentThreadNodeDto> response = commentService.getCommentThread(postId,
+                                currentUserId, cursor, size, depth, replies);
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Continue a truncated reply thread")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Reply thread retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+                        @ApiResponse(responseCode = "404", description = "Comment not found")
+        })
+        @GetMapping("/comments/{commentId}/thread")
+        public ResponseEntity<CursorPageResponseDto<CommentThreadNodeDto>> getReplyThread(
+                        @PathVariable Long commentId,
+                        @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size,
+                        @RequestParam(defaultValue = "3") Integer depth,
+                        @RequestParam(defaultValue = "5") Integer replies) {
+                log.info("Getting reply thread for comment: {}", commentId);
+                CursorPageResponseDto<CommentThreadNodeDto> response = commentService.getReplyThread(commentId,
+                                currentUserId, cursor, size, depth, replies);
+                return ResponseEntity.ok(response);
+        }
+
         @Operation(summary = "Get replies to a comment")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Replies retrieved successfully")
@@ -0,0 +1,44 @@
+package com.communityplatform.content.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.communityplatform.content.dto.follow.FollowEventDto;
+import com.communityplatform.content.service.FollowEventService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Internal endpoint receiving follow changes from user-service.
+ * Not routed through the API gateway.
+ */
+@RestController
+@RequestMapping("/internal/follow-events")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Internal", description = "Service-to-service endpoints")
+public class FollowEventController {
+
+    private final FollowEventService followEventService;
+
+    @Operation(summary = "Apply a follow change")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Follow change applied"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @PostMapping
+    public ResponseEntity<Void> handleFollowEvent(@Valid @RequestBody FollowEventDto event) {
+        log.info("Received follow change {} -> {}", event.getFollowerId(), event.getFollowingId());
+        followEventService.handleFollowEvent(event);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -4,7 +4,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.like.LikeResponseDto;
+import com.communityplatform.content.dto.like.LikeSummaryDto;
 import com.communityplatform.content.service.LikeService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,8 +34,7 @@ public class LikeController {
 
         @Operation(summary = "Like a post")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "201", description = "Post liked successfully"),
-                        @ApiResponse(responseCode = "409", description = "Already liked"),
+                        @ApiResponse(responseCode = "201", description = "Post liked (or already liked)"),
                         @ApiResponse(responseCode = "404", description = "Post not found")
         })
         @PostMapping("/posts/{postId}/like")
@@ -47,9 +48,7 @@ public class LikeController {
 
         @Operation(summary = "Unlike a post")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "204", description = "Post unliked successfully"),
-                        @ApiResponse(responseCode = "400", description = "Not liked"),
-                        @ApiResponse(responseCode = "404", description = "Post not found")
+                        @ApiResponse(responseCode = "204", description = "Post unliked (or was not liked)")
         })
         @DeleteMapping("/posts/{postId}/like")
         public ResponseEntity<Void> unlikePost(
@@ -62,9 +61,7 @@ public class LikeController {
 
         @Operation(summary = "Unlike a post (alias)")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "204", description = "Post unliked successfully"),
-                        @ApiResponse(responseCode = "400", description = "Not liked"),
-                        @ApiResponse(responseCode = "404", description = "Post not found")
+                        @ApiResponse(responseCode = "204", description = "Post unliked (or was not liked)")
         })
         @PostMapping("/posts/{postId}/unlike")
         public ResponseEntity<Void> unlikePostAlias(
@@ -88,7 +85,7 @@ public class LikeController {
                 return ResponseEntity.ok(hasLiked);
         }
 
-        @Operation(summary = "Get all likes for a post")
+        @Operation(summary = "Get the most recent likes for a post")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Likes retrieved successfully")
         })
@@ -99,12 +96,41 @@ public class LikeController {
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get likes for a post with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Likes retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/posts/{postId}/likes/cursor")
+        public ResponseEntity<CursorPageResponseDto<LikeResponseDto>> getPostLikesByCursor(
+                        @PathVariable Long postId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting likes by cursor for post {}", postId);
+                CursorPageResponseDto<LikeResponseDto> response = likeService.getPostLikesByCursor(postId, cursor,
+                                size);
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Get like summary (total and most recent likers) for a post")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Like summary retrieved successfully"),
+                        @ApiResponse(responseCode = "404", description = "Post not found")
+        })
+        @GetMapping("/posts/{postId}/likes/summary")
+        public ResponseEntity<LikeSummaryDto> getPostLikeSummary(
+                        @PathVariable Long postId,
+                        @RequestParam(defaultValue = "3") Integer limit) {
+                log.info("Getting like summary for post {}", postId);
+                LikeSummaryDto response = likeService.getPostLikeSummary(postId, limit);
+                return ResponseEntity.ok(response);
+        }
+
         // ===== COMMENT LIKES =====
 
         @Operation(summary = "Like a comment")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "201", description = "Comment liked successfully"),
-                        @ApiResponse(responseCode = "409", description = "Already liked"),
+                        @ApiResponse(responseCode = "201", description = "Comment liked (or already liked)"),
                         @ApiResponse(responseCode = "404", description = "Comment not found")
         })
         @PostMapping("/comments/{commentId}/like")
@@ -118,9 +144,7 @@ public class LikeController {
 
         @Operation(summary = "Unlike a comment")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "204", description = "Comment unliked successfully"),
-                        @ApiResponse(responseCode = "400", description = "Not liked"),
-                        @ApiResponse(responseCode = "404", description = "Comment not found")
+                        @ApiResponse(responseCode = "204", description = "Comment unliked (or was not liked)")
         })
         @DeleteMapping("/comments/{commentId}/like")
         public ResponseEntity<Void> unlikeComment(
@@ -144,7 +168,7 @@ public class LikeController {
                 return ResponseEntity.ok(hasLiked);
         }
 
-        @Operation(summary = "Get all likes for a comment")
+        @Operation(summary = "Get the most recent likes for a comment")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Likes retrieved successfully")
         })
@@ -154,4 +178,34 @@ public class LikeController {
                 List<LikeResponseDto> response = likeService.getCommentLikes(commentId);
                 return ResponseEntity.ok(response);
         }
+
+        @Operation(summary = "Get likes for a comment with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Likes retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/comments/{commentId}/likes/cursor")
+        public ResponseEntity<CursorPageResponseDto<LikeResponseDto>> getCommentLikesByCursor(
+                        @PathVariable Long commentId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting likes by cursor for comment {}", commentId);
+                CursorPageResponseDto<LikeResponseDto> response = likeService.getCommentLikesByCursor(commentId, cursor,
+                                size);
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Get like summary (total and most recent likers) for a comment")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Like summary retrieved successfully"),
+                        @ApiResponse(responseCode = "404", description = "Comment not found")
+        })
+        @GetMapping("/comments/{commentId}/likes/summary")
+        public ResponseEntity<LikeSummaryDto> getCommentLikeSummary(
+                        @PathVariable Long commentId,
+                        @RequestParam(defaultValue = "3") Integer limit) {
+                log.info("Getting like summary for comment {}", commentId);
+                LikeSummaryDto response = likeService.getCommentLikeSummary(commentId, limit);
+                return ResponseEntity.ok(response);
+        }
 }
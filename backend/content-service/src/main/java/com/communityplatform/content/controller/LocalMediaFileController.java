@@ -0,0 +1,94 @@
+package com.communityplatform.content.controller;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.UnauthorizedOperationException;
+import com.communityplatform.content.media.LocalMediaStorage;
+import com.communityplatform.content.media.MediaStorage;
+import com.communityplatform.content.media.ZeroCopyFileSender;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Object endpoint of the local storage backend, standing in for the MinIO
+ * endpoint that public and presigned URLs point at otherwise.
+ *
+ * Objects are publicly readable, like the MinIO bucket; writes require a
+ * presigned URL.
+ */
+@RestController
+@RequestMapping("${api.base-path}/media/files")
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "local")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Media files", description = "Object endpoint of the local media storage")
+public class LocalMediaFileController {
+
+    private final LocalMediaStorage storage;
+
+    @Operation(summary = "Download stored object")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Object content"),
+            @ApiResponse(responseCode = "404", description = "Object not found")
+    })
+    @GetMapping("/{bucket}/{key}")
+    public void download(@PathVariable String bucket, @PathVariable String key, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<MediaStorage.ObjectStat> stat = storage.stat(bucket, key);
+        if (stat.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        response.setContentType(Optional.ofNullable(stat.get().contentType())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        response.setContentLengthLong(stat.get().size());
+        ZeroCopyFileSender.send(storage.objectPath(bucket, key), 0, stat.get().size(), request, response);
+    }
+
+    @Operation(summary = "Upload object or multipart part to a presigned URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Object stored"),
+            @ApiResponse(responseCode = "403", description = "Invalid or expired URL")
+    })
+    @PutMapping("/{bucket}/{key}")
+    public ResponseEntity<Void> upload(@PathVariable String bucket, @PathVariable String key,
+            @RequestParam long expires,
+            @RequestParam String signature,
+            @RequestParam(required = false) String uploadId,
+            @RequestParam(required = false) Integer partNumber,
+            HttpServletRequest request) throws IOException {
+        if (!storage.verifySignature("PUT", bucket, key, uploadId, partNumber, expires, signature)) {
+            throw new UnauthorizedOperationException("Upload URL is invalid or expired");
+        }
+        if (uploadId != null && partNumber == null) {
+            throw new InvalidMediaException("Part number is required");
+        }
+
+        String etag = uploadId == null
+                ? storage.write(bucket, key, request.getInputStream())
+                : storage.writePart(bucket, key, uploadId, partNumber, request.getInputStream());
+        log.debug("Stored {} bytes for {}/{}", request.getContentLengthLong(), bucket, key);
+        return ResponseEntity.ok().eTag(etag).build();
+    }
+}
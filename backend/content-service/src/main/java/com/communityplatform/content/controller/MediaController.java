@@ -1,8 +1,12 @@
 package com.communityplatform.content.controller;
 
+import java.io.InputStream;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -13,15 +17,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsRequestDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedConfirmRequestDto;
+import com.communityplatform.content.dto.media.MediaPresignedDownloadBatchRequestDto;
+import com.communityplatform.content.dto.media.MediaPresignedDownloadBatchResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedDownloadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadRequestDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaResponseDto;
+import com.communityplatform.content.dto.media.MediaStorageUsageDto;
 import com.communityplatform.content.dto.media.MediaUploadResponseDto;
 import com.communityplatform.content.service.MediaService;
 
@@ -48,7 +61,8 @@ public class MediaController {
     @Operation(summary = "Upload media")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Media uploaded successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid file")
+            @ApiResponse(responseCode = "400", description = "Invalid file"),
+            @ApiResponse(responseCode = "413", description = "Storage quota exceeded")
     })
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<MediaUploadResponseDto> uploadMedia(
@@ -59,6 +73,29 @@ public class MediaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(summary = "Stream media upload",
+            description = "Upload the raw file as the request body. It is streamed into storage in parts, "
+                    + "so it is not limited by the multipart form size.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Media uploaded successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid file or content hash mismatch"),
+            @ApiResponse(responseCode = "413", description = "Storage quota exceeded"),
+            @ApiResponse(responseCode = "503", description = "Too many uploads in progress")
+    })
+    @PostMapping("/stream")
+    public ResponseEntity<MediaUploadResponseDto> streamMedia(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader(value = "X-Filename", required = false) String filename,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @RequestHeader(value = "X-Content-SHA256", required = false) String contentSha256,
+            InputStream content) {
+        log.info("Streaming media upload for user: {}", userId);
+        MediaUploadResponseDto response = mediaService.streamMedia(content, contentLength, filename, contentType,
+                contentSha256, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @Operation(summary = "Create presigned upload URL")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Presigned upload URL created"),
@@ -73,6 +110,62 @@ public class MediaController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Start resumable multipart upload",
+            description = "Parts are uploaded to presigned part URLs; finish with the presigned confirm "
+                    + "endpoint, passing the upload ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Multipart upload started"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @PostMapping("/presigned/multipart")
+    public ResponseEntity<MediaMultipartUploadResponseDto> createMultipartUpload(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody MediaPresignedUploadRequestDto request) {
+        log.info("Starting multipart upload for user: {}", userId);
+        MediaMultipartUploadResponseDto response = mediaService.createMultipartUpload(request, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Create presigned part upload URLs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Presigned part URLs created"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @PostMapping("/presigned/multipart/part-urls")
+    public ResponseEntity<MediaMultipartPartUrlsResponseDto> createMultipartPartUrls(
+            @Valid @RequestBody MediaMultipartPartUrlsRequestDto request) {
+        log.info("Creating presigned part URLs for upload: {}", request.getUploadId());
+        MediaMultipartPartUrlsResponseDto response = mediaService.createMultipartPartUrls(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "List uploaded parts of a multipart upload")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Uploaded parts retrieved"),
+            @ApiResponse(responseCode = "400", description = "Multipart upload not found")
+    })
+    @GetMapping("/presigned/multipart/parts")
+    public ResponseEntity<List<MediaMultipartPartDto>> listMultipartParts(
+            @RequestParam String objectKey,
+            @RequestParam String uploadId) {
+        log.info("Listing parts of multipart upload: {}", uploadId);
+        List<MediaMultipartPartDto> response = mediaService.listMultipartParts(objectKey, uploadId);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Abort multipart upload")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Multipart upload aborted")
+    })
+    @DeleteMapping("/presigned/multipart")
+    public ResponseEntity<Void> abortMultipartUpload(
+            @RequestParam String objectKey,
+            @RequestParam String uploadId) {
+        log.info("Aborting multipart upload: {}", uploadId);
+        mediaService.abortMultipartUpload(objectKey, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Confirm presigned upload and register metadata")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Media registered successfully"),
@@ -112,6 +205,20 @@ public class MediaController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Create presigned download URLs for several media",
+            description = "Unknown media IDs are listed in missingIds instead of failing the request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Presigned download URLs created"),
+            @ApiResponse(responseCode = "400", description = "No or too many media IDs")
+    })
+    @PostMapping("/presigned-download/batch")
+    public ResponseEntity<MediaPresignedDownloadBatchResponseDto> createPresignedDownloads(
+            @Valid @RequestBody MediaPresignedDownloadBatchRequestDto request) {
+        log.info("Creating presigned download URLs for {} media", request.getMediaIds().size());
+        MediaPresignedDownloadBatchResponseDto response = mediaService.createPresignedDownloads(request.getMediaIds());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Get media uploaded by user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Media retrieved successfully")
@@ -125,6 +232,31 @@ public class MediaController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get media uploaded by user with cursor pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Media retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorPageResponseDto<MediaResponseDto>> getMediaByUserIdByCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Getting media by cursor for user: {}", userId);
+        CursorPageResponseDto<MediaResponseDto> response = mediaService.getMediaByUserIdByCursor(userId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get storage usage of user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Usage retrieved successfully")
+    })
+    @GetMapping("/user/{userId}/usage")
+    public ResponseEntity<MediaStorageUsageDto> getStorageUsage(@PathVariable Long userId) {
+        log.info("Getting storage usage for user: {}", userId);
+        return ResponseEntity.ok(mediaService.getStorageUsage(userId));
+    }
+
     @Operation(summary = "Delete media")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Media deleted successfully"),
@@ -0,0 +1,129 @@
+package com.communityplatform.content.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.communityplatform.content.cache.MediaObjectCache;
+import com.communityplatform.content.media.MediaStorage;
+import com.communityplatform.content.media.ZeroCopyFileSender;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves media objects through the local disk cache, so hot objects cost no
+ * round trip to object storage.
+ *
+ * Supports single byte ranges (with If-Range) and conditional requests on
+ * the entity tag. Cached objects are sent zero-copy from disk; objects too
+ * large to cache are streamed from storage.
+ *
+ * Meant for API clients: like the rest of the API it sits behind the
+ * gateway's bearer token check, so media URLs handed to browsers stay
+ * presigned storage URLs. Responses are therefore only cacheable privately.
+ */
+@RestController
+@RequestMapping("${api.base-path}/media/proxy")
+@RequiredArgsConstructor
+@Tag(name = "Media proxy", description = "Cached media object downloads")
+public class MediaProxyController {
+
+    private final MediaObjectCache cache;
+    private final MediaStorage storage;
+
+    @Value("${minio.bucket-name}")
+    private String bucketName;
+
+    @Value("${media.proxy.max-age-seconds:86400}")
+    private long maxAgeSeconds;
+
+    @Operation(summary = "Download media object")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Object content"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "404", description = "Object not found"),
+            @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+    })
+    @GetMapping("/{key}")
+    public void download(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<MediaObjectCache.CachedObject> found = cache.get(bucketName, key);
+        if (found.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        MediaObjectCache.CachedObject object = found.get();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(object.etag())) {
+            return;
+        }
+
+        long start = 0;
+        long length = object.size();
+        HttpRange range = requestedRange(request, object.etag());
+        if (range != null) {
+            start = range.getRangeStart(object.size());
+            long end = range.getRangeEnd(object.size());
+            if (start >= object.size()) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + object.size());
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            length = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + object.size());
+        }
+
+        response.setContentType(Optional.ofNullable(object.contentType())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        response.setContentLengthLong(length);
+        if (object.isCached()) {
+            ZeroCopyFileSender.send(object.file(), start, length, request, response);
+        } else {
+            storage.transferTo(bucketName, key, start, length, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * The single range to send, or null to send the whole object. Multiple
+     * ranges, malformed headers and stale If-Range validators all get the
+     * whole object, as HTTP allows.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (header == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
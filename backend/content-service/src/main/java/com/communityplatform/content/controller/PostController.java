@@ -8,6 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.post.PostCreateDto;
 import com.communityplatform.content.dto.post.PostResponseDto;
 import com.communityplatform.content.dto.post.PostSummaryDto;
@@ -107,6 +108,22 @@ public class PostController {
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get all posts with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Posts retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/cursor")
+        public ResponseEntity<CursorPageResponseDto<PostSummaryDto>> getAllPostsByCursor(
+                        @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting all posts by cursor");
+                CursorPageResponseDto<PostSummaryDto> response = postService.getAllPostsByCursor(currentUserId, cursor,
+                                size);
+                return ResponseEntity.ok(response);
+        }
+
         @Operation(summary = "Get posts from following users")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Following posts retrieved successfully")
@@ -120,6 +137,21 @@ public class PostController {
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get posts from following users with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Following posts retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/following/cursor")
+        public ResponseEntity<CursorPageResponseDto<PostSummaryDto>> getFollowingPostsByCursor(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting following posts by cursor for user: {}", userId);
+                CursorPageResponseDto<PostSummaryDto> response = postService.getFollowingPostsByCursor(userId, cursor, size);
+                return ResponseEntity.ok(response);
+        }
+
         @Operation(summary = "Get feed posts (own + following)")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Feed posts retrieved successfully")
@@ -133,6 +165,21 @@ public class PostController {
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get feed posts (own + following) with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Feed posts retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/feed/cursor")
+        public ResponseEntity<CursorPageResponseDto<PostSummaryDto>> getFeedPostsByCursor(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting feed posts by cursor for user: {}", userId);
+                CursorPageResponseDto<PostSummaryDto> response = postService.getFeedPostsByCursor(userId, cursor, size);
+                return ResponseEntity.ok(response);
+        }
+
         @Operation(summary = "Get trending posts")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Trending posts retrieved successfully")
@@ -173,4 +220,21 @@ public class PostController {
                 Page<PostSummaryDto> response = postService.getPostsByUserId(userId, currentUserId, pageable);
                 return ResponseEntity.ok(response);
         }
+
+        @Operation(summary = "Get posts by user with cursor pagination")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Posts retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/user/{userId}/cursor")
+        public ResponseEntity<CursorPageResponseDto<PostSummaryDto>> getPostsByUserByCursor(
+                        @PathVariable Long userId,
+                        @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") Integer size) {
+                log.info("Getting posts by cursor for user: {}", userId);
+                CursorPageResponseDto<PostSummaryDto> response = postService.getPostsByUserIdByCursor(userId, currentUserId,
+                                cursor, size);
+                return ResponseEntity.ok(response);
+        }
 }
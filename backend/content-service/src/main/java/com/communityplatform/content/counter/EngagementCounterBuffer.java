@@ -0,0 +1,172 @@
+package com.communityplatform.content.counter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.repository.CommentRepository;
+import com.communityplatform.content.repository.PostRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for post and comment engagement counters.
+ * 
+ * Deltas accumulate in striped adders keyed by post/comment ID and are written
+ * periodically as batched {@code SET count = count + ?} statements in one
+ * transaction, so hot rows see one update per flush instead of one per like.
+ * A failed flush puts its deltas back; the buffer is drained on shutdown.
+ * 
+ * Metrics: engagement.counters.pending (buffered rows),
+ * engagement.counters.flush.lag (age of the oldest delta when written),
+ * engagement.counters.flush.failures.
+ */
+@Component
+@Slf4j
+public class EngagementCounterBuffer {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Writers share the read lock; a flush takes the write lock only to swap buffers. */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Deltas current = new Deltas();
+
+    private final Timer flushLag;
+    private final Counter flushFailures;
+
+    public EngagementCounterBuffer(PostRepository postRepository, CommentRepository commentRepository,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.flushLag = Timer.builder("engagement.counters.flush.lag")
+                .description("Age of the oldest buffered delta when it was written")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("engagement.counters.flush.failures")
+                .description("Counter flushes that failed and were retried")
+                .register(meterRegistry);
+        Gauge.builder("engagement.counters.pending", this, buffer -> buffer.current.size())
+                .description("Posts and comments with unflushed counter deltas")
+                .register(meterRegistry);
+    }
+
+    public void addPostLikes(Long postId, long delta) {
+        add(Target.POST_LIKES, postId, delta);
+    }
+
+    public void addPostComments(Long postId, long delta) {
+        add(Target.POST_COMMENTS, postId, delta);
+    }
+
+    public void addCommentLikes(Long commentId, long delta) {
+        add(Target.COMMENT_LIKES, commentId, delta);
+    }
+
+    /**
+     * Write all buffered deltas. Runs on a fixed delay and once more on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${engagement-counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Deltas pending;
+        swapLock.writeLock().lock();
+        try {
+            pending = current;
+            if (pending.isEmpty()) {
+                return;
+            }
+            current = new Deltas();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Map<Long, Long> postLikes = pending.drain(Target.POST_LIKES);
+        Map<Long, Long> postComments = pending.drain(Target.POST_COMMENTS);
+        Map<Long, Long> commentLikes = pending.drain(Target.COMMENT_LIKES);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                postRepository.addLikeCounts(postLikes);
+                postRepository.addCommentCounts(postComments);
+                commentRepository.addLikeCounts(commentLikes);
+            });
+            flushLag.record(System.nanoTime() - pending.firstWriteNanos.get(), TimeUnit.NANOSECONDS);
+            log.debug("Flushed counters for {} posts and {} comments",
+                    postLikes.size() + postComments.size(), commentLikes.size());
+        } catch (RuntimeException ex) {
+            flushFailures.increment();
+            log.warn("Counter flush failed, retrying with the next flush: {}", ex.getMessage());
+            postLikes.forEach((id, delta) -> add(Target.POST_LIKES, id, delta));
+            postComments.forEach((id, delta) -> add(Target.POST_COMMENTS, id, delta));
+            commentLikes.forEach((id, delta) -> add(Target.COMMENT_LIKES, id, delta));
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("Draining engagement counters");
+        flush();
+    }
+
+    private void add(Target target, Long id, long delta) {
+        if (id == null || delta == 0) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            current.add(target, id, delta);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private enum Target {
+        POST_LIKES, POST_COMMENTS, COMMENT_LIKES
+    }
+
+    /**
+     * One generation of buffered deltas. Only written while holding the read
+     * lock, so it is quiescent once swapped out.
+     */
+    private static final class Deltas {
+
+        private final Map<Target, Map<Long, LongAdder>> adders = new ConcurrentHashMap<>();
+        private final AtomicLong firstWriteNanos = new AtomicLong();
+
+        void add(Target target, Long id, long delta) {
+            firstWriteNanos.compareAndSet(0, System.nanoTime());
+            adders.computeIfAbsent(target, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(id, key -> new LongAdder())
+                    .add(delta);
+        }
+
+        Map<Long, Long> drain(Target target) {
+            return adders.getOrDefault(target, Map.of()).entrySet().stream()
+                    .filter(entry -> entry.getValue().sum() != 0)
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+        }
+
+        boolean isEmpty() {
+            return adders.isEmpty();
+        }
+
+        int size() {
+            return adders.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.communityplatform.content.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slice of a cursor-paginated listing.
+ * Unlike a Page it carries no total count; clients pass nextCursor back to
+ * read the following slice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponseDto<T> {
+
+    /**
+     * Items of this slice.
+     */
+    private List<T> content;
+
+    /**
+     * Opaque cursor for the next slice (null on the last slice).
+     */
+    private String nextCursor;
+
+    /**
+     * Whether another slice follows.
+     */
+    private boolean hasNext;
+
+    /**
+     * Requested slice size.
+     */
+    private int size;
+}
@@ -0,0 +1,45 @@
+package com.communityplatform.content.dto.comment;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A comment with its (possibly truncated) reply sub-thread.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentThreadNodeDto {
+
+    /**
+     * The comment itself.
+     */
+    private CommentResponseDto comment;
+
+    /**
+     * Replies included in this response, oldest first.
+     */
+    private List<CommentThreadNodeDto> replies;
+
+    /**
+     * Number of direct replies, including ones not returned.
+     */
+    private int replyCount;
+
+    /**
+     * Whether more replies exist than are included.
+     */
+    private boolean hasMoreReplies;
+
+    /**
+     * Cursor for the reply thread endpoint to continue after the last included
+     * reply (null when the sub-thread was cut off by depth and starts from its
+     * first reply).
+     */
+    private String repliesCursor;
+}
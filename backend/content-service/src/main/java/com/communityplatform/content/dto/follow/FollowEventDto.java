@@ -0,0 +1,34 @@
+package com.communityplatform.content.dto.follow;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Follow change notification sent by user-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowEventDto {
+
+    /**
+     * User who followed / unfollowed.
+     */
+    @NotNull
+    private Long followerId;
+
+    /**
+     * User being followed / unfollowed.
+     */
+    @NotNull
+    private Long followingId;
+
+    /**
+     * True for a follow, false for an unfollow.
+     */
+    private boolean following;
+}
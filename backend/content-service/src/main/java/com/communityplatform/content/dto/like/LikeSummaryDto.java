@@ -0,0 +1,29 @@
+package com.communityplatform.content.dto.like;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the like summary shown on post and comment cards:
+ * the most recent likers and the total number of likes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeSummaryDto {
+
+    /**
+     * Total number of likes.
+     */
+    private long totalCount;
+
+    /**
+     * Most recent likers, newest first.
+     */
+    private List<LikeResponseDto> likers;
+}
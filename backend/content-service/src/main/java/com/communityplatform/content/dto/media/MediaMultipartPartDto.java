@@ -0,0 +1,36 @@
+package com.communityplatform.content.dto.media;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Part of a multipart upload that has been stored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartPartDto {
+
+    @NotNull(message = "Part number is required")
+    @Min(value = 1, message = "Part numbers start at 1")
+    @Max(value = 10000, message = "Part numbers end at 10000")
+    private Integer partNumber;
+
+    /**
+     * ETag returned by storage when the part was uploaded.
+     */
+    @NotBlank(message = "Part ETag is required")
+    private String etag;
+
+    /**
+     * Part size in bytes; informational, only set when listing parts.
+     */
+    private Long size;
+}
@@ -0,0 +1,33 @@
+package com.communityplatform.content.dto.media;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request for presigned URLs of some parts of a multipart upload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartPartUrlsRequestDto {
+
+    @NotBlank(message = "Object key is required")
+    private String objectKey;
+
+    @NotBlank(message = "Upload id is required")
+    private String uploadId;
+
+    @NotEmpty(message = "At least one part number is required")
+    private List<@NotNull @Min(value = 1, message = "Part numbers start at 1")
+            @Max(value = 10000, message = "Part numbers end at 10000") Integer> partNumbers;
+}
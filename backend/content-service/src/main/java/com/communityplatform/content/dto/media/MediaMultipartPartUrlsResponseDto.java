@@ -0,0 +1,31 @@
+package com.communityplatform.content.dto.media;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response with presigned PUT URLs for parts of a multipart upload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartPartUrlsResponseDto {
+
+    private List<PartUrl> parts;
+    private Long expiresInSeconds;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PartUrl {
+
+        private Integer partNumber;
+        private String uploadUrl;
+    }
+}
@@ -0,0 +1,34 @@
+package com.communityplatform.content.dto.media;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response for starting a resumable multipart upload.
+ * Parts are uploaded to presigned part URLs and the upload is finished
+ * through the presigned confirm endpoint with the same upload ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartUploadResponseDto {
+
+    private String uploadId;
+    private String bucketName;
+    private String objectKey;
+
+    /**
+     * Size every part but the last should have, in bytes.
+     */
+    private Long partSize;
+
+    /**
+     * Number of parts to upload; only set when the file size was given.
+     */
+    private Integer partCount;
+
+    private String objectUrl;
+}
@@ -1,5 +1,8 @@
 package com.communityplatform.content.dto.media;
 
+import java.util.List;
+
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -26,4 +29,14 @@ public class MediaPresignedConfirmRequestDto {
 
     @Positive(message = "File size must be positive")
     private Long fileSize;
+
+    /**
+     * Upload ID of a multipart upload to complete before registering the media.
+     */
+    private String uploadId;
+
+    /**
+     * Parts to assemble for a multipart upload; all stored parts when omitted.
+     */
+    private List<@Valid MediaMultipartPartDto> parts;
 }
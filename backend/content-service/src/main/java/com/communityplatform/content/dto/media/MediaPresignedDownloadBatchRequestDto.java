@@ -0,0 +1,23 @@
+package com.communityplatform.content.dto.media;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request for presigned download URLs of several media.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaPresignedDownloadBatchRequestDto {
+
+    @NotEmpty(message = "At least one media id is required")
+    private List<@NotNull Long> mediaIds;
+}
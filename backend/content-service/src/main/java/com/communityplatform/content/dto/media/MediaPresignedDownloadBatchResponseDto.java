@@ -0,0 +1,28 @@
+package com.communityplatform.content.dto.media;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response for batch presigned download URL creation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaPresignedDownloadBatchResponseDto {
+
+    /**
+     * One download per found media, in request order.
+     */
+    private List<MediaPresignedDownloadResponseDto> downloads;
+
+    /**
+     * Requested IDs that do not exist.
+     */
+    private List<Long> missingIds;
+}
@@ -14,6 +14,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class MediaPresignedDownloadResponseDto {
 
+    private Long mediaId;
     private String downloadUrl;
     private Long expiresInSeconds;
 }
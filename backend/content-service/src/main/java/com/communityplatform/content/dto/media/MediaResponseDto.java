@@ -1,6 +1,9 @@
 package com.communityplatform.content.dto.media;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
+import com.communityplatform.content.entity.DerivativeStatus;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -60,4 +63,24 @@ public class MediaResponseDto {
      * Upload timestamp.
      */
     private LocalDateTime createdAt;
+
+    /**
+     * Image width in pixels, once known.
+     */
+    private Integer width;
+
+    /**
+     * Image height in pixels, once known.
+     */
+    private Integer height;
+
+    /**
+     * Status of the resized variants; null if none are generated.
+     */
+    private DerivativeStatus derivativeStatus;
+
+    /**
+     * Resized variants, largest first; sizes larger than the original are omitted.
+     */
+    private List<MediaVariantDto> variants;
 }
@@ -0,0 +1,33 @@
+package com.communityplatform.content.dto.media;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a user's media storage usage.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaStorageUsageDto {
+
+    private Long userId;
+
+    /**
+     * Number of media files.
+     */
+    private Long fileCount;
+
+    /**
+     * Total size of the media files in bytes.
+     */
+    private Long totalBytes;
+
+    /**
+     * Storage quota in bytes, or null if there is none.
+     */
+    private Long quotaBytes;
+}
@@ -0,0 +1,46 @@
+package com.communityplatform.content.dto.media;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one resized variant of an image.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaVariantDto {
+
+    /**
+     * Size name (e.g., thumb, small, feed).
+     */
+    private String label;
+
+    /**
+     * Full URL.
+     */
+    private String url;
+
+    /**
+     * MIME type.
+     */
+    private String mimeType;
+
+    /**
+     * Width in pixels.
+     */
+    private Integer width;
+
+    /**
+     * Height in pixels.
+     */
+    private Integer height;
+
+    /**
+     * File size in bytes.
+     */
+    private Long fileSize;
+}
@@ -1,5 +1,7 @@
 package com.communityplatform.content.dto.post;
 
+import java.util.List;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -39,7 +41,14 @@ public class PostCreateDto {
 
     /**
      * Optional comma-separated media URLs.
+     * Deprecated: attach uploaded media through mediaIds instead.
      */
     @Size(max = 1000, message = "Media URLs cannot exceed 1000 characters")
     private String mediaUrls;
+
+    /**
+     * Optional IDs of the author's uploaded media to attach, in display order.
+     */
+    @Size(max = 10, message = "A post can have at most 10 media")
+    private List<@NotNull Long> mediaIds;
 }
@@ -1,6 +1,9 @@
 package com.communityplatform.content.dto.post;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
+import com.communityplatform.content.dto.media.MediaResponseDto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -55,9 +58,15 @@ public class PostResponseDto {
 
     /**
      * Comma-separated media URLs.
+     * Deprecated: set only on posts that link media by URL; see media.
      */
     private String mediaUrls;
 
+    /**
+     * Attached media, in display order.
+     */
+    private List<MediaResponseDto> media;
+
     /**
      * Number of likes on this post.
      */
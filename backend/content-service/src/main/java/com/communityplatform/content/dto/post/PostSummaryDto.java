@@ -1,6 +1,9 @@
 package com.communityplatform.content.dto.post;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
+import com.communityplatform.content.dto.media.MediaResponseDto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -42,6 +45,11 @@ public class PostSummaryDto {
      */
     private String title;
 
+    /**
+     * Attached media, in display order.
+     */
+    private List<MediaResponseDto> media;
+
     /**
      * Like count.
      */
@@ -1,5 +1,8 @@
 package com.communityplatform.content.dto.post;
 
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +33,15 @@ public class PostUpdateDto {
 
     /**
      * Updated media URLs.
+     * Deprecated: attach uploaded media through mediaIds instead.
      */
     @Size(max = 1000, message = "Media URLs cannot exceed 1000 characters")
     private String mediaUrls;
+
+    /**
+     * Updated media IDs, in display order; replaces all attachments.
+     * An empty list removes them.
+     */
+    @Size(max = 10, message = "A post can have at most 10 media")
+    private List<@NotNull Long> mediaIds;
 }
@@ -19,6 +19,7 @@ import lombok.experimental.SuperBuilder;
 @Entity
 @Table(name = "comments", indexes = {
         @Index(name = "idx_post_id", columnList = "post_id"),
+        @Index(name = "idx_post_created", columnList = "post_id, created_at, id"),
         @Index(name = "idx_user_id", columnList = "user_id"),
         @Index(name = "idx_parent_id", columnList = "parent_comment_id"),
         @Index(name = "idx_created_at", columnList = "created_at")
@@ -56,7 +57,8 @@ public class CommentEntity extends BaseEntity {
 
     /**
      * Cached like count for this comment.
+     * Updated only by the engagement counter flush, never by entity saves.
      */
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     private Integer likeCount = 0;
 }
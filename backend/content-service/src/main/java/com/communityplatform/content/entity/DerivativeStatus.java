@@ -0,0 +1,21 @@
+package com.communityplatform.content.entity;
+
+/**
+ * Progress of the resized variants generated for an image.
+ */
+public enum DerivativeStatus {
+    /**
+     * Waiting for the derivative pipeline.
+     */
+    PENDING,
+
+    /**
+     * Variants and dimensions are recorded.
+     */
+    READY,
+
+    /**
+     * The original could not be decoded or the variants could not be stored.
+     */
+    FAILED
+}
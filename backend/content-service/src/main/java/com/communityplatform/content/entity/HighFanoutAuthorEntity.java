@@ -0,0 +1,35 @@
+package com.communityplatform.content.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * High fan-out author entity - an author whose follower count exceeds the
+ * fan-out threshold.
+ * 
+ * Posts by these authors are not pushed into follower timelines; they are
+ * merged into the home timeline at read time instead.
+ */
+@Entity
+@Table(name = "high_fanout_authors")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class HighFanoutAuthorEntity extends BaseEntity {
+
+    /**
+     * Author user ID (references user-service).
+     */
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    /**
+     * Follower count observed when the author last posted.
+     */
+    @Column(name = "follower_count", nullable = false)
+    private Long followerCount;
+}
@@ -21,7 +21,9 @@ import lombok.experimental.SuperBuilder;
         @UniqueConstraint(name = "uk_user_comment", columnNames = { "user_id", "comment_id" })
 }, indexes = {
         @Index(name = "idx_post_id", columnList = "post_id"),
+        @Index(name = "idx_post_created", columnList = "post_id, created_at, id"),
         @Index(name = "idx_comment_id", columnList = "comment_id"),
+        @Index(name = "idx_comment_created", columnList = "comment_id, created_at, id"),
         @Index(name = "idx_user_id", columnList = "user_id")
 })
 @Data
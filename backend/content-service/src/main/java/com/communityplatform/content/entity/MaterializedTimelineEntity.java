@@ -0,0 +1,28 @@
+package com.communityplatform.content.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Marks a user whose home timeline has been fully built.
+ * 
+ * Fan-out only appends new posts, so a timeline must be seeded with the
+ * existing posts of followed authors once before it can be read on its own.
+ */
+@Entity
+@Table(name = "materialized_timelines")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class MaterializedTimelineEntity extends BaseEntity {
+
+    /**
+     * Timeline owner user ID.
+     */
+    @Column(name = "owner_user_id", nullable = false, unique = true)
+    private Long ownerUserId;
+}
@@ -0,0 +1,60 @@
+package com.communityplatform.content.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Media blob entity - one stored object in MinIO, shared by every media
+ * record with the same content.
+ * 
+ * Features:
+ * - Addressed by the SHA-256 of its content, so duplicate uploads reuse it
+ * - Reference count of media records pointing at it; the object is removed
+ *   when the last reference goes
+ * - Timestamps via BaseEntity
+ */
+@Entity
+@Table(name = "media_blobs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_blob_sha256", columnNames = "sha256"),
+        @UniqueConstraint(name = "uk_blob_object", columnNames = { "bucket_name", "object_key" })
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class MediaBlobEntity extends BaseEntity {
+
+    /**
+     * Hex-encoded SHA-256 of the content; null when the content was not
+     * hashed, in which case the blob is never shared.
+     */
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    /**
+     * MinIO bucket name where the object is stored.
+     */
+    @Column(name = "bucket_name", nullable = false)
+    private String bucketName;
+
+    /**
+     * Object key in MinIO.
+     */
+    @Column(name = "object_key", nullable = false)
+    private String objectKey;
+
+    /**
+     * Object size in bytes.
+     */
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    /**
+     * Number of media records referencing this blob.
+     */
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+}
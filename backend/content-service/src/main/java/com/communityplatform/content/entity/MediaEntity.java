@@ -13,13 +13,20 @@ import lombok.experimental.SuperBuilder;
  * - Metadata for files stored in MinIO
  * - File type, size, and original filename
  * - Reference to uploader user
- * - MinIO object path/key
+ * - MinIO object path/key, shared with other media of identical content
+ *   through a reference-counted blob
+ * - Image dimensions and the status of its resized variants
  * - Timestamps via BaseEntity
  */
 @Entity
 @Table(name = "media", indexes = {
         @Index(name = "idx_uploader_id", columnList = "uploader_user_id"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_uploader_created", columnList = "uploader_user_id, created_at, id"),
+        @Index(name = "idx_created_at", columnList = "created_at"),
+        @Index(name = "idx_stored_filename", columnList = "stored_filename"),
+        @Index(name = "idx_upload_key", columnList = "upload_key"),
+        @Index(name = "idx_blob_id", columnList = "blob_id"),
+        @Index(name = "idx_derivative_status", columnList = "derivative_status, created_at")
 })
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -35,10 +42,26 @@ public class MediaEntity extends BaseEntity {
 
     /**
      * Stored filename/key in MinIO (usually a UUID-based name).
+     * Not unique: media with identical content share the blob's object.
      */
-    @Column(name = "stored_filename", nullable = false, unique = true)
+    @Column(name = "stored_filename", nullable = false)
     private String storedFilename;
 
+    /**
+     * Key the client uploaded to with a presigned URL; differs from the
+     * stored filename when the content turned out to be a duplicate and the
+     * upload was dropped. Kept so a retried confirm finds this media.
+     */
+    @Column(name = "upload_key")
+    private String uploadKey;
+
+    /**
+     * Blob holding the content; null for media stored before deduplication,
+     * which own their object outright.
+     */
+    @Column(name = "blob_id")
+    private Long blobId;
+
     /**
      * File MIME type (e.g., image/jpeg, video/mp4).
      */
@@ -69,4 +92,26 @@ public class MediaEntity extends BaseEntity {
      */
     @Column(name = "url", nullable = false)
     private String url;
+
+    /**
+     * Image width in pixels; null until derivatives are generated or for
+     * non-image media.
+     */
+    @Column(name = "width")
+    private Integer width;
+
+    /**
+     * Image height in pixels; null until derivatives are generated or for
+     * non-image media.
+     */
+    @Column(name = "height")
+    private Integer height;
+
+    /**
+     * Status of the resized variants; null when none are generated for this
+     * media (not an image, or too large to process).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "derivative_status", length = 16)
+    private DerivativeStatus derivativeStatus;
 }
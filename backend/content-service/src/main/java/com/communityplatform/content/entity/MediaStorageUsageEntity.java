@@ -0,0 +1,42 @@
+package com.communityplatform.content.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Media storage usage entity - running totals of the media a user has
+ * uploaded, maintained as media are stored and deleted.
+ * 
+ * Totals count every media record at its full size, including records that
+ * share a deduplicated blob, and are periodically reconciled against the
+ * media table.
+ */
+@Entity
+@Table(name = "media_storage_usage")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class MediaStorageUsageEntity extends BaseEntity {
+
+    /**
+     * Uploader user ID (references user-service).
+     */
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    /**
+     * Number of media files.
+     */
+    @Column(name = "file_count", nullable = false)
+    private Long fileCount;
+
+    /**
+     * Total size of the media files in bytes.
+     */
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes;
+}
@@ -0,0 +1,80 @@
+package com.communityplatform.content.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Media variant entity - a resized copy of an image, stored in MinIO next to
+ * the original.
+ *
+ * Features:
+ * - Named after the configured size it was generated for (e.g., thumb, feed)
+ * - Own dimensions, MIME type and size, so clients can pick the best fit
+ * - Media with identical content share the variant objects, like they share
+ *   the original
+ * - Timestamps via BaseEntity
+ */
+@Entity
+@Table(name = "media_variants", indexes = {
+        @Index(name = "idx_variant_media", columnList = "media_id"),
+        @Index(name = "idx_variant_object", columnList = "object_key")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_variant_media_label", columnNames = { "media_id", "label" })
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class MediaVariantEntity extends BaseEntity {
+
+    /**
+     * Media this variant belongs to.
+     */
+    @Column(name = "media_id", nullable = false)
+    private Long mediaId;
+
+    /**
+     * Size name (e.g., thumb, small, feed).
+     */
+    @Column(name = "label", nullable = false, length = 32)
+    private String label;
+
+    /**
+     * Object key in MinIO.
+     */
+    @Column(name = "object_key", nullable = false)
+    private String objectKey;
+
+    /**
+     * Variant MIME type (image/jpeg or image/png).
+     */
+    @Column(name = "mime_type", nullable = false)
+    private String mimeType;
+
+    /**
+     * Width in pixels.
+     */
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    /**
+     * Height in pixels.
+     */
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    /**
+     * File size in bytes.
+     */
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    /**
+     * Full MinIO URL for accessing the variant.
+     */
+    @Column(name = "url", nullable = false)
+    private String url;
+}
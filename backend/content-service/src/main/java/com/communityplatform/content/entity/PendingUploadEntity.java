@@ -0,0 +1,37 @@
+package com.communityplatform.content.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Pending upload entity - an object key handed out for a presigned or
+ * multipart upload that has not been confirmed yet.
+ *
+ * Only keys recorded here can be confirmed, and only by the user they were
+ * issued to, so a caller cannot claim or delete objects it did not upload.
+ */
+@Entity
+@Table(name = "pending_uploads", indexes = {
+        @Index(name = "idx_pending_created", columnList = "created_at")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class PendingUploadEntity extends BaseEntity {
+
+    /**
+     * Object key the upload writes to.
+     */
+    @Column(name = "object_key", nullable = false, unique = true, length = 255)
+    private String objectKey;
+
+    /**
+     * User the key was issued to (references user-service).
+     */
+    @Column(name = "uploader_user_id", nullable = false)
+    private Long uploaderUserId;
+}
@@ -13,13 +13,14 @@ import lombok.experimental.SuperBuilder;
  * - Author reference (userId from user-service)
  * - Title shown in feeds
  * - Text content
- * - Optional media URLs (stored in MinIO)
+ * - Optional media URLs (legacy; uploaded media are attached through post_media)
  * - Soft delete support
  * - Timestamps via BaseEntity
  */
 @Entity
 @Table(name = "posts", indexes = {
         @Index(name = "idx_user_id", columnList = "user_id"),
+        @Index(name = "idx_user_created", columnList = "user_id, created_at, id"),
         @Index(name = "idx_created_at", columnList = "created_at"),
         @Index(name = "idx_deleted_at", columnList = "deleted_at")
 })
@@ -52,23 +53,23 @@ public class PostEntity extends BaseEntity {
      * Comma-separated list of media URLs.
      * Example: "image1.jpg,image2.png"
      * 
-     * In production, consider using @ElementCollection or separate Media table for
-     * better normalization.
+     * Legacy: uploaded media are attached through PostMediaEntity, which
+     * keeps their order and joins to their metadata.
      */
     @Column(name = "media_urls", columnDefinition = "TEXT")
     private String mediaUrls;
 
     /**
      * Cached like count for performance.
-     * Updated via service layer when likes change.
+     * Updated only by the engagement counter flush, never by entity saves.
      */
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     private Integer likeCount = 0;
 
     /**
      * Cached comment count for performance.
-     * Updated via service layer when comments change.
+     * Updated only by the engagement counter flush, never by entity saves.
      */
-    @Column(name = "comment_count", nullable = false)
+    @Column(name = "comment_count", nullable = false, updatable = false)
     private Integer commentCount = 0;
 }
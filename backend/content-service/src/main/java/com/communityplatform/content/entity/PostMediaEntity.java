@@ -0,0 +1,49 @@
+package com.communityplatform.content.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Post media entity - one media attached to a post.
+ * 
+ * Features:
+ * - Position keeps the attachments in the order the author gave them
+ * - Joined to media when a page of posts is loaded, so feeds carry media
+ *   metadata without a lookup per media
+ * - Removed with the media it points to; replaced as a whole when the post
+ *   is edited
+ * - Timestamps via BaseEntity
+ */
+@Entity
+@Table(name = "post_media", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_media_position", columnNames = { "post_id", "position" })
+}, indexes = {
+        @Index(name = "idx_post_media_media", columnList = "media_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class PostMediaEntity extends BaseEntity {
+
+    /**
+     * Post the media is attached to.
+     */
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    /**
+     * Attached media.
+     */
+    @Column(name = "media_id", nullable = false)
+    private Long mediaId;
+
+    /**
+     * Zero-based position among the post's attachments.
+     */
+    @Column(name = "position", nullable = false)
+    private Integer position;
+}
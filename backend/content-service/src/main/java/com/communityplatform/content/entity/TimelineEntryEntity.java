@@ -0,0 +1,56 @@
+package com.communityplatform.content.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Timeline entry entity - one post materialized into one user's home timeline.
+ * 
+ * Features:
+ * - Written on post creation (fan-out on write) to the author and their followers
+ * - Removed when the post is deleted
+ * - Bounded per owner; older entries are trimmed on write
+ * - Ordered by the post creation time so a feed page is a single index range read
+ */
+@Entity
+@Table(name = "timeline_entries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_owner_post", columnNames = { "owner_user_id", "post_id" })
+}, indexes = {
+        @Index(name = "idx_owner_post_created", columnList = "owner_user_id, post_created_at, post_id"),
+        @Index(name = "idx_post_id", columnList = "post_id")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class TimelineEntryEntity extends BaseEntity {
+
+    /**
+     * User ID whose home timeline this entry belongs to.
+     */
+    @Column(name = "owner_user_id", nullable = false)
+    private Long ownerUserId;
+
+    /**
+     * Post ID shown in the timeline.
+     */
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    /**
+     * Author of the post (denormalized so reads can filter by author).
+     */
+    @Column(name = "author_user_id", nullable = false)
+    private Long authorUserId;
+
+    /**
+     * Creation timestamp of the post, used as the timeline sort key.
+     */
+    @Column(name = "post_created_at", nullable = false)
+    private LocalDateTime postCreatedAt;
+}
@@ -0,0 +1,25 @@
+package com.communityplatform.content.event;
+
+/**
+ * Published when a user likes or unlikes a post or comment.
+ *
+ * @param target   Kind of liked item
+ * @param targetId Post or comment ID
+ * @param userId   User who liked or unliked
+ * @param liked    Whether the like was added (false when removed)
+ */
+public record LikeChangedEvent(Target target, Long targetId, Long userId, boolean liked) {
+
+    public enum Target {
+        POST,
+        COMMENT
+    }
+
+    public static LikeChangedEvent post(Long postId, Long userId, boolean liked) {
+        return new LikeChangedEvent(Target.POST, postId, userId, liked);
+    }
+
+    public static LikeChangedEvent comment(Long commentId, Long userId, boolean liked) {
+        return new LikeChangedEvent(Target.COMMENT, commentId, userId, liked);
+    }
+}
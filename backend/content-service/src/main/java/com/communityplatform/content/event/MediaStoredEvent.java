@@ -0,0 +1,9 @@
+package com.communityplatform.content.event;
+
+/**
+ * Published when a media record has been saved for newly stored content.
+ *
+ * @param mediaId Media ID
+ */
+public record MediaStoredEvent(Long mediaId) {
+}
@@ -0,0 +1,26 @@
+package com.communityplatform.content.event;
+
+import java.time.LocalDateTime;
+
+import com.communityplatform.content.entity.PostEntity;
+
+/**
+ * Published when a post is created, edited or deleted.
+ *
+ * @param postId    Post ID
+ * @param title     Current title, null when deleted
+ * @param content   Current content, null when deleted
+ * @param createdAt Post creation time, null when deleted
+ * @param deleted   Whether the post was removed
+ */
+public record PostChangedEvent(Long postId, String title, String content, LocalDateTime createdAt,
+        boolean deleted) {
+
+    public static PostChangedEvent saved(PostEntity post) {
+        return new PostChangedEvent(post.getId(), post.getTitle(), post.getContent(), post.getCreatedAt(), false);
+    }
+
+    public static PostChangedEvent deleted(Long postId) {
+        return new PostChangedEvent(postId, null, null, null, true);
+    }
+}
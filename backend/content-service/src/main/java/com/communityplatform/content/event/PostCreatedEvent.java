@@ -0,0 +1,19 @@
+package com.communityplatform.content.event;
+
+import java.time.LocalDateTime;
+
+import com.communityplatform.content.entity.PostEntity;
+
+/**
+ * Published when a post is created, to fan it out once the post is committed.
+ *
+ * @param postId       Post ID
+ * @param authorUserId Post author
+ * @param createdAt    Post creation time
+ */
+public record PostCreatedEvent(Long postId, Long authorUserId, LocalDateTime createdAt) {
+
+    public static PostCreatedEvent of(PostEntity post) {
+        return new PostCreatedEvent(post.getId(), post.getUserId(), post.getCreatedAt());
+    }
+}
@@ -0,0 +1,11 @@
+package com.communityplatform.content.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid pagination cursor: " + cursor);
+    }
+}
@@ -0,0 +1,20 @@
+package com.communityplatform.content.exception;
+
+/**
+ * Exception thrown when a like write cannot be accepted or confirmed in time,
+ * for example because the group-commit queue is full.
+ */
+public class LikeWriteUnavailableException extends RuntimeException {
+
+    public LikeWriteUnavailableException(String message) {
+        super(message);
+    }
+
+    public static LikeWriteUnavailableException queueFull() {
+        return new LikeWriteUnavailableException("Too many like requests, please retry shortly");
+    }
+
+    public static LikeWriteUnavailableException timedOut() {
+        return new LikeWriteUnavailableException("Like request could not be confirmed in time, please retry");
+    }
+}
@@ -0,0 +1,16 @@
+package com.communityplatform.content.exception;
+
+/**
+ * Exception thrown when a streaming upload cannot get a part buffer in time
+ * because the upload buffer pool is exhausted.
+ */
+public class MediaUploadUnavailableException extends RuntimeException {
+
+    public MediaUploadUnavailableException(String message) {
+        super(message);
+    }
+
+    public static MediaUploadUnavailableException buffersExhausted() {
+        return new MediaUploadUnavailableException("Too many uploads in progress, please retry shortly");
+    }
+}
@@ -0,0 +1,12 @@
+package com.communityplatform.content.exception;
+
+/**
+ * Exception thrown when a multipart upload does not exist in storage, either
+ * because it was never started or because it was already completed or aborted.
+ */
+public class MultipartUploadNotFoundException extends MediaStorageException {
+
+    public MultipartUploadNotFoundException(String uploadId) {
+        super("Multipart upload not found: " + uploadId);
+    }
+}
@@ -0,0 +1,12 @@
+package com.communityplatform.content.exception;
+
+/**
+ * Exception thrown when storing a file would take a user over their media
+ * storage quota.
+ */
+public class StorageQuotaExceededException extends RuntimeException {
+
+    public StorageQuotaExceededException(long quotaBytes) {
+        super("Storing this file would exceed your storage quota of " + quotaBytes + " bytes");
+    }
+}
@@ -11,11 +11,15 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.communityplatform.content.exception.CommentNotFoundException;
+import com.communityplatform.content.exception.InvalidCursorException;
 import com.communityplatform.content.exception.InvalidLikeException;
 import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.LikeWriteUnavailableException;
 import com.communityplatform.content.exception.MediaNotFoundException;
 import com.communityplatform.content.exception.MediaStorageException;
+import com.communityplatform.content.exception.MediaUploadUnavailableException;
 import com.communityplatform.content.exception.PostNotFoundException;
+import com.communityplatform.content.exception.StorageQuotaExceededException;
 import com.communityplatform.content.exception.UnauthorizedOperationException;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -116,6 +120,23 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    /**
+     * Handle InvalidCursorException (400 BAD REQUEST).
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException ex, HttpServletRequest request) {
+        log.error("Invalid cursor: {}", ex.getMessage());
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage());
+        problem.setTitle("Invalid Cursor");
+        problem.setProperty("timestamp", LocalDateTime.now());
+        problem.setProperty("path", request.getRequestURI());
+
+        return problem;
+    }
+
     /**
      * Handle MediaStorageException (500 INTERNAL SERVER ERROR).
      */
@@ -133,6 +154,41 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    /**
+     * Handle StorageQuotaExceededException (413 PAYLOAD TOO LARGE).
+     */
+    @ExceptionHandler(StorageQuotaExceededException.class)
+    public ProblemDetail handleStorageQuotaExceeded(StorageQuotaExceededException ex, HttpServletRequest request) {
+        log.warn("Storage quota exceeded: {}", ex.getMessage());
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.PAYLOAD_TOO_LARGE,
+                ex.getMessage());
+        problem.setTitle("Storage Quota Exceeded");
+        problem.setProperty("timestamp", LocalDateTime.now());
+        problem.setProperty("path", request.getRequestURI());
+
+        return problem;
+    }
+
+    /**
+     * Handle MediaUploadUnavailableException (503 SERVICE UNAVAILABLE).
+     */
+    @ExceptionHandler(MediaUploadUnavailableException.class)
+    public ProblemDetail handleMediaUploadUnavailable(MediaUploadUnavailableException ex,
+            HttpServletRequest request) {
+        log.warn("Media upload unavailable: {}", ex.getMessage());
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage());
+        problem.setTitle("Media Upload Unavailable");
+        problem.setProperty("timestamp", LocalDateTime.now());
+        problem.setProperty("path", request.getRequestURI());
+
+        return problem;
+    }
+
     /**
      * Handle InvalidLikeException (400 BAD REQUEST or 409 CONFLICT).
      */
@@ -155,6 +211,23 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    /**
+     * Handle LikeWriteUnavailableException (503 SERVICE UNAVAILABLE).
+     */
+    @ExceptionHandler(LikeWriteUnavailableException.class)
+    public ProblemDetail handleLikeWriteUnavailable(LikeWriteUnavailableException ex, HttpServletRequest request) {
+        log.warn("Like write unavailable: {}", ex.getMessage());
+
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage());
+        problem.setTitle("Like Write Unavailable");
+        problem.setProperty("timestamp", LocalDateTime.now());
+        problem.setProperty("path", request.getRequestURI());
+
+        return problem;
+    }
+
     /**
      * Handle validation errors (400 BAD REQUEST).
      * Extracts field-level validation errors from Bean Validation.
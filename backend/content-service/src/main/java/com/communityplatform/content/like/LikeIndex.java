@@ -0,0 +1,297 @@
+package com.communityplatform.content.like;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.event.LikeChangedEvent;
+import com.communityplatform.content.event.LikeChangedEvent.Target;
+import com.communityplatform.content.repository.LikeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of who liked recently active posts and comments.
+ *
+ * Features:
+ * - One compressed bitmap of liker user IDs per post/comment, built lazily
+ *   from the likes table and answering viewer checks without a query
+ * - Kept current by like/unlike events after commit; changes that arrive
+ *   while a bitmap is loading are replayed on top of it
+ * - Exact like counts for indexed items (the bitmap cardinality)
+ * - Memory budget; the least recently used bitmaps are evicted when it is
+ *   exceeded, and entries are rebuilt after a TTL to heal any missed update
+ *
+ * Metrics: like.index.requests{result=hit|miss}, like.index.evictions,
+ * like.index.bytes, like.index.entries.
+ */
+@Component
+@Slf4j
+public class LikeIndex {
+
+    /** Last-access times are only refreshed at this resolution, so hot reads do not all write. */
+    private static final long ACCESS_RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LikeRepository likeRepository;
+    private final TransactionTemplate loadTransaction;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final int maxLoadsPerRead;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public LikeIndex(LikeRepository likeRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${like-index.max-bytes:67108864}") long maxBytes,
+            @Value("${like-index.ttl-seconds:900}") long ttlSeconds,
+            @Value("${like-index.max-loads-per-read:4}") int maxLoadsPerRead) {
+        this.likeRepository = likeRepository;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxLoadsPerRead = maxLoadsPerRead;
+
+        // Bitmaps are read in their own transaction, so the snapshot is taken
+        // after the entry is registered and no concurrent like can fall between
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+
+        this.hits = Counter.builder("like.index.requests").tag("result", "hit")
+                .description("Like checks answered by the like index")
+                .register(meterRegistry);
+        this.misses = Counter.builder("like.index.requests").tag("result", "miss")
+                .description("Like checks that needed the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("like.index.evictions")
+                .description("Bitmaps dropped to stay within the memory budget")
+                .register(meterRegistry);
+        Gauge.builder("like.index.bytes", totalBytes, AtomicLong::get)
+                .description("Approximate heap used by liker bitmaps")
+                .register(meterRegistry);
+        Gauge.builder("like.index.entries", entries, Map::size)
+                .description("Indexed posts and comments")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a user liked an item, loading its bitmap if needed.
+     * Empty when the index cannot answer (the bitmap is being loaded by
+     * another request, or loading failed).
+     */
+    public Optional<Boolean> hasLiked(Target target, long targetId, long userId) {
+        LikerBitmap bitmap = bitmap(new Key(target, targetId), true);
+        if (bitmap == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(bitmap.contains(userId));
+    }
+
+    /**
+     * Resolve which of the given items a user liked from indexed bitmaps.
+     * Up to {@code max-loads-per-read} missing bitmaps are loaded on the way;
+     * the remaining items are returned as unresolved for one batch query.
+     */
+    public Lookup lookup(Target target, long userId, List<Long> targetIds) {
+        Set<Long> liked = new HashSet<>();
+        List<Long> unresolved = new ArrayList<>();
+        int loads = 0;
+        for (Long targetId : targetIds) {
+            Key key = new Key(target, targetId);
+            LikerBitmap bitmap = bitmap(key, false);
+            if (bitmap == null && loads < maxLoadsPerRead) {
+                loads++;
+                bitmap = bitmap(key, true);
+            }
+            if (bitmap == null) {
+                unresolved.add(targetId);
+            } else if (bitmap.contains(userId)) {
+                liked.add(targetId);
+            }
+        }
+        hits.increment(targetIds.size() - unresolved.size());
+        misses.increment(unresolved.size());
+        return new Lookup(liked, unresolved);
+    }
+
+    /**
+     * Exact like count of an item, if its bitmap is currently indexed.
+     */
+    public OptionalLong count(Target target, long targetId) {
+        LikerBitmap bitmap = bitmap(new Key(target, targetId), false);
+        return bitmap == null ? OptionalLong.empty() : OptionalLong.of(bitmap.cardinality());
+    }
+
+    /**
+     * Apply a committed like or unlike to the item's bitmap. Items that are
+     * not indexed are skipped; their bitmap is read fresh when next needed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        Entry entry = entries.get(new Key(event.target(), event.targetId()));
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (entry.evicted) {
+                return;
+            }
+            if (entry.bitmap == null) {
+                entry.pending.add(event);
+                return;
+            }
+            install(entry, apply(entry.bitmap, event));
+        }
+    }
+
+    private LikerBitmap bitmap(Key key, boolean load) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            LikerBitmap bitmap = entry.bitmap;
+            if (bitmap != null && now - entry.loadedAt < ttlNanos) {
+                if (now - entry.lastAccess > ACCESS_RESOLUTION_NANOS) {
+                    entry.lastAccess = now;
+                }
+                return bitmap;
+            }
+            if (bitmap == null || !load) {
+                return null;
+            }
+            evict(key, entry);
+        }
+        return load ? load(key, now) : null;
+    }
+
+    private LikerBitmap load(Key key, long now) {
+        Entry entry = new Entry(now);
+        if (entries.putIfAbsent(key, entry) != null) {
+            return null;
+        }
+
+        List<Long> userIds;
+        try {
+            userIds = loadTransaction.execute(status -> key.target() == Target.POST
+                    ? likeRepository.findUserIdsByPostId(key.targetId())
+                    : likeRepository.findUserIdsByCommentId(key.targetId()));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load likers of {} {}: {}", key.target(), key.targetId(), ex.getMessage());
+            entries.remove(key, entry);
+            return null;
+        }
+
+        LikerBitmap bitmap = LikerBitmap.of(userIds == null ? new long[0]
+                : userIds.stream().mapToLong(Long::longValue).toArray());
+        synchronized (entry) {
+            for (LikeChangedEvent event : entry.pending) {
+                bitmap = apply(bitmap, event);
+            }
+            entry.pending.clear();
+            install(entry, bitmap);
+        }
+        log.debug("Indexed {} likers of {} {}", bitmap.cardinality(), key.target(), key.targetId());
+
+        if (totalBytes.get() > maxBytes) {
+            evictColdest();
+        }
+        return bitmap;
+    }
+
+    /** Must be called while holding the entry's monitor. */
+    private void install(Entry entry, LikerBitmap bitmap) {
+        long bytes = bitmap.sizeInBytes();
+        totalBytes.addAndGet(bytes - entry.bytes);
+        entry.bytes = bytes;
+        entry.bitmap = bitmap;
+    }
+
+    private static LikerBitmap apply(LikerBitmap bitmap, LikeChangedEvent event) {
+        return event.liked() ? bitmap.with(event.userId()) : bitmap.without(event.userId());
+    }
+
+    /**
+     * Drop the least recently used bitmaps until the index is back under 90%
+     * of its budget, leaving headroom so every load does not evict again.
+     */
+    private synchronized void evictColdest() {
+        long target = maxBytes - maxBytes / 10;
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        List<Map.Entry<Key, Entry>> candidates = entries.entrySet().stream()
+                .filter(candidate -> candidate.getValue().bitmap != null)
+                .sorted(Comparator.comparingLong(candidate -> candidate.getValue().lastAccess))
+                .toList();
+        for (Map.Entry<Key, Entry> candidate : candidates) {
+            if (totalBytes.get() <= target) {
+                break;
+            }
+            if (evict(candidate.getKey(), candidate.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean evict(Key key, Entry entry) {
+        synchronized (entry) {
+            if (entry.evicted || !entries.remove(key, entry)) {
+                return false;
+            }
+            entry.evicted = true;
+            totalBytes.addAndGet(-entry.bytes);
+            return true;
+        }
+    }
+
+    /**
+     * Result of a batch lookup.
+     *
+     * @param liked      Items the user liked, among those the index resolved
+     * @param unresolved Items the index could not answer
+     */
+    public record Lookup(Set<Long> liked, List<Long> unresolved) {
+    }
+
+    private record Key(Target target, long targetId) {
+    }
+
+    private static final class Entry {
+
+        final long loadedAt;
+        volatile long lastAccess;
+        volatile LikerBitmap bitmap;
+        long bytes;
+        boolean evicted;
+        final List<LikeChangedEvent> pending = new ArrayList<>();
+
+        Entry(long now) {
+            this.loadedAt = now;
+            this.lastAccess = now;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.communityplatform.content.like;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.entity.LikeEntity;
+import com.communityplatform.content.event.LikeChangedEvent.Target;
+import com.communityplatform.content.exception.LikeWriteUnavailableException;
+import com.communityplatform.content.repository.LikeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional group-commit path for like and unlike writes.
+ *
+ * Features:
+ * - Callers enqueue write intents in a bounded lock-free queue and wait for
+ *   the batch that carries theirs to commit
+ * - A small pool of writers drains the queue, lingering briefly to fill a
+ *   batch, and persists it as JDBC batches in one transaction
+ * - Repeated toggles by the same user on the same item within a batch are
+ *   coalesced; only the last intent is written
+ * - A full queue rejects new intents instead of queueing without bound
+ *
+ * Disabled by default; each write then runs as its own statement.
+ *
+ * Metrics: like.writes.batch.size, like.writes.coalesced, like.writes.rejected,
+ * like.writes.queued.
+ */
+@Component
+@Slf4j
+public class LikeWriteQueue {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final LikeRepository likeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final int writers;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long awaitTimeoutMillis;
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    /** One permit per queued intent; writers block on it instead of spinning. */
+    private final Semaphore queued = new Semaphore(0);
+    private final AtomicInteger size = new AtomicInteger();
+    private final List<Thread> writerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final DistributionSummary batchSizes;
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    public LikeWriteQueue(LikeRepository likeRepository, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${like-writes.group-commit.enabled:false}") boolean enabled,
+            @Value("${like-writes.group-commit.queue-capacity:10000}") int capacity,
+            @Value("${like-writes.group-commit.writers:2}") int writers,
+            @Value("${like-writes.group-commit.max-batch-size:500}") int maxBatchSize,
+            @Value("${like-writes.group-commit.linger-ms:2}") long lingerMillis,
+            @Value("${like-writes.group-commit.await-timeout-ms:5000}") long awaitTimeoutMillis) {
+        this.likeRepository = likeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.writers = writers;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+
+        this.batchSizes = DistributionSummary.builder("like.writes.batch.size")
+                .description("Like intents written per group commit")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("like.writes.coalesced")
+                .description("Like intents superseded by a later toggle in the same batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("like.writes.rejected")
+                .description("Like intents rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("like.writes.queued", size, AtomicInteger::get)
+                .description("Like intents waiting for a writer")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            Thread writer = new Thread(this::runWriter, "like-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writerThreads.add(writer);
+        }
+        log.info("Like group commit enabled with {} writers", writers);
+    }
+
+    /**
+     * Stop the writers and write whatever is still queued.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writerThreads.forEach(Thread::interrupt);
+        for (Thread writer : writerThreads) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writerThreads.clear();
+        flushQueued();
+    }
+
+    /**
+     * Queue a like or unlike and wait until its batch has committed.
+     *
+     * @throws LikeWriteUnavailableException if the queue is full or the batch
+     *                                       does not commit in time
+     */
+    public Result submit(Target target, Long targetId, Long userId, boolean like) {
+        try {
+            return enqueue(target, targetId, userId, like).get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw LikeWriteUnavailableException.timedOut();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw LikeWriteUnavailableException.timedOut();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    CompletableFuture<Result> enqueue(Target target, Long targetId, Long userId, boolean like) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            rejected.increment();
+            throw LikeWriteUnavailableException.queueFull();
+        }
+        Pending pending = new Pending(new Key(target, targetId, userId), like, new CompletableFuture<>());
+        queue.add(pending);
+        queued.release();
+        return pending.future();
+    }
+
+    /**
+     * Write everything currently queued, in batches. Used on shutdown.
+     */
+    void flushQueued() {
+        while (queued.tryAcquire()) {
+            List<Pending> batch = new ArrayList<>();
+            batch.add(take());
+            while (batch.size() < maxBatchSize && queued.tryAcquire()) {
+                batch.add(take());
+            }
+            write(batch);
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                List<Pending> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Like writer failed", ex);
+            }
+        }
+    }
+
+    /**
+     * Wait for a first intent, then keep collecting until the batch is full
+     * or the linger time has passed.
+     */
+    private List<Pending> nextBatch() throws InterruptedException {
+        if (!queued.tryAcquire(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            return List.of();
+        }
+        List<Pending> batch = new ArrayList<>();
+        batch.add(take());
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (!queued.tryAcquire(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                break;
+            }
+            batch.add(take());
+        }
+        return batch;
+    }
+
+    /** Only called after acquiring a permit, so an intent is always available. */
+    private Pending take() {
+        size.decrementAndGet();
+        return queue.poll();
+    }
+
+    private void write(List<Pending> batch) {
+        Map<Key, Pending> latest = new LinkedHashMap<>();
+        List<Pending> superseded = new ArrayList<>();
+        for (Pending pending : batch) {
+            Pending previous = latest.put(pending.key(), pending);
+            if (previous != null) {
+                superseded.add(previous);
+            }
+        }
+        coalesced.increment(superseded.size());
+        batchSizes.record(batch.size());
+
+        List<Pending> writes = new ArrayList<>(latest.values());
+        Map<Pending, Result> results;
+        try {
+            results = transactionTemplate.execute(status -> persist(writes));
+        } catch (RuntimeException ex) {
+            log.warn("Group commit of {} like writes failed: {}", batch.size(), ex.getMessage());
+            batch.forEach(pending -> pending.future().completeExceptionally(ex));
+            return;
+        }
+        writes.forEach(pending -> pending.future().complete(results.get(pending)));
+        superseded.forEach(pending -> pending.future().complete(Result.SUPERSEDED));
+        log.debug("Group-committed {} like writes ({} coalesced)", writes.size(), superseded.size());
+    }
+
+    private Map<Pending, Result> persist(List<Pending> writes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Pending> likes = writes.stream().filter(Pending::like).toList();
+        List<Pending> unlikes = writes.stream().filter(pending -> !pending.like()).toList();
+        // Only consulted for rows whose update count the driver did not report
+        Map<Key, Long> existing = readLikeIds(writes);
+
+        Map<Pending, Result> results = new HashMap<>();
+        int[] deleted = likeRepository.deleteLikes(
+                unlikes.stream().map(pending -> toEntity(pending, now)).toList());
+        for (int i = 0; i < unlikes.size(); i++) {
+            boolean applied = deleted[i] == Statement.SUCCESS_NO_INFO
+                    ? existing.containsKey(unlikes.get(i).key())
+                    : deleted[i] > 0;
+            results.put(unlikes.get(i), applied ? new Result(Status.APPLIED, null, null) : Result.UNCHANGED);
+        }
+
+        int[] inserted = likeRepository.insertLikesIfAbsent(
+                likes.stream().map(pending -> toEntity(pending, now)).toList());
+        List<Pending> written = new ArrayList<>();
+        List<Pending> unknown = new ArrayList<>();
+        for (int i = 0; i < likes.size(); i++) {
+            if (inserted[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(likes.get(i));
+            } else if (inserted[i] > 0) {
+                written.add(likes.get(i));
+            } else {
+                results.put(likes.get(i), Result.UNCHANGED);
+            }
+        }
+        List<Pending> readBack = new ArrayList<>(written);
+        readBack.addAll(unknown);
+        Map<Key, Long> likeIds = readLikeIds(readBack);
+        for (Pending pending : unknown) {
+            // Inserted if the like exists now but did not before; otherwise the row was ignored
+            if (likeIds.containsKey(pending.key()) && !existing.containsKey(pending.key())) {
+                written.add(pending);
+            } else {
+                results.put(pending, Result.UNCHANGED);
+            }
+        }
+        written.forEach(pending -> results.put(pending,
+                new Result(Status.APPLIED, likeIds.get(pending.key()), now)));
+        return results;
+    }
+
+    /**
+     * Read the IDs of the stored likes of the given intents with one query
+     * per target kind.
+     */
+    private Map<Key, Long> readLikeIds(List<Pending> intents) {
+        Map<Key, Long> ids = new HashMap<>();
+        for (Target target : Target.values()) {
+            List<Key> keys = intents.stream().map(Pending::key).filter(key -> key.target() == target).toList();
+            if (keys.isEmpty()) {
+                continue;
+            }
+            List<Long> targetIds = keys.stream().map(Key::targetId).distinct().toList();
+            List<Long> userIds = keys.stream().map(Key::userId).distinct().toList();
+            List<LikeEntity> rows = target == Target.POST
+                    ? likeRepository.findByPostIdInAndUserIdIn(targetIds, userIds)
+                    : likeRepository.findByCommentIdInAndUserIdIn(targetIds, userIds);
+            for (LikeEntity row : rows) {
+                Long targetId = target == Target.POST ? row.getPostId() : row.getCommentId();
+                ids.put(new Key(target, targetId, row.getUserId()), row.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static LikeEntity toEntity(Pending pending, LocalDateTime now) {
+        Key key = pending.key();
+        return LikeEntity.builder()
+                .userId(key.userId())
+                .postId(key.target() == Target.POST ? key.targetId() : null)
+                .commentId(key.target() == Target.COMMENT ? key.targetId() : null)
+                .createdAt(now)
+                .build();
+    }
+
+    public enum Status {
+        /** The like was inserted or deleted. */
+        APPLIED,
+        /** Nothing changed: already in the requested state, or the item is missing. */
+        UNCHANGED,
+        /** A later toggle by the same user in the same batch replaced this one. */
+        SUPERSEDED
+    }
+
+    /**
+     * Outcome of one like write.
+     *
+     * @param status    What happened
+     * @param likeId    ID of the inserted like, for applied likes
+     * @param createdAt Timestamp of the inserted like, for applied likes
+     */
+    public record Result(Status status, Long likeId, LocalDateTime createdAt) {
+
+        public static final Result UNCHANGED = new Result(Status.UNCHANGED, null, null);
+        public static final Result SUPERSEDED = new Result(Status.SUPERSEDED, null, null);
+    }
+
+    private record Key(Target target, Long targetId, Long userId) {
+    }
+
+    private record Pending(Key key, boolean like, CompletableFuture<Result> future) {
+    }
+}
@@ -0,0 +1,272 @@
+package com.communityplatform.content.like;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of user IDs, laid out like a Roaring bitmap.
+ *
+ * IDs are split into a high key (id >> 16) and a 16-bit low part. Each key
+ * owns a container holding its low parts: a sorted char array while sparse,
+ * a 65536-bit bitmap once it holds more than 4096 values. Sequential user IDs
+ * therefore cost about two bytes each, and dense ranges one bit each.
+ *
+ * Updates return a new instance sharing every container but the one touched,
+ * so readers never lock and a write copies at most 8 KB.
+ */
+final class LikerBitmap {
+
+    static final LikerBitmap EMPTY = new LikerBitmap(new long[0], new Container[0], 0);
+
+    /** Above this many values a container switches to a bitmap, which is then smaller. */
+    private static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private final long[] keys;
+    private final Container[] containers;
+    private final long cardinality;
+
+    private LikerBitmap(long[] keys, Container[] containers, long cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    static LikerBitmap of(long[] values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        long[] keys = new long[sorted.length];
+        Container[] containers = new Container[sorted.length];
+        int count = 0;
+        long cardinality = 0;
+        char[] lows = new char[Math.min(sorted.length, 1 << 16)];
+        int from = 0;
+        while (from < sorted.length) {
+            long key = sorted[from] >> 16;
+            int size = 0;
+            int to = from;
+            for (; to < sorted.length && sorted[to] >> 16 == key; to++) {
+                char low = (char) sorted[to];
+                if (size == 0 || lows[size - 1] != low) {
+                    lows[size++] = low;
+                }
+            }
+            keys[count] = key;
+            containers[count++] = size > ARRAY_LIMIT
+                    ? BitmapContainer.of(lows, size)
+                    : new ArrayContainer(Arrays.copyOf(lows, size));
+            cardinality += size;
+            from = to;
+        }
+        return new LikerBitmap(Arrays.copyOf(keys, count), Arrays.copyOf(containers, count), cardinality);
+    }
+
+    boolean contains(long value) {
+        int index = Arrays.binarySearch(keys, value >> 16);
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    LikerBitmap with(long value) {
+        long key = value >> 16;
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            int at = -index - 1;
+            return new LikerBitmap(insert(keys, at, key),
+                    insert(containers, at, new ArrayContainer(new char[] { (char) value })), cardinality + 1);
+        }
+        Container updated = containers[index].add((char) value);
+        if (updated == containers[index]) {
+            return this;
+        }
+        Container[] copy = containers.clone();
+        copy[index] = updated;
+        return new LikerBitmap(keys, copy, cardinality + 1);
+    }
+
+    LikerBitmap without(long value) {
+        int index = Arrays.binarySearch(keys, value >> 16);
+        if (index < 0) {
+            return this;
+        }
+        Container updated = containers[index].remove((char) value);
+        if (updated == containers[index]) {
+            return this;
+        }
+        if (updated.cardinality() == 0) {
+            return new LikerBitmap(remove(keys, index), remove(containers, index), cardinality - 1);
+        }
+        Container[] copy = containers.clone();
+        copy[index] = updated;
+        return new LikerBitmap(keys, copy, cardinality - 1);
+    }
+
+    long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Approximate heap footprint, used to enforce the index memory budget.
+     */
+    long sizeInBytes() {
+        long size = 48L + 12L * keys.length;
+        for (Container container : containers) {
+            size += container.sizeInBytes();
+        }
+        return size;
+    }
+
+    private static long[] insert(long[] array, int at, long value) {
+        long[] copy = new long[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static Container[] insert(Container[] array, int at, Container value) {
+        Container[] copy = new Container[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static long[] remove(long[] array, int at) {
+        long[] copy = new long[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        System.arraycopy(array, at + 1, copy, at, copy.length - at);
+        return copy;
+    }
+
+    private static Container[] remove(Container[] array, int at) {
+        Container[] copy = new Container[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        System.arraycopy(array, at + 1, copy, at, copy.length - at);
+        return copy;
+    }
+
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+
+        boolean contains(char low);
+
+        /** Returns this container when the value is already present. */
+        Container add(char low);
+
+        /** Returns this container when the value is absent. */
+        Container remove(char low);
+
+        int cardinality();
+
+        long sizeInBytes();
+    }
+
+    /** Sorted low parts; used while a key holds at most {@link #ARRAY_LIMIT} values. */
+    private record ArrayContainer(char[] values) implements Container {
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            int index = Arrays.binarySearch(values, low);
+            if (index >= 0) {
+                return this;
+            }
+            if (values.length >= ARRAY_LIMIT) {
+                return BitmapContainer.of(values, values.length).add(low);
+            }
+            int at = -index - 1;
+            char[] copy = new char[values.length + 1];
+            System.arraycopy(values, 0, copy, 0, at);
+            copy[at] = low;
+            System.arraycopy(values, at, copy, at + 1, values.length - at);
+            return new ArrayContainer(copy);
+        }
+
+        @Override
+        public Container remove(char low) {
+            int index = Arrays.binarySearch(values, low);
+            if (index < 0) {
+                return this;
+            }
+            char[] copy = new char[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return new ArrayContainer(copy);
+        }
+
+        @Override
+        public int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 32L + 2L * values.length;
+        }
+    }
+
+    /** One bit per possible low part; used once a key holds more than {@link #ARRAY_LIMIT} values. */
+    private record BitmapContainer(long[] words, int cardinality) implements Container {
+
+        static BitmapContainer of(char[] lows, int size) {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < size; i++) {
+                words[lows[i] >>> 6] |= 1L << lows[i];
+            }
+            return new BitmapContainer(words, size);
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            if (contains(low)) {
+                return this;
+            }
+            long[] copy = words.clone();
+            copy[low >>> 6] |= 1L << low;
+            return new BitmapContainer(copy, cardinality + 1);
+        }
+
+        @Override
+        public Container remove(char low) {
+            if (!contains(low)) {
+                return this;
+            }
+            if (cardinality - 1 <= ARRAY_LIMIT) {
+                return toArray().remove(low);
+            }
+            long[] copy = words.clone();
+            copy[low >>> 6] &= ~(1L << low);
+            return new BitmapContainer(copy, cardinality - 1);
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 48L + 8L * BITMAP_WORDS;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    values[size++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return new ArrayContainer(values);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.communityplatform.content.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import com.communityplatform.content.dto.media.MediaResponseDto;
 import com.communityplatform.content.dto.media.MediaUploadResponseDto;
+import com.communityplatform.content.dto.media.MediaVariantDto;
 import com.communityplatform.content.entity.MediaEntity;
+import com.communityplatform.content.entity.MediaVariantEntity;
 
 /**
  * MapStruct mapper for Media entity and DTOs.
@@ -19,7 +22,14 @@ public interface MediaMapper {
     MediaUploadResponseDto toUploadResponseDto(MediaEntity entity);
 
     /**
-     * Convert Entity to full ResponseDto.
+     * Convert Entity to full ResponseDto. Variants are stored separately and
+     * filled in by the caller.
      */
+    @Mapping(target = "variants", ignore = true)
     MediaResponseDto toResponseDto(MediaEntity entity);
+
+    /**
+     * Convert variant Entity to VariantDto.
+     */
+    MediaVariantDto toVariantDto(MediaVariantEntity entity);
 }
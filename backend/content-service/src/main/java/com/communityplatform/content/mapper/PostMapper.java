@@ -29,6 +29,7 @@ public interface PostMapper {
     @Mapping(target = "profilePictureUrl", ignore = true)
     @Mapping(target = "authorFullName", ignore = true)
     @Mapping(target = "likedByCurrentUser", ignore = true)
+    @Mapping(target = "media", ignore = true)
     PostResponseDto toResponseDto(PostEntity entity);
 
     /**
@@ -36,6 +37,7 @@ public interface PostMapper {
      */
     @Mapping(target = "username", ignore = true)
     @Mapping(target = "profilePictureUrl", ignore = true)
+    @Mapping(target = "media", ignore = true)
     PostSummaryDto toSummaryDto(PostEntity entity);
 
     /**
@@ -0,0 +1,412 @@
+package com.communityplatform.content.media;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.communityplatform.content.entity.DerivativeStatus;
+import com.communityplatform.content.entity.MediaEntity;
+import com.communityplatform.content.entity.MediaVariantEntity;
+import com.communityplatform.content.event.MediaStoredEvent;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaVariantRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates resized variants of uploaded images in the background.
+ *
+ * Features:
+ * - Stored media are handed to a fixed pool of workers through a bounded
+ *   queue; when it is full the media stays PENDING and a periodic sweep
+ *   submits it later, which also covers jobs lost on restart
+ * - The original is read once as a stream; large images are subsampled while
+ *   decoding so only about twice the largest variant is held in memory
+ * - Each configured size is scaled down from the previous, larger one and
+ *   stored next to the original as JPEG, or PNG when the image has alpha
+ * - Dimensions and variants are recorded on the media; media with identical
+ *   content reuse the variants already generated for it
+ *
+ * Metrics: media.derivatives.queue.depth, media.derivatives.duration,
+ * media.derivatives.rejected.
+ */
+@Component
+@Slf4j
+public class ImageDerivativePipeline {
+
+    /** Formats javax.imageio can decode out of the box. */
+    private static final Set<String> DECODABLE_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/bmp");
+
+    private final MediaRepository mediaRepository;
+    private final MediaVariantRepository variantRepository;
+    private final MediaStorage storage;
+    private final TransactionTemplate transaction;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final List<Size> sizes;
+    private final float jpegQuality;
+    private final long maxSourceBytes;
+    private final long maxSourcePixels;
+    private final long sweepMinAgeMs;
+
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter rejected;
+
+    public ImageDerivativePipeline(MediaRepository mediaRepository, MediaVariantRepository variantRepository,
+            MediaStorage storage, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${media.derivatives.enabled:true}") boolean enabled,
+            @Value("${media.derivatives.sizes:thumb:160,small:480,feed:1080}") String sizes,
+            @Value("${media.derivatives.workers:2}") int workerCount,
+            @Value("${media.derivatives.queue-capacity:500}") int queueCapacity,
+            @Value("${media.derivatives.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${media.derivatives.max-source-bytes:52428800}") long maxSourceBytes,
+            @Value("${media.derivatives.max-source-pixels:100000000}") long maxSourcePixels,
+            @Value("${media.derivatives.sweep-min-age-ms:60000}") long sweepMinAgeMs) {
+        this.mediaRepository = mediaRepository;
+        this.variantRepository = variantRepository;
+        this.storage = storage;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.sizes = parseSizes(sizes);
+        this.jpegQuality = jpegQuality;
+        this.maxSourceBytes = maxSourceBytes;
+        this.maxSourcePixels = maxSourcePixels;
+        this.sweepMinAgeMs = sweepMinAgeMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "media-derivatives-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.rejected = Counter.builder("media.derivatives.rejected")
+                .description("Media left for the sweep because the derivative queue was full")
+                .register(meterRegistry);
+        Gauge.builder("media.derivatives.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Media waiting for a derivative worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether variants will be generated for media of this type and size.
+     */
+    public boolean accepts(String mimeType, long fileSize) {
+        return enabled && !sizes.isEmpty() && fileSize <= maxSourceBytes && mimeType != null
+                && DECODABLE_TYPES.contains(mimeType.toLowerCase(Locale.ROOT));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMediaStored(MediaStoredEvent event) {
+        if (enabled) {
+            submit(event.mediaId());
+        }
+    }
+
+    /**
+     * Resubmit media still PENDING, as far as the queue has room.
+     */
+    @Scheduled(fixedDelayString = "${media.derivatives.sweep-interval-ms:60000}",
+            initialDelayString = "${media.derivatives.sweep-interval-ms:60000}")
+    public void sweep() {
+        int room = workers.getQueue().remainingCapacity();
+        if (!enabled || room == 0) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(sweepMinAgeMs));
+        List<Long> pending = mediaRepository.findIdsByDerivativeStatusBefore(DerivativeStatus.PENDING, before,
+                PageRequest.of(0, room));
+        pending.forEach(this::submit);
+        if (!pending.isEmpty()) {
+            log.debug("Resubmitted {} media for derivatives", pending.size());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    private void submit(Long mediaId) {
+        if (!inFlight.add(mediaId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(mediaId);
+                } finally {
+                    inFlight.remove(mediaId);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(mediaId);
+            rejected.increment();
+            log.debug("Derivative queue full; media {} is left for the sweep", mediaId);
+        }
+    }
+
+    /**
+     * Generate and record the variants of one media. Failures are recorded as
+     * FAILED rather than retried.
+     */
+    void process(Long mediaId) {
+        long started = System.nanoTime();
+        String outcome = "skipped";
+        try {
+            MediaEntity media = mediaRepository.findById(mediaId).orElse(null);
+            if (media != null && media.getDerivativeStatus() == DerivativeStatus.PENDING) {
+                outcome = reuseFromIdenticalMedia(media) ? "reused" : generate(media);
+            }
+        } catch (IOException | RuntimeException ex) {
+            outcome = "failed";
+            log.warn("Failed to generate derivatives for media {}", mediaId, ex);
+            transaction.executeWithoutResult(status -> mediaRepository.updateDerivatives(mediaId, null, null,
+                    DerivativeStatus.FAILED));
+        } finally {
+            Timer.builder("media.derivatives.duration")
+                    .description("Time to generate the variants of one media")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean reuseFromIdenticalMedia(MediaEntity media) {
+        if (media.getBlobId() == null) {
+            return false;
+        }
+        MediaEntity source = mediaRepository
+                .findFirstByBlobIdAndDerivativeStatusOrderByIdAsc(media.getBlobId(), DerivativeStatus.READY)
+                .orElse(null);
+        if (source == null) {
+            return false;
+        }
+        List<MediaVariantEntity> variants = variantRepository.findByMediaId(source.getId()).stream()
+                .<MediaVariantEntity>map(variant -> MediaVariantEntity.builder()
+                        .mediaId(media.getId())
+                        .label(variant.getLabel())
+                        .objectKey(variant.getObjectKey())
+                        .mimeType(variant.getMimeType())
+                        .width(variant.getWidth())
+                        .height(variant.getHeight())
+                        .fileSize(variant.getFileSize())
+                        .url(variant.getUrl())
+                        .build())
+                .toList();
+        record(media.getId(), source.getWidth(), source.getHeight(), variants);
+        return true;
+    }
+
+    private String generate(MediaEntity media) throws IOException {
+        Decoded decoded;
+        try (InputStream original = storage.get(media.getBucketName(), media.getStoredFilename());
+                ImageInputStream input = new MemoryCacheImageInputStream(original)) {
+            decoded = decode(input);
+        }
+
+        boolean alpha = decoded.image().getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        String base = StringUtils.stripFilenameExtension(media.getStoredFilename());
+        int longestSide = Math.max(decoded.width(), decoded.height());
+
+        List<MediaVariantEntity> variants = new ArrayList<>();
+        BufferedImage previous = decoded.image();
+        for (Size size : sizes) {
+            if (size.maxDimension() >= longestSide) {
+                continue;
+            }
+            double ratio = (double) size.maxDimension() / longestSide;
+            int width = Math.max(1, (int) Math.round(decoded.width() * ratio));
+            int height = Math.max(1, (int) Math.round(decoded.height() * ratio));
+            BufferedImage scaled = scale(previous, width, height, alpha);
+            byte[] encoded = alpha ? encodePng(scaled) : encodeJpeg(scaled);
+
+            String objectKey = base + "_" + size.label() + "." + format;
+            String mimeType = alpha ? "image/png" : "image/jpeg";
+            MediaStorage.await(storage.put(media.getBucketName(), objectKey, mimeType, encoded, encoded.length),
+                    "Failed to store variant " + objectKey);
+
+            variants.add(MediaVariantEntity.builder()
+                    .mediaId(media.getId())
+                    .label(size.label())
+                    .objectKey(objectKey)
+                    .mimeType(mimeType)
+                    .width(width)
+                    .height(height)
+                    .fileSize((long) encoded.length)
+                    .url(storage.publicUrl(media.getBucketName(), objectKey))
+                    .build());
+            previous = scaled;
+        }
+
+        record(media.getId(), decoded.width(), decoded.height(), variants);
+        log.debug("Generated {} variants for media {}", variants.size(), media.getId());
+        return "generated";
+    }
+
+    /**
+     * Store the results, unless the media was deleted in the meantime.
+     */
+    private void record(Long mediaId, Integer width, Integer height, List<MediaVariantEntity> variants) {
+        transaction.executeWithoutResult(status -> {
+            if (mediaRepository.updateDerivatives(mediaId, width, height, DerivativeStatus.READY) == 0) {
+                return;
+            }
+            variantRepository.deleteByMediaId(mediaId);
+            variantRepository.saveAll(variants);
+        });
+    }
+
+    /**
+     * Decode the image, subsampling so the result is still at least twice the
+     * largest variant.
+     */
+    private Decoded decode(ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IOException("Unsupported image format");
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > maxSourcePixels) {
+                throw new IOException("Image of " + width + "x" + height + " exceeds " + maxSourcePixels + " pixels");
+            }
+            int step = Math.max(1, Math.max(width, height) / (2 * sizes.get(0).maxDimension()));
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(step, step, 0, 0);
+            return new Decoded(reader.read(0, param), width, height);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Scale down in halving steps with bilinear interpolation, which keeps
+     * detail that a single large step would alias away.
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Parse "label:maxDimension,..." into sizes, largest first.
+     */
+    static List<Size> parseSizes(String sizes) {
+        List<Size> parsed = new ArrayList<>();
+        for (String entry : StringUtils.commaDelimitedListToStringArray(sizes)) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid derivative size '" + entry + "', expected label:pixels");
+            }
+            parsed.add(new Size(parts[0].trim(), Integer.parseInt(parts[1].trim())));
+        }
+        parsed.sort(Comparator.comparingInt(Size::maxDimension).reversed());
+        return List.copyOf(parsed);
+    }
+
+    /**
+     * A configured variant size.
+     *
+     * @param label        Variant name
+     * @param maxDimension Longest side in pixels
+     */
+    record Size(String label, int maxDimension) {
+    }
+
+    /**
+     * @param image  Decoded, possibly subsampled, image
+     * @param width  Original width
+     * @param height Original height
+     */
+    private record Decoded(BufferedImage image, int width, int height) {
+    }
+}
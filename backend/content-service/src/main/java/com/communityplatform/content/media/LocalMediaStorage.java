@@ -0,0 +1,551 @@
+package com.communityplatform.content.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
+
+import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.MediaStorageException;
+import com.communityplatform.content.exception.MultipartUploadNotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local filesystem storage backend, for development, CI, single-node
+ * deployments and load tests that should not pay for S3.
+ *
+ * Features:
+ * - Objects live at {@code root-dir/bucket/key}; writes go through a
+ *   FileChannel into a temporary file that is atomically renamed into place,
+ *   so readers never see a partial object
+ * - Multipart parts are kept as files per upload and assembled with
+ *   FileChannel.transferTo, file to file, without copying through the heap
+ * - Downloads use transferTo too, which is zero-copy when the target is a
+ *   socket; the object endpoint hands files to Tomcat's sendfile when it can
+ * - Presigned URLs point at that endpoint and carry an HMAC over the method,
+ *   object, upload part and expiry
+ * - Listing walks the bucket directory and keeps only the requested page,
+ *   so memory stays bounded by the page size; each page costs a full walk
+ *
+ * Without a configured signing key a random one is used, so presigned URLs
+ * do not survive a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "local")
+@Slf4j
+public class LocalMediaStorage implements MediaStorage {
+
+    private static final String UPLOADS_DIR = ".uploads";
+    private static final String UPLOAD_TARGET_FILE = "target";
+    private static final Pattern BUCKET_NAME = Pattern.compile("[a-z0-9][a-z0-9.-]{1,62}");
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final Pattern PART_FILE = Pattern.compile("(\\d+)-([0-9a-f]{32})\\.part");
+
+    private final Path root;
+    private final String publicUrl;
+    private final SecretKeySpec signingKey;
+
+    public LocalMediaStorage(@Value("${media.storage.local.root-dir:data/media}") String rootDir,
+            @Value("${media.storage.local.public-url:http://localhost:${server.port:8082}${api.base-path:/api/v1}/media/files}")
+            String publicUrl,
+            @Value("${media.storage.local.signing-key:}") String signingKey) {
+        this.root = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+
+        byte[] key;
+        if (StringUtils.hasText(signingKey)) {
+            key = signingKey.getBytes(StandardCharsets.UTF_8);
+        } else {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            log.info("No media.storage.local.signing-key set; presigned URLs will not survive a restart");
+        }
+        this.signingKey = new SecretKeySpec(key, "HmacSHA256");
+        log.info("Storing media on the local filesystem under {}", root);
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String bucket, String key, String contentType, byte[] data, int length) {
+        return run(() -> {
+            writeAtomically(objectPath(bucket, key), channel -> writeFully(channel, ByteBuffer.wrap(data, 0, length)));
+            return null;
+        });
+    }
+
+    /**
+     * Store an object from a stream, for uploads sent to presigned URLs.
+     *
+     * @return Entity tag of the stored object
+     */
+    public String write(String bucket, String key, InputStream content) {
+        MessageDigest md5 = md5();
+        try {
+            writeAtomically(objectPath(bucket, key), channel -> transferFrom(
+                    Channels.newChannel(new DigestInputStream(content, md5)), channel));
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to store media file " + key, ex);
+        }
+        return HexFormat.of().formatHex(md5.digest());
+    }
+
+    /**
+     * Store one part of a multipart upload from a stream, for parts sent to
+     * presigned URLs.
+     *
+     * @return Entity tag of the stored part
+     */
+    public String writePart(String bucket, String key, String uploadId, int partNumber, InputStream content) {
+        Path uploadDir = uploadDir(bucket, key, uploadId);
+        MessageDigest md5 = md5();
+        Path staging;
+        try {
+            staging = Files.createTempFile(uploadDir, ".tmp-", null);
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+                transferFrom(Channels.newChannel(new DigestInputStream(content, md5)), channel);
+            }
+            return storePart(uploadDir, partNumber, staging, HexFormat.of().formatHex(md5.digest()));
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to store part " + partNumber + " of " + key, ex);
+        }
+    }
+
+    @Override
+    public InputStream get(String bucket, String key) {
+        try {
+            return Files.newInputStream(objectPath(bucket, key));
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to read media file " + key, ex);
+        }
+    }
+
+    @Override
+    public long transferTo(String bucket, String key, long position, long count, WritableByteChannel target) {
+        try (FileChannel channel = FileChannel.open(objectPath(bucket, key), StandardOpenOption.READ)) {
+            return transfer(channel, position, count, target);
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to read media file " + key, ex);
+        }
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String bucket, String key) {
+        Path path = objectPath(bucket, key);
+        try {
+            return Optional.of(new ObjectStat(Files.size(path), URLConnection.guessContentTypeFromName(key)));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to stat media file " + key, ex);
+        }
+    }
+
+    /**
+     * Location of an object on disk, for serving it with sendfile.
+     */
+    public Path objectPath(String bucket, String key) {
+        Path bucketDir = bucketDir(bucket);
+        Path path = bucketDir.resolve(key == null ? "" : key).normalize();
+        if (!StringUtils.hasText(key) || !path.startsWith(bucketDir) || path.equals(bucketDir)) {
+            throw new InvalidMediaException("Invalid object key");
+        }
+        return path;
+    }
+
+    private Path bucketDir(String bucket) {
+        if (bucket == null || !BUCKET_NAME.matcher(bucket).matches()) {
+            throw new InvalidMediaException("Invalid bucket name");
+        }
+        return root.resolve(bucket);
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        try {
+            Files.deleteIfExists(objectPath(bucket, key));
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to delete media file " + key, ex);
+        }
+    }
+
+    @Override
+    public List<String> deleteAll(String bucket, List<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (String key : keys) {
+            try {
+                delete(bucket, key);
+            } catch (MediaStorageException ex) {
+                log.warn("Failed to delete media file {}", key, ex);
+                failed.add(key);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public ObjectPage listObjects(String bucket, String startAfter, int maxKeys) {
+        Path bucketDir = bucketDir(bucket);
+        if (!Files.isDirectory(bucketDir)) {
+            return new ObjectPage(List.of(), false);
+        }
+        // Keep the first maxKeys keys after startAfter, in key order
+        TreeMap<String, ListedObject> page = new TreeMap<>();
+        boolean[] truncated = { false };
+        try {
+            Files.walkFileTree(bucketDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    String key = bucketDir.relativize(file).toString()
+                            .replace(file.getFileSystem().getSeparator(), "/");
+                    if (!attributes.isRegularFile() || file.getFileName().toString().startsWith(".tmp-")
+                            || (startAfter != null && key.compareTo(startAfter) <= 0)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    page.put(key, new ListedObject(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                    if (page.size() > maxKeys) {
+                        page.pollLastEntry();
+                        truncated[0] = true;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException ex) throws IOException {
+                    // Removed while walking
+                    if (ex instanceof NoSuchFileException) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    throw ex;
+                }
+            });
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to list media files", ex);
+        }
+        return new ObjectPage(new ArrayList<>(page.values()), truncated[0]);
+    }
+
+    @Override
+    public String presignGet(String bucket, String key, int expirySeconds) {
+        return presign("GET", bucket, key, null, null, expirySeconds);
+    }
+
+    @Override
+    public String presignPut(String bucket, String key, int expirySeconds) {
+        return presign("PUT", bucket, key, null, null, expirySeconds);
+    }
+
+    @Override
+    public String presignUploadPart(String bucket, String key, String uploadId, int partNumber,
+            int expirySeconds) {
+        return presign("PUT", bucket, key, uploadId, partNumber, expirySeconds);
+    }
+
+    /**
+     * Check a presigned URL's signature and expiry.
+     */
+    public boolean verifySignature(String method, String bucket, String key, String uploadId, Integer partNumber,
+            long expires, String signature) {
+        if (signature == null || expires < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        String expected = sign(method, bucket, key, uploadId, partNumber, expires);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public CompletableFuture<String> createMultipartUpload(String bucket, String key, String contentType) {
+        return run(() -> {
+            objectPath(bucket, key);
+            String uploadId = UUID.randomUUID().toString();
+            Path uploadDir = Files.createDirectories(root.resolve(UPLOADS_DIR).resolve(uploadId));
+            Files.writeString(uploadDir.resolve(UPLOAD_TARGET_FILE), bucket + "/" + key);
+            return uploadId;
+        });
+    }
+
+    @Override
+    public CompletableFuture<StoredPart> uploadPart(String bucket, String key, String uploadId, int partNumber,
+            byte[] data, int length) {
+        return run(() -> {
+            Path uploadDir = uploadDir(bucket, key, uploadId);
+            MessageDigest md5 = md5();
+            md5.update(data, 0, length);
+            Path staging = Files.createTempFile(uploadDir, ".tmp-", null);
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.wrap(data, 0, length));
+            }
+            String etag = storePart(uploadDir, partNumber, staging, HexFormat.of().formatHex(md5.digest()));
+            return new StoredPart(partNumber, etag, length);
+        });
+    }
+
+    @Override
+    public List<StoredPart> listParts(String bucket, String key, String uploadId) {
+        try {
+            return storedParts(uploadDir(bucket, key, uploadId)).values().stream()
+                    .map(StoredPartFile::part)
+                    .sorted(Comparator.comparingInt(StoredPart::partNumber))
+                    .toList();
+        } catch (IOException ex) {
+            throw new MediaStorageException("Failed to list uploaded parts", ex);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> completeMultipartUpload(String bucket, String key, String uploadId,
+            List<StoredPart> parts) {
+        return run(() -> {
+            Path uploadDir = uploadDir(bucket, key, uploadId);
+            Map<Integer, StoredPartFile> stored = storedParts(uploadDir);
+            List<Path> files = new ArrayList<>(parts.size());
+            for (StoredPart part : parts) {
+                StoredPartFile file = stored.get(part.partNumber());
+                if (file == null || !file.part().etag().equalsIgnoreCase(unquote(part.etag()))) {
+                    throw new InvalidMediaException("Part " + part.partNumber() + " does not match an uploaded part");
+                }
+                files.add(file.path());
+            }
+
+            writeAtomically(objectPath(bucket, key), target -> {
+                for (Path file : files) {
+                    try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+                        transfer(source, 0, source.size(), target);
+                    }
+                }
+            });
+            deleteRecursively(uploadDir);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> abortMultipartUpload(String bucket, String key, String uploadId) {
+        return run(() -> {
+            deleteRecursively(uploadDir(bucket, key, uploadId));
+            return null;
+        });
+    }
+
+    @Override
+    public String publicUrl(String bucket, String key) {
+        return publicUrl + "/" + bucket + "/" + UriUtils.encodePathSegment(key, StandardCharsets.UTF_8);
+    }
+
+    private String presign(String method, String bucket, String key, String uploadId, Integer partNumber,
+            int expirySeconds) {
+        objectPath(bucket, key);
+        long expires = Instant.now().getEpochSecond() + expirySeconds;
+        StringBuilder url = new StringBuilder(publicUrl(bucket, key)).append("?expires=").append(expires);
+        if (uploadId != null) {
+            url.append("&uploadId=").append(uploadId).append("&partNumber=").append(partNumber);
+        }
+        return url.append("&signature=").append(sign(method, bucket, key, uploadId, partNumber, expires)).toString();
+    }
+
+    private String sign(String method, String bucket, String key, String uploadId, Integer partNumber,
+            long expires) {
+        String payload = String.join("\n", method, bucket, key, String.valueOf(uploadId),
+                String.valueOf(partNumber), String.valueOf(expires));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 not available", ex);
+        }
+    }
+
+    /**
+     * Directory of an open multipart upload for this object.
+     *
+     * @throws MultipartUploadNotFoundException if there is no such upload
+     */
+    private Path uploadDir(String bucket, String key, String uploadId) {
+        if (uploadId == null || !UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new MultipartUploadNotFoundException(uploadId);
+        }
+        Path uploadDir = root.resolve(UPLOADS_DIR).resolve(uploadId);
+        try {
+            if (!Files.readString(uploadDir.resolve(UPLOAD_TARGET_FILE)).equals(bucket + "/" + key)) {
+                throw new MultipartUploadNotFoundException(uploadId);
+            }
+        } catch (NoSuchFileException ex) {
+            throw new MultipartUploadNotFoundException(uploadId);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return uploadDir;
+    }
+
+    /**
+     * Move a staged part into place, replacing an earlier upload of the same part number.
+     */
+    private static String storePart(Path uploadDir, int partNumber, Path staging, String etag) throws IOException {
+        Path target = uploadDir.resolve(partNumber + "-" + etag + ".part");
+        Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        try (DirectoryStream<Path> previous = Files.newDirectoryStream(uploadDir, partNumber + "-*.part")) {
+            for (Path file : previous) {
+                if (!file.equals(target)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        return etag;
+    }
+
+    private static Map<Integer, StoredPartFile> storedParts(Path uploadDir) throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            return files.map(file -> {
+                Matcher matcher = PART_FILE.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    return null;
+                }
+                try {
+                    return new StoredPartFile(file, new StoredPart(Integer.parseInt(matcher.group(1)),
+                            matcher.group(2), Files.size(file)));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }).filter(file -> file != null)
+                    .collect(Collectors.toMap(file -> file.part().partNumber(), Function.identity(),
+                            (first, second) -> second));
+        }
+    }
+
+    private static void writeAtomically(Path target, ChannelWriter writer) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path staging = Files.createTempFile(target.getParent(), ".tmp-", null);
+        try {
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+                writer.write(channel);
+                channel.force(false);
+            }
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(staging);
+            throw ex;
+        }
+    }
+
+    private static void transferFrom(ReadableByteChannel source, FileChannel target) throws IOException {
+        long position = 0;
+        long transferred;
+        while ((transferred = target.transferFrom(source, position, Long.MAX_VALUE - position)) > 0) {
+            position += transferred;
+        }
+    }
+
+    private static long transfer(FileChannel source, long position, long count, WritableByteChannel target)
+            throws IOException {
+        long end = Math.min(position + count, source.size());
+        long sent = position;
+        while (sent < end) {
+            long transferred = source.transferTo(sent, end - sent, target);
+            if (transferred <= 0) {
+                break;
+            }
+            sent += transferred;
+        }
+        return sent - position;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static String unquote(String etag) {
+        return etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")
+                ? etag.substring(1, etag.length() - 1)
+                : String.valueOf(etag);
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 not available", ex);
+        }
+    }
+
+    /**
+     * Run a filesystem operation, reporting its failure through the future.
+     */
+    private static <T> CompletableFuture<T> run(IoCall<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.call());
+        } catch (IOException | UncheckedIOException ex) {
+            return CompletableFuture.failedFuture(new MediaStorageException("Local media storage failed", ex));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoCall<T> {
+        T call() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ChannelWriter {
+        void write(FileChannel channel) throws IOException;
+    }
+
+    private record StoredPartFile(Path path, StoredPart part) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.communityplatform.content.media;
+
+import java.util.Optional;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.entity.MediaBlobEntity;
+import com.communityplatform.content.repository.MediaBlobRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reference-counted, content-addressed index of stored media objects.
+ *
+ * Features:
+ * - Finds an existing object by SHA-256 and takes a reference on it, so a
+ *   duplicate upload can skip its own write
+ * - Registers new objects; when two identical uploads race, the loser is
+ *   told to use the winner's object and drop its own
+ * - Releases references and reports when the object itself can be removed
+ *
+ * Reference changes are single conditional UPDATEs, so a blob that dropped
+ * to zero references is never revived while its object is being removed.
+ *
+ * Metrics: media.dedup.hits, media.dedup.bytes-saved.
+ */
+@Component
+@Slf4j
+public class MediaBlobStore {
+
+    private static final int REGISTER_ATTEMPTS = 3;
+
+    private final MediaBlobRepository blobRepository;
+    private final TransactionTemplate transaction;
+
+    private final Counter hits;
+    private final Counter bytesSaved;
+
+    public MediaBlobStore(MediaBlobRepository blobRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.blobRepository = blobRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+
+        this.hits = Counter.builder("media.dedup.hits")
+                .description("Uploads that reused an already stored object")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("media.dedup.bytes-saved")
+                .description("Bytes not written to object storage thanks to deduplication")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take a reference on the stored object with this content, if there is one.
+     */
+    public Optional<MediaBlobEntity> acquire(String sha256, long size) {
+        Optional<MediaBlobEntity> blob = transaction.execute(status -> blobRepository.findBySha256(sha256)
+                .filter(candidate -> candidate.getFileSize() == size)
+                .filter(candidate -> blobRepository.incrementRefCount(candidate.getId()) == 1));
+        if (blob.isPresent()) {
+            hits.increment();
+            bytesSaved.increment(size);
+            log.debug("Reusing blob {} for content {}", blob.get().getId(), sha256);
+        }
+        return blob;
+    }
+
+    /**
+     * Register a newly written object with one reference. If another upload
+     * registered the same content first, a reference on that blob is returned
+     * instead and the caller should remove its own object.
+     *
+     * @param sha256 Content hash, or null if the content was not hashed
+     */
+    public Registration register(String sha256, String bucket, String objectKey, long size) {
+        for (int attempt = 0; attempt < REGISTER_ATTEMPTS; attempt++) {
+            try {
+                MediaBlobEntity blob = transaction.execute(status -> blobRepository.saveAndFlush(
+                        MediaBlobEntity.builder()
+                                .sha256(sha256)
+                                .bucketName(bucket)
+                                .objectKey(objectKey)
+                                .fileSize(size)
+                                .refCount(1)
+                                .build()));
+                return new Registration(blob, false);
+            } catch (DataIntegrityViolationException ex) {
+                if (sha256 == null) {
+                    throw ex;
+                }
+                Optional<MediaBlobEntity> existing = acquire(sha256, size);
+                if (existing.isPresent()) {
+                    return new Registration(existing.get(), true);
+                }
+                // The winner was released in the meantime; try to register again
+            }
+        }
+        throw new IllegalStateException("Could not register blob for content " + sha256);
+    }
+
+    /**
+     * Drop a reference. Joins the caller's transaction if there is one.
+     *
+     * @return the blob if this was its last reference and its object should be removed
+     */
+    public Optional<MediaBlobEntity> release(Long blobId) {
+        return transaction.execute(status -> {
+            Optional<MediaBlobEntity> blob = blobRepository.findById(blobId);
+            if (blob.isEmpty() || blobRepository.decrementRefCount(blobId) == 0) {
+                return Optional.empty();
+            }
+            return blobRepository.deleteIfUnreferenced(blobId) == 1 ? blob : Optional.empty();
+        });
+    }
+
+    /**
+     * Outcome of registering an object.
+     *
+     * @param blob      Blob the media should reference
+     * @param duplicate True if the blob belongs to another upload of the same
+     *                  content, so the caller's own object is now redundant
+     */
+    public record Registration(MediaBlobEntity blob, boolean duplicate) {
+    }
+}
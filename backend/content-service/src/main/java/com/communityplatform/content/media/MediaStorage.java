@@ -0,0 +1,170 @@
+package com.communityplatform.content.media;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.MediaStorageException;
+import com.communityplatform.content.exception.MultipartUploadNotFoundException;
+
+/**
+ * Object storage used by the media path.
+ *
+ * Writes that the streaming uploader pipelines (put, multipart) return
+ * futures; everything else is synchronous. Failures are reported as
+ * {@link MediaStorageException}, and calls naming a multipart upload that no
+ * longer exists fail with {@link MultipartUploadNotFoundException}.
+ *
+ * Implementations: MinIO/S3 ({@code media.storage.type=minio}, the default)
+ * and the local filesystem ({@code media.storage.type=local}).
+ */
+public interface MediaStorage {
+
+    /**
+     * Store the first {@code length} bytes of {@code data} as an object.
+     */
+    CompletableFuture<Void> put(String bucket, String key, String contentType, byte[] data, int length);
+
+    /**
+     * Open an object for reading; the caller closes the stream.
+     */
+    InputStream get(String bucket, String key);
+
+    /**
+     * Copy {@code count} bytes of an object starting at {@code position} to
+     * the channel, without going through user-space buffers where the backend
+     * allows it.
+     *
+     * @return Number of bytes copied
+     */
+    long transferTo(String bucket, String key, long position, long count, WritableByteChannel target);
+
+    /**
+     * Size and content type of an object, or empty if it does not exist.
+     */
+    Optional<ObjectStat> stat(String bucket, String key);
+
+    /**
+     * Remove an object; removing a missing object is not an error.
+     */
+    void delete(String bucket, String key);
+
+    /**
+     * Remove several objects with as few calls as the backend allows;
+     * removing a missing object is not an error.
+     *
+     * @return Keys that could not be removed
+     */
+    List<String> deleteAll(String bucket, List<String> keys);
+
+    /**
+     * One page of a bucket's objects in key order, starting after
+     * {@code startAfter}, or at the first key if it is null. Objects still
+     * being written are not listed.
+     */
+    ObjectPage listObjects(String bucket, String startAfter, int maxKeys);
+
+    /**
+     * URL clients can GET the object from until it expires.
+     */
+    String presignGet(String bucket, String key, int expirySeconds);
+
+    /**
+     * URL clients can PUT the object to until it expires.
+     */
+    String presignPut(String bucket, String key, int expirySeconds);
+
+    /**
+     * URL clients can PUT one part of a multipart upload to until it expires.
+     */
+    String presignUploadPart(String bucket, String key, String uploadId, int partNumber, int expirySeconds);
+
+    /**
+     * Start a multipart upload and return its upload ID.
+     */
+    CompletableFuture<String> createMultipartUpload(String bucket, String key, String contentType);
+
+    /**
+     * Upload the first {@code length} bytes of {@code data} as one part.
+     */
+    CompletableFuture<StoredPart> uploadPart(String bucket, String key, String uploadId, int partNumber,
+            byte[] data, int length);
+
+    /**
+     * All parts stored so far for a multipart upload, in part-number order.
+     */
+    List<StoredPart> listParts(String bucket, String key, String uploadId);
+
+    /**
+     * Assemble the parts, given in part-number order, into the object.
+     */
+    CompletableFuture<Void> completeMultipartUpload(String bucket, String key, String uploadId,
+            List<StoredPart> parts);
+
+    /**
+     * Abort a multipart upload, discarding the parts stored so far.
+     */
+    CompletableFuture<Void> abortMultipartUpload(String bucket, String key, String uploadId);
+
+    /**
+     * Permanent, unsigned URL of an object.
+     */
+    String publicUrl(String bucket, String key);
+
+    /**
+     * Wait for a call to finish. Storage and validation failures are rethrown
+     * as they are; anything else is reported as {@link MediaStorageException}.
+     */
+    static <T> T await(CompletableFuture<T> future, String failureMessage) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MediaStorageException(failureMessage, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof MediaStorageException storage) {
+                throw storage;
+            }
+            if (ex.getCause() instanceof InvalidMediaException invalid) {
+                throw invalid;
+            }
+            throw new MediaStorageException(failureMessage, ex.getCause());
+        }
+    }
+
+    /**
+     * @param size        Object size in bytes
+     * @param contentType Stored content type, or null if unknown
+     */
+    record ObjectStat(long size, String contentType) {
+    }
+
+    /**
+     * @param lastModified When the object was last written
+     */
+    record ListedObject(String key, long size, Instant lastModified) {
+    }
+
+    /**
+     * @param truncated Whether more objects may follow the last one listed
+     */
+    record ObjectPage(List<ListedObject> objects, boolean truncated) {
+
+        public String lastKey() {
+            return objects.isEmpty() ? null : objects.get(objects.size() - 1).key();
+        }
+    }
+
+    /**
+     * @param partNumber Part number, starting at 1
+     * @param etag       Entity tag returned when the part was stored
+     * @param size       Part size in bytes, or 0 if unknown
+     */
+    record StoredPart(int partNumber, String etag, long size) {
+    }
+}
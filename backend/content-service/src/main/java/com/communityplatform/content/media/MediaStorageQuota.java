@@ -0,0 +1,157 @@
+package com.communityplatform.content.media;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.entity.MediaStorageUsageEntity;
+import com.communityplatform.content.exception.StorageQuotaExceededException;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaStorageUsageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user media storage totals and quota.
+ *
+ * Features:
+ * - Totals change with single conditional UPDATEs, so concurrent uploads by
+ *   the same user cannot overrun the quota together
+ * - Cheap pre-checks against the declared size, so uploads that cannot fit
+ *   are rejected before any bytes are streamed
+ * - Totals of a user's first tracked upload are seeded from the media table
+ * - A quota of 0 disables enforcement; totals are still kept
+ *
+ * Callers change the totals in the same transaction as the media write, so
+ * a failed write rolls its charge back. Any remaining drift is corrected by
+ * MediaUsageReconciler in the background.
+ *
+ * Metrics: media.quota.rejected.
+ */
+@Component
+@Slf4j
+public class MediaStorageQuota {
+
+    private final MediaStorageUsageRepository usageRepository;
+    private final MediaRepository mediaRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate newTransaction;
+    private final long maxBytesPerUser;
+
+    private final Counter rejected;
+
+    public MediaStorageQuota(MediaStorageUsageRepository usageRepository, MediaRepository mediaRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${media.quota.max-bytes-per-user:10737418240}") long maxBytesPerUser) {
+        this.usageRepository = usageRepository;
+        this.mediaRepository = mediaRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxBytesPerUser = maxBytesPerUser;
+
+        this.rejected = Counter.builder("media.quota.rejected")
+                .description("Uploads rejected because they would exceed the uploader's storage quota")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Current totals of a user.
+     */
+    public Usage usage(Long userId) {
+        return usageRepository.findByUserId(userId)
+                .map(usage -> new Usage(usage.getFileCount(), usage.getTotalBytes()))
+                .orElseGet(() -> seedTotals(userId));
+    }
+
+    /**
+     * Configured quota in bytes, or null if there is none.
+     */
+    public Long quotaBytes() {
+        return maxBytesPerUser > 0 ? maxBytesPerUser : null;
+    }
+
+    /**
+     * Reject a file up front if it cannot fit in the user's remaining quota.
+     * Nothing is reserved; the file is charged once it is stored.
+     *
+     * @param bytes Declared size, or 0 if unknown
+     * @return Bytes the user may still store, or Long.MAX_VALUE without a quota
+     * @throws StorageQuotaExceededException if the file cannot fit
+     */
+    public long checkAvailable(Long userId, long bytes) {
+        if (maxBytesPerUser <= 0) {
+            return Long.MAX_VALUE;
+        }
+        long remaining = Math.max(0, maxBytesPerUser - usage(userId).totalBytes());
+        if (remaining < Math.max(bytes, 1)) {
+            rejected.increment();
+            throw new StorageQuotaExceededException(maxBytesPerUser);
+        }
+        return remaining;
+    }
+
+    /**
+     * Add a stored file to the user's totals. Joins the caller's transaction
+     * if there is one.
+     *
+     * @throws StorageQuotaExceededException if the file takes the user over quota
+     */
+    public void addFile(Long userId, long bytes) {
+        if (usageRepository.findByUserId(userId).isEmpty()) {
+            createTotals(userId);
+        }
+        long limit = maxBytesPerUser > 0 ? maxBytesPerUser : Long.MAX_VALUE;
+        Integer updated = transaction.execute(status -> usageRepository.addFile(userId, bytes, limit));
+        if (updated == null || updated == 0) {
+            rejected.increment();
+            throw new StorageQuotaExceededException(maxBytesPerUser);
+        }
+    }
+
+    /**
+     * Remove a deleted file from the user's totals. Joins the caller's
+     * transaction if there is one.
+     */
+    public void removeFile(Long userId, long bytes) {
+        transaction.executeWithoutResult(status -> usageRepository.removeFile(userId, bytes));
+    }
+
+    private Usage seedTotals(Long userId) {
+        List<MediaRepository.UploaderUsage> totals = mediaRepository.summarizeByUploaders(List.of(userId));
+        return totals.isEmpty()
+                ? new Usage(0, 0)
+                : new Usage(totals.get(0).getFileCount(), totals.get(0).getTotalBytes());
+    }
+
+    /**
+     * Create the totals row in its own transaction, so losing a race with a
+     * concurrent upload does not roll back the caller.
+     */
+    private void createTotals(Long userId) {
+        Usage seed = seedTotals(userId);
+        try {
+            newTransaction.executeWithoutResult(status -> usageRepository.saveAndFlush(
+                    MediaStorageUsageEntity.builder()
+                            .userId(userId)
+                            .fileCount(seed.fileCount())
+                            .totalBytes(seed.totalBytes())
+                            .build()));
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Storage totals of user {} were created concurrently", userId);
+        }
+    }
+
+    /**
+     * Media totals of one user.
+     */
+    public record Usage(long fileCount, long totalBytes) {
+    }
+}
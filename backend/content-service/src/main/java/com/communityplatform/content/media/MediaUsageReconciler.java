@@ -0,0 +1,181 @@
+package com.communityplatform.content.media;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.entity.MediaStorageUsageEntity;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaStorageUsageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background job that recomputes per-user storage totals from the media
+ * table and corrects any drift.
+ *
+ * Users are walked in ID order in chunks of {@code chunk-size}: first every
+ * uploader with media, which creates missing totals, then every user with
+ * totals, which zeroes users whose media are all gone. Each chunk is one
+ * transaction that locks the totals rows before aggregating. Uploads charge
+ * the totals and insert the media in one transaction, and deletes update the
+ * totals in the delete's transaction, so both either finish before the
+ * aggregate or wait for the chunk; neither is overwritten.
+ *
+ * Runs on its own thread, every {@code interval-ms} after the previous run
+ * ends, so a long walk does not hold up the shared scheduler's jobs.
+ *
+ * Metrics: media.quota.reconcile.corrected.
+ */
+@Component
+@Slf4j
+public class MediaUsageReconciler {
+
+    private final MediaRepository mediaRepository;
+    private final MediaStorageUsageRepository usageRepository;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long intervalMs;
+    private final long initialDelayMs;
+
+    private final ScheduledExecutorService runner;
+
+    private final Counter corrected;
+
+    public MediaUsageReconciler(MediaRepository mediaRepository, MediaStorageUsageRepository usageRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${media.quota.reconcile.enabled:true}") boolean enabled,
+            @Value("${media.quota.reconcile.chunk-size:500}") int chunkSize,
+            @Value("${media.quota.reconcile.interval-ms:3600000}") long intervalMs,
+            @Value("${media.quota.reconcile.initial-delay-ms:300000}") long initialDelayMs) {
+        this.mediaRepository = mediaRepository;
+        this.usageRepository = usageRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.intervalMs = intervalMs;
+        this.initialDelayMs = initialDelayMs;
+
+        this.runner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "media-quota-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.corrected = Counter.builder("media.quota.reconcile.corrected")
+                .description("Storage totals corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            runner.scheduleWithFixedDelay(this::reconcileQuietly, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        runner.shutdownNow();
+    }
+
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        int fixed = walk(after -> mediaRepository.findUploaderIdsAfter(after, PageRequest.of(0, chunkSize)))
+                + walk(after -> usageRepository.findUserIdsAfter(after, PageRequest.of(0, chunkSize)));
+        log.info("Reconciled storage totals in {} ms; {} corrected",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), fixed);
+    }
+
+    /**
+     * Run one reconciliation; an unexpected failure must not cancel the later ones.
+     */
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Storage total reconciliation failed", ex);
+        }
+    }
+
+    private int walk(Function<Long, List<Long>> nextChunk) {
+        int fixed = 0;
+        Long after = Long.MIN_VALUE;
+        List<Long> chunk;
+        do {
+            chunk = nextChunk.apply(after);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            try {
+                fixed += reconcileChunk(chunk);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to reconcile storage totals of users {} to {}", chunk.get(0),
+                        chunk.get(chunk.size() - 1), ex);
+            }
+            after = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == chunkSize);
+        return fixed;
+    }
+
+    /**
+     * Recompute the totals of a chunk of users.
+     *
+     * @return Number of totals that were corrected
+     */
+    int reconcileChunk(List<Long> userIds) {
+        Integer fixed = transaction.execute(status -> {
+            Map<Long, MediaStorageUsageEntity> stored = usageRepository.findByUserIdInForUpdate(userIds).stream()
+                    .collect(Collectors.toMap(MediaStorageUsageEntity::getUserId, Function.identity()));
+            Map<Long, MediaRepository.UploaderUsage> actual = mediaRepository.summarizeByUploaders(userIds).stream()
+                    .collect(Collectors.toMap(MediaRepository.UploaderUsage::getUploaderUserId,
+                            Function.identity()));
+
+            int changed = 0;
+            for (Long userId : userIds) {
+                MediaRepository.UploaderUsage totals = actual.get(userId);
+                long files = totals == null ? 0 : totals.getFileCount();
+                long bytes = totals == null ? 0 : totals.getTotalBytes();
+
+                MediaStorageUsageEntity usage = stored.get(userId);
+                if (usage == null) {
+                    if (files == 0) {
+                        continue;
+                    }
+                    usage = MediaStorageUsageEntity.builder().userId(userId).build();
+                } else if (usage.getFileCount() == files && usage.getTotalBytes() == bytes) {
+                    continue;
+                } else {
+                    log.debug("Storage totals of user {} drifted: {} files / {} bytes, actual {} / {}", userId,
+                            usage.getFileCount(), usage.getTotalBytes(), files, bytes);
+                }
+                usage.setFileCount(files);
+                usage.setTotalBytes(bytes);
+                usageRepository.save(usage);
+                changed++;
+            }
+            return changed;
+        });
+        int count = fixed == null ? 0 : fixed;
+        corrected.increment(count);
+        return count;
+    }
+}
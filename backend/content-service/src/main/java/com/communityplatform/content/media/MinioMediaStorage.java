@@ -0,0 +1,271 @@
+package com.communityplatform.content.media;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.communityplatform.content.exception.MediaStorageException;
+import com.communityplatform.content.exception.MultipartUploadNotFoundException;
+
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MinIO/S3 storage backend.
+ *
+ * Features:
+ * - Reads, stats and removals go through the blocking client; pipelined
+ *   writes through the asynchronous multipart client
+ * - URLs are signed with a client pointed at the public endpoint, so they
+ *   are valid for browsers rather than for the internal address
+ * - S3 NoSuchUpload errors are reported as MultipartUploadNotFoundException
+ * - Bulk removals use multi-object delete, up to 1000 keys per request
+ */
+@Component
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "minio", matchIfMissing = true)
+@Slf4j
+public class MinioMediaStorage implements MediaStorage {
+
+    private final MinioClient minioClient;
+    private final MinioClient presignedMinioClient;
+    private final MinioMultipartClient multipartClient;
+    private final String publicUrl;
+
+    public MinioMediaStorage(MinioClient minioClient,
+            @Qualifier("presignedMinioClient") MinioClient presignedMinioClient,
+            MinioMultipartClient multipartClient,
+            @Value("${minio.public-url:${minio.url}}") String publicUrl) {
+        this.minioClient = minioClient;
+        this.presignedMinioClient = presignedMinioClient;
+        this.multipartClient = multipartClient;
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String bucket, String key, String contentType, byte[] data, int length) {
+        return multipartClient.putObject(bucket, key, contentType, data, length).thenApply(response -> null);
+    }
+
+    @Override
+    public InputStream get(String bucket, String key) {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(key)
+                    .build());
+        } catch (Exception ex) {
+            throw new MediaStorageException("Failed to read media file " + key, ex);
+        }
+    }
+
+    @Override
+    public long transferTo(String bucket, String key, long position, long count, WritableByteChannel target) {
+        try (InputStream object = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(key)
+                .offset(position)
+                .length(count)
+                .build())) {
+            return object.transferTo(Channels.newOutputStream(target));
+        } catch (Exception ex) {
+            throw new MediaStorageException("Failed to read media file " + key, ex);
+        }
+    }
+
+    @Override
+    public Optional<ObjectStat> stat(String bucket, String key) {
+        try {
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(key)
+                    .build());
+            return Optional.of(new ObjectStat(stat.size(), stat.contentType()));
+        } catch (ErrorResponseException ex) {
+            String code = ex.errorResponse().code();
+            if ("NoSuchKey".equals(code) || "NoSuchObject".equals(code)) {
+                return Optional.empty();
+            }
+            throw new MediaStorageException("Failed to stat media file " + key, ex);
+        } catch (Exception ex) {
+            throw new MediaStorageException("Failed to stat media file " + key, ex);
+        }
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(key)
+                    .build());
+        } catch (Exception ex) {
+            throw new MediaStorageException("Failed to delete media file " + key, ex);
+        }
+    }
+
+    @Override
+    public List<String> deleteAll(String bucket, List<String> keys) {
+        List<String> failed = new ArrayList<>();
+        if (keys.isEmpty()) {
+            return failed;
+        }
+        // The removal is lazy; the requests are sent while the results are read
+        Iterable<Result<DeleteError>> errors = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(bucket)
+                .objects(keys.stream().map(DeleteObject::new).toList())
+                .build());
+        try {
+            for (Result<DeleteError> result : errors) {
+                DeleteError error = result.get();
+                log.warn("Failed to delete media file {}: {}", error.objectName(), error.message());
+                failed.add(error.objectName());
+            }
+        } catch (Exception ex) {
+            throw new MediaStorageException("Failed to delete media files", ex);
+        }
+        return failed;
+    }
+
+    @Override
+    public ObjectPage listObjects(String bucket, String startAfter, int maxKeys) {
+        List<ListedObject> objects = new ArrayList<>(maxKeys);
+        try {
+            Iterator<Result<Item>> items = minioClient.listObjects(ListObjectsArgs.builder()
+                    .bucket(bucket)
+                    .startAfter(startAfter)
+                    .maxKeys(maxKeys)
+                    .recursive(true)
+                    .build()).iterator();
+            // Stop at maxKeys so the iterator never fetches the following page
+            while (objects.size() < maxKeys && items.hasNext()) {
+                Item item = items.next().get();
+                if (!item.isDir()) {
+                    objects.add(new ListedObject(item.objectName(), item.size(), item.lastModified().toInstant()));
+                }
+            }
+        } catch (Exception ex) {
+            throw new MediaStorageException("Failed to list media files", ex);
+        }
+        return new ObjectPage(objects, objects.size() == maxKeys);
+    }
+
+    @Override
+    public String presignGet(String bucket, String key, int expirySeconds) {
+        return presign(Method.GET, bucket, key, expirySeconds, Map.of());
+    }
+
+    @Override
+    public String presignPut(String bucket, String key, int expirySeconds) {
+        return presign(Method.PUT, bucket, key, expirySeconds, Map.of());
+    }
+
+    @Override
+    public String presignUploadPart(String bucket, String key, String uploadId, int partNumber,
+            int expirySeconds) {
+        return presign(Method.PUT, bucket, key, expirySeconds, Map.of(
+                "uploadId", uploadId,
+                "partNumber", String.valueOf(partNumber)));
+    }
+
+    @Override
+    public CompletableFuture<String> createMultipartUpload(String bucket, String key, String contentType) {
+        return multipartClient.createMultipartUpload(bucket, key, contentType);
+    }
+
+    @Override
+    public CompletableFuture<StoredPart> uploadPart(String bucket, String key, String uploadId, int partNumber,
+            byte[] data, int length) {
+        return translateNoSuchUpload(multipartClient.uploadPart(bucket, key, uploadId, partNumber, data, length)
+                .thenApply(part -> new StoredPart(part.partNumber(), part.etag(), length)), uploadId);
+    }
+
+    @Override
+    public List<StoredPart> listParts(String bucket, String key, String uploadId) {
+        List<StoredPart> parts = new ArrayList<>();
+        Integer marker = null;
+        ListPartsResult page;
+        do {
+            page = MediaStorage.await(translateNoSuchUpload(
+                    multipartClient.listParts(bucket, key, uploadId, marker), uploadId),
+                    "Failed to list uploaded parts");
+            for (Part part : page.partList()) {
+                parts.add(new StoredPart(part.partNumber(), part.etag(), part.partSize()));
+            }
+            marker = page.nextPartNumberMarker();
+        } while (page.isTruncated());
+        return parts;
+    }
+
+    @Override
+    public CompletableFuture<Void> completeMultipartUpload(String bucket, String key, String uploadId,
+            List<StoredPart> parts) {
+        Part[] ordered = parts.stream()
+                .map(part -> new Part(part.partNumber(), part.etag()))
+                .toArray(Part[]::new);
+        return translateNoSuchUpload(multipartClient.completeMultipartUpload(bucket, key, uploadId, ordered)
+                .thenApply(response -> null), uploadId);
+    }
+
+    @Override
+    public CompletableFuture<Void> abortMultipartUpload(String bucket, String key, String uploadId) {
+        return translateNoSuchUpload(multipartClient.abortMultipartUpload(bucket, key, uploadId), uploadId);
+    }
+
+    @Override
+    public String publicUrl(String bucket, String key) {
+        return publicUrl + "/" + bucket + "/" + key;
+    }
+
+    private String presign(Method method, String bucket, String key, int expirySeconds,
+            Map<String, String> queryParams) {
+        try {
+            return presignedMinioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(method)
+                    .bucket(bucket)
+                    .object(key)
+                    .expiry(expirySeconds)
+                    .extraQueryParams(queryParams)
+                    .build());
+        } catch (Exception ex) {
+            throw new MediaStorageException("Failed to create presigned URL", ex);
+        }
+    }
+
+    private static <T> CompletableFuture<T> translateNoSuchUpload(CompletableFuture<T> future, String uploadId) {
+        return future.exceptionallyCompose(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof ErrorResponseException error
+                    && "NoSuchUpload".equals(error.errorResponse().code())) {
+                return CompletableFuture.failedFuture(new MultipartUploadNotFoundException(uploadId));
+            }
+            return CompletableFuture.failedFuture(cause);
+        });
+    }
+}
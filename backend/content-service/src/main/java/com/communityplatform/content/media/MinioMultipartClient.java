@@ -0,0 +1,108 @@
+package com.communityplatform.content.media;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
+import io.minio.ListPartsResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+
+/**
+ * Asynchronous MinIO client exposing the low-level S3 multipart calls
+ * (create, upload part, list parts, complete, abort) that the SDK keeps
+ * protected.
+ *
+ * Every call returns a future; request-building errors are reported through
+ * the future instead of as checked exceptions.
+ */
+public class MinioMultipartClient extends MinioAsyncClient {
+
+    public MinioMultipartClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * Store a small object with a single PUT.
+     */
+    public CompletableFuture<ObjectWriteResponse> putObject(String bucket, String object, String contentType,
+            byte[] data, int length) {
+        try {
+            return putObjectAsync(bucket, null, object, data, length, contentTypeHeader(contentType), null);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Start a multipart upload and return its upload ID.
+     */
+    public CompletableFuture<String> createMultipartUpload(String bucket, String object, String contentType) {
+        try {
+            return createMultipartUploadAsync(bucket, null, object, contentTypeHeader(contentType), null)
+                    .thenApply(response -> response.result().uploadId());
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Upload the first {@code length} bytes of {@code data} as one part.
+     */
+    public CompletableFuture<Part> uploadPart(String bucket, String object, String uploadId, int partNumber,
+            byte[] data, int length) {
+        try {
+            return uploadPartAsync(bucket, null, object, data, length, uploadId, partNumber, null, null)
+                    .thenApply(response -> new Part(partNumber, response.etag()));
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * List up to 1000 stored parts of a multipart upload, starting after
+     * {@code partNumberMarker} (null for the first page).
+     */
+    public CompletableFuture<ListPartsResult> listParts(String bucket, String object, String uploadId,
+            Integer partNumberMarker) {
+        try {
+            return listPartsAsync(bucket, null, object, 1000, partNumberMarker, uploadId, null, null)
+                    .thenApply(ListPartsResponse::result);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Assemble the uploaded parts, given in part-number order, into the object.
+     */
+    public CompletableFuture<ObjectWriteResponse> completeMultipartUpload(String bucket, String object,
+            String uploadId, Part[] parts) {
+        try {
+            return completeMultipartUploadAsync(bucket, null, object, uploadId, parts, null, null);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Abort a multipart upload, discarding the parts stored so far.
+     */
+    public CompletableFuture<Void> abortMultipartUpload(String bucket, String object, String uploadId) {
+        try {
+            return abortMultipartUploadAsync(bucket, null, object, uploadId, null, null)
+                    .thenApply(response -> null);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private static Multimap<String, String> contentTypeHeader(String contentType) {
+        Multimap<String, String> headers = HashMultimap.create();
+        headers.put("Content-Type", contentType);
+        return headers;
+    }
+}
@@ -0,0 +1,259 @@
+package com.communityplatform.content.media;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.communityplatform.content.cache.MediaObjectCache;
+import com.communityplatform.content.repository.MediaBlobRepository;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaVariantRepository;
+import com.communityplatform.content.repository.PendingUploadRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background job that removes objects in the media bucket that no record
+ * refers to, such as presigned uploads that were never confirmed and objects
+ * of media whose record survived a failed delete.
+ *
+ * Features:
+ * - The bucket is listed one page of {@code batch-size} keys at a time, and
+ *   each page is checked against media, blob and variant records with one
+ *   IN query per table, so memory is bounded by the page size
+ * - Only objects older than {@code grace-period-ms} are removed, which
+ *   leaves uploads that are still being confirmed or recorded alone
+ * - Orphans of a page are removed with one bulk delete, and dropped from
+ *   the proxy cache
+ * - Pending uploads issued before the grace period are forgotten, so keys
+ *   whose objects are swept can no longer be confirmed
+ * - Scanning is paced to {@code max-objects-per-second}, to spare storage
+ *   and the database
+ * - With {@code dry-run} set, orphans are only logged and counted
+ * - Sweeps run on their own thread, every {@code interval-ms} after the
+ *   previous one ends, so pacing a large bucket does not hold up the shared
+ *   scheduler's jobs such as counter flushes
+ *
+ * Metrics: media.gc.scanned, media.gc.orphans, media.gc.deleted,
+ * media.gc.deleted.bytes, media.gc.failed, media.gc.duration.
+ */
+@Component
+@Slf4j
+public class OrphanObjectCollector {
+
+    /** Largest page S3 returns from one list request. */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final MediaStorage storage;
+    private final MediaRepository mediaRepository;
+    private final MediaBlobRepository blobRepository;
+    private final MediaVariantRepository variantRepository;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final MediaObjectCache objectCache;
+    private final String bucketName;
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final int maxObjectsPerSecond;
+    private final long intervalMs;
+    private final long initialDelayMs;
+
+    private final ScheduledExecutorService sweeper;
+
+    private final Counter scanned;
+    private final Counter orphans;
+    private final Counter deleted;
+    private final Counter deletedBytes;
+    private final Counter failed;
+    private final Timer duration;
+
+    public OrphanObjectCollector(MediaStorage storage, MediaRepository mediaRepository,
+            MediaBlobRepository blobRepository, MediaVariantRepository variantRepository,
+            PendingUploadRepository pendingUploadRepository, MediaObjectCache objectCache, MeterRegistry meterRegistry,
+            @Value("${minio.bucket-name}") String bucketName,
+            @Value("${media.gc.enabled:true}") boolean enabled,
+            @Value("${media.gc.dry-run:false}") boolean dryRun,
+            @Value("${media.gc.grace-period-ms:86400000}") long gracePeriodMs,
+            @Value("${media.gc.batch-size:1000}") int batchSize,
+            @Value("${media.gc.max-objects-per-second:2000}") int maxObjectsPerSecond,
+            @Value("${media.gc.interval-ms:21600000}") long intervalMs,
+            @Value("${media.gc.initial-delay-ms:600000}") long initialDelayMs) {
+        this.storage = storage;
+        this.mediaRepository = mediaRepository;
+        this.blobRepository = blobRepository;
+        this.variantRepository = variantRepository;
+        this.pendingUploadRepository = pendingUploadRepository;
+        this.objectCache = objectCache;
+        this.bucketName = bucketName;
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.gracePeriod = Duration.ofMillis(gracePeriodMs);
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.maxObjectsPerSecond = maxObjectsPerSecond;
+        this.intervalMs = intervalMs;
+        this.initialDelayMs = initialDelayMs;
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "media-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.scanned = Counter.builder("media.gc.scanned")
+                .description("Bucket objects checked for references")
+                .register(meterRegistry);
+        this.orphans = Counter.builder("media.gc.orphans")
+                .description("Unreferenced objects older than the grace period")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("media.gc.deleted")
+                .description("Orphaned objects removed")
+                .register(meterRegistry);
+        this.deletedBytes = Counter.builder("media.gc.deleted.bytes")
+                .description("Bytes of orphaned objects removed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.failed = Counter.builder("media.gc.failed")
+                .description("Orphaned objects that could not be removed")
+                .register(meterRegistry);
+        this.duration = Timer.builder("media.gc.duration")
+                .description("Time to sweep the media bucket")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            sweeper.scheduleWithFixedDelay(this::collectQuietly, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    public void collect() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        long listed = 0;
+        int removed = 0;
+        String startAfter = null;
+        MediaStorage.ObjectPage page;
+        try {
+            do {
+                page = storage.listObjects(bucketName, startAfter, batchSize);
+                removed += sweep(page.objects(), cutoff);
+                listed += page.objects().size();
+                startAfter = page.lastKey();
+            } while (page.truncated() && startAfter != null && pace(started, listed));
+            if (!dryRun) {
+                pendingUploadRepository.deleteIssuedBefore(LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Orphan object sweep of {} stopped after {} objects", bucketName, listed, ex);
+        } finally {
+            duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        log.info("Swept {} objects of {} in {} ms; {} orphans {}", listed, bucketName,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), removed,
+                dryRun ? "found (dry run)" : "removed");
+    }
+
+    /**
+     * Run one sweep; an unexpected failure must not cancel the later ones.
+     */
+    private void collectQuietly() {
+        try {
+            collect();
+        } catch (RuntimeException ex) {
+            log.warn("Orphan object sweep of {} failed", bucketName, ex);
+        }
+    }
+
+    /**
+     * Remove the unreferenced objects of one listed page.
+     *
+     * @return Number of orphans removed, or found in a dry run
+     */
+    int sweep(List<MediaStorage.ListedObject> objects, Instant cutoff) {
+        scanned.increment(objects.size());
+        List<String> candidates = objects.stream()
+                .filter(object -> object.lastModified().isBefore(cutoff))
+                .map(MediaStorage.ListedObject::key)
+                .toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> referenced = new HashSet<>(mediaRepository.findStoredFilenamesIn(bucketName, candidates));
+        referenced.addAll(blobRepository.findObjectKeysIn(bucketName, candidates));
+        referenced.addAll(variantRepository.findObjectKeysIn(candidates));
+        List<MediaStorage.ListedObject> unreferenced = objects.stream()
+                .filter(object -> object.lastModified().isBefore(cutoff) && !referenced.contains(object.key()))
+                .toList();
+        if (unreferenced.isEmpty()) {
+            return 0;
+        }
+        orphans.increment(unreferenced.size());
+        if (dryRun) {
+            unreferenced.forEach(object -> log.info("Orphaned media file {} ({} bytes, last modified {})",
+                    object.key(), object.size(), object.lastModified()));
+            return unreferenced.size();
+        }
+
+        List<String> keys = unreferenced.stream().map(MediaStorage.ListedObject::key).toList();
+        keys.forEach(key -> objectCache.evict(bucketName, key));
+        Set<String> notRemoved = new HashSet<>(storage.deleteAll(bucketName, keys));
+        int removed = 0;
+        for (MediaStorage.ListedObject object : unreferenced) {
+            if (!notRemoved.contains(object.key())) {
+                deletedBytes.increment(object.size());
+                removed++;
+            }
+        }
+        deleted.increment(removed);
+        failed.increment(notRemoved.size());
+        return removed;
+    }
+
+    /**
+     * Wait until scanning {@code listed} objects is within the rate limit.
+     *
+     * @return False if the sweep should stop
+     */
+    private boolean pace(long started, long listed) {
+        if (maxObjectsPerSecond <= 0) {
+            return true;
+        }
+        long earliestNanos = TimeUnit.SECONDS.toNanos(listed) / maxObjectsPerSecond;
+        long waitNanos = earliestNanos - (System.nanoTime() - started);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
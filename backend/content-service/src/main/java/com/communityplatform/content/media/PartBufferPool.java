@@ -0,0 +1,77 @@
+package com.communityplatform.content.media;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pool of fixed-size byte buffers used as upload parts.
+ *
+ * Buffers are allocated lazily and recycled, and at most {@code max-buffers}
+ * exist at once, so streaming uploads never hold more than
+ * {@code part-size * max-buffers} bytes of heap between them.
+ *
+ * Metrics: media.upload.buffers.in-use, media.upload.buffers.allocated.
+ */
+@Component
+public class PartBufferPool {
+
+    private final int partSize;
+    private final Semaphore permits;
+    private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    public PartBufferPool(MeterRegistry meterRegistry,
+            @Value("${media.streaming.part-size-bytes:8388608}") int partSize,
+            @Value("${media.streaming.max-buffers:16}") int maxBuffers) {
+        this.partSize = partSize;
+        this.permits = new Semaphore(maxBuffers);
+
+        Gauge.builder("media.upload.buffers.in-use", inUse, AtomicInteger::get)
+                .description("Part buffers currently held by streaming uploads")
+                .register(meterRegistry);
+        Gauge.builder("media.upload.buffers.allocated", allocated, AtomicInteger::get)
+                .description("Part buffers allocated by the pool")
+                .register(meterRegistry);
+    }
+
+    public int partSize() {
+        return partSize;
+    }
+
+    /**
+     * Take a buffer, waiting up to the given time for one to be released.
+     *
+     * @return the buffer, or null if none became available in time
+     */
+    public byte[] acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!permits.tryAcquire(timeout, unit)) {
+            return null;
+        }
+        inUse.incrementAndGet();
+        byte[] buffer = free.poll();
+        if (buffer == null) {
+            allocated.incrementAndGet();
+            buffer = new byte[partSize];
+        }
+        return buffer;
+    }
+
+    /**
+     * Return a buffer taken with {@link #acquire}. Its contents are not cleared.
+     */
+    public void release(byte[] buffer) {
+        free.offer(buffer);
+        inUse.decrementAndGet();
+        permits.release();
+    }
+}
@@ -0,0 +1,283 @@
+package com.communityplatform.content.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.MediaStorageException;
+import com.communityplatform.content.exception.MediaUploadUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams an upload from an InputStream into object storage.
+ *
+ * Features:
+ * - The stream is cut into pool buffers of {@code part-size} bytes, each sent
+ *   as one part of an S3 multipart upload while the next one is being read
+ * - Up to {@code parallel-parts} buffers per upload are reading or in flight,
+ *   so memory per upload is bounded regardless of the object size
+ * - Objects that fit in a single buffer are stored with one plain PUT
+ * - SHA-256 of the content is computed while reading; before the final
+ *   write the caller can decide the content is already stored, in which case
+ *   the PUT is skipped or the multipart upload aborted instead of completed
+ * - Failed or oversized uploads are aborted so no parts are left behind
+ *
+ * Metrics: media.upload.stream.bytes, media.upload.stream.duration,
+ * media.upload.stream.parts.
+ */
+@Component
+@Slf4j
+public class StreamingUploader {
+
+    private final MediaStorage storage;
+    private final PartBufferPool bufferPool;
+    private final int parallelParts;
+    private final long acquireTimeoutMs;
+    private final long maxObjectBytes;
+
+    private final Counter bytes;
+    private final Counter parts;
+    private final Timer duration;
+
+    public StreamingUploader(MediaStorage storage, PartBufferPool bufferPool, MeterRegistry meterRegistry,
+            @Value("${media.streaming.parallel-parts:4}") int parallelParts,
+            @Value("${media.streaming.acquire-timeout-ms:10000}") long acquireTimeoutMs,
+            @Value("${media.streaming.max-object-bytes:5368709120}") long maxObjectBytes) {
+        this.storage = storage;
+        this.bufferPool = bufferPool;
+        this.parallelParts = parallelParts;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxObjectBytes = maxObjectBytes;
+
+        this.bytes = Counter.builder("media.upload.stream.bytes")
+                .description("Bytes written by streaming uploads")
+                .register(meterRegistry);
+        this.parts = Counter.builder("media.upload.stream.parts")
+                .description("Multipart parts uploaded by streaming uploads")
+                .register(meterRegistry);
+        this.duration = Timer.builder("media.upload.stream.duration")
+                .description("Time to stream an upload into object storage")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Read the stream to its end and store it as {@code object}.
+     *
+     * @param maxBytes      Largest object accepted from this stream; objects are
+     *                      never larger than {@code max-object-bytes} either
+     * @param alreadyStored Called with the size and hash once the whole stream
+     *                      is read, before the object is made visible; returning
+     *                      true discards the upload. Exceptions it throws abort
+     *                      the upload and are rethrown.
+     * @throws InvalidMediaException           if the stream is empty, too large or cannot be read
+     * @throws MediaUploadUnavailableException if no part buffer frees up in time
+     * @throws MediaStorageException           if object storage rejects the upload
+     */
+    public StoredObject upload(InputStream input, String bucket, String object, String contentType, long maxBytes,
+            Predicate<StoredObject> alreadyStored) {
+        long started = System.nanoTime();
+        long limit = Math.min(maxBytes, maxObjectBytes);
+        MessageDigest digest = sha256();
+        Semaphore slots = new Semaphore(parallelParts);
+
+        byte[] buffer = acquire(slots);
+        int length;
+        try {
+            length = read(input, buffer, digest);
+        } catch (RuntimeException ex) {
+            release(buffer, slots);
+            throw ex;
+        }
+        if (length == 0) {
+            release(buffer, slots);
+            throw new InvalidMediaException("File is required");
+        }
+        if (length > limit) {
+            release(buffer, slots);
+            throw tooLarge(limit);
+        }
+
+        StoredObject stored;
+        if (length < buffer.length) {
+            try {
+                stored = new StoredObject(length, HexFormat.of().formatHex(digest.digest()), true);
+                if (alreadyStored.test(stored)) {
+                    stored = stored.discarded();
+                } else {
+                    await(storage.put(bucket, object, contentType, buffer, length));
+                }
+            } finally {
+                release(buffer, slots);
+            }
+        } else {
+            stored = uploadParts(input, bucket, object, contentType, limit, buffer, slots, digest, alreadyStored);
+        }
+
+        if (stored.written()) {
+            bytes.increment(stored.size());
+        }
+        duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return stored;
+    }
+
+    /**
+     * Multipart path: {@code first} is a full buffer already read from the stream.
+     */
+    private StoredObject uploadParts(InputStream input, String bucket, String object, String contentType, long limit,
+            byte[] first, Semaphore slots, MessageDigest digest, Predicate<StoredObject> alreadyStored) {
+        String uploadId;
+        try {
+            uploadId = await(storage.createMultipartUpload(bucket, object, contentType));
+        } catch (RuntimeException ex) {
+            release(first, slots);
+            throw ex;
+        }
+
+        List<CompletableFuture<MediaStorage.StoredPart>> uploads = new ArrayList<>();
+        byte[] buffer = first;
+        int length = first.length;
+        long size = 0;
+        try {
+            while (length > 0) {
+                size += length;
+                if (size > limit) {
+                    throw tooLarge(limit);
+                }
+                uploads.add(uploadPart(bucket, object, uploadId, uploads.size() + 1, buffer, length, slots));
+                buffer = null;
+                if (uploads.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    break;
+                }
+                buffer = acquire(slots);
+                length = read(input, buffer, digest);
+            }
+            if (buffer != null) {
+                release(buffer, slots);
+                buffer = null;
+            }
+
+            List<MediaStorage.StoredPart> completed = new ArrayList<>(uploads.size());
+            for (CompletableFuture<MediaStorage.StoredPart> upload : uploads) {
+                completed.add(await(upload));
+            }
+            StoredObject stored = new StoredObject(size, HexFormat.of().formatHex(digest.digest()), true);
+            if (alreadyStored.test(stored)) {
+                abort(bucket, object, uploadId);
+                return stored.discarded();
+            }
+            await(storage.completeMultipartUpload(bucket, object, uploadId, completed));
+            log.debug("Streamed {} bytes in {} parts to {}", size, completed.size(), object);
+            return stored;
+        } catch (RuntimeException ex) {
+            if (buffer != null) {
+                release(buffer, slots);
+            }
+            abort(bucket, object, uploadId);
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<MediaStorage.StoredPart> uploadPart(String bucket, String object, String uploadId,
+            int partNumber, byte[] buffer, int length, Semaphore slots) {
+        return storage.uploadPart(bucket, object, uploadId, partNumber, buffer, length)
+                .whenComplete((part, ex) -> {
+                    release(buffer, slots);
+                    if (ex == null) {
+                        parts.increment();
+                    }
+                });
+    }
+
+    private void abort(String bucket, String object, String uploadId) {
+        storage.abortMultipartUpload(bucket, object, uploadId)
+                .exceptionally(ex -> {
+                    log.warn("Failed to abort multipart upload of {}: {}", object, ex.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Take a per-upload slot, then a pool buffer; both are returned by {@link #release}.
+     */
+    private byte[] acquire(Semaphore slots) {
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+            if (!slots.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw MediaUploadUnavailableException.buffersExhausted();
+            }
+            byte[] buffer = bufferPool.acquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (buffer == null) {
+                slots.release();
+                throw MediaUploadUnavailableException.buffersExhausted();
+            }
+            return buffer;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MediaStorageException("Interrupted while waiting for an upload buffer", ex);
+        }
+    }
+
+    private void release(byte[] buffer, Semaphore slots) {
+        bufferPool.release(buffer);
+        slots.release();
+    }
+
+    /**
+     * Fill the buffer from the stream; returns fewer bytes than its length only at the end of the stream.
+     */
+    private static int read(InputStream input, byte[] buffer, MessageDigest digest) {
+        try {
+            int length = input.readNBytes(buffer, 0, buffer.length);
+            digest.update(buffer, 0, length);
+            return length;
+        } catch (IOException ex) {
+            throw new InvalidMediaException("Upload stream could not be read: " + ex.getMessage());
+        }
+    }
+
+    private static InvalidMediaException tooLarge(long limit) {
+        return new InvalidMediaException("File exceeds the maximum size of " + limit + " bytes");
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        return MediaStorage.await(future, "Failed to store media file");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Content read by a streaming upload.
+     *
+     * @param size    Number of bytes read
+     * @param sha256  Hex-encoded SHA-256 of the content
+     * @param written Whether the object was stored, false if it was discarded as already stored
+     */
+    public record StoredObject(long size, String sha256, boolean written) {
+
+        StoredObject discarded() {
+            return new StoredObject(size, sha256, false);
+        }
+    }
+}
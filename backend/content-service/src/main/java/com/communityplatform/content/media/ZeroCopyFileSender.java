@@ -0,0 +1,53 @@
+package com.communityplatform.content.media;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a byte range of a file to an HTTP response without copying it
+ * through the heap.
+ *
+ * When the connector supports it, the file is handed to Tomcat's sendfile,
+ * which the kernel streams straight to the socket after the handler returns.
+ * Otherwise the range is sent with FileChannel.transferTo. Callers set the
+ * status and headers, including Content-Length, beforehand.
+ */
+public final class ZeroCopyFileSender {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ZeroCopyFileSender() {
+    }
+
+    public static void send(Path file, long position, long count, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long sent = 0;
+            while (sent < count) {
+                long transferred = channel.transferTo(position + sent, count - sent, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                sent += transferred;
+            }
+        }
+    }
+}
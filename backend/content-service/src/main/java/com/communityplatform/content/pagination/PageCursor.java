@@ -0,0 +1,95 @@
+package com.communityplatform.content.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.util.StringUtils;
+
+import com.communityplatform.content.dto.CursorPageResponseDto;
+import com.communityplatform.content.entity.BaseEntity;
+import com.communityplatform.content.exception.InvalidCursorException;
+
+/**
+ * Keyset position on (created_at, id).
+ * 
+ * Listings seek past the cursor instead of using OFFSET, so every slice is
+ * an index range read regardless of depth, and no COUNT query is needed.
+ * Cursors are exchanged with clients as opaque URL-safe strings.
+ */
+public record PageCursor(LocalDateTime createdAt, Long id) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    /** Position before the newest row, for listings ordered newest first. */
+    private static final PageCursor NEWEST = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    /** Position before the oldest row, for listings ordered oldest first. */
+    private static final PageCursor OLDEST = new PageCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decode a cursor for a newest-first listing; a blank cursor starts at the newest row.
+     */
+    public static PageCursor descending(String cursor) {
+        return StringUtils.hasText(cursor) ? decode(cursor) : NEWEST;
+    }
+
+    /**
+     * Decode a cursor for an oldest-first listing; a blank cursor starts at the oldest row.
+     */
+    public static PageCursor ascending(String cursor) {
+        return StringUtils.hasText(cursor) ? decode(cursor) : OLDEST;
+    }
+
+    /**
+     * Clamp a requested slice size to the allowed range.
+     */
+    public static int sliceSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    public static PageCursor of(BaseEntity entity) {
+        return new PageCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    /**
+     * Build a response from rows fetched with a limit of {@code size + 1}; the
+     * extra row only signals that another slice exists.
+     */
+    public static <E extends BaseEntity, T> CursorPageResponseDto<T> toResponse(List<E> rows, int size,
+            Function<List<E>, List<T>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> slice = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext && !slice.isEmpty() ? of(slice.get(slice.size() - 1)).encode() : null;
+        return CursorPageResponseDto.<T>builder()
+                .content(mapper.apply(slice))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.communityplatform.content.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -15,7 +16,7 @@ import com.communityplatform.content.entity.CommentEntity;
  * Repository for Comment entity operations.
  */
 @Repository
-public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
+public interface CommentRepository extends JpaRepository<CommentEntity, Long>, CommentRepositoryCustom {
 
     /**
      * Find all active comments for a post.
@@ -37,6 +38,47 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
     @Query("SELECT c FROM CommentEntity c WHERE c.postId = :postId AND c.parentCommentId IS NULL AND c.deletedAt IS NULL ORDER BY c.createdAt ASC")
     Page<CommentEntity> findTopLevelComments(@Param("postId") Long postId, Pageable pageable);
 
+    /**
+     * Find active comments for a post created after a keyset position, oldest first.
+     *
+     * @param postId    Post ID
+     * @param createdAt Cursor creation timestamp
+     * @param id        Cursor comment ID
+     * @param pageable  Limit (offset is ignored by callers)
+     * @return Comments after the cursor
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.postId = :postId AND c.deletedAt IS NULL " +
+            "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findByPostIdAfter(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find top-level comments for a post created after a keyset position, oldest first.
+     *
+     * @param postId    Post ID
+     * @param createdAt Cursor creation timestamp
+     * @param id        Cursor comment ID
+     * @param pageable  Limit (offset is ignored by callers)
+     * @return Top-level comments after the cursor
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.postId = :postId AND c.parentCommentId IS NULL " +
+            "AND c.deletedAt IS NULL " +
+            "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findTopLevelCommentsAfter(@Param("postId") Long postId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find every active comment of a post, oldest first (one range read on
+     * idx_post_created). Used to assemble whole threads in memory.
+     *
+     * @param postId Post ID
+     * @return Comments ordered by creation time
+     */
+    @Query("SELECT c FROM CommentEntity c WHERE c.postId = :postId AND c.deletedAt IS NULL ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentEntity> findActiveByPostId(@Param("postId") Long postId);
+
     /**
      * Find replies to a specific comment.
      *
@@ -0,0 +1,16 @@
+package com.communityplatform.content.repository;
+
+import java.util.Map;
+
+/**
+ * Custom comment operations that bypass the entity manager.
+ */
+public interface CommentRepositoryCustom {
+
+    /**
+     * Apply like count deltas with one batched atomic update per comment.
+     *
+     * @param deltas Delta per comment ID
+     */
+    void addLikeCounts(Map<Long, Long> deltas);
+}
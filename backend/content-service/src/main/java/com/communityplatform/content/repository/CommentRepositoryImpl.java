@@ -0,0 +1,23 @@
+package com.communityplatform.content.repository;
+
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC implementation of {@link CommentRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private static final String ADD_LIKES_SQL = "UPDATE comments SET like_count = GREATEST(like_count + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addLikeCounts(Map<Long, Long> deltas) {
+        CounterBatches.apply(jdbcTemplate, ADD_LIKES_SQL, deltas);
+    }
+}
@@ -0,0 +1,36 @@
+package com.communityplatform.content.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Shared JDBC batch for "add delta to counter column" statements.
+ */
+final class CounterBatches {
+
+    private static final int BATCH_SIZE = 500;
+
+    private CounterBatches() {
+    }
+
+    /**
+     * Run a statement taking (delta, id) for every non-zero delta.
+     */
+    static void apply(JdbcTemplate jdbcTemplate, String sql, Map<Long, Long> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> rows = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && entry.getValue() != 0)
+                .toList();
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getValue());
+            ps.setLong(2, row.getKey());
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.communityplatform.content.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.communityplatform.content.entity.HighFanoutAuthorEntity;
+
+/**
+ * Repository for HighFanoutAuthor entity operations.
+ */
+@Repository
+public interface HighFanoutAuthorRepository extends JpaRepository<HighFanoutAuthorEntity, Long> {
+
+    /**
+     * Find the high fan-out record for an author.
+     *
+     * @param userId Author user ID
+     * @return Optional record
+     */
+    Optional<HighFanoutAuthorEntity> findByUserId(Long userId);
+
+    /**
+     * Get the IDs of all high fan-out authors.
+     *
+     * @return Author user IDs
+     */
+    @Query("SELECT h.userId FROM HighFanoutAuthorEntity h")
+    List<Long> findAllUserIds();
+}
@@ -1,12 +1,17 @@
 package com.communityplatform.content.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.communityplatform.content.entity.LikeEntity;
 
@@ -14,7 +19,7 @@ import com.communityplatform.content.entity.LikeEntity;
  * Repository for Like entity operations.
  */
 @Repository
-public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
+public interface LikeRepository extends JpaRepository<LikeEntity, Long>, LikeRepositoryCustom {
 
     /**
      * Check if user has liked a post.
@@ -36,6 +41,70 @@ public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
     @Query("SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM LikeEntity l WHERE l.userId = :userId AND l.commentId = :commentId")
     boolean existsByUserIdAndCommentId(@Param("userId") Long userId, @Param("commentId") Long commentId);
 
+    /**
+     * Find which of the given posts a user has liked.
+     * Resolved in one query using the uk_user_post index.
+     *
+     * @param userId  User ID
+     * @param postIds Post IDs to check
+     * @return IDs of the posts the user has liked
+     */
+    @Query("SELECT l.postId FROM LikeEntity l WHERE l.userId = :userId AND l.postId IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Find which of the given comments a user has liked.
+     * Resolved in one query using the uk_user_comment index.
+     *
+     * @param userId     User ID
+     * @param commentIds Comment IDs to check
+     * @return IDs of the comments the user has liked
+     */
+    @Query("SELECT l.commentId FROM LikeEntity l WHERE l.userId = :userId AND l.commentId IN :commentIds")
+    List<Long> findLikedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
+    /**
+     * Find the likes of any of the given users on any of the given posts.
+     * Used to read back the IDs of likes inserted in one batch.
+     *
+     * @param postIds Post IDs
+     * @param userIds User IDs
+     * @return Matching likes
+     */
+    @Query("SELECT l FROM LikeEntity l WHERE l.postId IN :postIds AND l.userId IN :userIds")
+    List<LikeEntity> findByPostIdInAndUserIdIn(@Param("postIds") Collection<Long> postIds,
+            @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Find the likes of any of the given users on any of the given comments.
+     * Used to read back the IDs of likes inserted in one batch.
+     *
+     * @param commentIds Comment IDs
+     * @param userIds    User IDs
+     * @return Matching likes
+     */
+    @Query("SELECT l FROM LikeEntity l WHERE l.commentId IN :commentIds AND l.userId IN :userIds")
+    List<LikeEntity> findByCommentIdInAndUserIdIn(@Param("commentIds") Collection<Long> commentIds,
+            @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Find the IDs of all users who liked a post.
+     *
+     * @param postId Post ID
+     * @return Liker user IDs
+     */
+    @Query("SELECT l.userId FROM LikeEntity l WHERE l.postId = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    /**
+     * Find the IDs of all users who liked a comment.
+     *
+     * @param commentId Comment ID
+     * @return Liker user IDs
+     */
+    @Query("SELECT l.userId FROM LikeEntity l WHERE l.commentId = :commentId")
+    List<Long> findUserIdsByCommentId(@Param("commentId") Long commentId);
+
     /**
      * Find like by user and post.
      *
@@ -55,22 +124,34 @@ public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
     Optional<LikeEntity> findByUserIdAndCommentId(Long userId, Long commentId);
 
     /**
-     * Find all likes for a post.
+     * Find likes for a post created before a keyset position, newest first.
      *
-     * @param postId Post ID
-     * @return List of likes
+     * @param postId    Post ID
+     * @param createdAt Cursor creation timestamp
+     * @param id        Cursor like ID
+     * @param pageable  Limit (offset is ignored by callers)
+     * @return Likes before the cursor
      */
-    @Query("SELECT l FROM LikeEntity l WHERE l.postId = :postId ORDER BY l.createdAt DESC")
-    List<LikeEntity> findByPostId(@Param("postId") Long postId);
+    @Query("SELECT l FROM LikeEntity l WHERE l.postId = :postId " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LikeEntity> findByPostIdBefore(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
 
     /**
-     * Find all likes for a comment.
+     * Find likes for a comment created before a keyset position, newest first.
      *
      * @param commentId Comment ID
-     * @return List of likes
+     * @param createdAt Cursor creation timestamp
+     * @param id        Cursor like ID
+     * @param pageable  Limit (offset is ignored by callers)
+     * @return Likes before the cursor
      */
-    @Query("SELECT l FROM LikeEntity l WHERE l.commentId = :commentId ORDER BY l.createdAt DESC")
-    List<LikeEntity> findByCommentId(@Param("commentId") Long commentId);
+    @Query("SELECT l FROM LikeEntity l WHERE l.commentId = :commentId " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LikeEntity> findByCommentIdBefore(@Param("commentId") Long commentId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 
     /**
      * Count likes for a post.
@@ -91,18 +172,28 @@ public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
     Long countByCommentId(@Param("commentId") Long commentId);
 
     /**
-     * Delete like by user and post.
+     * Delete like by user and post in one statement. Runs in its own
+     * transaction when the caller has none, as unlikes do.
      *
      * @param userId User ID
      * @param postId Post ID
+     * @return Number of deleted likes (0 when not liked)
      */
-    void deleteByUserIdAndPostId(Long userId, Long postId);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM LikeEntity l WHERE l.userId = :userId AND l.postId = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
 
     /**
-     * Delete like by user and comment.
+     * Delete like by user and comment in one statement. Runs in its own
+     * transaction when the caller has none, as unlikes do.
      *
      * @param userId    User ID
      * @param commentId Comment ID
+     * @return Number of deleted likes (0 when not liked)
      */
-    void deleteByUserIdAndCommentId(Long userId, Long commentId);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM LikeEntity l WHERE l.userId = :userId AND l.commentId = :commentId")
+    int deleteByUserIdAndCommentId(@Param("userId") Long userId, @Param("commentId") Long commentId);
 }
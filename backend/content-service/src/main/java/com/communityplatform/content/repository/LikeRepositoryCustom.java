@@ -0,0 +1,54 @@
+package com.communityplatform.content.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.communityplatform.content.entity.LikeEntity;
+
+/**
+ * Custom like writes that bypass the entity manager.
+ */
+public interface LikeRepositoryCustom {
+
+    /**
+     * Insert a like on an active post in one statement, unless the user has
+     * already liked it (enforced by uk_user_post).
+     *
+     * @param userId    User ID
+     * @param postId    Post ID
+     * @param createdAt Like timestamp
+     * @return Generated like ID; empty when the like already exists or the post is missing or deleted
+     */
+    Optional<Long> insertPostLikeIfAbsent(Long userId, Long postId, LocalDateTime createdAt);
+
+    /**
+     * Insert a like on an active comment in one statement, unless the user
+     * has already liked it (enforced by uk_user_comment).
+     *
+     * @param userId    User ID
+     * @param commentId Comment ID
+     * @param createdAt Like timestamp
+     * @return Generated like ID; empty when the like already exists or the comment is missing or deleted
+     */
+    Optional<Long> insertCommentLikeIfAbsent(Long userId, Long commentId, LocalDateTime createdAt);
+
+    /**
+     * Insert several likes in one JDBC batch, each only if its post or
+     * comment is active and the user has not liked it yet.
+     *
+     * @param likes Likes to insert (user, post or comment, and timestamp)
+     * @return Per-like update counts; 0 for likes that were not inserted, and
+     *         {@link java.sql.Statement#SUCCESS_NO_INFO} where the driver did not say
+     */
+    int[] insertLikesIfAbsent(List<LikeEntity> likes);
+
+    /**
+     * Delete several likes in one JDBC batch.
+     *
+     * @param likes Likes to delete (user and post or comment)
+     * @return Per-like update counts; 0 for likes that did not exist, and
+     *         {@link java.sql.Statement#SUCCESS_NO_INFO} where the driver did not say
+     */
+    int[] deleteLikes(List<LikeEntity> likes);
+}
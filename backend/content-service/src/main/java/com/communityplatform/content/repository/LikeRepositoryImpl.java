@@ -0,0 +1,128 @@
+package com.communityplatform.content.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.communityplatform.content.entity.LikeEntity;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC implementation of {@link LikeRepositoryCustom}.
+ * 
+ * The existence check of the liked item, the duplicate check and the insert
+ * are folded into one INSERT IGNORE ... SELECT: the SELECT yields no row when
+ * the item is missing or deleted, and the unique constraint turns a repeated
+ * like into an ignored row instead of an error.
+ */
+@RequiredArgsConstructor
+public class LikeRepositoryImpl implements LikeRepositoryCustom {
+
+    private static final String INSERT_POST_LIKE_SQL = "INSERT IGNORE INTO likes "
+            + "(user_id, post_id, created_at, updated_at) "
+            + "SELECT ?, p.id, ?, ? FROM posts p WHERE p.id = ? AND p.deleted_at IS NULL";
+
+    private static final String INSERT_COMMENT_LIKE_SQL = "INSERT IGNORE INTO likes "
+            + "(user_id, comment_id, created_at, updated_at) "
+            + "SELECT ?, c.id, ?, ? FROM comments c WHERE c.id = ? AND c.deleted_at IS NULL";
+
+    private static final String DELETE_POST_LIKE_SQL = "DELETE FROM likes WHERE user_id = ? AND post_id = ?";
+
+    private static final String DELETE_COMMENT_LIKE_SQL = "DELETE FROM likes WHERE user_id = ? AND comment_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Long> insertPostLikeIfAbsent(Long userId, Long postId, LocalDateTime createdAt) {
+        return insertIfAbsent(INSERT_POST_LIKE_SQL, userId, postId, createdAt);
+    }
+
+    @Override
+    public Optional<Long> insertCommentLikeIfAbsent(Long userId, Long commentId, LocalDateTime createdAt) {
+        return insertIfAbsent(INSERT_COMMENT_LIKE_SQL, userId, commentId, createdAt);
+    }
+
+    private Optional<Long> insertIfAbsent(String sql, Long userId, Long targetId, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, userId);
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, targetId);
+            return ps;
+        }, keyHolder);
+        if (inserted == 0 || keyHolder.getKey() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(keyHolder.getKey().longValue());
+    }
+
+    @Override
+    public int[] insertLikesIfAbsent(List<LikeEntity> likes) {
+        return batch(likes, INSERT_POST_LIKE_SQL, INSERT_COMMENT_LIKE_SQL, (ps, like) -> {
+            Timestamp timestamp = Timestamp.valueOf(like.getCreatedAt());
+            ps.setLong(1, like.getUserId());
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, targetId(like));
+        });
+    }
+
+    @Override
+    public int[] deleteLikes(List<LikeEntity> likes) {
+        return batch(likes, DELETE_POST_LIKE_SQL, DELETE_COMMENT_LIKE_SQL, (ps, like) -> {
+            ps.setLong(1, like.getUserId());
+            ps.setLong(2, targetId(like));
+        });
+    }
+
+    /**
+     * Run post likes and comment likes as one batch each and return the
+     * update counts in the order of the given list. Counts the driver did not
+     * report stay {@link Statement#SUCCESS_NO_INFO}; for INSERT IGNORE that
+     * does not tell an inserted row from an ignored one.
+     */
+    private int[] batch(List<LikeEntity> likes, String postSql, String commentSql,
+            ParameterizedPreparedStatementSetter<LikeEntity> setter) {
+        int[] counts = new int[likes.size()];
+        List<Integer> postIndexes = new ArrayList<>();
+        List<Integer> commentIndexes = new ArrayList<>();
+        for (int i = 0; i < likes.size(); i++) {
+            (likes.get(i).getPostId() != null ? postIndexes : commentIndexes).add(i);
+        }
+        runBatch(likes, postIndexes, postSql, setter, counts);
+        runBatch(likes, commentIndexes, commentSql, setter, counts);
+        return counts;
+    }
+
+    private void runBatch(List<LikeEntity> likes, List<Integer> indexes, String sql,
+            ParameterizedPreparedStatementSetter<LikeEntity> setter, int[] counts) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        List<LikeEntity> rows = indexes.stream().map(likes::get).toList();
+        int[][] results = jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter);
+        int position = 0;
+        for (int[] chunk : results) {
+            for (int count : chunk) {
+                counts[indexes.get(position++)] = count;
+            }
+        }
+    }
+
+    private static long targetId(LikeEntity like) {
+        return like.getPostId() != null ? like.getPostId() : like.getCommentId();
+    }
+}
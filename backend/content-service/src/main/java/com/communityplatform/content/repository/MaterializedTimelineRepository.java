@@ -0,0 +1,35 @@
+package com.communityplatform.content.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.communityplatform.content.entity.MaterializedTimelineEntity;
+
+/**
+ * Repository for MaterializedTimeline entity operations.
+ */
+@Repository
+public interface MaterializedTimelineRepository extends JpaRepository<MaterializedTimelineEntity, Long> {
+
+    /**
+     * Check whether a user's timeline has been built.
+     *
+     * @param ownerUserId Timeline owner
+     * @return true if built
+     */
+    boolean existsByOwnerUserId(Long ownerUserId);
+
+    /**
+     * Claim the build of a user's timeline. Only one concurrent caller gets 1.
+     *
+     * @param ownerUserId Timeline owner
+     * @return 1 if claimed by this call, 0 if already claimed
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT IGNORE INTO materialized_timelines (owner_user_id, created_at) " +
+            "VALUES (:ownerUserId, CURRENT_TIMESTAMP)")
+    int claim(@Param("ownerUserId") Long ownerUserId);
+}
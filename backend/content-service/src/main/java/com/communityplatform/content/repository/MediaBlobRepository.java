@@ -0,0 +1,71 @@
+package com.communityplatform.content.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.communityplatform.content.entity.MediaBlobEntity;
+
+/**
+ * Repository for MediaBlob entity operations.
+ */
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlobEntity, Long> {
+
+    /**
+     * Find a blob by content hash.
+     *
+     * @param sha256 Hex-encoded SHA-256
+     * @return Optional blob
+     */
+    @Query("SELECT b FROM MediaBlobEntity b WHERE b.sha256 = :sha256")
+    Optional<MediaBlobEntity> findBySha256(@Param("sha256") String sha256);
+
+    /**
+     * Find which of several objects belong to a blob.
+     *
+     * @param bucketName Bucket name
+     * @param objectKeys Object keys
+     * @return Referenced object keys
+     */
+    @Query("SELECT b.objectKey FROM MediaBlobEntity b WHERE b.bucketName = :bucketName AND b.objectKey IN :objectKeys")
+    List<String> findObjectKeysIn(@Param("bucketName") String bucketName,
+            @Param("objectKeys") Collection<String> objectKeys);
+
+    /**
+     * Add a reference to a blob that is still referenced. A blob whose count
+     * already dropped to zero is being removed and cannot be revived.
+     *
+     * @param id Blob ID
+     * @return 1 if the reference was added, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE MediaBlobEntity b SET b.refCount = b.refCount + 1 WHERE b.id = :id AND b.refCount > 0")
+    int incrementRefCount(@Param("id") Long id);
+
+    /**
+     * Drop a reference to a blob.
+     *
+     * @param id Blob ID
+     * @return 1 if a reference was dropped, 0 if none was left
+     */
+    @Modifying
+    @Query("UPDATE MediaBlobEntity b SET b.refCount = b.refCount - 1 WHERE b.id = :id AND b.refCount > 0")
+    int decrementRefCount(@Param("id") Long id);
+
+    /**
+     * Delete a blob once nothing references it.
+     *
+     * @param id Blob ID
+     * @return 1 if the blob was deleted
+     */
+    @Modifying
+    @Query("DELETE FROM MediaBlobEntity b WHERE b.id = :id AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+}
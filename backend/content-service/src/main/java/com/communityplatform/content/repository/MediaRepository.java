@@ -1,14 +1,18 @@
 package com.communityplatform.content.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.communityplatform.content.entity.DerivativeStatus;
 import com.communityplatform.content.entity.MediaEntity;
 
 /**
@@ -28,13 +32,76 @@ public interface MediaRepository extends JpaRepository<MediaEntity, Long> {
     Page<MediaEntity> findByUploaderUserId(@Param("uploaderUserId") Long uploaderUserId, Pageable pageable);
 
     /**
-     * Find media by stored filename.
+     * Find media uploaded by a user before a keyset position, newest first.
+     *
+     * @param uploaderUserId Uploader user ID
+     * @param createdAt      Cursor creation timestamp
+     * @param id             Cursor media ID
+     * @param pageable       Limit (offset is ignored by callers)
+     * @return Media after the cursor
+     */
+    @Query("SELECT m FROM MediaEntity m WHERE m.uploaderUserId = :uploaderUserId " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MediaEntity> findByUploaderUserIdBefore(@Param("uploaderUserId") Long uploaderUserId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the first media registered for a stored filename. Media with
+     * identical content share a stored filename, so there may be several.
      *
      * @param storedFilename Stored filename
      * @return Optional media
      */
-    @Query("SELECT m FROM MediaEntity m WHERE m.storedFilename = :storedFilename")
-    java.util.Optional<MediaEntity> findByStoredFilename(@Param("storedFilename") String storedFilename);
+    java.util.Optional<MediaEntity> findFirstByStoredFilenameOrderByIdAsc(String storedFilename);
+
+    /**
+     * Find the first media confirmed for a presigned upload key.
+     *
+     * @param uploadKey Object key the client uploaded to
+     * @return Optional media
+     */
+    java.util.Optional<MediaEntity> findFirstByUploadKeyOrderByIdAsc(String uploadKey);
+
+    /**
+     * Find the oldest media of a blob whose derivatives have reached a status,
+     * so media with identical content can reuse them.
+     *
+     * @param blobId Blob ID
+     * @param status Derivative status
+     * @return Optional media
+     */
+    java.util.Optional<MediaEntity> findFirstByBlobIdAndDerivativeStatusOrderByIdAsc(Long blobId,
+            DerivativeStatus status);
+
+    /**
+     * Find media left in a derivative status since before a point in time,
+     * oldest first.
+     *
+     * @param status   Derivative status
+     * @param before   Only media created before this timestamp
+     * @param pageable Limit
+     * @return Media IDs
+     */
+    @Query("SELECT m.id FROM MediaEntity m WHERE m.derivativeStatus = :status AND m.createdAt < :before " +
+            "ORDER BY m.createdAt ASC")
+    List<Long> findIdsByDerivativeStatusBefore(@Param("status") DerivativeStatus status,
+            @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Record image dimensions and derivative status.
+     *
+     * @param id     Media ID
+     * @param width  Width in pixels, or null if unknown
+     * @param height Height in pixels, or null if unknown
+     * @param status Derivative status
+     * @return 1 if the media still exists
+     */
+    @Modifying
+    @Query("UPDATE MediaEntity m SET m.width = :width, m.height = :height, m.derivativeStatus = :status " +
+            "WHERE m.id = :id")
+    int updateDerivatives(@Param("id") Long id, @Param("width") Integer width, @Param("height") Integer height,
+            @Param("status") DerivativeStatus status);
 
     /**
      * Find media by MIME type (e.g., all images, all videos).
@@ -47,20 +114,48 @@ public interface MediaRepository extends JpaRepository<MediaEntity, Long> {
     Page<MediaEntity> findByMimeTypeStartsWith(@Param("mimeTypePrefix") String mimeTypePrefix, Pageable pageable);
 
     /**
-     * Count media files by uploader.
+     * Find which of several objects are the stored file of some media.
      *
-     * @param uploaderUserId Uploader user ID
-     * @return Count of media files
+     * @param bucketName      Bucket name
+     * @param storedFilenames Object keys
+     * @return Referenced object keys
      */
-    @Query("SELECT COUNT(m) FROM MediaEntity m WHERE m.uploaderUserId = :uploaderUserId")
-    Long countByUploaderUserId(@Param("uploaderUserId") Long uploaderUserId);
+    @Query("SELECT DISTINCT m.storedFilename FROM MediaEntity m WHERE m.bucketName = :bucketName " +
+            "AND m.storedFilename IN :storedFilenames")
+    List<String> findStoredFilenamesIn(@Param("bucketName") String bucketName,
+            @Param("storedFilenames") Collection<String> storedFilenames);
 
     /**
-     * Calculate total storage used by user (in bytes).
+     * Find the IDs of users with media after a keyset position, in ID order.
      *
-     * @param uploaderUserId Uploader user ID
-     * @return Total file size in bytes
+     * @param after    Last user ID of the previous chunk
+     * @param pageable Limit
+     * @return Uploader user IDs
      */
-    @Query("SELECT COALESCE(SUM(m.fileSize), 0) FROM MediaEntity m WHERE m.uploaderUserId = :uploaderUserId")
-    Long calculateTotalStorageByUser(@Param("uploaderUserId") Long uploaderUserId);
+    @Query("SELECT DISTINCT m.uploaderUserId FROM MediaEntity m WHERE m.uploaderUserId > :after " +
+            "ORDER BY m.uploaderUserId")
+    List<Long> findUploaderIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Count media files and total storage (in bytes) of several users.
+     *
+     * @param uploaderUserIds Uploader user IDs
+     * @return Totals of the users that have media
+     */
+    @Query("SELECT m.uploaderUserId AS uploaderUserId, COUNT(m) AS fileCount, " +
+            "COALESCE(SUM(m.fileSize), 0) AS totalBytes FROM MediaEntity m " +
+            "WHERE m.uploaderUserId IN :uploaderUserIds GROUP BY m.uploaderUserId")
+    List<UploaderUsage> summarizeByUploaders(@Param("uploaderUserIds") Collection<Long> uploaderUserIds);
+
+    /**
+     * Media totals of one uploader.
+     */
+    interface UploaderUsage {
+
+        Long getUploaderUserId();
+
+        Long getFileCount();
+
+        Long getTotalBytes();
+    }
 }
@@ -0,0 +1,79 @@
+package com.communityplatform.content.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.communityplatform.content.entity.MediaStorageUsageEntity;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository for MediaStorageUsage entity operations.
+ */
+@Repository
+public interface MediaStorageUsageRepository extends JpaRepository<MediaStorageUsageEntity, Long> {
+
+    /**
+     * Find the usage totals of a user.
+     *
+     * @param userId Uploader user ID
+     * @return Optional usage
+     */
+    Optional<MediaStorageUsageEntity> findByUserId(Long userId);
+
+    /**
+     * Find and lock the usage totals of several users.
+     *
+     * @param userIds Uploader user IDs
+     * @return Usage rows that exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM MediaStorageUsageEntity u WHERE u.userId IN :userIds ORDER BY u.userId")
+    List<MediaStorageUsageEntity> findByUserIdInForUpdate(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Find user IDs with usage totals after a keyset position, in ID order.
+     *
+     * @param after    Last user ID of the previous chunk
+     * @param pageable Limit
+     * @return User IDs
+     */
+    @Query("SELECT u.userId FROM MediaStorageUsageEntity u WHERE u.userId > :after ORDER BY u.userId")
+    List<Long> findUserIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Add a file to a user's totals, unless that would take them over a limit.
+     *
+     * @param userId   Uploader user ID
+     * @param bytes    File size in bytes
+     * @param maxBytes Largest total allowed afterwards
+     * @return 1 if the totals were updated, 0 if the limit would be exceeded
+     */
+    @Modifying
+    @Query("UPDATE MediaStorageUsageEntity u SET u.fileCount = u.fileCount + 1, u.totalBytes = u.totalBytes + :bytes "
+            + "WHERE u.userId = :userId AND u.totalBytes + :bytes <= :maxBytes")
+    int addFile(@Param("userId") Long userId, @Param("bytes") long bytes, @Param("maxBytes") long maxBytes);
+
+    /**
+     * Remove a file from a user's totals, never going below zero.
+     *
+     * @param userId Uploader user ID
+     * @param bytes  File size in bytes
+     * @return 1 if the user has totals
+     */
+    @Modifying
+    @Query("UPDATE MediaStorageUsageEntity u SET "
+            + "u.fileCount = CASE WHEN u.fileCount > 0 THEN u.fileCount - 1 ELSE 0 END, "
+            + "u.totalBytes = CASE WHEN u.totalBytes > :bytes THEN u.totalBytes - :bytes ELSE 0 END "
+            + "WHERE u.userId = :userId")
+    int removeFile(@Param("userId") Long userId, @Param("bytes") long bytes);
+}
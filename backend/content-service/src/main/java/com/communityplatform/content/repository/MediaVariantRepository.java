@@ -0,0 +1,56 @@
+package com.communityplatform.content.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.communityplatform.content.entity.MediaVariantEntity;
+
+/**
+ * Repository for MediaVariant entity operations.
+ */
+@Repository
+public interface MediaVariantRepository extends JpaRepository<MediaVariantEntity, Long> {
+
+    /**
+     * Find the variants of one media, largest first.
+     *
+     * @param mediaId Media ID
+     * @return Variants
+     */
+    @Query("SELECT v FROM MediaVariantEntity v WHERE v.mediaId = :mediaId ORDER BY v.width DESC")
+    List<MediaVariantEntity> findByMediaId(@Param("mediaId") Long mediaId);
+
+    /**
+     * Find the variants of several media in one query, largest first per media.
+     *
+     * @param mediaIds Media IDs
+     * @return Variants
+     */
+    @Query("SELECT v FROM MediaVariantEntity v WHERE v.mediaId IN :mediaIds ORDER BY v.mediaId, v.width DESC")
+    List<MediaVariantEntity> findByMediaIdIn(@Param("mediaIds") Collection<Long> mediaIds);
+
+    /**
+     * Find which of several objects are the object of some variant.
+     *
+     * @param objectKeys Object keys
+     * @return Referenced object keys
+     */
+    @Query("SELECT DISTINCT v.objectKey FROM MediaVariantEntity v WHERE v.objectKey IN :objectKeys")
+    List<String> findObjectKeysIn(@Param("objectKeys") Collection<String> objectKeys);
+
+    /**
+     * Delete the variant records of a media.
+     *
+     * @param mediaId Media ID
+     * @return Number of records deleted
+     */
+    @Modifying
+    @Query("DELETE FROM MediaVariantEntity v WHERE v.mediaId = :mediaId")
+    int deleteByMediaId(@Param("mediaId") Long mediaId);
+}
@@ -0,0 +1,51 @@
+package com.communityplatform.content.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.communityplatform.content.entity.PendingUploadEntity;
+
+/**
+ * Repository for PendingUpload entity operations.
+ */
+@Repository
+public interface PendingUploadRepository extends JpaRepository<PendingUploadEntity, Long> {
+
+    /**
+     * Find the pending upload of an object key.
+     *
+     * @param objectKey Object key
+     * @return Optional pending upload
+     */
+    Optional<PendingUploadEntity> findByObjectKey(String objectKey);
+
+    /**
+     * Forget a pending upload once it is confirmed.
+     *
+     * @param objectKey Object key
+     * @return Number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PendingUploadEntity p WHERE p.objectKey = :objectKey")
+    int deleteByObjectKey(@Param("objectKey") String objectKey);
+
+    /**
+     * Forget pending uploads issued before a cutoff; their objects are left
+     * to the orphan sweep.
+     *
+     * @param cutoff Issue time cutoff
+     * @return Number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PendingUploadEntity p WHERE p.createdAt < :cutoff")
+    int deleteIssuedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,62 @@
+package com.communityplatform.content.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.communityplatform.content.entity.MediaEntity;
+import com.communityplatform.content.entity.PostMediaEntity;
+
+/**
+ * Repository for PostMedia entity operations.
+ */
+@Repository
+public interface PostMediaRepository extends JpaRepository<PostMediaEntity, Long> {
+
+    /**
+     * Find the attached media of several posts in one query, in attachment
+     * order per post.
+     *
+     * @param postIds Post IDs
+     * @return Attachments
+     */
+    @Query("SELECT pm.postId AS postId, m AS media FROM PostMediaEntity pm " +
+            "JOIN MediaEntity m ON m.id = pm.mediaId " +
+            "WHERE pm.postId IN :postIds ORDER BY pm.postId, pm.position")
+    List<Attachment> findAttachments(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Detach all media from a post.
+     *
+     * @param postId Post ID
+     * @return Number of attachments removed
+     */
+    @Modifying
+    @Query("DELETE FROM PostMediaEntity pm WHERE pm.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    /**
+     * Detach a media from every post it is attached to.
+     *
+     * @param mediaId Media ID
+     * @return Number of attachments removed
+     */
+    @Modifying
+    @Query("DELETE FROM PostMediaEntity pm WHERE pm.mediaId = :mediaId")
+    int deleteByMediaId(@Param("mediaId") Long mediaId);
+
+    /**
+     * One media attached to a post.
+     */
+    interface Attachment {
+
+        Long getPostId();
+
+        MediaEntity getMedia();
+    }
+}
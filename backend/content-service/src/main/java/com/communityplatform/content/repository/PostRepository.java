@@ -1,5 +1,6 @@
 package com.communityplatform.content.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +17,7 @@ import com.communityplatform.content.entity.PostEntity;
  * Repository for Post entity operations.
  */
 @Repository
-public interface PostRepository extends JpaRepository<PostEntity, Long> {
+public interface PostRepository extends JpaRepository<PostEntity, Long>, PostRepositoryCustom {
 
     /**
      * Find all active (not deleted) posts by user ID.
@@ -47,8 +48,53 @@ public interface PostRepository extends JpaRepository<PostEntity, Long> {
     @Query("SELECT p FROM PostEntity p WHERE p.deletedAt IS NULL ORDER BY p.createdAt DESC")
     Page<PostEntity> findAllActive(Pageable pageable);
 
+    /**
+     * Find active posts created before a keyset position, newest first.
+     *
+     * @param createdAt Cursor creation timestamp
+     * @param id        Cursor post ID
+     * @param pageable  Limit (offset is ignored by callers)
+     * @return Posts after the cursor
+     */
+    @Query("SELECT p FROM PostEntity p WHERE p.deletedAt IS NULL " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostEntity> findAllActiveBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    /**
+     * Find a user's active posts created before a keyset position, newest first.
+     *
+     * @param userId    User ID
+     * @param createdAt Cursor creation timestamp
+     * @param id        Cursor post ID
+     * @param pageable  Limit (offset is ignored by callers)
+     * @return Posts after the cursor
+     */
+    @Query("SELECT p FROM PostEntity p WHERE p.userId = :userId AND p.deletedAt IS NULL " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostEntity> findByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find active posts of several users created before a keyset position, newest first.
+     *
+     * @param userIds   User IDs
+     * @param createdAt Cursor creation timestamp
+     * @param id        Cursor post ID
+     * @param pageable  Limit (offset is ignored by callers)
+     * @return Posts after the cursor
+     */
+    @Query("SELECT p FROM PostEntity p WHERE p.userId IN :userIds AND p.deletedAt IS NULL " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostEntity> findByUserIdInBefore(@Param("userIds") List<Long> userIds,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
     /**
      * Search posts by title or content (case-insensitive).
+     * Full scan; only used while the search index is loading.
      *
      * @param searchTerm Search term
      * @param pageable   Pagination info
@@ -70,14 +116,44 @@ public interface PostRepository extends JpaRepository<PostEntity, Long> {
     Optional<PostEntity> findByIdAndActive(@Param("id") Long id);
 
     /**
-     * Find trending posts (high engagement) in last N days.
-     * Ordered by like count + comment count.
+     * Find trending posts (high engagement) created since a point in time.
+     * Ordered by like count + comment count. Only used until the trending
+     * engine has computed its first ranking.
      *
+     * @param since    Oldest creation time to consider
      * @param pageable Pagination info
      * @return Page of trending posts
      */
-    @Query("SELECT p FROM PostEntity p WHERE p.deletedAt IS NULL ORDER BY (p.likeCount + p.commentCount) DESC, p.createdAt DESC")
-    Page<PostEntity> findTrendingPosts(Pageable pageable);
+    @Query("SELECT p FROM PostEntity p WHERE p.deletedAt IS NULL AND p.createdAt >= :since "
+            + "ORDER BY (p.likeCount + p.commentCount) DESC, p.createdAt DESC")
+    Page<PostEntity> findTrendingPosts(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Find active posts created since a point in time, in ID order. Used to
+     * page through them with the last seen ID.
+     *
+     * @param since    Oldest creation time (inclusive)
+     * @param afterId  Last post ID of the previous page
+     * @param pageable Page size (page number should stay 0)
+     * @return Posts ordered by ID
+     */
+    @Query("SELECT p FROM PostEntity p WHERE p.deletedAt IS NULL AND p.createdAt >= :since AND p.id > :afterId "
+            + "ORDER BY p.id")
+    List<PostEntity> findActiveCreatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Find posts (including deleted ones) changed since a point in time, in ID
+     * order. Used to page through changes with the last seen ID.
+     *
+     * @param since    Lower bound on updatedAt (inclusive)
+     * @param afterId  Last post ID of the previous page
+     * @param pageable Page size (page number should stay 0)
+     * @return Posts ordered by ID
+     */
+    @Query("SELECT p FROM PostEntity p WHERE p.updatedAt >= :since AND p.id > :afterId ORDER BY p.id")
+    List<PostEntity> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+            Pageable pageable);
 
     /**
      * Count active posts by user.
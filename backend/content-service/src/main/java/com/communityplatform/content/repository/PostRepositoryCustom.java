@@ -0,0 +1,23 @@
+package com.communityplatform.content.repository;
+
+import java.util.Map;
+
+/**
+ * Custom post operations that bypass the entity manager.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Apply like count deltas with one batched atomic update per post.
+     *
+     * @param deltas Delta per post ID
+     */
+    void addLikeCounts(Map<Long, Long> deltas);
+
+    /**
+     * Apply comment count deltas with one batched atomic update per post.
+     *
+     * @param deltas Delta per post ID
+     */
+    void addCommentCounts(Map<Long, Long> deltas);
+}
@@ -0,0 +1,32 @@
+package com.communityplatform.content.repository;
+
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC implementation of {@link PostRepositoryCustom}.
+ * 
+ * Counters are updated relative to the stored value so concurrent writers never
+ * overwrite each other; they are clamped at zero like the entity updates were.
+ */
+@RequiredArgsConstructor
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    private static final String ADD_LIKES_SQL = "UPDATE posts SET like_count = GREATEST(like_count + ?, 0) WHERE id = ?";
+    private static final String ADD_COMMENTS_SQL = "UPDATE posts SET comment_count = GREATEST(comment_count + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addLikeCounts(Map<Long, Long> deltas) {
+        CounterBatches.apply(jdbcTemplate, ADD_LIKES_SQL, deltas);
+    }
+
+    @Override
+    public void addCommentCounts(Map<Long, Long> deltas) {
+        CounterBatches.apply(jdbcTemplate, ADD_COMMENTS_SQL, deltas);
+    }
+}
@@ -0,0 +1,117 @@
+package com.communityplatform.content.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.communityplatform.content.entity.TimelineEntryEntity;
+
+/**
+ * Repository for TimelineEntry entity operations.
+ */
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntryEntity, Long>,
+        TimelineEntryRepositoryCustom {
+
+    /**
+     * Read a page of a user's home timeline, newest first.
+     *
+     * @param ownerUserId Timeline owner
+     * @param pageable    Pagination info
+     * @return Page of post IDs
+     */
+    @Query(value = "SELECT t.postId FROM TimelineEntryEntity t WHERE t.ownerUserId = :ownerUserId " +
+            "ORDER BY t.postCreatedAt DESC, t.postId DESC",
+            countQuery = "SELECT COUNT(t) FROM TimelineEntryEntity t WHERE t.ownerUserId = :ownerUserId")
+    Page<Long> findPostIdsByOwnerUserId(@Param("ownerUserId") Long ownerUserId, Pageable pageable);
+
+    /**
+     * Read a page of a user's home timeline, excluding some authors.
+     * Used when posts of those authors are merged in from the posts table.
+     *
+     * @param ownerUserId     Timeline owner
+     * @param excludedAuthors Author IDs to skip
+     * @param pageable        Pagination info
+     * @return Page of timeline entries
+     */
+    @Query(value = "SELECT t FROM TimelineEntryEntity t WHERE t.ownerUserId = :ownerUserId " +
+            "AND t.authorUserId NOT IN :excludedAuthors ORDER BY t.postCreatedAt DESC, t.postId DESC",
+            countQuery = "SELECT COUNT(t) FROM TimelineEntryEntity t WHERE t.ownerUserId = :ownerUserId " +
+                    "AND t.authorUserId NOT IN :excludedAuthors")
+    Page<TimelineEntryEntity> findByOwnerUserIdExcludingAuthors(@Param("ownerUserId") Long ownerUserId,
+            @Param("excludedAuthors") Collection<Long> excludedAuthors, Pageable pageable);
+
+    /**
+     * Read a user's home timeline after a keyset position, newest first.
+     *
+     * @param ownerUserId     Timeline owner
+     * @param excludedAuthors Author IDs to skip (use a non-matching ID when none)
+     * @param createdAt       Cursor post creation timestamp
+     * @param postId          Cursor post ID
+     * @param pageable        Limit (offset is ignored by callers)
+     * @return Timeline entries after the cursor
+     */
+    @Query("SELECT t FROM TimelineEntryEntity t WHERE t.ownerUserId = :ownerUserId " +
+            "AND t.authorUserId NOT IN :excludedAuthors " +
+            "AND (t.postCreatedAt < :createdAt OR (t.postCreatedAt = :createdAt AND t.postId < :postId)) " +
+            "ORDER BY t.postCreatedAt DESC, t.postId DESC")
+    List<TimelineEntryEntity> findByOwnerUserIdBefore(@Param("ownerUserId") Long ownerUserId,
+            @Param("excludedAuthors") Collection<Long> excludedAuthors, @Param("createdAt") LocalDateTime createdAt,
+            @Param("postId") Long postId, Pageable pageable);
+
+    /**
+     * Remove a post from every timeline it was pushed to.
+     *
+     * @param postId Post ID
+     * @return Number of removed entries
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntryEntity t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    /**
+     * Remove all entries of one author from a user's timeline.
+     *
+     * @param ownerUserId  Timeline owner
+     * @param authorUserId Author whose posts are removed
+     * @return Number of removed entries
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntryEntity t WHERE t.ownerUserId = :ownerUserId AND t.authorUserId = :authorUserId")
+    int deleteByOwnerUserIdAndAuthorUserId(@Param("ownerUserId") Long ownerUserId,
+            @Param("authorUserId") Long authorUserId);
+
+    /**
+     * Remove every entry of a user's timeline.
+     *
+     * @param ownerUserId Timeline owner
+     * @return Number of removed entries
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntryEntity t WHERE t.ownerUserId = :ownerUserId")
+    int deleteByOwnerUserId(@Param("ownerUserId") Long ownerUserId);
+
+    /**
+     * Keep only the newest entries of each given timeline.
+     *
+     * @param ownerUserIds Timeline owners to trim
+     * @param maxEntries   Entries to keep per owner
+     * @return Number of removed entries
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM timeline_entries WHERE id IN (" +
+            "SELECT id FROM (" +
+            "SELECT id, ROW_NUMBER() OVER (PARTITION BY owner_user_id " +
+            "ORDER BY post_created_at DESC, post_id DESC) AS rn " +
+            "FROM timeline_entries WHERE owner_user_id IN (:ownerUserIds)" +
+            ") ranked WHERE ranked.rn > :maxEntries)")
+    int trimTimelines(@Param("ownerUserIds") Collection<Long> ownerUserIds, @Param("maxEntries") int maxEntries);
+}
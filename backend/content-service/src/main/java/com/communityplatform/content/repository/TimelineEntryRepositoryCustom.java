@@ -0,0 +1,42 @@
+package com.communityplatform.content.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.communityplatform.content.entity.PostEntity;
+
+/**
+ * Custom timeline operations that bypass the entity manager.
+ */
+public interface TimelineEntryRepositoryCustom {
+
+    /**
+     * Insert one timeline entry per owner for a post using a JDBC batch,
+     * skipping entries that already exist.
+     *
+     * @param postId        Post ID
+     * @param authorUserId  Post author
+     * @param postCreatedAt Post creation timestamp
+     * @param ownerUserIds  Timelines to push into
+     */
+    void insertEntries(Long postId, Long authorUserId, LocalDateTime postCreatedAt, Collection<Long> ownerUserIds);
+
+    /**
+     * Insert several posts into one user's timeline using a JDBC batch,
+     * skipping entries that already exist.
+     *
+     * @param ownerUserId Timeline owner
+     * @param posts       Posts to push
+     */
+    void insertPosts(Long ownerUserId, List<PostEntity> posts);
+
+    /**
+     * Insert several posts into several users' timelines using a JDBC batch,
+     * skipping entries that already exist.
+     *
+     * @param ownerUserIds Timelines to push into
+     * @param posts        Posts to push
+     */
+    void insertMissingPosts(Collection<Long> ownerUserIds, List<PostEntity> posts);
+}
@@ -0,0 +1,81 @@
+package com.communityplatform.content.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.communityplatform.content.entity.PostEntity;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC implementation of {@link TimelineEntryRepositoryCustom}.
+ * 
+ * Identity-generated entities cannot be batched by Hibernate, so fan-out
+ * writes go through a plain JDBC batch on the transaction's connection.
+ */
+@RequiredArgsConstructor
+public class TimelineEntryRepositoryImpl implements TimelineEntryRepositoryCustom {
+
+    /**
+     * Fan-out, materialization and follow backfills may push the same post
+     * into the same timeline concurrently; uk_owner_post keeps one entry and
+     * the others are skipped instead of failing the batch.
+     */
+    private static final String INSERT_SQL = "INSERT IGNORE INTO timeline_entries "
+            + "(owner_user_id, post_id, author_user_id, post_created_at, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertEntries(Long postId, Long authorUserId, LocalDateTime postCreatedAt,
+            Collection<Long> ownerUserIds) {
+        if (ownerUserIds == null || ownerUserIds.isEmpty()) {
+            return;
+        }
+        Timestamp postCreated = Timestamp.valueOf(postCreatedAt);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, ownerUserIds, ownerUserIds.size(), (ps, ownerUserId) -> {
+            ps.setLong(1, ownerUserId);
+            ps.setLong(2, postId);
+            ps.setLong(3, authorUserId);
+            ps.setTimestamp(4, postCreated);
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    @Override
+    public void insertPosts(Long ownerUserId, List<PostEntity> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, posts, posts.size(), (ps, post) -> {
+            ps.setLong(1, ownerUserId);
+            ps.setLong(2, post.getId());
+            ps.setLong(3, post.getUserId());
+            ps.setTimestamp(4, Timestamp.valueOf(post.getCreatedAt()));
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    @Override
+    public void insertMissingPosts(Collection<Long> ownerUserIds, List<PostEntity> posts) {
+        if (ownerUserIds == null || ownerUserIds.isEmpty() || posts == null || posts.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ownerUserIds.size() * posts.size());
+        for (Long ownerUserId : ownerUserIds) {
+            for (PostEntity post : posts) {
+                rows.add(new Object[] { ownerUserId, post.getId(), post.getUserId(),
+                        Timestamp.valueOf(post.getCreatedAt()), now });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
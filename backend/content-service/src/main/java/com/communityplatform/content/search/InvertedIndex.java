@@ -0,0 +1,177 @@
+package com.communityplatform.content.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over post title and content with BM25 ranking.
+ * 
+ * Every query term must match. The last term also matches as a prefix, so
+ * results follow the user while typing. Title terms count double.
+ * 
+ * Not thread-safe; {@link PostSearchIndex} guards access.
+ */
+final class InvertedIndex {
+
+    private static final int SEGMENT_MAGIC = 0x50534958;
+    private static final int SEGMENT_VERSION = 1;
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Term -> (post ID -> weighted term frequency), sorted for prefix lookups. */
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /** Post ID -> its weighted term frequencies, needed to remove or replace it. */
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+    /** Post ID -> document length (sum of weighted term frequencies). */
+    private final Map<Long, Integer> lengths = new HashMap<>();
+
+    private long totalLength;
+
+    void put(Long postId, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Tokenizer.tokenize(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        Tokenizer.tokenize(content).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        putFrequencies(postId, frequencies);
+    }
+
+    void remove(Long postId) {
+        Map<String, Integer> frequencies = documents.remove(postId);
+        if (frequencies == null) {
+            return;
+        }
+        frequencies.forEach((term, frequency) -> {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(postId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+        totalLength -= lengths.remove(postId);
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    SearchHits search(String query, long offset, int limit) {
+        List<String> terms = Tokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || documents.isEmpty()) {
+            return SearchHits.empty();
+        }
+
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            Map<Long, Double> termScores = score(terms.get(i), i == terms.size() - 1);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((postId, score) -> score + termScores.get(postId));
+            }
+            if (scores.isEmpty()) {
+                return SearchHits.empty();
+            }
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchHits(ranked, scores.size());
+    }
+
+    /**
+     * BM25 score of one query term per matching post. For a prefix term each
+     * post keeps its best matching expansion; expansions weigh less than the
+     * exact term.
+     */
+    private Map<Long, Double> score(String term, boolean prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        addScores(term, 1.0, scores);
+        if (prefix) {
+            postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(expansion -> addScores(expansion, PREFIX_MATCH_WEIGHT, scores));
+        }
+        return scores;
+    }
+
+    private void addScores(String term, double weight, Map<Long, Double> scores) {
+        Map<Long, Integer> posting = postings.get(term);
+        if (posting == null) {
+            return;
+        }
+        int documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+        double averageLength = (double) totalLength / documentCount;
+
+        posting.forEach((postId, frequency) -> {
+            double normalizedLength = lengths.get(postId) / averageLength;
+            double score = weight * idf * frequency * (K1 + 1)
+                    / (frequency + K1 * (1 - B + B * normalizedLength));
+            scores.merge(postId, score, Math::max);
+        });
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(SEGMENT_MAGIC);
+        out.writeInt(SEGMENT_VERSION);
+        out.writeInt(documents.size());
+        for (Map.Entry<Long, Map<String, Integer>> document : documents.entrySet()) {
+            out.writeLong(document.getKey());
+            out.writeInt(document.getValue().size());
+            for (Map.Entry<String, Integer> term : document.getValue().entrySet()) {
+                out.writeUTF(term.getKey());
+                out.writeInt(term.getValue());
+            }
+        }
+    }
+
+    static InvertedIndex readFrom(DataInput in) throws IOException {
+        if (in.readInt() != SEGMENT_MAGIC || in.readInt() != SEGMENT_VERSION) {
+            throw new IOException("Not a post search segment");
+        }
+        InvertedIndex index = new InvertedIndex();
+        int documentCount = in.readInt();
+        for (int i = 0; i < documentCount; i++) {
+            long postId = in.readLong();
+            int termCount = in.readInt();
+            Map<String, Integer> frequencies = new HashMap<>(termCount * 2);
+            for (int j = 0; j < termCount; j++) {
+                frequencies.put(in.readUTF(), in.readInt());
+            }
+            index.putFrequencies(postId, frequencies);
+        }
+        return index;
+    }
+
+    private void putFrequencies(Long postId, Map<String, Integer> frequencies) {
+        remove(postId);
+        if (frequencies.isEmpty()) {
+            return;
+        }
+        documents.put(postId, frequencies);
+        frequencies.forEach((term, frequency) -> postings
+                .computeIfAbsent(term, key -> new HashMap<>())
+                .put(postId, frequency));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        lengths.put(postId, length);
+        totalLength += length;
+    }
+}
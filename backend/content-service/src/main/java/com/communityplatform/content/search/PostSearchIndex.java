@@ -0,0 +1,274 @@
+package com.communityplatform.content.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.PostChangedEvent;
+import com.communityplatform.content.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process full-text index of posts backing post search.
+ * 
+ * Lifecycle:
+ * - On startup the newest segment file is loaded from disk and caught up with
+ *   posts changed since it was written; without a segment the index is built
+ *   from the posts table. Loading runs in the background and search falls back
+ *   to the database until it is ready.
+ * - Post changes are applied incrementally after their transaction commits.
+ * - A new segment is written periodically and on shutdown; older ones are removed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchIndex {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-\\d+\\.idx");
+    private static final int LOAD_PAGE_SIZE = 500;
+
+    /** Re-read changes from slightly before a snapshot to cover in-flight transactions. */
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final PostRepository postRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedWhileLoading = ConcurrentHashMap.newKeySet();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-search-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    private InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+
+    @Value("${post-search.index-dir:data/post-search}")
+    private String indexDir;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Search post titles and content, best match first.
+     */
+    public SearchHits search(String query, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!ready && loading.compareAndSet(false, true)) {
+            loader.execute(() -> {
+                try {
+                    load();
+                } catch (RuntimeException ex) {
+                    log.error("Failed to load post search index, retrying with the next snapshot", ex);
+                } finally {
+                    loading.set(false);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                changedWhileLoading.add(event.postId());
+            } else if (event.deleted()) {
+                index.remove(event.postId());
+            } else {
+                index.put(event.postId(), event.title(), event.content());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Write the index to a new segment file and drop older segments.
+     */
+    @Scheduled(fixedDelayString = "${post-search.snapshot-interval-ms:300000}",
+            initialDelayString = "${post-search.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!ready) {
+            start();
+            return;
+        }
+        LocalDateTime watermark = LocalDateTime.now().minus(CATCH_UP_MARGIN);
+        Path directory = Paths.get(indexDir);
+        Path segment = directory.resolve(SEGMENT_PREFIX + watermark.toEpochSecond(ZoneOffset.UTC) + SEGMENT_SUFFIX);
+        Path temp = directory.resolve(segment.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(directory);
+            lock.readLock().lock();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                index.writeTo(out);
+            } finally {
+                lock.readLock().unlock();
+            }
+            Files.move(temp, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path old : listSegments()) {
+                if (!old.equals(segment)) {
+                    Files.deleteIfExists(old);
+                }
+            }
+            log.debug("Wrote post search segment {}", segment.getFileName());
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("Failed to write post search segment: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+        if (ready) {
+            snapshot();
+        }
+    }
+
+    void load() {
+        InvertedIndex loaded = null;
+        LocalDateTime since = BEGINNING;
+
+        Optional<Path> segment = listSegments().stream().reduce((first, second) -> second);
+        if (segment.isPresent()) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(segment.get())))) {
+                loaded = InvertedIndex.readFrom(in);
+                since = watermarkOf(segment.get());
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Ignoring unreadable post search segment {}: {}", segment.get(), ex.getMessage());
+                loaded = null;
+                since = BEGINNING;
+            }
+        }
+        if (loaded == null) {
+            loaded = new InvertedIndex();
+        }
+
+        long afterId = 0;
+        int changed = 0;
+        List<PostEntity> page;
+        do {
+            page = postRepository.findChangedSince(since, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (PostEntity post : page) {
+                apply(loaded, post);
+                afterId = post.getId();
+            }
+            changed += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        List<Long> pending;
+        lock.writeLock().lock();
+        try {
+            index = loaded;
+            ready = true;
+            pending = new ArrayList<>(changedWhileLoading);
+            changedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refresh(pending);
+        log.info("Post search index ready with {} posts ({} read from the database)", loaded.size(), changed);
+    }
+
+    /**
+     * Re-read posts that changed while the index was loading.
+     */
+    private void refresh(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        List<PostEntity> posts = postRepository.findAllById(postIds);
+        lock.writeLock().lock();
+        try {
+            postIds.forEach(index::remove);
+            posts.forEach(post -> apply(index, post));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(InvertedIndex target, PostEntity post) {
+        if (post.isActive()) {
+            target.put(post.getId(), post.getTitle(), post.getContent());
+        } else {
+            target.remove(post.getId());
+        }
+    }
+
+    /**
+     * Segment files, oldest first.
+     */
+    private List<Path> listSegments() {
+        Path directory = Paths.get(indexDir);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted((a, b) -> watermarkOf(a).compareTo(watermarkOf(b)))
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static LocalDateTime watermarkOf(Path segment) {
+        String name = segment.getFileName().toString();
+        long epochSecond = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
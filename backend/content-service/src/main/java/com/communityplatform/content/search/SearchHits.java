@@ -0,0 +1,16 @@
+package com.communityplatform.content.search;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first.
+ *
+ * @param postIds Post IDs of the requested page
+ * @param total   Number of matching posts
+ */
+public record SearchHits(List<Long> postIds, long total) {
+
+    public static SearchHits empty() {
+        return new SearchHits(List.of(), 0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.communityplatform.content.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower-case, accent-free terms on any non letter/digit.
+ */
+final class Tokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /** Longer tokens are almost always noise (URLs, hashes) and bloat the dictionary. */
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty() && token.length() <= MAX_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
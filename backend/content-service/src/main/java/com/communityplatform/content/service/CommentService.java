@@ -3,8 +3,10 @@ package com.communityplatform.content.service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.comment.CommentCreateDto;
 import com.communityplatform.content.dto.comment.CommentResponseDto;
+import com.communityplatform.content.dto.comment.CommentThreadNodeDto;
 import com.communityplatform.content.dto.comment.CommentUpdateDto;
 
 import java.util.List;
@@ -44,18 +46,43 @@ public interface CommentService {
      */
     Page<CommentResponseDto> getTopLevelComments(Long postId, Long currentUserId, Pageable pageable);
 
+    /**
+     * Get all comments for a post using keyset pagination (oldest first).
+     */
+    CursorPageResponseDto<CommentResponseDto> getCommentsByPostIdByCursor(Long postId, Long currentUserId,
+            String cursor, Integer size);
+
+    /**
+     * Get top-level comments for a post using keyset pagination (oldest first).
+     */
+    CursorPageResponseDto<CommentResponseDto> getTopLevelCommentsByCursor(Long postId, Long currentUserId,
+            String cursor, Integer size);
+
+    /**
+     * Get the discussion of a post as a tree: a slice of top-level comments,
+     * each with up to {@code replies} replies per level and {@code depth} levels.
+     */
+    CursorPageResponseDto<CommentThreadNodeDto> getCommentThread(Long postId, Long currentUserId, String cursor,
+            Integer size, Integer depth, Integer replies);
+
+    /**
+     * Continue a truncated sub-thread: a slice of a comment's replies as a tree.
+     */
+    CursorPageResponseDto<CommentThreadNodeDto> getReplyThread(Long commentId, Long currentUserId, String cursor,
+            Integer size, Integer depth, Integer replies);
+
     /**
      * Get replies for a comment.
      */
     List<CommentResponseDto> getReplies(Long parentCommentId, Long currentUserId);
 
     /**
-     * Increment like count.
+     * Increment like count (buffered until the next counter flush).
      */
     void incrementLikeCount(Long commentId);
 
     /**
-     * Decrement like count.
+     * Decrement like count (buffered until the next counter flush).
      */
     void decrementLikeCount(Long commentId);
 }
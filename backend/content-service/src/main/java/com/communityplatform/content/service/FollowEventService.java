@@ -0,0 +1,14 @@
+package com.communityplatform.content.service;
+
+import com.communityplatform.content.dto.follow.FollowEventDto;
+
+/**
+ * Service interface for follow change notifications from user-service.
+ */
+public interface FollowEventService {
+
+    /**
+     * Apply a follow or unfollow to the follow graph cache and home timelines.
+     */
+    void handleFollowEvent(FollowEventDto event);
+}
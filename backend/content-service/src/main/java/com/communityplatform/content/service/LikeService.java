@@ -1,6 +1,8 @@
 package com.communityplatform.content.service;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.like.LikeResponseDto;
+import com.communityplatform.content.dto.like.LikeSummaryDto;
 
 import java.util.List;
 
@@ -10,22 +12,22 @@ import java.util.List;
 public interface LikeService {
 
     /**
-     * Like a post.
+     * Like a post. Liking an already liked post returns the existing like.
      */
     LikeResponseDto likePost(Long postId, Long userId);
 
     /**
-     * Unlike a post.
+     * Unlike a post. Does nothing if the post is not liked.
      */
     void unlikePost(Long postId, Long userId);
 
     /**
-     * Like a comment.
+     * Like a comment. Liking an already liked comment returns the existing like.
      */
     LikeResponseDto likeComment(Long commentId, Long userId);
 
     /**
-     * Unlike a comment.
+     * Unlike a comment. Does nothing if the comment is not liked.
      */
     void unlikeComment(Long commentId, Long userId);
 
@@ -40,12 +42,32 @@ public interface LikeService {
     boolean hasLikedComment(Long commentId, Long userId);
 
     /**
-     * Get all likes for a post.
+     * Get the most recent likes for a post (at most one full slice).
      */
     List<LikeResponseDto> getPostLikes(Long postId);
 
     /**
-     * Get all likes for a comment.
+     * Get likes for a post, newest first, using cursor pagination.
+     */
+    CursorPageResponseDto<LikeResponseDto> getPostLikesByCursor(Long postId, String cursor, Integer size);
+
+    /**
+     * Get the total like count and the most recent likers of a post.
+     */
+    LikeSummaryDto getPostLikeSummary(Long postId, Integer limit);
+
+    /**
+     * Get the most recent likes for a comment (at most one full slice).
      */
     List<LikeResponseDto> getCommentLikes(Long commentId);
+
+    /**
+     * Get likes for a comment, newest first, using cursor pagination.
+     */
+    CursorPageResponseDto<LikeResponseDto> getCommentLikesByCursor(Long commentId, String cursor, Integer size);
+
+    /**
+     * Get the total like count and the most recent likers of a comment.
+     */
+    LikeSummaryDto getCommentLikeSummary(Long commentId, Integer limit);
 }
@@ -0,0 +1,42 @@
+package com.communityplatform.content.service;
+
+import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Resolves whether a viewer has liked posts or comments.
+ * Page reads resolve a whole page at once instead of checking row by row.
+ */
+public interface LikeStateService {
+
+    /**
+     * Check if the viewer has liked a single post.
+     */
+    boolean hasLikedPost(Long viewerId, Long postId);
+
+    /**
+     * Check if the viewer has liked a single comment.
+     */
+    boolean hasLikedComment(Long viewerId, Long commentId);
+
+    /**
+     * Get the subset of the given post IDs liked by the viewer.
+     */
+    Set<Long> findLikedPostIds(Long viewerId, Collection<Long> postIds);
+
+    /**
+     * Get the subset of the given comment IDs liked by the viewer.
+     */
+    Set<Long> findLikedCommentIds(Long viewerId, Collection<Long> commentIds);
+
+    /**
+     * Get the exact like count of a post, if it is known without a query.
+     */
+    OptionalLong findExactPostLikeCount(Long postId);
+
+    /**
+     * Get the exact like count of a comment, if it is known without a query.
+     */
+    OptionalLong findExactCommentLikeCount(Long commentId);
+}
@@ -1,14 +1,26 @@
 package com.communityplatform.content.service;
 
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsRequestDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartUploadResponseDto;
+import com.communityplatform.content.dto.media.MediaPresignedDownloadBatchResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedDownloadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadRequestDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedConfirmRequestDto;
 import com.communityplatform.content.dto.media.MediaResponseDto;
+import com.communityplatform.content.dto.media.MediaStorageUsageDto;
 import com.communityplatform.content.dto.media.MediaUploadResponseDto;
 
 /**
@@ -21,6 +33,14 @@ public interface MediaService {
      */
     MediaUploadResponseDto uploadMedia(MultipartFile file, Long uploaderUserId);
 
+    /**
+     * Upload a media file by streaming the raw request body into storage,
+     * without spooling it first. If an expected SHA-256 is given, the stored
+     * content must match it.
+     */
+    MediaUploadResponseDto streamMedia(InputStream content, Long contentLength, String originalFilename,
+            String contentType, String expectedSha256, Long uploaderUserId);
+
     /**
      * Get media metadata by ID.
      */
@@ -31,13 +51,47 @@ public interface MediaService {
      */
     Page<MediaResponseDto> getMediaByUserId(Long uploaderUserId, Pageable pageable);
 
+    /**
+     * List media uploaded by a user using keyset pagination (newest first).
+     */
+    CursorPageResponseDto<MediaResponseDto> getMediaByUserIdByCursor(Long uploaderUserId, String cursor, Integer size);
+
+    /**
+     * Get the number and total size of a user's media, and their quota.
+     */
+    MediaStorageUsageDto getStorageUsage(Long userId);
+
     /**
      * Create a presigned upload URL for direct MinIO upload.
      */
     MediaPresignedUploadResponseDto createPresignedUpload(MediaPresignedUploadRequestDto request, Long uploaderUserId);
 
     /**
-     * Confirm a presigned upload and persist metadata.
+     * Start a resumable multipart upload whose parts are sent to presigned URLs.
+     */
+    MediaMultipartUploadResponseDto createMultipartUpload(MediaPresignedUploadRequestDto request,
+            Long uploaderUserId);
+
+    /**
+     * Create presigned PUT URLs for parts of a multipart upload.
+     */
+    MediaMultipartPartUrlsResponseDto createMultipartPartUrls(MediaMultipartPartUrlsRequestDto request);
+
+    /**
+     * List the parts of a multipart upload that are already stored, so a
+     * client can resume by uploading only the missing ones.
+     */
+    List<MediaMultipartPartDto> listMultipartParts(String objectKey, String uploadId);
+
+    /**
+     * Abort a multipart upload and discard its stored parts.
+     */
+    void abortMultipartUpload(String objectKey, String uploadId);
+
+    /**
+     * Confirm a presigned upload and persist metadata. When the request
+     * carries an upload ID, the multipart upload is completed first. Only
+     * object keys issued to the uploader can be confirmed.
      */
     MediaUploadResponseDto confirmPresignedUpload(MediaPresignedConfirmRequestDto request, Long uploaderUserId);
 
@@ -46,8 +100,26 @@ public interface MediaService {
      */
     MediaPresignedDownloadResponseDto createPresignedDownload(Long mediaId);
 
+    /**
+     * Create presigned download URLs for several media with one lookup.
+     * Unknown IDs are reported rather than failing the batch.
+     */
+    MediaPresignedDownloadBatchResponseDto createPresignedDownloads(List<Long> mediaIds);
+
     /**
      * Delete media by ID (owner only).
      */
     void deleteMedia(Long mediaId, Long requesterUserId);
+
+    /**
+     * Replace the media attached to a post, keeping the given order. Only
+     * media uploaded by the post author can be attached.
+     */
+    void attachToPost(Long postId, List<Long> mediaIds, Long authorUserId);
+
+    /**
+     * Get the attached media of several posts with one lookup, in attachment
+     * order. Posts without media are absent from the map.
+     */
+    Map<Long, List<MediaResponseDto>> getPostAttachments(Collection<Long> postIds);
 }
@@ -3,6 +3,7 @@ package com.communityplatform.content.service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.post.PostCreateDto;
 import com.communityplatform.content.dto.post.PostResponseDto;
 import com.communityplatform.content.dto.post.PostSummaryDto;
@@ -54,7 +55,28 @@ public interface PostService {
     Page<PostSummaryDto> getPostsByUserId(Long userId, Long currentUserId, Pageable pageable);
 
     /**
-     * Search posts by title or content.
+     * Get all posts using keyset pagination.
+     */
+    CursorPageResponseDto<PostSummaryDto> getAllPostsByCursor(Long currentUserId, String cursor, Integer size);
+
+    /**
+     * Get posts from users the current user follows using keyset pagination.
+     */
+    CursorPageResponseDto<PostSummaryDto> getFollowingPostsByCursor(Long userId, String cursor, Integer size);
+
+    /**
+     * Get feed posts for current user using keyset pagination.
+     */
+    CursorPageResponseDto<PostSummaryDto> getFeedPostsByCursor(Long userId, String cursor, Integer size);
+
+    /**
+     * Get posts by user using keyset pagination.
+     */
+    CursorPageResponseDto<PostSummaryDto> getPostsByUserIdByCursor(Long userId, Long currentUserId, String cursor,
+            Integer size);
+
+    /**
+     * Search posts by title or content, best match first.
      */
     Page<PostSummaryDto> searchPosts(String searchTerm, Long currentUserId, Pageable pageable);
 
@@ -64,22 +86,22 @@ public interface PostService {
     Page<PostSummaryDto> getTrendingPosts(Long currentUserId, Pageable pageable);
 
     /**
-     * Increment like count.
+     * Increment like count (buffered until the next counter flush).
      */
     void incrementLikeCount(Long postId);
 
     /**
-     * Decrement like count.
+     * Decrement like count (buffered until the next counter flush).
      */
     void decrementLikeCount(Long postId);
 
     /**
-     * Increment comment count.
+     * Increment comment count (buffered until the next counter flush).
      */
     void incrementCommentCount(Long postId);
 
     /**
-     * Decrement comment count.
+     * Decrement comment count (buffered until the next counter flush).
      */
     void decrementCommentCount(Long postId);
 }
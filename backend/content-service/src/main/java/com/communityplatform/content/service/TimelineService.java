@@ -0,0 +1,49 @@
+package com.communityplatform.content.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.pagination.PageCursor;
+
+/**
+ * Maintains materialized home timelines.
+ * Posts are pushed to followers when written so a feed read is a single
+ * ordered range scan instead of a scatter over every followed author.
+ */
+public interface TimelineService {
+
+    /**
+     * Push a newly created post into the author's and their followers' timelines.
+     */
+    void fanOutPost(Long postId, Long authorUserId, LocalDateTime postCreatedAt);
+
+    /**
+     * Serve an author's posts at read time because a fan-out of theirs could
+     * not run; the next successful fan-out pushes them into follower timelines.
+     */
+    void deferFanOut(Long authorUserId);
+
+    /**
+     * Remove a deleted post from every timeline.
+     */
+    void retractPost(Long postId);
+
+    /**
+     * Add or remove the posts of a (un)followed author in the follower's timeline.
+     */
+    void applyFollowChange(Long followerId, Long followingId, boolean following);
+
+    /**
+     * Read a page of a user's home timeline (own posts + following), newest first.
+     */
+    Page<PostEntity> getHomeTimeline(Long userId, Pageable pageable);
+
+    /**
+     * Read up to {@code limit} home timeline posts after a keyset position, newest first.
+     */
+    List<PostEntity> getHomeTimelineBefore(Long userId, PageCursor cursor, int limit);
+}
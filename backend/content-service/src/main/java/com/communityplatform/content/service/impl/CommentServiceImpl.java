@@ -1,28 +1,37 @@
 package com.communityplatform.content.service.impl;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.communityplatform.content.counter.EngagementCounterBuffer;
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.comment.CommentCreateDto;
 import com.communityplatform.content.dto.comment.CommentResponseDto;
+import com.communityplatform.content.dto.comment.CommentThreadNodeDto;
 import com.communityplatform.content.dto.comment.CommentUpdateDto;
 import com.communityplatform.content.entity.CommentEntity;
 import com.communityplatform.content.exception.CommentNotFoundException;
 import com.communityplatform.content.exception.PostNotFoundException;
 import com.communityplatform.content.exception.UnauthorizedOperationException;
 import com.communityplatform.content.mapper.CommentMapper;
+import com.communityplatform.content.pagination.PageCursor;
 import com.communityplatform.content.repository.CommentRepository;
 import com.communityplatform.content.repository.PostRepository;
 import com.communityplatform.content.service.CommentService;
+import com.communityplatform.content.service.LikeStateService;
 import com.communityplatform.content.service.PostService;
+import com.communityplatform.content.UserProfileDto;
 import com.communityplatform.content.UserServiceClient;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -34,12 +43,17 @@ import java.util.stream.Collectors;
 @Transactional
 public class CommentServiceImpl implements CommentService {
 
+    private static final int DEFAULT_THREAD_DEPTH = 3;
+    private static final int MAX_THREAD_DEPTH = 10;
+    private static final int DEFAULT_THREAD_REPLIES = 5;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final CommentMapper commentMapper;
     private final PostService postService;
     private final UserServiceClient userServiceClient;
-    private final com.communityplatform.content.repository.LikeRepository likeRepository;
+    private final LikeStateService likeStateService;
+    private final EngagementCounterBuffer engagementCounterBuffer;
 
     @Override
     public CommentResponseDto createComment(CommentCreateDto dto) {
@@ -87,8 +101,7 @@ public class CommentServiceImpl implements CommentService {
         
         // Set liked by current user
         if (currentUserId != null) {
-            boolean liked = likeRepository.existsByUserIdAndCommentId(currentUserId, commentId);
-            response.setLikedByCurrentUser(liked);
+            response.setLikedByCurrentUser(likeStateService.hasLikedComment(currentUserId, commentId));
         }
         
         return response;
@@ -119,8 +132,7 @@ public class CommentServiceImpl implements CommentService {
         
         // Set liked by current user
         if (currentUserId != null) {
-            boolean liked = likeRepository.existsByUserIdAndCommentId(currentUserId, commentId);
-            response.setLikedByCurrentUser(liked);
+            response.setLikedByCurrentUser(likeStateService.hasLikedComment(currentUserId, commentId));
         }
         
         return response;
@@ -155,47 +167,104 @@ public class CommentServiceImpl implements CommentService {
     @Transactional(readOnly = true)
     public Page<CommentResponseDto> getCommentsByPostId(Long postId, Long currentUserId, Pageable pageable) {
         log.debug("Getting comments for post: {}", postId);
-        return commentRepository.findByPostIdAndActive(postId, pageable)
-                .map(commentMapper::toResponseDto)
-                .map(dto -> enrichCommentWithLike(dto, currentUserId));
+        Page<CommentResponseDto> page = commentRepository.findByPostIdAndActive(postId, pageable)
+                .map(commentMapper::toResponseDto);
+        enrichComments(page.getContent(), currentUserId);
+        return page;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<CommentResponseDto> getTopLevelComments(Long postId, Long currentUserId, Pageable pageable) {
         log.debug("Getting top-level comments for post: {}", postId);
-        return commentRepository.findTopLevelComments(postId, pageable)
-                .map(commentMapper::toResponseDto)
-                .map(dto -> enrichCommentWithLike(dto, currentUserId));
+        Page<CommentResponseDto> page = commentRepository.findTopLevelComments(postId, pageable)
+                .map(commentMapper::toResponseDto);
+        enrichComments(page.getContent(), currentUserId);
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CommentResponseDto> getCommentsByPostIdByCursor(Long postId, Long currentUserId,
+            String cursor, Integer size) {
+        PageCursor position = PageCursor.ascending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting comments for post: {} after cursor: {}", postId, position);
+        List<CommentEntity> rows = commentRepository.findByPostIdAfter(postId, position.createdAt(), position.id(),
+                PageRequest.of(0, sliceSize + 1));
+        return toCommentSlice(rows, sliceSize, currentUserId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CommentResponseDto> getTopLevelCommentsByCursor(Long postId, Long currentUserId,
+            String cursor, Integer size) {
+        PageCursor position = PageCursor.ascending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting top-level comments for post: {} after cursor: {}", postId, position);
+        List<CommentEntity> rows = commentRepository.findTopLevelCommentsAfter(postId, position.createdAt(),
+                position.id(), PageRequest.of(0, sliceSize + 1));
+        return toCommentSlice(rows, sliceSize, currentUserId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CommentThreadNodeDto> getCommentThread(Long postId, Long currentUserId,
+            String cursor, Integer size, Integer depth, Integer replies) {
+        log.debug("Getting comment thread for post: {}", postId);
+        return buildThread(postId, null, currentUserId, cursor, size, depth, replies);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CommentThreadNodeDto> getReplyThread(Long commentId, Long currentUserId,
+            String cursor, Integer size, Integer depth, Integer replies) {
+        log.debug("Getting reply thread for comment: {}", commentId);
+        CommentEntity parent = commentRepository.findById(commentId)
+                .filter(CommentEntity::isActive)
+                .orElseThrow(() -> new CommentNotFoundException(commentId));
+        return buildThread(parent.getPostId(), commentId, currentUserId, cursor, size, depth, replies);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CommentResponseDto> getReplies(Long parentCommentId, Long currentUserId) {
         log.debug("Getting replies for comment: {}", parentCommentId);
-        return commentRepository.findRepliesByParentId(parentCommentId)
+        List<CommentResponseDto> replies = commentRepository.findRepliesByParentId(parentCommentId)
                 .stream()
                 .map(commentMapper::toResponseDto)
-                .map(dto -> enrichCommentWithLike(dto, currentUserId))
                 .collect(Collectors.toList());
+        enrichComments(replies, currentUserId);
+        return replies;
     }
 
     @Override
     public void incrementLikeCount(Long commentId) {
-        CommentEntity entity = commentRepository.findById(commentId)
-                .orElseThrow(() -> new CommentNotFoundException(commentId));
-        entity.setLikeCount(entity.getLikeCount() + 1);
-        commentRepository.save(entity);
-        log.debug("Incremented like count for comment: {}", commentId);
+        engagementCounterBuffer.addCommentLikes(commentId, 1);
     }
 
     @Override
     public void decrementLikeCount(Long commentId) {
-        CommentEntity entity = commentRepository.findById(commentId)
-                .orElseThrow(() -> new CommentNotFoundException(commentId));
-        entity.setLikeCount(Math.max(0, entity.getLikeCount() - 1));
-        commentRepository.save(entity);
-        log.debug("Decremented like count for comment: {}", commentId);
+        engagementCounterBuffer.addCommentLikes(commentId, -1);
+    }
+
+    /**
+     * Load every active comment of the post in one query, assemble the
+     * requested part of the tree in memory and enrich all included comments
+     * with one author and one like-state lookup.
+     */
+    private CursorPageResponseDto<CommentThreadNodeDto> buildThread(Long postId, Long parentId, Long currentUserId,
+            String cursor, Integer size, Integer depth, Integer replies) {
+        PageCursor after = PageCursor.ascending(cursor);
+        int maxDepth = depth == null || depth < 1 ? DEFAULT_THREAD_DEPTH : Math.min(depth, MAX_THREAD_DEPTH);
+        int maxReplies = replies == null ? DEFAULT_THREAD_REPLIES : Math.max(0, Math.min(replies, PageCursor.MAX_SIZE));
+
+        CommentThreadBuilder builder = new CommentThreadBuilder(commentRepository.findActiveByPostId(postId),
+                commentMapper::toResponseDto, maxDepth, maxReplies);
+        CursorPageResponseDto<CommentThreadNodeDto> thread = builder.build(parentId, after,
+                PageCursor.sliceSize(size));
+        enrichComments(builder.included(), currentUserId);
+        return thread;
     }
 
     private CommentResponseDto enrichCommentAuthor(CommentResponseDto dto) {
@@ -211,12 +280,40 @@ public class CommentServiceImpl implements CommentService {
         return dto;
     }
     
-    private CommentResponseDto enrichCommentWithLike(CommentResponseDto dto, Long currentUserId) {
-        enrichCommentAuthor(dto);
-        if (dto != null && currentUserId != null) {
-            boolean liked = likeRepository.existsByUserIdAndCommentId(currentUserId, dto.getId());
-            dto.setLikedByCurrentUser(liked);
+    private CursorPageResponseDto<CommentResponseDto> toCommentSlice(List<CommentEntity> rows, int size,
+            Long currentUserId) {
+        return PageCursor.toResponse(rows, size, comments -> {
+            List<CommentResponseDto> dtos = comments.stream().map(commentMapper::toResponseDto).toList();
+            enrichComments(dtos, currentUserId);
+            return dtos;
+        });
+    }
+
+    /**
+     * Enrich a list of comments with author data and the viewer's like state,
+     * each resolved with one batch lookup for the whole list.
+     */
+    private void enrichComments(List<CommentResponseDto> dtos, Long currentUserId) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        Map<Long, UserProfileDto> authors = userServiceClient.getUsersByIds(
+                dtos.stream().map(CommentResponseDto::getUserId).toList());
+        Set<Long> likedIds = currentUserId == null
+                ? Set.of()
+                : likeStateService.findLikedCommentIds(currentUserId,
+                        dtos.stream().map(CommentResponseDto::getId).toList());
+
+        for (CommentResponseDto dto : dtos) {
+            UserProfileDto profile = authors.get(dto.getUserId());
+            if (profile != null) {
+                dto.setUsername(profile.getUsername());
+                dto.setAuthorFullName(profile.toFullName());
+                dto.setProfilePictureUrl(profile.getProfilePictureUrl());
+            }
+            if (currentUserId != null) {
+                dto.setLikedByCurrentUser(likedIds.contains(dto.getId()));
+            }
         }
-        return dto;
     }
 }
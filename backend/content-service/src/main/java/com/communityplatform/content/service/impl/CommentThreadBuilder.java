@@ -0,0 +1,96 @@
+package com.communityplatform.content.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.communityplatform.content.dto.CursorPageResponseDto;
+import com.communityplatform.content.dto.comment.CommentResponseDto;
+import com.communityplatform.content.dto.comment.CommentThreadNodeDto;
+import com.communityplatform.content.entity.CommentEntity;
+import com.communityplatform.content.pagination.PageCursor;
+
+/**
+ * Assembles comment trees from the flat, oldest-first comment list of a post.
+ * 
+ * Each level keeps at most {@code maxReplies} replies per comment and the tree
+ * stops after {@code maxDepth} levels; cut-off sub-threads carry a cursor for
+ * the reply thread endpoint. Every included comment is collected so authors
+ * and like state can be resolved once for the whole tree.
+ */
+final class CommentThreadBuilder {
+
+    private static final Comparator<PageCursor> POSITION = Comparator
+            .comparing(PageCursor::createdAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(PageCursor::id);
+
+    private final Map<Long, List<CommentEntity>> repliesByParent = new HashMap<>();
+    private final Function<CommentEntity, CommentResponseDto> mapper;
+    private final int maxDepth;
+    private final int maxReplies;
+    private final List<CommentResponseDto> included = new ArrayList<>();
+
+    CommentThreadBuilder(List<CommentEntity> comments, Function<CommentEntity, CommentResponseDto> mapper,
+            int maxDepth, int maxReplies) {
+        // HashMap rather than groupingBy: top-level comments have a null parent
+        comments.forEach(comment -> repliesByParent
+                .computeIfAbsent(comment.getParentCommentId(), key -> new ArrayList<>())
+                .add(comment));
+        this.mapper = mapper;
+        this.maxDepth = maxDepth;
+        this.maxReplies = maxReplies;
+    }
+
+    /**
+     * Build one slice of the replies of a comment (or of the top-level comments
+     * when {@code parentId} is null), starting after the cursor position.
+     */
+    CursorPageResponseDto<CommentThreadNodeDto> build(Long parentId, PageCursor after, int size) {
+        List<CommentEntity> remaining = replies(parentId).stream()
+                .filter(comment -> POSITION.compare(PageCursor.of(comment), after) > 0)
+                .toList();
+        boolean hasNext = remaining.size() > size;
+        List<CommentEntity> slice = hasNext ? remaining.subList(0, size) : remaining;
+
+        return CursorPageResponseDto.<CommentThreadNodeDto>builder()
+                .content(slice.stream().map(comment -> node(comment, 1)).toList())
+                .nextCursor(hasNext ? PageCursor.of(slice.get(slice.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
+    /**
+     * Comments included by the built slices, in tree order.
+     */
+    List<CommentResponseDto> included() {
+        return included;
+    }
+
+    private CommentThreadNodeDto node(CommentEntity comment, int depth) {
+        CommentResponseDto dto = mapper.apply(comment);
+        included.add(dto);
+
+        List<CommentEntity> replies = replies(comment.getId());
+        List<CommentEntity> shown = depth < maxDepth
+                ? replies.subList(0, Math.min(maxReplies, replies.size()))
+                : List.of();
+        boolean hasMore = replies.size() > shown.size();
+
+        return CommentThreadNodeDto.builder()
+                .comment(dto)
+                .replies(shown.stream().map(reply -> node(reply, depth + 1)).toList())
+                .replyCount(replies.size())
+                .hasMoreReplies(hasMore)
+                .repliesCursor(hasMore && !shown.isEmpty() ? PageCursor.of(shown.get(shown.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private List<CommentEntity> replies(Long parentId) {
+        return repliesByParent.getOrDefault(parentId, List.of());
+    }
+}
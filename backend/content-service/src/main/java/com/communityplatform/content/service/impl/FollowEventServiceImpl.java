@@ -0,0 +1,33 @@
+package com.communityplatform.content.service.impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.communityplatform.content.UserServiceClient;
+import com.communityplatform.content.dto.follow.FollowEventDto;
+import com.communityplatform.content.service.FollowEventService;
+import com.communityplatform.content.service.TimelineService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of FollowEventService.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FollowEventServiceImpl implements FollowEventService {
+
+    private final UserServiceClient userServiceClient;
+    private final TimelineService timelineService;
+
+    @Override
+    public void handleFollowEvent(FollowEventDto event) {
+        log.debug("Follow change {} -> {} (following: {})",
+                event.getFollowerId(), event.getFollowingId(), event.isFollowing());
+        userServiceClient.evictFollowingIds(event.getFollowerId());
+        timelineService.applyFollowChange(event.getFollowerId(), event.getFollowingId(), event.isFollowing());
+    }
+}
@@ -1,27 +1,42 @@
 package com.communityplatform.content.service.impl;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.like.LikeResponseDto;
+import com.communityplatform.content.dto.like.LikeSummaryDto;
+import com.communityplatform.content.entity.CommentEntity;
 import com.communityplatform.content.entity.LikeEntity;
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.LikeChangedEvent;
+import com.communityplatform.content.event.LikeChangedEvent.Target;
 import com.communityplatform.content.exception.CommentNotFoundException;
-import com.communityplatform.content.exception.InvalidLikeException;
 import com.communityplatform.content.exception.PostNotFoundException;
+import com.communityplatform.content.like.LikeWriteQueue;
 import com.communityplatform.content.mapper.LikeMapper;
+import com.communityplatform.content.pagination.PageCursor;
 import com.communityplatform.content.repository.CommentRepository;
 import com.communityplatform.content.repository.LikeRepository;
 import com.communityplatform.content.repository.PostRepository;
 import com.communityplatform.content.service.CommentService;
 import com.communityplatform.content.service.LikeService;
+import com.communityplatform.content.service.LikeStateService;
 import com.communityplatform.content.service.PostService;
+import com.communityplatform.content.UserProfileDto;
 import com.communityplatform.content.UserServiceClient;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Implementation of LikeService.
@@ -32,6 +47,11 @@ import java.util.stream.Collectors;
 @Transactional
 public class LikeServiceImpl implements LikeService {
 
+    private static final int DEFAULT_SUMMARY_SIZE = 3;
+    private static final int MAX_SUMMARY_SIZE = 10;
+
+    private static final PageCursor NEWEST = PageCursor.descending(null);
+
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
@@ -39,87 +59,113 @@ public class LikeServiceImpl implements LikeService {
     private final PostService postService;
     private final CommentService commentService;
     private final UserServiceClient userServiceClient;
-
+    private final LikeStateService likeStateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LikeWriteQueue likeWriteQueue;
+
+    /**
+     * The existence check and the insert are one statement; liking twice is a
+     * no-op that returns the existing like. The counter update is buffered.
+     * No transaction is held, so group-committed writes do not pin a
+     * connection while they wait for their batch.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LikeResponseDto likePost(Long postId, Long userId) {
         log.debug("User {} liking post {}", userId, postId);
 
-        // Verify post exists
-        postRepository.findByIdAndActive(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-
-        // Check if already liked
-        if (likeRepository.existsByUserIdAndPostId(userId, postId)) {
-            throw InvalidLikeException.alreadyLiked();
+        LikeWriteQueue.Result result = insertLike(Target.POST, postId, userId);
+        if (result.status() == LikeWriteQueue.Status.SUPERSEDED) {
+            // Undone by an unlike from the same user in the same group commit
+            return enrichLike(likeMapper.toResponseDto(LikeEntity.builder().userId(userId).postId(postId).build()));
+        }
+        if (result.status() == LikeWriteQueue.Status.UNCHANGED) {
+            // Nothing inserted: already liked, or the post is missing or deleted
+            LikeEntity existing = likeRepository.findByUserIdAndPostId(userId, postId)
+                    .orElseThrow(() -> new PostNotFoundException(postId));
+            log.debug("User {} already liked post {}", userId, postId);
+            return enrichLike(likeMapper.toResponseDto(existing));
         }
-
-        LikeEntity like = LikeEntity.builder()
-                .userId(userId)
-                .postId(postId)
-                .build();
-
-        LikeEntity saved = likeRepository.save(like);
 
         // Increment post like count
         postService.incrementLikeCount(postId);
+        eventPublisher.publishEvent(LikeChangedEvent.post(postId, userId, true));
 
         log.info("User {} liked post {}", userId, postId);
+        LikeEntity saved = LikeEntity.builder()
+                .id(result.likeId())
+                .userId(userId)
+                .postId(postId)
+                .createdAt(result.createdAt())
+                .updatedAt(result.createdAt())
+                .build();
         return enrichLike(likeMapper.toResponseDto(saved));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void unlikePost(Long postId, Long userId) {
         log.debug("User {} unliking post {}", userId, postId);
 
-        LikeEntity like = likeRepository.findByUserIdAndPostId(userId, postId)
-                .orElseThrow(InvalidLikeException::notLiked);
-
-        likeRepository.delete(like);
+        if (!deleteLike(Target.POST, postId, userId)) {
+            log.debug("User {} has not liked post {}", userId, postId);
+            return;
+        }
 
         // Decrement post like count
         postService.decrementLikeCount(postId);
+        eventPublisher.publishEvent(LikeChangedEvent.post(postId, userId, false));
 
         log.info("User {} unliked post {}", userId, postId);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LikeResponseDto likeComment(Long commentId, Long userId) {
         log.debug("User {} liking comment {}", userId, commentId);
 
-        // Verify comment exists
-        commentRepository.findById(commentId)
-                .orElseThrow(() -> new CommentNotFoundException(commentId));
-
-        // Check if already liked
-        if (likeRepository.existsByUserIdAndCommentId(userId, commentId)) {
-            throw InvalidLikeException.alreadyLiked();
+        LikeWriteQueue.Result result = insertLike(Target.COMMENT, commentId, userId);
+        if (result.status() == LikeWriteQueue.Status.SUPERSEDED) {
+            // Undone by an unlike from the same user in the same group commit
+            return enrichLike(likeMapper.toResponseDto(
+                    LikeEntity.builder().userId(userId).commentId(commentId).build()));
+        }
+        if (result.status() == LikeWriteQueue.Status.UNCHANGED) {
+            // Nothing inserted: already liked, or the comment is missing or deleted
+            LikeEntity existing = likeRepository.findByUserIdAndCommentId(userId, commentId)
+                    .orElseThrow(() -> new CommentNotFoundException(commentId));
+            log.debug("User {} already liked comment {}", userId, commentId);
+            return enrichLike(likeMapper.toResponseDto(existing));
         }
-
-        LikeEntity like = LikeEntity.builder()
-                .userId(userId)
-                .commentId(commentId)
-                .build();
-
-        LikeEntity saved = likeRepository.save(like);
 
         // Increment comment like count
         commentService.incrementLikeCount(commentId);
+        eventPublisher.publishEvent(LikeChangedEvent.comment(commentId, userId, true));
 
         log.info("User {} liked comment {}", userId, commentId);
+        LikeEntity saved = LikeEntity.builder()
+                .id(result.likeId())
+                .userId(userId)
+                .commentId(commentId)
+                .createdAt(result.createdAt())
+                .updatedAt(result.createdAt())
+                .build();
         return enrichLike(likeMapper.toResponseDto(saved));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void unlikeComment(Long commentId, Long userId) {
         log.debug("User {} unliking comment {}", userId, commentId);
 
-        LikeEntity like = likeRepository.findByUserIdAndCommentId(userId, commentId)
-                .orElseThrow(InvalidLikeException::notLiked);
-
-        likeRepository.delete(like);
+        if (!deleteLike(Target.COMMENT, commentId, userId)) {
+            log.debug("User {} has not liked comment {}", userId, commentId);
+            return;
+        }
 
         // Decrement comment like count
         commentService.decrementLikeCount(commentId);
+        eventPublisher.publishEvent(LikeChangedEvent.comment(commentId, userId, false));
 
         log.info("User {} unliked comment {}", userId, commentId);
     }
@@ -127,35 +173,127 @@ public class LikeServiceImpl implements LikeService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasLikedPost(Long postId, Long userId) {
-        return likeRepository.existsByUserIdAndPostId(userId, postId);
+        return likeStateService.hasLikedPost(userId, postId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean hasLikedComment(Long commentId, Long userId) {
-        return likeRepository.existsByUserIdAndCommentId(userId, commentId);
+        return likeStateService.hasLikedComment(userId, commentId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LikeResponseDto> getPostLikes(Long postId) {
-        log.debug("Getting likes for post: {}", postId);
-        return likeRepository.findByPostId(postId)
-                .stream()
-                .map(likeMapper::toResponseDto)
-                .map(this::enrichLike)
-                .collect(Collectors.toList());
+        return getPostLikesByCursor(postId, null, PageCursor.MAX_SIZE).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<LikeResponseDto> getPostLikesByCursor(Long postId, String cursor, Integer size) {
+        PageCursor position = PageCursor.descending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting likes for post: {} before cursor: {}", postId, position);
+        List<LikeEntity> rows = likeRepository.findByPostIdBefore(postId, position.createdAt(), position.id(),
+                PageRequest.of(0, sliceSize + 1));
+        return PageCursor.toResponse(rows, sliceSize, this::toEnrichedLikes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LikeSummaryDto getPostLikeSummary(Long postId, Integer limit) {
+        PostEntity post = postRepository.findByIdAndActive(postId)
+                .orElseThrow(() -> new PostNotFoundException(postId));
+        List<LikeEntity> recent = likeRepository.findByPostIdBefore(postId, NEWEST.createdAt(), NEWEST.id(),
+                PageRequest.of(0, summarySize(limit)));
+        return toSummary(likeStateService.findExactPostLikeCount(postId), post.getLikeCount(), recent);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LikeResponseDto> getCommentLikes(Long commentId) {
-        log.debug("Getting likes for comment: {}", commentId);
-        return likeRepository.findByCommentId(commentId)
-                .stream()
-                .map(likeMapper::toResponseDto)
-                .map(this::enrichLike)
-                .collect(Collectors.toList());
+        return getCommentLikesByCursor(commentId, null, PageCursor.MAX_SIZE).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<LikeResponseDto> getCommentLikesByCursor(Long commentId, String cursor,
+            Integer size) {
+        PageCursor position = PageCursor.descending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting likes for comment: {} before cursor: {}", commentId, position);
+        List<LikeEntity> rows = likeRepository.findByCommentIdBefore(commentId, position.createdAt(), position.id(),
+                PageRequest.of(0, sliceSize + 1));
+        return PageCursor.toResponse(rows, sliceSize, this::toEnrichedLikes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LikeSummaryDto getCommentLikeSummary(Long commentId, Integer limit) {
+        CommentEntity comment = commentRepository.findById(commentId)
+                .filter(CommentEntity::isActive)
+                .orElseThrow(() -> new CommentNotFoundException(commentId));
+        List<LikeEntity> recent = likeRepository.findByCommentIdBefore(commentId, NEWEST.createdAt(), NEWEST.id(),
+                PageRequest.of(0, summarySize(limit)));
+        return toSummary(likeStateService.findExactCommentLikeCount(commentId), comment.getLikeCount(), recent);
+    }
+
+    /**
+     * Build a summary without counting the full like list: the total is the
+     * exact count from the like index when the item is indexed, otherwise the
+     * denormalized like counter.
+     */
+    private LikeSummaryDto toSummary(OptionalLong exactCount, Integer likeCount, List<LikeEntity> recent) {
+        long counter = likeCount == null ? 0 : Math.max(likeCount, recent.size());
+        return LikeSummaryDto.builder()
+                .totalCount(exactCount.orElse(counter))
+                .likers(toEnrichedLikes(recent))
+                .build();
+    }
+
+    private static int summarySize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_SUMMARY_SIZE;
+        }
+        return Math.min(limit, MAX_SUMMARY_SIZE);
+    }
+
+    private List<LikeResponseDto> toEnrichedLikes(List<LikeEntity> likes) {
+        List<LikeResponseDto> dtos = likes.stream().map(likeMapper::toResponseDto).toList();
+        enrichLikes(dtos);
+        return dtos;
+    }
+
+    /**
+     * Insert a like through the group-commit queue when it is enabled,
+     * otherwise with one insert-if-absent statement.
+     */
+    private LikeWriteQueue.Result insertLike(Target target, Long targetId, Long userId) {
+        if (likeWriteQueue.isEnabled()) {
+            return likeWriteQueue.submit(target, targetId, userId, true);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Long> likeId = target == Target.POST
+                ? likeRepository.insertPostLikeIfAbsent(userId, targetId, now)
+                : likeRepository.insertCommentLikeIfAbsent(userId, targetId, now);
+        return likeId.map(id -> new LikeWriteQueue.Result(LikeWriteQueue.Status.APPLIED, id, now))
+                .orElse(LikeWriteQueue.Result.UNCHANGED);
+    }
+
+    /**
+     * Delete a like through the group-commit queue when it is enabled,
+     * otherwise with one DELETE statement.
+     *
+     * @return whether a like was removed
+     */
+    private boolean deleteLike(Target target, Long targetId, Long userId) {
+        if (likeWriteQueue.isEnabled()) {
+            return likeWriteQueue.submit(target, targetId, userId, false).status() == LikeWriteQueue.Status.APPLIED;
+        }
+        int deleted = target == Target.POST
+                ? likeRepository.deleteByUserIdAndPostId(userId, targetId)
+                : likeRepository.deleteByUserIdAndCommentId(userId, targetId);
+        return deleted > 0;
     }
 
     private LikeResponseDto enrichLike(LikeResponseDto dto) {
@@ -166,4 +304,22 @@ public class LikeServiceImpl implements LikeService {
                 .ifPresent(profile -> dto.setUsername(profile.getUsername()));
         return dto;
     }
+
+    /**
+     * Enrich a list of likes with usernames resolved in one batch call.
+     */
+    private void enrichLikes(List<LikeResponseDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        Map<Long, UserProfileDto> users = userServiceClient.getUsersByIds(
+                dtos.stream().map(LikeResponseDto::getUserId).toList());
+
+        for (LikeResponseDto dto : dtos) {
+            UserProfileDto profile = users.get(dto.getUserId());
+            if (profile != null) {
+                dto.setUsername(profile.getUsername());
+            }
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.communityplatform.content.service.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.communityplatform.content.event.LikeChangedEvent.Target;
+import com.communityplatform.content.like.LikeIndex;
+import com.communityplatform.content.repository.LikeRepository;
+import com.communityplatform.content.service.LikeStateService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Implementation of LikeStateService.
+ * 
+ * Checks are answered from the in-memory like index where possible; items it
+ * cannot answer fall back to single IN-list queries against the
+ * (user_id, post_id) and (user_id, comment_id) unique indexes.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LikeStateServiceImpl implements LikeStateService {
+
+    private final LikeRepository likeRepository;
+    private final LikeIndex likeIndex;
+
+    @Override
+    public boolean hasLikedPost(Long viewerId, Long postId) {
+        if (viewerId == null || postId == null) {
+            return false;
+        }
+        return likeIndex.hasLiked(Target.POST, postId, viewerId)
+                .orElseGet(() -> likeRepository.existsByUserIdAndPostId(viewerId, postId));
+    }
+
+    @Override
+    public boolean hasLikedComment(Long viewerId, Long commentId) {
+        if (viewerId == null || commentId == null) {
+            return false;
+        }
+        return likeIndex.hasLiked(Target.COMMENT, commentId, viewerId)
+                .orElseGet(() -> likeRepository.existsByUserIdAndCommentId(viewerId, commentId));
+    }
+
+    @Override
+    public Set<Long> findLikedPostIds(Long viewerId, Collection<Long> postIds) {
+        List<Long> ids = distinctIds(postIds);
+        if (viewerId == null || ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        LikeIndex.Lookup lookup = likeIndex.lookup(Target.POST, viewerId, ids);
+        Set<Long> liked = new HashSet<>(lookup.liked());
+        if (!lookup.unresolved().isEmpty()) {
+            liked.addAll(likeRepository.findLikedPostIds(viewerId, lookup.unresolved()));
+        }
+        return liked;
+    }
+
+    @Override
+    public Set<Long> findLikedCommentIds(Long viewerId, Collection<Long> commentIds) {
+        List<Long> ids = distinctIds(commentIds);
+        if (viewerId == null || ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        LikeIndex.Lookup lookup = likeIndex.lookup(Target.COMMENT, viewerId, ids);
+        Set<Long> liked = new HashSet<>(lookup.liked());
+        if (!lookup.unresolved().isEmpty()) {
+            liked.addAll(likeRepository.findLikedCommentIds(viewerId, lookup.unresolved()));
+        }
+        return liked;
+    }
+
+    @Override
+    public OptionalLong findExactPostLikeCount(Long postId) {
+        return postId == null ? OptionalLong.empty() : likeIndex.count(Target.POST, postId);
+    }
+
+    @Override
+    public OptionalLong findExactCommentLikeCount(Long commentId) {
+        return commentId == null ? OptionalLong.empty() : likeIndex.count(Target.COMMENT, commentId);
+    }
+
+    private List<Long> distinctIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+}
@@ -1,76 +1,165 @@
 package com.communityplatform.content.service.impl;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.communityplatform.content.cache.MediaObjectCache;
+import com.communityplatform.content.cache.PresignedUrlCache;
+import com.communityplatform.content.dto.CursorPageResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsRequestDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedConfirmRequestDto;
+import com.communityplatform.content.dto.media.MediaPresignedDownloadBatchResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedDownloadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadRequestDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaResponseDto;
+import com.communityplatform.content.dto.media.MediaStorageUsageDto;
 import com.communityplatform.content.dto.media.MediaUploadResponseDto;
+import com.communityplatform.content.dto.media.MediaVariantDto;
+import com.communityplatform.content.entity.DerivativeStatus;
+import com.communityplatform.content.entity.MediaBlobEntity;
 import com.communityplatform.content.entity.MediaEntity;
+import com.communityplatform.content.entity.MediaVariantEntity;
+import com.communityplatform.content.entity.PendingUploadEntity;
+import com.communityplatform.content.entity.PostMediaEntity;
+import com.communityplatform.content.event.MediaStoredEvent;
 import com.communityplatform.content.exception.InvalidMediaException;
 import com.communityplatform.content.exception.MediaNotFoundException;
 import com.communityplatform.content.exception.MediaStorageException;
+import com.communityplatform.content.exception.MultipartUploadNotFoundException;
+import com.communityplatform.content.exception.StorageQuotaExceededException;
 import com.communityplatform.content.exception.UnauthorizedOperationException;
 import com.communityplatform.content.mapper.MediaMapper;
+import com.communityplatform.content.media.ImageDerivativePipeline;
+import com.communityplatform.content.media.MediaBlobStore;
+import com.communityplatform.content.media.MediaStorage;
+import com.communityplatform.content.media.MediaStorageQuota;
+import com.communityplatform.content.media.StreamingUploader;
+import com.communityplatform.content.pagination.PageCursor;
 import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaVariantRepository;
+import com.communityplatform.content.repository.PendingUploadRepository;
+import com.communityplatform.content.repository.PostMediaRepository;
 import com.communityplatform.content.service.MediaService;
 
-import io.minio.GetPresignedObjectUrlArgs;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.RemoveObjectArgs;
-import io.minio.StatObjectArgs;
-import io.minio.StatObjectResponse;
-import io.minio.http.Method;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Implementation of MediaService using MinIO for storage.
+ * Implementation of MediaService on top of the configured MediaStorage
+ * (MinIO by default).
  */
 @Service
 @Slf4j
 @Transactional
 public class MediaServiceImpl implements MediaService {
 
-    private static final long MIN_MULTIPART_SIZE = 5 * 1024 * 1024;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    /** S3 limit on the number of parts in one multipart upload. */
+    private static final int MAX_MULTIPART_PARTS = 10000;
 
     private final MediaRepository mediaRepository;
     private final MediaMapper mediaMapper;
-    private final MinioClient minioClient;
-    private final MinioClient presignedMinioClient;
+    private final MediaStorage storage;
+    private final StreamingUploader streamingUploader;
+    private final MediaBlobStore blobStore;
+    private final MediaVariantRepository variantRepository;
+    private final ImageDerivativePipeline derivativePipeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PresignedUrlCache presignedUrlCache;
+    private final MediaStorageQuota storageQuota;
+    private final PostMediaRepository postMediaRepository;
+    private final MediaObjectCache objectCache;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final TransactionTemplate transaction;
 
     public MediaServiceImpl(MediaRepository mediaRepository,
             MediaMapper mediaMapper,
-            MinioClient minioClient,
-            @org.springframework.beans.factory.annotation.Qualifier("presignedMinioClient") MinioClient presignedMinioClient) {
+            MediaStorage storage,
+            StreamingUploader streamingUploader,
+            MediaBlobStore blobStore,
+            MediaVariantRepository variantRepository,
+            ImageDerivativePipeline derivativePipeline,
+            ApplicationEventPublisher eventPublisher,
+            PresignedUrlCache presignedUrlCache,
+            MediaStorageQuota storageQuota,
+            PostMediaRepository postMediaRepository,
+            MediaObjectCache objectCache,
+            PendingUploadRepository pendingUploadRepository,
+            PlatformTransactionManager transactionManager) {
         this.mediaRepository = mediaRepository;
         this.mediaMapper = mediaMapper;
-        this.minioClient = minioClient;
-        this.presignedMinioClient = presignedMinioClient;
+        this.storage = storage;
+        this.streamingUploader = streamingUploader;
+        this.blobStore = blobStore;
+        this.variantRepository = variantRepository;
+        this.derivativePipeline = derivativePipeline;
+        this.eventPublisher = eventPublisher;
+        this.presignedUrlCache = presignedUrlCache;
+        this.storageQuota = storageQuota;
+        this.postMediaRepository = postMediaRepository;
+        this.objectCache = objectCache;
+        this.pendingUploadRepository = pendingUploadRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     @Value("${minio.bucket-name}")
     private String bucketName;
 
-    @Value("${minio.public-url:${minio.url}}")
-    private String publicUrl;
-
     @Value("${minio.presigned-expiry-seconds:900}")
     private int presignedExpirySeconds;
 
+    @Value("${media.multipart.part-size-bytes:8388608}")
+    private long multipartPartSize;
+
+    @Value("${media.multipart.max-part-urls:100}")
+    private int maxPartUrls;
+
+    @Value("${media.dedup.confirm-hash-max-bytes:67108864}")
+    private long confirmHashMaxBytes;
+
+    @Value("${media.presigned-download.max-batch-size:100}")
+    private int maxDownloadBatchSize;
+
+    /**
+     * Runs outside a transaction so no database connection is held while the
+     * file streams; the metadata row is saved once the content is stored.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MediaUploadResponseDto uploadMedia(MultipartFile file, Long uploaderUserId) {
         if (uploaderUserId == null) {
             throw new InvalidMediaException("Uploader user id is required");
@@ -78,40 +167,47 @@ public class MediaServiceImpl implements MediaService {
         if (file == null || file.isEmpty()) {
             throw new InvalidMediaException("File is required");
         }
+        long remainingQuota = storageQuota.checkAvailable(uploaderUserId, file.getSize());
 
         String originalFilename = StringUtils.cleanPath(
                 Optional.ofNullable(file.getOriginalFilename()).orElse("upload"));
-        String storedFilename = createStoredFilename(originalFilename);
         String contentType = Optional.ofNullable(file.getContentType())
                 .orElse("application/octet-stream");
 
         try (InputStream inputStream = file.getInputStream()) {
-            long partSize = Math.max(file.getSize(), MIN_MULTIPART_SIZE);
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(storedFilename)
-                            .stream(inputStream, file.getSize(), partSize)
-                            .contentType(contentType)
-                            .build());
-        } catch (Exception ex) {
-            log.error("Failed to upload media to MinIO", ex);
+            return storeUpload(inputStream, originalFilename, contentType, null, uploaderUserId, remainingQuota);
+        } catch (IOException ex) {
+            log.error("Failed to read uploaded file", ex);
             throw new MediaStorageException("Failed to store media file", ex);
         }
+    }
 
-        String url = buildPublicUrl(bucketName, storedFilename);
-        MediaEntity entity = MediaEntity.builder()
-                .originalFilename(originalFilename)
-                .storedFilename(storedFilename)
-                .mimeType(contentType)
-                .fileSize(file.getSize())
-                .bucketName(bucketName)
-                .uploaderUserId(uploaderUserId)
-                .url(url)
-                .build();
+    /**
+     * Runs outside a transaction so no database connection is held while the
+     * body streams; the metadata row is saved once the content is stored.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MediaUploadResponseDto streamMedia(InputStream content, Long contentLength, String originalFilename,
+            String contentType, String expectedSha256, Long uploaderUserId) {
+        if (uploaderUserId == null) {
+            throw new InvalidMediaException("Uploader user id is required");
+        }
+        if (content == null) {
+            throw new InvalidMediaException("File is required");
+        }
 
-        MediaEntity saved = mediaRepository.save(entity);
-        return mediaMapper.toUploadResponseDto(saved);
+        String mimeType = StringUtils.hasText(contentType) ? contentType : "application/octet-stream";
+        if (mimeType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            throw new InvalidMediaException("Send the raw file as the request body, not a multipart form");
+        }
+        String filename = StringUtils.cleanPath(StringUtils.hasText(originalFilename)
+                ? UriUtils.decode(originalFilename, StandardCharsets.UTF_8)
+                : "upload");
+        long remainingQuota = storageQuota.checkAvailable(uploaderUserId,
+                contentLength == null ? 0 : Math.max(contentLength, 0));
+
+        return storeUpload(content, filename, mimeType, expectedSha256, uploaderUserId, remainingQuota);
     }
 
     @Override
@@ -119,14 +215,41 @@ public class MediaServiceImpl implements MediaService {
     public MediaResponseDto getMediaById(Long mediaId) {
         MediaEntity entity = mediaRepository.findById(mediaId)
                 .orElseThrow(() -> new MediaNotFoundException(mediaId));
-        return mediaMapper.toResponseDto(entity);
+        return toResponseDto(entity, loadVariants(List.of(entity)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<MediaResponseDto> getMediaByUserId(Long uploaderUserId, Pageable pageable) {
-        return mediaRepository.findByUploaderUserId(uploaderUserId, pageable)
-                .map(mediaMapper::toResponseDto);
+        Page<MediaEntity> page = mediaRepository.findByUploaderUserId(uploaderUserId, pageable);
+        Map<Long, List<MediaVariantDto>> variants = loadVariants(page.getContent());
+        return page.map(media -> toResponseDto(media, variants));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<MediaResponseDto> getMediaByUserIdByCursor(Long uploaderUserId, String cursor,
+            Integer size) {
+        PageCursor position = PageCursor.descending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        List<MediaEntity> rows = mediaRepository.findByUploaderUserIdBefore(uploaderUserId, position.createdAt(),
+                position.id(), PageRequest.of(0, sliceSize + 1));
+        return PageCursor.toResponse(rows, sliceSize, media -> {
+            Map<Long, List<MediaVariantDto>> variants = loadVariants(media);
+            return media.stream().map(entity -> toResponseDto(entity, variants)).toList();
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MediaStorageUsageDto getStorageUsage(Long userId) {
+        MediaStorageQuota.Usage usage = storageQuota.usage(userId);
+        return MediaStorageUsageDto.builder()
+                .userId(userId)
+                .fileCount(usage.fileCount())
+                .totalBytes(usage.totalBytes())
+                .quotaBytes(storageQuota.quotaBytes())
+                .build();
     }
 
     @Override
@@ -139,32 +262,121 @@ public class MediaServiceImpl implements MediaService {
             throw new InvalidMediaException("Original filename is required");
         }
 
+        storageQuota.checkAvailable(uploaderUserId, Optional.ofNullable(request.getFileSize()).orElse(0L));
+
+        String originalFilename = StringUtils.cleanPath(request.getOriginalFilename());
+        String storedFilename = createStoredFilename(originalFilename);
+        recordPendingUpload(storedFilename, uploaderUserId);
+
+        return MediaPresignedUploadResponseDto.builder()
+                .uploadUrl(storage.presignPut(bucketName, storedFilename, presignedExpirySeconds))
+                .bucketName(bucketName)
+                .objectKey(storedFilename)
+                .expiresInSeconds((long) presignedExpirySeconds)
+                .objectUrl(storage.publicUrl(bucketName, storedFilename))
+                .build();
+    }
+
+    @Override
+    public MediaMultipartUploadResponseDto createMultipartUpload(MediaPresignedUploadRequestDto request,
+            Long uploaderUserId) {
+        if (uploaderUserId == null) {
+            throw new InvalidMediaException("Uploader user id is required");
+        }
+        if (request == null || !StringUtils.hasText(request.getOriginalFilename())) {
+            throw new InvalidMediaException("Original filename is required");
+        }
+
+        storageQuota.checkAvailable(uploaderUserId, Optional.ofNullable(request.getFileSize()).orElse(0L));
+
         String originalFilename = StringUtils.cleanPath(request.getOriginalFilename());
         String storedFilename = createStoredFilename(originalFilename);
+        recordPendingUpload(storedFilename, uploaderUserId);
+        String mimeType = StringUtils.hasText(request.getMimeType())
+                ? request.getMimeType()
+                : "application/octet-stream";
+
+        // Grow the parts for very large files so they still fit in the part limit
+        long partSize = multipartPartSize;
+        Integer partCount = null;
+        if (request.getFileSize() != null) {
+            partSize = Math.max(partSize, divideRoundingUp(request.getFileSize(), MAX_MULTIPART_PARTS));
+            partCount = (int) divideRoundingUp(request.getFileSize(), partSize);
+        }
+
+        String uploadId = MediaStorage.await(
+                storage.createMultipartUpload(bucketName, storedFilename, mimeType),
+                "Failed to start multipart upload");
+
+        return MediaMultipartUploadResponseDto.builder()
+                .uploadId(uploadId)
+                .bucketName(bucketName)
+                .objectKey(storedFilename)
+                .partSize(partSize)
+                .partCount(partCount)
+                .objectUrl(storage.publicUrl(bucketName, storedFilename))
+                .build();
+    }
+
+    @Override
+    public MediaMultipartPartUrlsResponseDto createMultipartPartUrls(MediaMultipartPartUrlsRequestDto request) {
+        if (request == null || !StringUtils.hasText(request.getUploadId())
+                || request.getPartNumbers() == null || request.getPartNumbers().isEmpty()) {
+            throw new InvalidMediaException("Upload id and part numbers are required");
+        }
+        String objectKey = cleanObjectKey(request.getObjectKey());
+        List<Integer> partNumbers = request.getPartNumbers().stream().distinct().sorted().toList();
+        if (partNumbers.size() > maxPartUrls) {
+            throw new InvalidMediaException("At most " + maxPartUrls + " part URLs can be requested at once");
+        }
+        if (partNumbers.get(0) < 1 || partNumbers.get(partNumbers.size() - 1) > MAX_MULTIPART_PARTS) {
+            throw new InvalidMediaException("Part numbers must be between 1 and " + MAX_MULTIPART_PARTS);
+        }
+
+        List<MediaMultipartPartUrlsResponseDto.PartUrl> parts = new ArrayList<>(partNumbers.size());
+        for (Integer partNumber : partNumbers) {
+            String uploadUrl = storage.presignUploadPart(bucketName, objectKey, request.getUploadId(), partNumber,
+                    presignedExpirySeconds);
+            parts.add(new MediaMultipartPartUrlsResponseDto.PartUrl(partNumber, uploadUrl));
+        }
 
+        return MediaMultipartPartUrlsResponseDto.builder()
+                .parts(parts)
+                .expiresInSeconds((long) presignedExpirySeconds)
+                .build();
+    }
+
+    @Override
+    public List<MediaMultipartPartDto> listMultipartParts(String objectKey, String uploadId) {
+        if (!StringUtils.hasText(uploadId)) {
+            throw new InvalidMediaException("Upload id is required");
+        }
         try {
-            String uploadUrl = presignedMinioClient.getPresignedObjectUrl(
-                    GetPresignedObjectUrlArgs.builder()
-                            .method(Method.PUT)
-                            .bucket(bucketName)
-                            .object(storedFilename)
-                            .expiry(presignedExpirySeconds)
-                            .build());
-
-            return MediaPresignedUploadResponseDto.builder()
-                    .uploadUrl(uploadUrl)
-                    .bucketName(bucketName)
-                    .objectKey(storedFilename)
-                    .expiresInSeconds((long) presignedExpirySeconds)
-                    .objectUrl(buildPublicUrl(bucketName, storedFilename))
-                    .build();
-        } catch (Exception ex) {
-            log.error("Failed to create presigned upload URL", ex);
-            throw new MediaStorageException("Failed to create presigned upload URL", ex);
+            return listStoredParts(cleanObjectKey(objectKey), uploadId);
+        } catch (MultipartUploadNotFoundException ex) {
+            throw new InvalidMediaException("Multipart upload not found");
         }
     }
 
     @Override
+    public void abortMultipartUpload(String objectKey, String uploadId) {
+        if (!StringUtils.hasText(uploadId)) {
+            throw new InvalidMediaException("Upload id is required");
+        }
+        try {
+            MediaStorage.await(storage.abortMultipartUpload(bucketName, cleanObjectKey(objectKey), uploadId),
+                    "Failed to abort multipart upload");
+        } catch (MultipartUploadNotFoundException ex) {
+            log.debug("Multipart upload {} was already finished or aborted", uploadId);
+        }
+    }
+
+    /**
+     * Runs outside a transaction because the object may be read back to hash
+     * it; each write below commits on its own.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MediaUploadResponseDto confirmPresignedUpload(MediaPresignedConfirmRequestDto request,
             Long uploaderUserId) {
         if (uploaderUserId == null) {
@@ -175,12 +387,12 @@ public class MediaServiceImpl implements MediaService {
             throw new InvalidMediaException("Stored filename and original filename are required");
         }
 
-        String storedFilename = StringUtils.cleanPath(request.getStoredFilename());
-        if (storedFilename.contains("..")) {
-            throw new InvalidMediaException("Invalid stored filename");
-        }
+        String storedFilename = cleanObjectKey(request.getStoredFilename());
 
-        MediaEntity existing = mediaRepository.findByStoredFilename(storedFilename).orElse(null);
+        // Media confirmed before upload keys were recorded are only found by their stored filename
+        MediaEntity existing = mediaRepository.findFirstByUploadKeyOrderByIdAsc(storedFilename)
+                .or(() -> mediaRepository.findFirstByStoredFilenameOrderByIdAsc(storedFilename))
+                .orElse(null);
         if (existing != null) {
             if (!existing.getUploaderUserId().equals(uploaderUserId)) {
                 throw new UnauthorizedOperationException("You can only register your own media");
@@ -188,61 +400,81 @@ public class MediaServiceImpl implements MediaService {
             return mediaMapper.toUploadResponseDto(existing);
         }
 
-        StatObjectResponse stat;
-        try {
-            stat = minioClient.statObject(StatObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(storedFilename)
-                    .build());
-        } catch (Exception ex) {
-            log.error("Uploaded object not found in MinIO", ex);
-            throw new InvalidMediaException("Uploaded object not found in storage");
+        // Only keys issued to this uploader; anything else may be another user's object
+        pendingUploadRepository.findByObjectKey(storedFilename)
+                .filter(pending -> pending.getUploaderUserId().equals(uploaderUserId))
+                .orElseThrow(() -> new UnauthorizedOperationException("You can only confirm your own uploads"));
+
+        if (StringUtils.hasText(request.getUploadId())) {
+            completeMultipartUpload(storedFilename, request.getUploadId(), request.getParts());
         }
 
+        MediaStorage.ObjectStat stat = storage.stat(bucketName, storedFilename)
+                .orElseThrow(() -> new InvalidMediaException("Uploaded object not found in storage"));
+
         if (request.getFileSize() != null && !request.getFileSize().equals(stat.size())) {
             throw new InvalidMediaException("Uploaded file size does not match");
         }
+        try {
+            storageQuota.checkAvailable(uploaderUserId, stat.size());
+        } catch (StorageQuotaExceededException ex) {
+            removeObjectQuietly(bucketName, storedFilename);
+            throw ex;
+        }
 
         String mimeType = StringUtils.hasText(request.getMimeType())
                 ? request.getMimeType()
                 : Optional.ofNullable(stat.contentType()).orElse("application/octet-stream");
 
-        MediaEntity entity = MediaEntity.builder()
-                .originalFilename(StringUtils.cleanPath(request.getOriginalFilename()))
-                .storedFilename(storedFilename)
-                .mimeType(mimeType)
-                .fileSize(stat.size())
-                .bucketName(bucketName)
-                .uploaderUserId(uploaderUserId)
-                .url(buildPublicUrl(bucketName, storedFilename))
-                .build();
+        // The client wrote the object directly, so it can only be hashed by reading it back
+        String sha256 = stat.size() <= confirmHashMaxBytes ? hashObject(storedFilename) : null;
+        MediaBlobEntity blob = sha256 == null ? null : blobStore.acquire(sha256, stat.size()).orElse(null);
+        if (blob != null) {
+            removeObjectQuietly(bucketName, storedFilename);
+        } else {
+            blob = registerBlob(sha256, storedFilename, stat.size());
+        }
 
-        MediaEntity saved = mediaRepository.save(entity);
-        return mediaMapper.toUploadResponseDto(saved);
+        return saveMedia(StringUtils.cleanPath(request.getOriginalFilename()), mimeType, blob, uploaderUserId,
+                storedFilename);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public MediaPresignedDownloadResponseDto createPresignedDownload(Long mediaId) {
         MediaEntity entity = mediaRepository.findById(mediaId)
                 .orElseThrow(() -> new MediaNotFoundException(mediaId));
+        return presignDownload(entity);
+    }
 
-        try {
-            String downloadUrl = presignedMinioClient.getPresignedObjectUrl(
-                    GetPresignedObjectUrlArgs.builder()
-                            .method(Method.GET)
-                            .bucket(entity.getBucketName())
-                            .object(entity.getStoredFilename())
-                            .expiry(presignedExpirySeconds)
-                            .build());
-
-            return MediaPresignedDownloadResponseDto.builder()
-                    .downloadUrl(downloadUrl)
-                    .expiresInSeconds((long) presignedExpirySeconds)
-                    .build();
-        } catch (Exception ex) {
-            log.error("Failed to create presigned download URL", ex);
-            throw new MediaStorageException("Failed to create presigned download URL", ex);
+    @Override
+    @Transactional(readOnly = true)
+    public MediaPresignedDownloadBatchResponseDto createPresignedDownloads(List<Long> mediaIds) {
+        if (mediaIds == null || mediaIds.isEmpty()) {
+            throw new InvalidMediaException("At least one media id is required");
+        }
+        List<Long> ids = mediaIds.stream().distinct().toList();
+        if (ids.size() > maxDownloadBatchSize) {
+            throw new InvalidMediaException("At most " + maxDownloadBatchSize + " media can be requested at once");
         }
+
+        Map<Long, MediaEntity> found = mediaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(MediaEntity::getId, Function.identity()));
+        List<MediaPresignedDownloadResponseDto> downloads = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            MediaEntity entity = found.get(id);
+            if (entity == null) {
+                missingIds.add(id);
+            } else {
+                downloads.add(presignDownload(entity));
+            }
+        }
+
+        return MediaPresignedDownloadBatchResponseDto.builder()
+                .downloads(downloads)
+                .missingIds(missingIds)
+                .build();
     }
 
     @Override
@@ -253,18 +485,316 @@ public class MediaServiceImpl implements MediaService {
         if (!entity.getUploaderUserId().equals(requesterUserId)) {
             throw new UnauthorizedOperationException("You can only delete your own media");
         }
+        storageQuota.removeFile(entity.getUploaderUserId(), Optional.ofNullable(entity.getFileSize()).orElse(0L));
+        postMediaRepository.deleteByMediaId(mediaId);
+
+        // Variant objects live and die with the original they were generated from
+        List<String> variantKeys = variantRepository.findByMediaId(mediaId).stream()
+                .map(MediaVariantEntity::getObjectKey)
+                .toList();
+        if (!variantKeys.isEmpty()) {
+            variantRepository.deleteByMediaId(mediaId);
+        }
 
-        try {
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(entity.getBucketName())
-                    .object(entity.getStoredFilename())
+        if (entity.getBlobId() != null) {
+            mediaRepository.delete(entity);
+            blobStore.release(entity.getBlobId()).ifPresent(blob -> {
+                removeObjectAfterCommit(blob.getBucketName(), blob.getObjectKey());
+                variantKeys.forEach(key -> removeObjectAfterCommit(blob.getBucketName(), key));
+            });
+            return;
+        }
+
+        // Media stored before deduplication own their object
+        evictCached(entity.getBucketName(), entity.getStoredFilename());
+        storage.delete(entity.getBucketName(), entity.getStoredFilename());
+
+        mediaRepository.delete(entity);
+        variantKeys.forEach(key -> removeObjectAfterCommit(entity.getBucketName(), key));
+    }
+
+    @Override
+    public void attachToPost(Long postId, List<Long> mediaIds, Long authorUserId) {
+        List<Long> ids = mediaIds.stream().distinct().toList();
+        if (!ids.isEmpty()) {
+            Map<Long, MediaEntity> media = mediaRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(MediaEntity::getId, Function.identity()));
+            for (Long id : ids) {
+                MediaEntity entity = media.get(id);
+                if (entity == null) {
+                    throw new InvalidMediaException("Media not found: " + id);
+                }
+                if (!entity.getUploaderUserId().equals(authorUserId)) {
+                    throw new UnauthorizedOperationException("You can only attach your own media");
+                }
+            }
+        }
+
+        postMediaRepository.deleteByPostId(postId);
+        List<PostMediaEntity> attachments = new ArrayList<>(ids.size());
+        for (int position = 0; position < ids.size(); position++) {
+            attachments.add(PostMediaEntity.builder()
+                    .postId(postId)
+                    .mediaId(ids.get(position))
+                    .position(position)
                     .build());
+        }
+        postMediaRepository.saveAll(attachments);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<MediaResponseDto>> getPostAttachments(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        List<PostMediaRepository.Attachment> attachments = postMediaRepository.findAttachments(postIds);
+        Map<Long, List<MediaVariantDto>> variants = loadVariants(attachments.stream()
+                .map(PostMediaRepository.Attachment::getMedia)
+                .distinct()
+                .toList());
+        return attachments.stream()
+                .collect(Collectors.groupingBy(PostMediaRepository.Attachment::getPostId,
+                        Collectors.mapping(attachment -> toResponseDto(attachment.getMedia(), variants),
+                                Collectors.toList())));
+    }
+
+    /**
+     * Stream content into storage and register the media. When identical
+     * content is already stored, the write is skipped and the existing blob
+     * referenced instead.
+     */
+    private MediaUploadResponseDto storeUpload(InputStream content, String originalFilename, String mimeType,
+            String expectedSha256, Long uploaderUserId, long maxBytes) {
+        String storedFilename = createStoredFilename(originalFilename);
+        AtomicReference<MediaBlobEntity> existing = new AtomicReference<>();
+
+        StreamingUploader.StoredObject stored = streamingUploader.upload(content, bucketName, storedFilename,
+                mimeType, maxBytes, candidate -> {
+                    if (StringUtils.hasText(expectedSha256)
+                            && !expectedSha256.equalsIgnoreCase(candidate.sha256())) {
+                        throw new InvalidMediaException("Uploaded content does not match the expected SHA-256");
+                    }
+                    blobStore.acquire(candidate.sha256(), candidate.size()).ifPresent(existing::set);
+                    return existing.get() != null;
+                });
+
+        MediaBlobEntity blob = existing.get();
+        if (blob == null) {
+            blob = registerBlob(stored.sha256(), storedFilename, stored.size());
+        }
+        return saveMedia(originalFilename, mimeType, blob, uploaderUserId, null);
+    }
+
+    /**
+     * Register a newly written object; if identical content won a race to be
+     * registered first, the new object is dropped in favour of it.
+     */
+    private MediaBlobEntity registerBlob(String sha256, String storedFilename, long size) {
+        MediaBlobStore.Registration registration = blobStore.register(sha256, bucketName, storedFilename, size);
+        if (registration.duplicate()) {
+            removeObjectQuietly(bucketName, storedFilename);
+        }
+        return registration.blob();
+    }
+
+    /**
+     * Record a media for stored content. {@code uploadKey} is the presigned
+     * upload key it was confirmed for, or null for uploads through the service;
+     * its pending upload is forgotten with the insert.
+     */
+    private MediaUploadResponseDto saveMedia(String originalFilename, String mimeType, MediaBlobEntity blob,
+            Long uploaderUserId, String uploadKey) {
+        MediaEntity entity = MediaEntity.builder()
+                .originalFilename(originalFilename)
+                .storedFilename(blob.getObjectKey())
+                .uploadKey(uploadKey)
+                .mimeType(mimeType)
+                .fileSize(blob.getFileSize())
+                .bucketName(blob.getBucketName())
+                .uploaderUserId(uploaderUserId)
+                .url(storage.publicUrl(blob.getBucketName(), blob.getObjectKey()))
+                .blobId(blob.getId())
+                .derivativeStatus(derivativePipeline.accepts(mimeType, blob.getFileSize())
+                        ? DerivativeStatus.PENDING
+                        : null)
+                .build();
+
+        // Charged and recorded in one transaction, so the reconciler never sees one without the other
+        MediaEntity saved;
+        try {
+            saved = transaction.execute(status -> {
+                storageQuota.addFile(uploaderUserId, blob.getFileSize());
+                if (uploadKey != null) {
+                    pendingUploadRepository.deleteByObjectKey(uploadKey);
+                }
+                return mediaRepository.save(entity);
+            });
+        } catch (RuntimeException ex) {
+            releaseBlob(blob);
+            throw ex;
+        }
+        if (saved.getDerivativeStatus() == DerivativeStatus.PENDING) {
+            eventPublisher.publishEvent(new MediaStoredEvent(saved.getId()));
+        }
+        return mediaMapper.toUploadResponseDto(saved);
+    }
+
+    private void releaseBlob(MediaBlobEntity blob) {
+        blobStore.release(blob.getId())
+                .ifPresent(released -> removeObjectQuietly(released.getBucketName(), released.getObjectKey()));
+    }
+
+    /**
+     * Reuse a cached signature while it has enough lifetime left; signing
+     * only happens on a miss.
+     */
+    private MediaPresignedDownloadResponseDto presignDownload(MediaEntity entity) {
+        PresignedUrlCache.SignedUrl signed = presignedUrlCache.get(entity.getBucketName(),
+                entity.getStoredFilename(), presignedExpirySeconds,
+                () -> storage.presignGet(entity.getBucketName(), entity.getStoredFilename(), presignedExpirySeconds));
+
+        return MediaPresignedDownloadResponseDto.builder()
+                .mediaId(entity.getId())
+                .downloadUrl(signed.url())
+                .expiresInSeconds(signed.expiresInSeconds())
+                .build();
+    }
+
+    private MediaResponseDto toResponseDto(MediaEntity entity, Map<Long, List<MediaVariantDto>> variants) {
+        MediaResponseDto dto = mediaMapper.toResponseDto(entity);
+        if (entity.getDerivativeStatus() == DerivativeStatus.READY) {
+            dto.setVariants(variants.getOrDefault(entity.getId(), List.of()));
+        }
+        return dto;
+    }
+
+    /**
+     * Load the variants of a page of media with one query.
+     */
+    private Map<Long, List<MediaVariantDto>> loadVariants(Collection<MediaEntity> media) {
+        List<Long> ready = media.stream()
+                .filter(entity -> entity.getDerivativeStatus() == DerivativeStatus.READY)
+                .map(MediaEntity::getId)
+                .toList();
+        if (ready.isEmpty()) {
+            return Map.of();
+        }
+        return variantRepository.findByMediaIdIn(ready).stream()
+                .collect(Collectors.groupingBy(MediaVariantEntity::getMediaId,
+                        Collectors.mapping(mediaMapper::toVariantDto, Collectors.toList())));
+    }
+
+    private String hashObject(String storedFilename) {
+        try (InputStream object = storage.get(bucketName, storedFilename)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int read;
+            while ((read = object.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
         } catch (Exception ex) {
-            log.error("Failed to delete media from MinIO", ex);
-            throw new MediaStorageException("Failed to delete media file", ex);
+            log.warn("Failed to hash {}; storing it without deduplication", storedFilename, ex);
+            return null;
         }
+    }
 
-        mediaRepository.delete(entity);
+    /**
+     * Remove an object once the current transaction commits, so a rolled back
+     * delete never loses content; a failed removal only leaves an unreferenced
+     * object behind.
+     */
+    private void removeObjectAfterCommit(String bucket, String objectKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removeObjectQuietly(bucket, objectKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removeObjectQuietly(bucket, objectKey);
+            }
+        });
+    }
+
+    /**
+     * Assemble a multipart upload. An upload that no longer exists is left to
+     * the object check that follows, so a retried confirm still succeeds.
+     */
+    private void completeMultipartUpload(String objectKey, String uploadId, List<MediaMultipartPartDto> parts) {
+        try {
+            List<MediaMultipartPartDto> completed = parts == null || parts.isEmpty()
+                    ? listStoredParts(objectKey, uploadId)
+                    : parts;
+            if (completed.isEmpty()) {
+                throw new InvalidMediaException("No parts have been uploaded");
+            }
+            List<MediaStorage.StoredPart> ordered = completed.stream()
+                    .sorted(Comparator.comparing(MediaMultipartPartDto::getPartNumber))
+                    .map(part -> new MediaStorage.StoredPart(part.getPartNumber(), part.getEtag(),
+                            Optional.ofNullable(part.getSize()).orElse(0L)))
+                    .toList();
+            for (int i = 1; i < ordered.size(); i++) {
+                if (ordered.get(i).partNumber() == ordered.get(i - 1).partNumber()) {
+                    throw new InvalidMediaException("Duplicate part number " + ordered.get(i).partNumber());
+                }
+            }
+
+            MediaStorage.await(storage.completeMultipartUpload(bucketName, objectKey, uploadId, ordered),
+                    "Failed to complete multipart upload");
+        } catch (MultipartUploadNotFoundException ex) {
+            log.info("Multipart upload {} is no longer open; checking for the completed object", uploadId);
+        }
+    }
+
+    private List<MediaMultipartPartDto> listStoredParts(String objectKey, String uploadId) {
+        return storage.listParts(bucketName, objectKey, uploadId).stream()
+                .map(part -> MediaMultipartPartDto.builder()
+                        .partNumber(part.partNumber())
+                        .etag(part.etag())
+                        .size(part.size())
+                        .build())
+                .toList();
+    }
+
+    private static long divideRoundingUp(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    private static String cleanObjectKey(String objectKey) {
+        if (!StringUtils.hasText(objectKey)) {
+            throw new InvalidMediaException("Object key is required");
+        }
+        String cleaned = StringUtils.cleanPath(objectKey);
+        if (cleaned.contains("..")) {
+            throw new InvalidMediaException("Invalid stored filename");
+        }
+        return cleaned;
+    }
+
+    private void removeObjectQuietly(String bucket, String objectKey) {
+        evictCached(bucket, objectKey);
+        try {
+            storage.delete(bucket, objectKey);
+        } catch (MediaStorageException ex) {
+            log.warn("Failed to remove {} from storage", objectKey, ex);
+        }
+    }
+
+    /**
+     * Forget signed URLs and proxy copies of an object that is being deleted.
+     */
+    private void evictCached(String bucket, String objectKey) {
+        presignedUrlCache.evict(bucket, objectKey);
+        objectCache.evict(bucket, objectKey);
+    }
+
+    private void recordPendingUpload(String objectKey, Long uploaderUserId) {
+        pendingUploadRepository.save(PendingUploadEntity.builder()
+                .objectKey(objectKey)
+                .uploaderUserId(uploaderUserId)
+                .build());
     }
 
     private String createStoredFilename(String originalFilename) {
@@ -276,12 +806,4 @@ public class MediaServiceImpl implements MediaService {
         return base + "." + extension;
     }
 
-    private String buildPublicUrl(String bucket, String object) {
-        String base = publicUrl;
-        if (base.endsWith("/")) {
-            base = base.substring(0, base.length() - 1);
-        }
-        return base + "/" + bucket + "/" + object;
-    }
-
 }
@@ -1,24 +1,42 @@
 package com.communityplatform.content.service.impl;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.communityplatform.content.counter.EngagementCounterBuffer;
+import com.communityplatform.content.dto.CursorPageResponseDto;
+import com.communityplatform.content.dto.media.MediaResponseDto;
 import com.communityplatform.content.dto.post.PostCreateDto;
 import com.communityplatform.content.dto.post.PostResponseDto;
 import com.communityplatform.content.dto.post.PostSummaryDto;
 import com.communityplatform.content.dto.post.PostUpdateDto;
 import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.PostChangedEvent;
+import com.communityplatform.content.event.PostCreatedEvent;
 import com.communityplatform.content.exception.PostNotFoundException;
 import com.communityplatform.content.exception.UnauthorizedOperationException;
 import com.communityplatform.content.mapper.PostMapper;
+import com.communityplatform.content.pagination.PageCursor;
 import com.communityplatform.content.repository.PostRepository;
+import com.communityplatform.content.search.PostSearchIndex;
+import com.communityplatform.content.search.SearchHits;
+import com.communityplatform.content.service.LikeStateService;
+import com.communityplatform.content.service.MediaService;
 import com.communityplatform.content.service.PostService;
+import com.communityplatform.content.service.TimelineService;
+import com.communityplatform.content.trending.TrendingEngine;
 import com.communityplatform.content.UserProfileDto;
 import com.communityplatform.content.UserServiceClient;
 
@@ -37,7 +55,13 @@ public class PostServiceImpl implements PostService {
     private final PostRepository postRepository;
     private final PostMapper postMapper;
     private final UserServiceClient userServiceClient;
-    private final com.communityplatform.content.repository.LikeRepository likeRepository;
+    private final LikeStateService likeStateService;
+    private final TimelineService timelineService;
+    private final EngagementCounterBuffer engagementCounterBuffer;
+    private final PostSearchIndex postSearchIndex;
+    private final TrendingEngine trendingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MediaService mediaService;
 
     @Override
     public PostResponseDto createPost(PostCreateDto dto) {
@@ -48,10 +72,16 @@ public class PostServiceImpl implements PostService {
         entity.setCommentCount(0);
 
         PostEntity saved = postRepository.save(entity);
+        if (dto.getMediaIds() != null && !dto.getMediaIds().isEmpty()) {
+            mediaService.attachToPost(saved.getId(), dto.getMediaIds(), saved.getUserId());
+        }
         log.info("Post created with id: {}", saved.getId());
+        eventPublisher.publishEvent(PostCreatedEvent.of(saved));
+        eventPublisher.publishEvent(PostChangedEvent.saved(saved));
 
         PostResponseDto response = postMapper.toResponseDto(saved);
         enrichPostAuthor(response);
+        enrichPostMedia(response);
         response.setLikedByCurrentUser(false);
         return response;
     }
@@ -66,11 +96,11 @@ public class PostServiceImpl implements PostService {
 
         PostResponseDto dto = postMapper.toResponseDto(entity);
         enrichPostAuthor(dto);
+        enrichPostMedia(dto);
         
         // Set liked by current user
         if (currentUserId != null) {
-            boolean liked = likeRepository.existsByUserIdAndPostId(currentUserId, postId);
-            dto.setLikedByCurrentUser(liked);
+            dto.setLikedByCurrentUser(likeStateService.hasLikedPost(currentUserId, postId));
         }
         
         return dto;
@@ -90,17 +120,21 @@ public class PostServiceImpl implements PostService {
 
         // Update only provided fields
         postMapper.updateEntityFromDto(dto, entity);
+        if (dto.getMediaIds() != null) {
+            mediaService.attachToPost(postId, dto.getMediaIds(), entity.getUserId());
+        }
 
         PostEntity updated = postRepository.save(entity);
+        eventPublisher.publishEvent(PostChangedEvent.saved(updated));
         log.info("Post updated: {}", postId);
 
         PostResponseDto response = postMapper.toResponseDto(updated);
         enrichPostAuthor(response);
+        enrichPostMedia(response);
         
         // Set liked by current user
         if (currentUserId != null) {
-            boolean liked = likeRepository.existsByUserIdAndPostId(currentUserId, postId);
-            response.setLikedByCurrentUser(liked);
+            response.setLikedByCurrentUser(likeStateService.hasLikedPost(currentUserId, postId));
         }
         
         return response;
@@ -120,6 +154,8 @@ public class PostServiceImpl implements PostService {
 
         entity.softDelete();
         postRepository.save(entity);
+        timelineService.retractPost(postId);
+        eventPublisher.publishEvent(PostChangedEvent.deleted(postId));
         log.info("Post soft deleted: {}", postId);
     }
 
@@ -127,18 +163,14 @@ public class PostServiceImpl implements PostService {
     @Transactional(readOnly = true)
     public Page<PostSummaryDto> getAllPosts(Long currentUserId, Pageable pageable) {
         log.debug("Getting all posts, page: {}", pageable.getPageNumber());
-        return postRepository.findAllActive(pageable)
-                .map(postMapper::toSummaryDto)
-                .map(dto -> enrichPostSummaryWithLike(dto, currentUserId));
+        return toSummaryPage(postRepository.findAllActive(pageable), currentUserId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostSummaryDto> getPostsByUserId(Long userId, Long currentUserId, Pageable pageable) {
         log.debug("Getting posts for user: {}", userId);
-        return postRepository.findByUserIdAndDeletedAtIsNull(userId, pageable)
-                .map(postMapper::toSummaryDto)
-                .map(dto -> enrichPostSummaryWithLike(dto, currentUserId));
+        return toSummaryPage(postRepository.findByUserIdAndDeletedAtIsNull(userId, pageable), currentUserId);
     }
 
     @Override
@@ -149,81 +181,128 @@ public class PostServiceImpl implements PostService {
         if (followingIds.isEmpty()) {
             return Page.empty(pageable);
         }
-        return postRepository.findByUserIdInAndDeletedAtIsNull(followingIds, pageable)
-                .map(postMapper::toSummaryDto)
-                .map(dto -> enrichPostSummaryWithLike(dto, userId));
+        return toSummaryPage(postRepository.findByUserIdInAndDeletedAtIsNull(followingIds, pageable), userId);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<PostSummaryDto> getFeedPosts(Long userId, Pageable pageable) {
         log.debug("Getting feed posts for user: {}", userId);
+        return toSummaryPage(timelineService.getHomeTimeline(userId, pageable), userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<PostSummaryDto> getAllPostsByCursor(Long currentUserId, String cursor, Integer size) {
+        PageCursor position = PageCursor.descending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting all posts after cursor: {}", position);
+        List<PostEntity> rows = postRepository.findAllActiveBefore(position.createdAt(), position.id(),
+                PageRequest.of(0, sliceSize + 1));
+        return toSummarySlice(rows, sliceSize, currentUserId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<PostSummaryDto> getFollowingPostsByCursor(Long userId, String cursor, Integer size) {
+        PageCursor position = PageCursor.descending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting following posts for user: {} after cursor: {}", userId, position);
         List<Long> followingIds = userServiceClient.getFollowingIds(userId);
-        if (userId != null) {
-            LinkedHashSet<Long> merged = new LinkedHashSet<>(followingIds);
-            merged.add(userId);
-            followingIds = new ArrayList<>(merged);
-        }
         if (followingIds.isEmpty()) {
-            return Page.empty(pageable);
+            return toSummarySlice(List.of(), sliceSize, userId);
         }
-        return postRepository.findByUserIdInAndDeletedAtIsNull(followingIds, pageable)
-                .map(postMapper::toSummaryDto)
-                .map(dto -> enrichPostSummaryWithLike(dto, userId));
+        List<PostEntity> rows = postRepository.findByUserIdInBefore(followingIds, position.createdAt(),
+                position.id(), PageRequest.of(0, sliceSize + 1));
+        return toSummarySlice(rows, sliceSize, userId);
+    }
+
+    @Override
+    public CursorPageResponseDto<PostSummaryDto> getFeedPostsByCursor(Long userId, String cursor, Integer size) {
+        PageCursor position = PageCursor.descending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting feed posts for user: {} after cursor: {}", userId, position);
+        return toSummarySlice(timelineService.getHomeTimelineBefore(userId, position, sliceSize + 1), sliceSize,
+                userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<PostSummaryDto> getPostsByUserIdByCursor(Long userId, Long currentUserId,
+            String cursor, Integer size) {
+        PageCursor position = PageCursor.descending(cursor);
+        int sliceSize = PageCursor.sliceSize(size);
+        log.debug("Getting posts for user: {} after cursor: {}", userId, position);
+        List<PostEntity> rows = postRepository.findByUserIdBefore(userId, position.createdAt(), position.id(),
+                PageRequest.of(0, sliceSize + 1));
+        return toSummarySlice(rows, sliceSize, currentUserId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostSummaryDto> searchPosts(String searchTerm, Long currentUserId, Pageable pageable) {
         log.debug("Searching posts with term: {}", searchTerm);
-        return postRepository.searchByTitleOrContent(searchTerm, pageable)
-                .map(postMapper::toSummaryDto)
-                .map(dto -> enrichPostSummaryWithLike(dto, currentUserId));
+        if (!postSearchIndex.isReady()) {
+            // Index still loading after a restart
+            return toSummaryPage(postRepository.searchByTitleOrContent(searchTerm, pageable), currentUserId);
+        }
+
+        SearchHits hits = postSearchIndex.search(searchTerm, pageable.getOffset(), pageable.getPageSize());
+        return toSummaryPage(new PageImpl<>(loadActiveInOrder(hits.postIds()), pageable, hits.total()),
+                currentUserId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostSummaryDto> getTrendingPosts(Long currentUserId, Pageable pageable) {
         log.debug("Getting trending posts");
-        return postRepository.findTrendingPosts(pageable)
-                .map(postMapper::toSummaryDto)
-                .map(dto -> enrichPostSummaryWithLike(dto, currentUserId));
+        if (!trendingEngine.isReady()) {
+            return toSummaryPage(postRepository.findTrendingPosts(trendingEngine.windowStart(), pageable),
+                    currentUserId);
+        }
+
+        Page<Long> postIds = trendingEngine.getTrending(pageable);
+        return toSummaryPage(new PageImpl<>(loadActiveInOrder(postIds.getContent()), pageable,
+                postIds.getTotalElements()), currentUserId);
     }
 
     @Override
     public void incrementLikeCount(Long postId) {
-        PostEntity entity = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-        entity.setLikeCount(entity.getLikeCount() + 1);
-        postRepository.save(entity);
-        log.debug("Incremented like count for post: {}", postId);
+        engagementCounterBuffer.addPostLikes(postId, 1);
+        trendingEngine.recordLike(postId, 1);
     }
 
     @Override
     public void decrementLikeCount(Long postId) {
-        PostEntity entity = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-        entity.setLikeCount(Math.max(0, entity.getLikeCount() - 1));
-        postRepository.save(entity);
-        log.debug("Decremented like count for post: {}", postId);
+        engagementCounterBuffer.addPostLikes(postId, -1);
+        trendingEngine.recordLike(postId, -1);
     }
 
     @Override
     public void incrementCommentCount(Long postId) {
-        PostEntity entity = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-        entity.setCommentCount(entity.getCommentCount() + 1);
-        postRepository.save(entity);
-        log.debug("Incremented comment count for post: {}", postId);
+        engagementCounterBuffer.addPostComments(postId, 1);
+        trendingEngine.recordComment(postId, 1);
     }
 
     @Override
     public void decrementCommentCount(Long postId) {
-        PostEntity entity = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-        entity.setCommentCount(Math.max(0, entity.getCommentCount() - 1));
-        postRepository.save(entity);
-        log.debug("Decremented comment count for post: {}", postId);
+        engagementCounterBuffer.addPostComments(postId, -1);
+        trendingEngine.recordComment(postId, -1);
+    }
+
+    /**
+     * Load posts by ID, keeping the given order and dropping deleted ones.
+     */
+    private List<PostEntity> loadActiveInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostEntity> posts = postRepository.findAllById(postIds).stream()
+                .filter(PostEntity::isActive)
+                .collect(Collectors.toMap(PostEntity::getId, Function.identity()));
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     private void enrichPostAuthor(PostResponseDto dto) {
@@ -238,24 +317,54 @@ public class PostServiceImpl implements PostService {
                 });
     }
 
-    private PostSummaryDto enrichPostSummary(PostSummaryDto dto) {
-        if (dto == null || dto.getUserId() == null) {
-            return dto;
+    private void enrichPostMedia(PostResponseDto dto) {
+        if (dto == null || dto.getId() == null) {
+            return;
         }
-        userServiceClient.getUserById(dto.getUserId())
-                .ifPresent(profile -> {
-                    dto.setUsername(profile.getUsername());
-                    dto.setProfilePictureUrl(profile.getProfilePictureUrl());
-                });
-        return dto;
+        dto.setMedia(mediaService.getPostAttachments(List.of(dto.getId())).getOrDefault(dto.getId(), List.of()));
+    }
+
+    private Page<PostSummaryDto> toSummaryPage(Page<PostEntity> posts, Long currentUserId) {
+        Page<PostSummaryDto> page = posts.map(postMapper::toSummaryDto);
+        enrichPostSummaries(page.getContent(), currentUserId);
+        return page;
     }
-    
-    private PostSummaryDto enrichPostSummaryWithLike(PostSummaryDto dto, Long currentUserId) {
-        enrichPostSummary(dto);
-        if (dto != null && currentUserId != null) {
-            boolean liked = likeRepository.existsByUserIdAndPostId(currentUserId, dto.getId());
-            dto.setLikedByCurrentUser(liked);
+
+    private CursorPageResponseDto<PostSummaryDto> toSummarySlice(List<PostEntity> rows, int size,
+            Long currentUserId) {
+        return PageCursor.toResponse(rows, size, posts -> {
+            List<PostSummaryDto> dtos = posts.stream().map(postMapper::toSummaryDto).toList();
+            enrichPostSummaries(dtos, currentUserId);
+            return dtos;
+        });
+    }
+
+    /**
+     * Enrich a page of summaries with author data, attached media and the
+     * viewer's like state, each resolved with one batch lookup for the whole page.
+     */
+    private void enrichPostSummaries(List<PostSummaryDto> dtos, Long currentUserId) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        Map<Long, UserProfileDto> authors = userServiceClient.getUsersByIds(
+                dtos.stream().map(PostSummaryDto::getUserId).toList());
+        List<Long> postIds = dtos.stream().map(PostSummaryDto::getId).toList();
+        Map<Long, List<MediaResponseDto>> media = mediaService.getPostAttachments(postIds);
+        Set<Long> likedIds = currentUserId == null
+                ? Set.of()
+                : likeStateService.findLikedPostIds(currentUserId, postIds);
+
+        for (PostSummaryDto dto : dtos) {
+            UserProfileDto profile = authors.get(dto.getUserId());
+            if (profile != null) {
+                dto.setUsername(profile.getUsername());
+                dto.setProfilePictureUrl(profile.getProfilePictureUrl());
+            }
+            dto.setMedia(media.getOrDefault(dto.getId(), List.of()));
+            if (currentUserId != null) {
+                dto.setLikedByCurrentUser(likedIds.contains(dto.getId()));
+            }
         }
-        return dto;
     }
 }
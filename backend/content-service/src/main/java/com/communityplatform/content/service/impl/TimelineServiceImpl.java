@@ -0,0 +1,328 @@
+package com.communityplatform.content.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.communityplatform.content.UserServiceClient;
+import com.communityplatform.content.entity.HighFanoutAuthorEntity;
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.entity.TimelineEntryEntity;
+import com.communityplatform.content.pagination.PageCursor;
+import com.communityplatform.content.repository.HighFanoutAuthorRepository;
+import com.communityplatform.content.repository.MaterializedTimelineRepository;
+import com.communityplatform.content.repository.PostRepository;
+import com.communityplatform.content.repository.TimelineEntryRepository;
+import com.communityplatform.content.service.TimelineService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of TimelineService.
+ * 
+ * Authors above the follower threshold are not fanned out; their posts are
+ * merged into the timeline at read time. When such an author drops below the
+ * threshold, their latest posts are pushed into follower timelines before
+ * read-time merging stops. A timeline is seeded with the latest
+ * posts of followed authors on its first read, and kept in sync with follow
+ * changes afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TimelineServiceImpl implements TimelineService {
+
+    private static final int WRITE_CHUNK_SIZE = 1000;
+
+    /** Placeholder for an empty author exclusion list; IDs are always positive. */
+    private static final List<Long> NO_AUTHORS = List.of(-1L);
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final HighFanoutAuthorRepository highFanoutAuthorRepository;
+    private final MaterializedTimelineRepository materializedTimelineRepository;
+    private final PostRepository postRepository;
+    private final UserServiceClient userServiceClient;
+
+    @Value("${timeline.max-entries:800}")
+    private int maxEntries;
+
+    @Value("${timeline.fanout-follower-threshold:10000}")
+    private int fanoutFollowerThreshold;
+
+    @Value("${timeline.fanout-backfill-posts:100}")
+    private int backfillPosts;
+
+    @Override
+    public void fanOutPost(Long postId, Long authorId, LocalDateTime postCreatedAt) {
+        Optional<List<Long>> followerIds = userServiceClient.getFollowerIds(authorId);
+
+        List<Long> owners = new ArrayList<>();
+        owners.add(authorId);
+        boolean toFollowers = false;
+
+        if (followerIds.isEmpty()) {
+            // Followers unknown: serve this author's posts at read time rather than losing them
+            log.warn("Follower lookup failed for user {}, post {} will be merged at read time", authorId, postId);
+            markHighFanout(authorId, null);
+        } else if (followerIds.get().size() > fanoutFollowerThreshold) {
+            markHighFanout(authorId, (long) followerIds.get().size());
+        } else {
+            owners.addAll(followerIds.get());
+            toFollowers = true;
+        }
+
+        List<Long> distinctOwners = owners.stream().distinct().toList();
+        for (int from = 0; from < distinctOwners.size(); from += WRITE_CHUNK_SIZE) {
+            List<Long> chunk = distinctOwners.subList(from, Math.min(from + WRITE_CHUNK_SIZE, distinctOwners.size()));
+            timelineEntryRepository.insertEntries(postId, authorId, postCreatedAt, chunk);
+            timelineEntryRepository.trimTimelines(chunk, maxEntries);
+        }
+        if (toFollowers) {
+            highFanoutAuthorRepository.findByUserId(authorId).ifPresent(highFanout -> {
+                // Earlier posts were only merged at read time, which stops once the record is gone
+                backfillTimelines(authorId, postId, distinctOwners);
+                highFanoutAuthorRepository.delete(highFanout);
+            });
+        }
+        log.debug("Fanned out post {} to {} timelines", postId, distinctOwners.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deferFanOut(Long authorUserId) {
+        markHighFanout(authorUserId, null);
+    }
+
+    @Override
+    public void retractPost(Long postId) {
+        int removed = timelineEntryRepository.deleteByPostId(postId);
+        log.debug("Retracted post {} from {} timelines", postId, removed);
+    }
+
+    @Override
+    public void applyFollowChange(Long followerId, Long followingId, boolean following) {
+        if (!materializedTimelineRepository.existsByOwnerUserId(followerId)) {
+            // Not built yet; the first read seeds it from the current follow graph
+            return;
+        }
+
+        int removed = timelineEntryRepository.deleteByOwnerUserIdAndAuthorUserId(followerId, followingId);
+        if (!following || highFanoutAuthorRepository.findByUserId(followingId).isPresent()) {
+            log.debug("Removed {} posts of user {} from timeline of user {}", removed, followingId, followerId);
+            return;
+        }
+
+        PageCursor newest = PageCursor.descending(null);
+        List<PostEntity> posts = postRepository.findByUserIdBefore(followingId, newest.createdAt(), newest.id(),
+                PageRequest.of(0, maxEntries));
+        timelineEntryRepository.insertPosts(followerId, posts);
+        timelineEntryRepository.trimTimelines(List.of(followerId), maxEntries);
+        log.debug("Backfilled {} posts of user {} into timeline of user {}", posts.size(), followingId, followerId);
+    }
+
+    @Override
+    public Page<PostEntity> getHomeTimeline(Long userId, Pageable pageable) {
+        if (userId == null) {
+            return Page.empty(pageable);
+        }
+        ensureMaterialized(userId);
+
+        List<Long> highFanoutFollowed = findFollowedHighFanoutAuthors(userId);
+        if (!highFanoutFollowed.isEmpty()) {
+            return mergeHighFanoutPosts(userId, highFanoutFollowed, pageable);
+        }
+
+        Page<Long> postIds = timelineEntryRepository.findPostIdsByOwnerUserId(userId, pageable);
+        return new PageImpl<>(loadPostsInOrder(postIds.getContent()), pageable, postIds.getTotalElements());
+    }
+
+    @Override
+    public List<PostEntity> getHomeTimelineBefore(Long userId, PageCursor cursor, int limit) {
+        if (userId == null) {
+            return List.of();
+        }
+        ensureMaterialized(userId);
+
+        List<Long> highFanoutFollowed = findFollowedHighFanoutAuthors(userId);
+        Pageable head = PageRequest.of(0, limit);
+        List<TimelineEntryEntity> entries = timelineEntryRepository.findByOwnerUserIdBefore(userId,
+                highFanoutFollowed.isEmpty() ? NO_AUTHORS : highFanoutFollowed,
+                cursor.createdAt(), cursor.id(), head);
+
+        if (highFanoutFollowed.isEmpty()) {
+            return loadPostsInOrder(entries.stream().map(TimelineEntryEntity::getPostId).toList());
+        }
+
+        List<PostEntity> pulled = postRepository.findByUserIdInBefore(highFanoutFollowed,
+                cursor.createdAt(), cursor.id(), head);
+        return merge(entries, pulled, 0, limit);
+    }
+
+    /**
+     * Seed a user's timeline with the latest posts of the authors they follow
+     * (and their own) the first time it is read. Entries fanned out before that
+     * are replaced, since they only cover posts created in the meantime.
+     */
+    private void ensureMaterialized(Long userId) {
+        if (materializedTimelineRepository.existsByOwnerUserId(userId)
+                || materializedTimelineRepository.claim(userId) == 0) {
+            return;
+        }
+
+        List<Long> authorIds = new ArrayList<>(followedAuthorsAndSelf(userId));
+        authorIds.removeAll(highFanoutAuthorRepository.findAllUserIds());
+        timelineEntryRepository.deleteByOwnerUserId(userId);
+        if (authorIds.isEmpty()) {
+            return;
+        }
+
+        PageCursor newest = PageCursor.descending(null);
+        List<PostEntity> posts = postRepository.findByUserIdInBefore(authorIds, newest.createdAt(), newest.id(),
+                PageRequest.of(0, maxEntries));
+        timelineEntryRepository.insertPosts(userId, posts);
+        log.debug("Materialized timeline of user {} with {} posts", userId, posts.size());
+    }
+
+    /**
+     * Push the latest posts of an author leaving the high fan-out list into
+     * their own and their followers' timelines, since those posts were not
+     * fanned out. Entries already present are kept.
+     */
+    private void backfillTimelines(Long authorId, Long fannedOutPostId, List<Long> ownerIds) {
+        PageCursor newest = PageCursor.descending(null);
+        List<PostEntity> posts = postRepository.findByUserIdBefore(authorId, newest.createdAt(), newest.id(),
+                PageRequest.of(0, backfillPosts)).stream()
+                .filter(post -> !post.getId().equals(fannedOutPostId))
+                .toList();
+        if (posts.isEmpty()) {
+            return;
+        }
+        int chunkSize = Math.max(1, WRITE_CHUNK_SIZE / posts.size());
+        for (int from = 0; from < ownerIds.size(); from += chunkSize) {
+            List<Long> chunk = ownerIds.subList(from, Math.min(from + chunkSize, ownerIds.size()));
+            timelineEntryRepository.insertMissingPosts(chunk, posts);
+            timelineEntryRepository.trimTimelines(chunk, maxEntries);
+        }
+        log.debug("Backfilled {} posts of user {} into {} timelines", posts.size(), authorId, ownerIds.size());
+    }
+
+    private void markHighFanout(Long authorId, Long followerCount) {
+        HighFanoutAuthorEntity entity = highFanoutAuthorRepository.findByUserId(authorId)
+                .orElseGet(() -> HighFanoutAuthorEntity.builder()
+                        .userId(authorId)
+                        .followerCount(0L)
+                        .build());
+        if (followerCount != null) {
+            entity.setFollowerCount(followerCount);
+        }
+        highFanoutAuthorRepository.save(entity);
+    }
+
+    private List<Long> findFollowedHighFanoutAuthors(Long userId) {
+        List<Long> highFanoutIds = highFanoutAuthorRepository.findAllUserIds();
+        if (highFanoutIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> followed = new HashSet<>(userServiceClient.getFollowingIds(userId));
+        followed.add(userId);
+        return highFanoutIds.stream()
+                .filter(followed::contains)
+                .toList();
+    }
+
+    /**
+     * Merge the materialized timeline (without high fan-out authors) with the
+     * latest posts of followed high fan-out authors. Both sources are read
+     * newest first up to the end of the requested page and merged in memory.
+     */
+    private Page<PostEntity> mergeHighFanoutPosts(Long userId, List<Long> highFanoutAuthors, Pageable pageable) {
+        int window = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        Pageable head = PageRequest.of(0, window);
+
+        Page<TimelineEntryEntity> entries = timelineEntryRepository
+                .findByOwnerUserIdExcludingAuthors(userId, highFanoutAuthors, head);
+        Page<PostEntity> pulled = postRepository.findByUserIdInAndDeletedAtIsNull(highFanoutAuthors, head);
+
+        List<PostEntity> posts = merge(entries.getContent(), pulled.getContent(), pageable.getOffset(),
+                pageable.getPageSize());
+        return new PageImpl<>(posts, pageable, entries.getTotalElements() + pulled.getTotalElements());
+    }
+
+    /**
+     * Merge timeline entries and directly read posts, both sorted newest first,
+     * and resolve the requested window to posts.
+     */
+    private List<PostEntity> merge(List<TimelineEntryEntity> entries, List<PostEntity> pulled, long skip,
+            int limit) {
+        List<TimelineItem> items = new ArrayList<>();
+        entries.forEach(entry -> items.add(new TimelineItem(entry.getPostId(), entry.getPostCreatedAt(), null)));
+        pulled.forEach(post -> items.add(new TimelineItem(post.getId(), post.getCreatedAt(), post)));
+        items.sort(TimelineItem.NEWEST_FIRST);
+
+        List<TimelineItem> pageItems = items.stream()
+                .skip(skip)
+                .limit(limit)
+                .toList();
+
+        Map<Long, PostEntity> fanned = loadPosts(pageItems.stream()
+                .filter(item -> item.post() == null)
+                .map(TimelineItem::postId)
+                .toList());
+
+        return pageItems.stream()
+                .map(item -> item.post() != null ? item.post() : fanned.get(item.postId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Long> followedAuthorsAndSelf(Long userId) {
+        LinkedHashSet<Long> authorIds = new LinkedHashSet<>(userServiceClient.getFollowingIds(userId));
+        authorIds.add(userId);
+        return new ArrayList<>(authorIds);
+    }
+
+    private List<PostEntity> loadPostsInOrder(List<Long> postIds) {
+        Map<Long, PostEntity> posts = loadPosts(postIds);
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Map<Long, PostEntity> loadPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return postRepository.findAllById(postIds).stream()
+                .filter(PostEntity::isActive)
+                .collect(Collectors.toMap(PostEntity::getId, Function.identity()));
+    }
+
+    private record TimelineItem(Long postId, LocalDateTime createdAt, PostEntity post) {
+
+        static final Comparator<TimelineItem> NEWEST_FIRST = Comparator
+                .comparing(TimelineItem::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(TimelineItem::postId, Comparator.reverseOrder());
+    }
+}
@@ -0,0 +1,120 @@
+package com.communityplatform.content.timeline;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.communityplatform.content.event.PostCreatedEvent;
+import com.communityplatform.content.service.TimelineService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans out new posts in the background once they are committed, so creating
+ * a post does not hold its transaction across the follower lookup and the
+ * timeline writes.
+ *
+ * Features:
+ * - Posts are handed to a fixed pool of workers through a bounded queue
+ * - When the queue is full, a fan-out fails or a queued post is dropped on
+ *   shutdown, the author is served at read time instead, until their next
+ *   fan-out backfills follower timelines
+ *
+ * Metrics: timeline.fanout.queue.depth, timeline.fanout.deferred.
+ */
+@Component
+@Slf4j
+public class TimelineFanOutDispatcher {
+
+    private final TimelineService timelineService;
+    private final ThreadPoolExecutor workers;
+    private final Counter deferred;
+
+    public TimelineFanOutDispatcher(TimelineService timelineService, MeterRegistry meterRegistry,
+            @Value("${timeline.fanout.workers:4}") int workerCount,
+            @Value("${timeline.fanout.queue-capacity:10000}") int queueCapacity) {
+        this.timelineService = timelineService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "timeline-fanout-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.deferred = Counter.builder("timeline.fanout.deferred")
+                .description("Posts served at read time because their fan-out did not run")
+                .register(meterRegistry);
+        Gauge.builder("timeline.fanout.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Posts waiting for a fan-out worker")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        try {
+            workers.execute(new FanOut(event));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Fan-out queue full; posts of user {} will be merged at read time", event.authorUserId());
+            defer(event);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        List<Runnable> pending = workers.shutdownNow();
+        for (Runnable task : pending) {
+            defer(((FanOut) task).event());
+        }
+        if (!pending.isEmpty()) {
+            log.info("Deferred {} queued fan-outs on shutdown", pending.size());
+        }
+    }
+
+    private void defer(PostCreatedEvent event) {
+        deferred.increment();
+        try {
+            timelineService.deferFanOut(event.authorUserId());
+        } catch (RuntimeException ex) {
+            log.error("Failed to defer fan-out of post {}", event.postId(), ex);
+        }
+    }
+
+    /** A queued fan-out; kept as its own type so shutdown can defer what is left. */
+    private final class FanOut implements Runnable {
+
+        private final PostCreatedEvent event;
+
+        FanOut(PostCreatedEvent event) {
+            this.event = event;
+        }
+
+        PostCreatedEvent event() {
+            return event;
+        }
+
+        @Override
+        public void run() {
+            try {
+                timelineService.fanOutPost(event.postId(), event.authorUserId(), event.createdAt());
+            } catch (RuntimeException ex) {
+                log.warn("Fan-out of post {} failed; posts of user {} will be merged at read time",
+                        event.postId(), event.authorUserId(), ex);
+                defer(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.communityplatform.content.trending;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.PostChangedEvent;
+import com.communityplatform.content.repository.PostRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Time-decayed trending ranking of recent posts.
+ * 
+ * Every like, comment and the post itself add weight to a post's score. The
+ * weight halves every {@code trending.half-life-hours}. Scores are stored relative
+ * to a reference time (w * e^(lambda * (t - reference))) so an event is one
+ * addition and old scores never need touching; the reference moves forward on
+ * each refresh to keep values small. Only posts created inside the trending
+ * window are tracked.
+ * 
+ * A scheduled refresh drops expired posts and rebuilds the top-K list that
+ * serves /posts/trending.
+ */
+@Component
+@Slf4j
+public class TrendingEngine {
+
+    private static final double POST_WEIGHT = 0.1;
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 1.0;
+    private static final int LOAD_PAGE_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final Clock clock;
+
+    private final Map<Long, TrackedPost> posts = new ConcurrentHashMap<>();
+
+    /** Score updates share the read lock; moving the reference time takes the write lock. */
+    private final ReadWriteLock referenceLock = new ReentrantReadWriteLock();
+    private long referenceMillis;
+
+    private volatile List<Long> ranking = List.of();
+    private volatile boolean ready;
+
+    @Value("${trending.half-life-hours:6}")
+    private double halfLifeHours;
+
+    @Value("${trending.window-hours:72}")
+    private long windowHours;
+
+    @Value("${trending.top-k:500}")
+    private int topK;
+
+    @Autowired
+    public TrendingEngine(PostRepository postRepository) {
+        this(postRepository, Clock.systemDefaultZone());
+    }
+
+    TrendingEngine(PostRepository postRepository, Clock clock) {
+        this.postRepository = postRepository;
+        this.clock = clock;
+        this.referenceMillis = clock.millis();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Oldest creation time of a post that can still trend.
+     */
+    public LocalDateTime windowStart() {
+        return LocalDateTime.now(clock).minusHours(windowHours);
+    }
+
+    /**
+     * A page of the last computed ranking.
+     */
+    public Page<Long> getTrending(Pageable pageable) {
+        List<Long> current = ranking;
+        int from = (int) Math.min(pageable.getOffset(), current.size());
+        int to = Math.min(from + pageable.getPageSize(), current.size());
+        return new PageImpl<>(current.subList(from, to), pageable, current.size());
+    }
+
+    public void recordLike(Long postId, int delta) {
+        record(postId, LIKE_WEIGHT * delta, clock.millis());
+    }
+
+    public void recordComment(Long postId, int delta) {
+        record(postId, COMMENT_WEIGHT * delta, clock.millis());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.deleted()) {
+            posts.remove(event.postId());
+        } else if (event.createdAt() != null && !event.createdAt().isBefore(windowStart())) {
+            track(event.postId(), event.createdAt());
+        }
+    }
+
+    /**
+     * Drop posts that left the window, move the reference time to now and
+     * recompute the top-K ranking. The first run seeds scores from the stored
+     * like and comment counts of posts in the window.
+     */
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!ready) {
+            seed();
+        }
+
+        long now = clock.millis();
+        long cutoff = now - Duration.ofHours(windowHours).toMillis();
+        posts.values().removeIf(post -> post.createdAtMillis < cutoff);
+
+        referenceLock.writeLock().lock();
+        try {
+            double factor = Math.exp(-decayPerMilli() * (now - referenceMillis));
+            posts.values().forEach(post -> {
+                double score = post.score.sumThenReset();
+                post.score.add(score * factor);
+            });
+            referenceMillis = now;
+        } finally {
+            referenceLock.writeLock().unlock();
+        }
+
+        ranking = topK();
+        ready = true;
+        log.debug("Refreshed trending ranking over {} posts", posts.size());
+    }
+
+    private void seed() {
+        LocalDateTime since = windowStart();
+        long afterId = 0;
+        List<PostEntity> page;
+        do {
+            page = postRepository.findActiveCreatedSince(since, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (PostEntity post : page) {
+                TrackedPost tracked = track(post.getId(), post.getCreatedAt());
+                // Stored engagement has no timestamps; count it as of the post's creation
+                double engagement = post.getLikeCount() * LIKE_WEIGHT + post.getCommentCount() * COMMENT_WEIGHT;
+                record(tracked, engagement, tracked.createdAtMillis);
+                afterId = post.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        log.info("Seeded trending scores for {} posts", posts.size());
+    }
+
+    private TrackedPost track(Long postId, LocalDateTime createdAt) {
+        long createdAtMillis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return posts.computeIfAbsent(postId, id -> {
+            TrackedPost tracked = new TrackedPost(createdAtMillis);
+            record(tracked, POST_WEIGHT, createdAtMillis);
+            return tracked;
+        });
+    }
+
+    private void record(Long postId, double weight, long atMillis) {
+        TrackedPost tracked = posts.get(postId);
+        if (tracked != null) {
+            record(tracked, weight, atMillis);
+        }
+    }
+
+    private void record(TrackedPost tracked, double weight, long atMillis) {
+        referenceLock.readLock().lock();
+        try {
+            tracked.score.add(weight * Math.exp(decayPerMilli() * (atMillis - referenceMillis)));
+        } finally {
+            referenceLock.readLock().unlock();
+        }
+    }
+
+    private List<Long> topK() {
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(byScore);
+        posts.forEach((postId, post) -> {
+            double score = post.score.sum();
+            if (score <= 0) {
+                return;
+            }
+            heap.offer(Map.entry(postId, score));
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        });
+
+        List<Map.Entry<Long, Double>> top = new ArrayList<>(heap);
+        top.sort(byScore.reversed());
+        return top.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private double decayPerMilli() {
+        return Math.log(2) / Duration.ofMinutes(Math.round(halfLifeHours * 60)).toMillis();
+    }
+
+    private static final class TrackedPost {
+
+        private final long createdAtMillis;
+        private final DoubleAdder score = new DoubleAdder();
+
+        private TrackedPost(long createdAtMillis) {
+            this.createdAtMillis = createdAtMillis;
+        }
+    }
+}
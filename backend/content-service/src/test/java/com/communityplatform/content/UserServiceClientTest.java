@@ -0,0 +1,106 @@
+package com.communityplatform.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.communityplatform.content.cache.FollowingIdsCache;
+import com.communityplatform.content.cache.UserProfileCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class UserServiceClientTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    void getUsersByIdsFetchesChunksConcurrently() {
+        UserServiceClient client = client(Set.of(), Duration.ofMillis(300), 4, 5000);
+
+        Map<Long, UserProfileDto> profiles = client.getUsersByIds(LongStream.rangeClosed(1, 350).boxed().toList());
+
+        assertThat(profiles).hasSize(350);
+        assertThat(maxInFlight.get()).isEqualTo(4);
+    }
+
+    @Test
+    void getUsersByIdsRespectsConcurrencyLimit() {
+        UserServiceClient client = client(Set.of(), Duration.ofMillis(50), 2, 5000);
+
+        Map<Long, UserProfileDto> profiles = client.getUsersByIds(LongStream.rangeClosed(1, 500).boxed().toList());
+
+        assertThat(profiles).hasSize(500);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getUsersByIdsReturnsWhatResolvedByPageDeadline() {
+        UserServiceClient client = client(Set.of(150L), Duration.ofMillis(10), 4, 1000);
+        // The first call loads WebClient and Reactor classes; keep that out of the timed call
+        client.getUsersByIds(List.of(1000L));
+
+        long started = System.nanoTime();
+        Map<Long, UserProfileDto> profiles = client.getUsersByIds(LongStream.rangeClosed(1, 200).boxed().toList());
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // The stalled chunk would take 30 s and the per-call timeout is 10 s, so only the deadline ends it
+        assertThat(profiles).hasSize(100).containsKey(1L).doesNotContainKey(150L);
+        assertThat(elapsedMs).isBetween(1000L, 2000L);
+    }
+
+    /**
+     * Client backed by a fake batch endpoint that answers each chunk after the
+     * given delay, or never when the chunk contains one of the stalled IDs.
+     */
+    private UserServiceClient client(Set<Long> stalledIds, Duration delay, int concurrency, long deadlineMs) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> respond(request, stalledIds, delay))
+                .build();
+        UserProfileCache profileCache = new UserProfileCache(new SimpleMeterRegistry(), 60, 0, 30, 10000);
+
+        UserServiceClient client = new UserServiceClient(webClient, new FollowingIdsCache(), profileCache);
+        ReflectionTestUtils.setField(client, "timeoutMs", 10000L);
+        ReflectionTestUtils.setField(client, "batchConcurrency", concurrency);
+        ReflectionTestUtils.setField(client, "pageDeadlineMs", deadlineMs);
+        return client;
+    }
+
+    private Mono<ClientResponse> respond(ClientRequest request, Set<Long> stalledIds, Duration delay) {
+        List<Long> ids = Arrays.stream(request.url().getQuery().split("&"))
+                .map(param -> Long.valueOf(param.substring(param.indexOf('=') + 1)))
+                .toList();
+        String body = ids.stream()
+                .map(id -> "{\"id\":" + id + ",\"username\":\"user" + id + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        Duration wait = ids.stream().anyMatch(stalledIds::contains) ? Duration.ofSeconds(30) : delay;
+
+        return Mono.fromCallable(() -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            return ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build();
+        })
+                .delayElement(wait)
+                .doOnNext(response -> inFlight.decrementAndGet());
+    }
+}
@@ -0,0 +1,68 @@
+package com.communityplatform.content.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class FollowingIdsCacheTest {
+
+    private FollowingIdsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FollowingIdsCache();
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void getLoadsOnceUntilEvicted() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(new long[] { 2L, 3L });
+        });
+        Optional<long[]> cached = cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(new long[0]);
+        });
+
+        assertThat(cached).hasValueSatisfying(ids -> assertThat(ids).containsExactly(2L, 3L));
+        assertThat(loads).hasValue(1);
+
+        cache.evict(1L);
+        cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(new long[0]);
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getDoesNotCacheFailedLoads() {
+        cache.get(1L, Optional::empty);
+
+        Optional<long[]> loaded = cache.get(1L, () -> Optional.of(new long[] { 4L }));
+
+        assertThat(loaded).hasValueSatisfying(ids -> assertThat(ids).containsExactly(4L));
+    }
+
+    @Test
+    void getDoesNotCacheLoadOverlappingEviction() {
+        cache.get(1L, () -> {
+            cache.evict(1L);
+            return Optional.of(new long[] { 5L });
+        });
+
+        Optional<long[]> reloaded = cache.get(1L, () -> Optional.of(new long[] { 6L }));
+
+        assertThat(reloaded).hasValueSatisfying(ids -> assertThat(ids).containsExactly(6L));
+    }
+}
@@ -0,0 +1,156 @@
+package com.communityplatform.content.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.communityplatform.content.media.MediaStorage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MediaObjectCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final MediaStorage storage = mock(MediaStorage.class);
+
+    private MediaObjectCache cache(long maxBytes, long maxObjectBytes) {
+        return new MediaObjectCache(storage, new SimpleMeterRegistry(), dir.toString(), maxBytes, maxObjectBytes, 0);
+    }
+
+    @Test
+    void getFillsOnceAndServesHitsFromDisk() throws Exception {
+        stubObject("a.png", "aaaa");
+        MediaObjectCache cache = cache(100, 100);
+
+        MediaObjectCache.CachedObject first = cache.get("media", "a.png").orElseThrow();
+        MediaObjectCache.CachedObject second = cache.get("media", "a.png").orElseThrow();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(Files.readString(first.file())).isEqualTo("aaaa");
+        assertThat(first.contentType()).isEqualTo("image/png");
+        verify(storage, times(1)).transferTo(eq("media"), eq("a.png"), eq(0L), eq(4L), any());
+    }
+
+    @Test
+    void getEvictsLeastRecentlyUsedBeyondMaxBytes() throws Exception {
+        stubObject("a.png", "aaaa");
+        stubObject("b.png", "bbbb");
+        stubObject("c.png", "cccc");
+        MediaObjectCache cache = cache(8, 8);
+
+        Path a = cache.get("media", "a.png").orElseThrow().file();
+        Path b = cache.get("media", "b.png").orElseThrow().file();
+        cache.get("media", "a.png");
+        cache.get("media", "c.png");
+        cache.purgeRetired();
+
+        assertThat(a).exists();
+        assertThat(b).doesNotExist();
+        cache.get("media", "b.png");
+        verify(storage, times(2)).transferTo(eq("media"), eq("b.png"), anyLong(), anyLong(), any());
+        verify(storage, times(1)).transferTo(eq("media"), eq("a.png"), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getSharesConcurrentFills() throws Exception {
+        CountDownLatch filling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(storage.stat("media", "a.png")).thenReturn(Optional.of(new MediaStorage.ObjectStat(4, "image/png")));
+        when(storage.transferTo(eq("media"), eq("a.png"), eq(0L), eq(4L), any())).thenAnswer(invocation -> {
+            filling.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return (long) invocation.<WritableByteChannel>getArgument(4)
+                    .write(ByteBuffer.wrap("aaaa".getBytes(StandardCharsets.UTF_8)));
+        });
+        MediaObjectCache cache = cache(100, 100);
+
+        CompletableFuture<Optional<MediaObjectCache.CachedObject>> first =
+                CompletableFuture.supplyAsync(() -> cache.get("media", "a.png"));
+        assertThat(filling.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Optional<MediaObjectCache.CachedObject>> second =
+                CompletableFuture.supplyAsync(() -> cache.get("media", "a.png"));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        verify(storage, times(1)).stat("media", "a.png");
+    }
+
+    @Test
+    void evictDropsCachedObject() throws Exception {
+        stubObject("a.png", "aaaa");
+        MediaObjectCache cache = cache(100, 100);
+        Path file = cache.get("media", "a.png").orElseThrow().file();
+
+        cache.evict("media", "a.png");
+        cache.purgeRetired();
+        when(storage.stat("media", "a.png")).thenReturn(Optional.empty());
+
+        assertThat(file).doesNotExist();
+        assertThat(cache.get("media", "a.png")).isEmpty();
+    }
+
+    @Test
+    void evictDuringFillKeepsFilledCopyOutOfCache() throws Exception {
+        when(storage.stat("media", "a.png")).thenReturn(Optional.of(new MediaStorage.ObjectStat(4, "image/png")));
+        MediaObjectCache cache = cache(100, 100);
+        when(storage.transferTo(eq("media"), eq("a.png"), eq(0L), eq(4L), any())).thenAnswer(invocation -> {
+            cache.evict("media", "a.png");
+            return (long) invocation.<WritableByteChannel>getArgument(4)
+                    .write(ByteBuffer.wrap("aaaa".getBytes(StandardCharsets.UTF_8)));
+        });
+
+        MediaObjectCache.CachedObject served = cache.get("media", "a.png").orElseThrow();
+        cache.get("media", "a.png");
+
+        assertThat(Files.readString(served.file())).isEqualTo("aaaa");
+        verify(storage, times(2)).transferTo(eq("media"), eq("a.png"), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getSkipsCachingOfLargeObjects() {
+        when(storage.stat("media", "video.mp4")).thenReturn(Optional.of(new MediaStorage.ObjectStat(50, "video/mp4")));
+
+        MediaObjectCache.CachedObject object = cache(100, 10).get("media", "video.mp4").orElseThrow();
+
+        assertThat(object.isCached()).isFalse();
+        assertThat(object.size()).isEqualTo(50L);
+        verify(storage, never()).transferTo(any(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getReturnsEmptyForMissingObject() {
+        when(storage.stat("media", "missing.png")).thenReturn(Optional.empty());
+
+        assertThat(cache(100, 100).get("media", "missing.png")).isEmpty();
+    }
+
+    private void stubObject(String key, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        when(storage.stat("media", key)).thenReturn(Optional.of(new MediaStorage.ObjectStat(bytes.length, "image/png")));
+        when(storage.transferTo(eq("media"), eq(key), eq(0L), eq((long) bytes.length), any()))
+                .thenAnswer(invocation -> (long) invocation.<WritableByteChannel>getArgument(4)
+                        .write(ByteBuffer.wrap(bytes)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.communityplatform.content.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PresignedUrlCacheTest {
+
+    private PresignedUrlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PresignedUrlCache();
+        ReflectionTestUtils.setField(cache, "minRemainingSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void getReusesSignatureWithEnoughLifetimeLeft() {
+        AtomicInteger signings = new AtomicInteger();
+
+        PresignedUrlCache.SignedUrl first = cache.get("media", "a.png", 900,
+                () -> "http://signed/" + signings.incrementAndGet());
+        PresignedUrlCache.SignedUrl second = cache.get("media", "a.png", 900,
+                () -> "http://signed/" + signings.incrementAndGet());
+
+        assertThat(second.url()).isEqualTo(first.url());
+        assertThat(second.expiresInSeconds()).isBetween(890L, 900L);
+        assertThat(signings).hasValue(1);
+    }
+
+    @Test
+    void getSignsAgainWhenCloseToExpiry() {
+        AtomicInteger signings = new AtomicInteger();
+
+        cache.get("media", "a.png", 200, () -> "http://signed/" + signings.incrementAndGet());
+        PresignedUrlCache.SignedUrl again = cache.get("media", "a.png", 200,
+                () -> "http://signed/" + signings.incrementAndGet());
+
+        assertThat(again.url()).isEqualTo("http://signed/2");
+    }
+
+    @Test
+    void evictDropsSignature() {
+        cache.get("media", "a.png", 900, () -> "http://signed/1");
+
+        cache.evict("media", "a.png");
+
+        assertThat(cache.get("media", "a.png", 900, () -> "http://signed/2").url()).isEqualTo("http://signed/2");
+    }
+}
@@ -0,0 +1,194 @@
+package com.communityplatform.content.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.communityplatform.content.UserProfileDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class UserProfileCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserProfileCache(meterRegistry, 300, 300, 300, 2);
+    }
+
+    @Test
+    void getCoalescesConcurrentMisses() {
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<Optional<UserProfileDto>> response = Sinks.one();
+
+        Mono<Optional<UserProfileDto>> first = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return response.asMono();
+        });
+        Mono<Optional<UserProfileDto>> second = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Mono.just(Optional.empty());
+        });
+        response.tryEmitValue(Optional.of(profile(1L)));
+
+        assertThat(first.block()).contains(profile(1L));
+        assertThat(second.block()).contains(profile(1L));
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("user.profile.cache.coalesced").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getCachesMissingUsers() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Mono.just(Optional.empty());
+        }).block();
+        Optional<UserProfileDto> cached = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Mono.just(Optional.of(profile(1L)));
+        }).block();
+
+        assertThat(cached).isEmpty();
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("user.profile.cache.requests", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getDoesNotCacheFailedLoads() {
+        Optional<UserProfileDto> failed = cache.get(1L, id -> Mono.error(new IllegalStateException("down")))
+                .block();
+        Optional<UserProfileDto> loaded = cache.get(1L, id -> Mono.just(Optional.of(profile(1L)))).block();
+
+        assertThat(failed).isEmpty();
+        assertThat(loaded).contains(profile(1L));
+        assertThat(meterRegistry.counter("user.profile.cache.requests", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @Test
+    void getServesStaleValueWhileRefreshing() {
+        cache = new UserProfileCache(meterRegistry, 0, 300, 300, 2);
+        cache.get(1L, id -> Mono.just(Optional.of(profile(1L)))).block();
+
+        Sinks.One<Optional<UserProfileDto>> refresh = Sinks.one();
+        Optional<UserProfileDto> stale = cache.get(1L, id -> refresh.asMono()).block();
+
+        assertThat(stale).contains(profile(1L));
+
+        UserProfileDto renamed = new UserProfileDto(1L, "renamed", null, null, null);
+        refresh.tryEmitValue(Optional.of(renamed));
+        Optional<UserProfileDto> refreshed = cache.get(1L, id -> Mono.error(new IllegalStateException("down")))
+                .block();
+
+        assertThat(refreshed).contains(renamed);
+        assertThat(meterRegistry.counter("user.profile.cache.requests", "result", "stale").count()).isEqualTo(2);
+    }
+
+    @Test
+    void getAllLoadsOnlyUncachedUsersAndEvictsOverLimit() {
+        cache.get(1L, id -> Mono.just(Optional.of(profile(1L)))).block();
+
+        Map<Long, UserProfileDto> profiles = cache.getAll(List.of(1L, 2L, 3L), ids -> {
+            assertThat(ids).containsExactly(2L, 3L);
+            return Mono.just(Map.of(2L, Optional.of(profile(2L)), 3L, Optional.empty()));
+        }).block();
+
+        assertThat(profiles).containsOnlyKeys(1L, 2L);
+        assertThat(meterRegistry.counter("user.profile.cache.evictions").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.profile.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, id -> Mono.just(Optional.of(profile(1L)))).block();
+        cache.get(2L, id -> Mono.just(Optional.of(profile(2L)))).block();
+        cache.get(1L, id -> Mono.error(new IllegalStateException("not cached"))).block();
+
+        cache.get(3L, id -> Mono.just(Optional.of(profile(3L)))).block();
+        Optional<UserProfileDto> first = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Mono.just(Optional.empty());
+        }).block();
+        cache.get(2L, id -> {
+            loads.incrementAndGet();
+            return Mono.just(Optional.of(profile(2L)));
+        }).block();
+
+        assertThat(first).contains(profile(1L));
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("user.profile.cache.evictions").count()).isEqualTo(2);
+    }
+
+    @Test
+    void getAllSendsOnlyUsersNotAlreadyInFlight() {
+        cache = new UserProfileCache(meterRegistry, 300, 300, 300, 10);
+        List<List<Long>> requested = new ArrayList<>();
+        Sinks.One<Map<Long, Optional<UserProfileDto>>> firstResponse = Sinks.one();
+
+        Mono<Map<Long, UserProfileDto>> first = cache.getAll(List.of(1L, 2L), ids -> {
+            requested.add(ids);
+            return firstResponse.asMono();
+        });
+        Mono<Map<Long, UserProfileDto>> second = cache.getAll(List.of(2L, 3L), ids -> {
+            requested.add(ids);
+            return Mono.just(Map.of(3L, Optional.of(profile(3L))));
+        });
+        firstResponse.tryEmitValue(Map.of(1L, Optional.of(profile(1L)), 2L, Optional.of(profile(2L))));
+
+        assertThat(first.block()).containsOnlyKeys(1L, 2L);
+        assertThat(second.block()).containsOnlyKeys(2L, 3L);
+        assertThat(requested).containsExactly(List.of(1L, 2L), List.of(3L));
+        assertThat(meterRegistry.counter("user.profile.cache.coalesced").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllRefreshesStaleUsersOnce() {
+        cache = new UserProfileCache(meterRegistry, 0, 300, 300, 10);
+        cache.getAll(List.of(1L), ids -> Mono.just(Map.of(1L, Optional.of(profile(1L))))).block();
+        AtomicInteger refreshes = new AtomicInteger();
+        Sinks.One<Map<Long, Optional<UserProfileDto>>> refresh = Sinks.one();
+
+        for (int i = 0; i < 3; i++) {
+            Map<Long, UserProfileDto> stale = cache.getAll(List.of(1L), ids -> {
+                refreshes.incrementAndGet();
+                return refresh.asMono();
+            }).block();
+            assertThat(stale).containsOnlyKeys(1L);
+        }
+        refresh.tryEmitValue(Map.of(1L, Optional.of(profile(1L))));
+
+        assertThat(refreshes).hasValue(1);
+    }
+
+    @Test
+    void getAllSkipsUsersTheBatchDidNotResolve() {
+        Map<Long, UserProfileDto> profiles = cache.getAll(List.of(1L, 2L),
+                ids -> Mono.just(Map.of(1L, Optional.of(profile(1L))))).block();
+        AtomicInteger loads = new AtomicInteger();
+        cache.getAll(List.of(2L), ids -> {
+            loads.incrementAndGet();
+            return Mono.just(Map.of());
+        }).block();
+
+        assertThat(profiles).containsOnlyKeys(1L);
+        assertThat(loads).hasValue(1);
+    }
+
+    private static UserProfileDto profile(Long id) {
+        return new UserProfileDto(id, "user" + id, null, null, null);
+    }
+}
@@ -26,7 +26,9 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.communityplatform.content.dto.comment.CommentCreateDto;
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.comment.CommentResponseDto;
+import com.communityplatform.content.dto.comment.CommentThreadNodeDto;
 import com.communityplatform.content.dto.comment.CommentUpdateDto;
 import com.communityplatform.content.service.CommentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -148,4 +150,30 @@ class CommentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].content").value("Reply"));
     }
+
+    @Test
+    void getCommentThreadReturnsTree() throws Exception {
+        CommentThreadNodeDto reply = CommentThreadNodeDto.builder()
+                .comment(CommentResponseDto.builder().id(2L).build())
+                .replies(List.of())
+                .build();
+        CommentThreadNodeDto top = CommentThreadNodeDto.builder()
+                .comment(CommentResponseDto.builder().id(1L).build())
+                .replies(List.of(reply))
+                .replyCount(1)
+                .build();
+
+        when(commentService.getCommentThread(1L, 10L, null, 20, 2, 5))
+                .thenReturn(CursorPageResponseDto.<CommentThreadNodeDto>builder()
+                        .content(List.of(top))
+                        .size(20)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/posts/1/comments/thread")
+                        .header("X-User-Id", "10")
+                        .param("depth", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].comment.id").value(1L))
+                .andExpect(jsonPath("$.content[0].replies[0].comment.id").value(2L));
+    }
 }
@@ -19,7 +19,9 @@ import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.like.LikeResponseDto;
+import com.communityplatform.content.dto.like.LikeSummaryDto;
 import com.communityplatform.content.service.LikeService;
 
 @WebMvcTest(LikeController.class)
@@ -124,4 +126,33 @@ class LikeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(4L));
     }
+
+    @Test
+    void getPostLikesByCursorReturnsSlice() throws Exception {
+        LikeResponseDto like = LikeResponseDto.builder().id(2L).postId(5L).userId(10L).build();
+        when(likeService.getPostLikesByCursor(5L, null, 20))
+                .thenReturn(CursorPageResponseDto.<LikeResponseDto>builder()
+                        .content(List.of(like))
+                        .nextCursor("next")
+                        .hasNext(true)
+                        .size(20)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/posts/5/likes/cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getPostLikeSummaryReturnsOk() throws Exception {
+        LikeResponseDto like = LikeResponseDto.builder().id(2L).postId(5L).userId(10L).username("user").build();
+        when(likeService.getPostLikeSummary(5L, 3))
+                .thenReturn(LikeSummaryDto.builder().totalCount(42).likers(List.of(like)).build());
+
+        mockMvc.perform(get("/api/v1/posts/5/likes/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(42))
+                .andExpect(jsonPath("$.likers[0].username").value("user"));
+    }
 }
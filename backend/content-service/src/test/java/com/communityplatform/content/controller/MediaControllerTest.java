@@ -27,11 +27,16 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartDto;
 import com.communityplatform.content.dto.media.MediaPresignedConfirmRequestDto;
+import com.communityplatform.content.dto.media.MediaPresignedDownloadBatchRequestDto;
+import com.communityplatform.content.dto.media.MediaPresignedDownloadBatchResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedDownloadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadRequestDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaResponseDto;
+import com.communityplatform.content.dto.media.MediaStorageUsageDto;
 import com.communityplatform.content.dto.media.MediaUploadResponseDto;
 import com.communityplatform.content.service.MediaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -75,6 +80,26 @@ class MediaControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void streamMediaReturnsCreated() throws Exception {
+        MediaUploadResponseDto response = MediaUploadResponseDto.builder()
+                .id(3L)
+                .url("http://example.com/stream")
+                .build();
+
+        when(mediaService.streamMedia(any(), eq(4L), eq("image.png"), eq(MediaType.IMAGE_PNG_VALUE), eq(null),
+                eq(10L)))
+                .thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/media/stream")
+                        .header("X-User-Id", "10")
+                        .header("X-Filename", "image.png")
+                        .contentType(MediaType.IMAGE_PNG)
+                        .content("data".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3L));
+    }
+
     @Test
     void createPresignedUploadReturnsOk() throws Exception {
         MediaPresignedUploadRequestDto request = MediaPresignedUploadRequestDto.builder()
@@ -97,6 +122,19 @@ class MediaControllerTest {
                 .andExpect(jsonPath("$.uploadUrl").value("http://upload"));
     }
 
+    @Test
+    void listMultipartPartsReturnsParts() throws Exception {
+        when(mediaService.listMultipartParts("stored.mp4", "upload-1")).thenReturn(List.of(
+                MediaMultipartPartDto.builder().partNumber(1).etag("etag-1").size(8L).build()));
+
+        mockMvc.perform(get("/api/v1/media/presigned/multipart/parts")
+                        .param("objectKey", "stored.mp4")
+                        .param("uploadId", "upload-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].partNumber").value(1))
+                .andExpect(jsonPath("$[0].etag").value("etag-1"));
+    }
+
     @Test
     void confirmPresignedUploadReturnsCreated() throws Exception {
         MediaPresignedConfirmRequestDto request = MediaPresignedConfirmRequestDto.builder()
@@ -148,6 +186,29 @@ class MediaControllerTest {
                 .andExpect(jsonPath("$.downloadUrl").value("http://download"));
     }
 
+    @Test
+    void createPresignedDownloadsReturnsOk() throws Exception {
+        MediaPresignedDownloadBatchRequestDto request = MediaPresignedDownloadBatchRequestDto.builder()
+                .mediaIds(List.of(4L, 5L))
+                .build();
+        MediaPresignedDownloadBatchResponseDto response = MediaPresignedDownloadBatchResponseDto.builder()
+                .downloads(List.of(MediaPresignedDownloadResponseDto.builder()
+                        .mediaId(4L)
+                        .downloadUrl("http://download")
+                        .build()))
+                .missingIds(List.of(5L))
+                .build();
+
+        when(mediaService.createPresignedDownloads(List.of(4L, 5L))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/media/presigned-download/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.downloads[0].downloadUrl").value("http://download"))
+                .andExpect(jsonPath("$.missingIds[0]").value(5));
+    }
+
     @Test
     void getMediaByUserReturnsOk() throws Exception {
         MediaResponseDto response = MediaResponseDto.builder()
@@ -171,4 +232,35 @@ class MediaControllerTest {
 
         verify(mediaService).deleteMedia(6L, 10L);
     }
+
+    @Test
+    void getStorageUsageReturnsOk() throws Exception {
+        when(mediaService.getStorageUsage(10L)).thenReturn(MediaStorageUsageDto.builder()
+                .userId(10L)
+                .fileCount(2L)
+                .totalBytes(2048L)
+                .quotaBytes(4096L)
+                .build());
+
+        mockMvc.perform(get("/api/v1/media/user/10/usage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalBytes").value(2048))
+                .andExpect(jsonPath("$.quotaBytes").value(4096));
+    }
+
+    @Test
+    void getMediaByUserIdByCursorReturnsOk() throws Exception {
+        MediaResponseDto response = MediaResponseDto.builder().id(3L).build();
+        when(mediaService.getMediaByUserIdByCursor(10L, null, 20))
+                .thenReturn(CursorPageResponseDto.<MediaResponseDto>builder()
+                        .content(List.of(response))
+                        .hasNext(false)
+                        .size(20)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/media/user/10/cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(3))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
 }
@@ -0,0 +1,106 @@
+package com.communityplatform.content.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.communityplatform.content.cache.MediaObjectCache;
+import com.communityplatform.content.media.MediaStorage;
+
+@WebMvcTest(MediaProxyController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {"api.base-path=/api/v1", "minio.bucket-name=media"})
+class MediaProxyControllerTest {
+
+    private static final String ETAG = "\"abc-a\"";
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MediaObjectCache cache;
+
+    @MockBean
+    private MediaStorage storage;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(dir.resolve("a.png"), "0123456789", StandardCharsets.UTF_8);
+        when(cache.get("media", "a.png"))
+                .thenReturn(Optional.of(new MediaObjectCache.CachedObject(file, 10, "image/png", ETAG)));
+    }
+
+    @Test
+    void downloadReturnsCachedObject() throws Exception {
+        mockMvc.perform(get("/api/v1/media/proxy/a.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void downloadReturnsRequestedRange() throws Exception {
+        mockMvc.perform(get("/api/v1/media/proxy/a.png").header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+                .andExpect(content().string("234"));
+    }
+
+    @Test
+    void downloadIgnoresRangeWithStaleIfRange() throws Exception {
+        mockMvc.perform(get("/api/v1/media/proxy/a.png")
+                        .header(HttpHeaders.RANGE, "bytes=2-4")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void downloadRejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/api/v1/media/proxy/a.png").header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    void downloadReturnsNotModifiedForMatchingEtag() throws Exception {
+        mockMvc.perform(get("/api/v1/media/proxy/a.png").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void downloadReturnsNotFoundForMissingObject() throws Exception {
+        when(cache.get("media", "missing.png")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/media/proxy/missing.png"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -25,6 +25,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.post.PostCreateDto;
 import com.communityplatform.content.dto.post.PostResponseDto;
 import com.communityplatform.content.dto.post.PostSummaryDto;
@@ -73,6 +74,21 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void createPostRejectsTooManyMedia() throws Exception {
+        PostCreateDto request = PostCreateDto.builder()
+                .title("Title")
+                .content("Content")
+                .mediaIds(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L))
+                .build();
+
+        mockMvc.perform(post("/api/v1/posts")
+                        .header("X-User-Id", "10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getPostReturnsOk() throws Exception {
         PostResponseDto response = PostResponseDto.builder()
@@ -192,4 +208,24 @@ class PostControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].title").value("UserPost"));
     }
+
+    @Test
+    void getFeedPostsByCursorReturnsOk() throws Exception {
+        PostSummaryDto summary = PostSummaryDto.builder().id(11L).title("Feed").build();
+        when(postService.getFeedPostsByCursor(10L, "abc", 5))
+                .thenReturn(CursorPageResponseDto.<PostSummaryDto>builder()
+                        .content(List.of(summary))
+                        .nextCursor("next")
+                        .hasNext(true)
+                        .size(5)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/posts/feed/cursor")
+                        .param("cursor", "abc")
+                        .param("size", "5")
+                        .header("X-User-Id", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Feed"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
 }
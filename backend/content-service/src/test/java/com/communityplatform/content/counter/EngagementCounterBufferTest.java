@@ -0,0 +1,105 @@
+package com.communityplatform.content.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.repository.CommentRepository;
+import com.communityplatform.content.repository.PostRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementCounterBufferTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EngagementCounterBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new EngagementCounterBuffer(postRepository, commentRepository,
+                new TransactionTemplate(transactionManager), meterRegistry);
+    }
+
+    @Test
+    void flushWritesAccumulatedDeltasOnce() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> buffer.addPostLikes(1L, 1));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        buffer.addPostLikes(2L, 1);
+        buffer.addPostLikes(2L, -1);
+        buffer.addPostComments(1L, 2);
+        buffer.addCommentLikes(7L, -1);
+
+        buffer.flush();
+
+        verify(postRepository).addLikeCounts(Map.of(1L, 1000L));
+        verify(postRepository).addCommentCounts(Map.of(1L, 2L));
+        verify(commentRepository).addLikeCounts(Map.of(7L, -1L));
+        assertThat(meterRegistry.timer("engagement.counters.flush.lag").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("engagement.counters.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void flushSkipsEmptyBuffer() {
+        buffer.flush();
+
+        verifyNoInteractions(postRepository, commentRepository, transactionManager);
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextFlush() {
+        buffer.addPostLikes(1L, 3);
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(postRepository).addLikeCounts(any());
+
+        buffer.flush();
+        buffer.addPostLikes(1L, 1);
+        buffer.flush();
+
+        verify(postRepository).addLikeCounts(Map.of(1L, 3L));
+        verify(postRepository).addLikeCounts(Map.of(1L, 4L));
+        verify(commentRepository, never()).addLikeCounts(Map.of(1L, 4L));
+        assertThat(meterRegistry.counter("engagement.counters.flush.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void drainFlushesPendingDeltas() {
+        buffer.addCommentLikes(5L, 1);
+
+        buffer.drain();
+        buffer.drain();
+
+        verify(commentRepository, times(1)).addLikeCounts(Map.of(5L, 1L));
+    }
+}
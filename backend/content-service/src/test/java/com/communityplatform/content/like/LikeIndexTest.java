@@ -0,0 +1,93 @@
+package com.communityplatform.content.like;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.communityplatform.content.event.LikeChangedEvent;
+import com.communityplatform.content.event.LikeChangedEvent.Target;
+import com.communityplatform.content.repository.LikeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LikeIndexTest {
+
+    private final LikeRepository likeRepository = mock(LikeRepository.class);
+
+    private LikeIndex index(long maxBytes, int maxLoadsPerRead) {
+        return new LikeIndex(likeRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                maxBytes, 900, maxLoadsPerRead);
+    }
+
+    @Test
+    void loadsLazilyOnceAndAppliesCommittedChanges() {
+        when(likeRepository.findUserIdsByPostId(1L)).thenReturn(List.of(10L, 11L));
+        LikeIndex index = index(1 << 20, 4);
+
+        assertThat(index.count(Target.POST, 1L)).isEmpty();
+        assertThat(index.hasLiked(Target.POST, 1L, 10L)).contains(true);
+
+        index.onLikeChanged(LikeChangedEvent.post(1L, 12L, true));
+        index.onLikeChanged(LikeChangedEvent.post(1L, 10L, false));
+        index.onLikeChanged(LikeChangedEvent.post(2L, 12L, true));
+
+        assertThat(index.hasLiked(Target.POST, 1L, 12L)).contains(true);
+        assertThat(index.hasLiked(Target.POST, 1L, 10L)).contains(false);
+        assertThat(index.count(Target.POST, 1L)).isEqualTo(OptionalLong.of(2));
+        assertThat(index.count(Target.POST, 2L)).isEmpty();
+        verify(likeRepository, times(1)).findUserIdsByPostId(1L);
+    }
+
+    @Test
+    void lookupLoadsBoundedNumberOfBitmaps() {
+        when(likeRepository.findUserIdsByCommentId(1L)).thenReturn(List.of(10L));
+        when(likeRepository.findUserIdsByCommentId(2L)).thenReturn(List.of());
+        LikeIndex index = index(1 << 20, 2);
+
+        LikeIndex.Lookup lookup = index.lookup(Target.COMMENT, 10L, List.of(1L, 2L, 3L));
+
+        assertThat(lookup.liked()).containsExactly(1L);
+        assertThat(lookup.unresolved()).containsExactly(3L);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        when(likeRepository.findUserIdsByPostId(1L))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(List.of(10L));
+        LikeIndex index = index(1 << 20, 4);
+
+        assertThat(index.hasLiked(Target.POST, 1L, 10L)).isEqualTo(Optional.empty());
+        assertThat(index.hasLiked(Target.POST, 1L, 10L)).contains(true);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondBudget() throws InterruptedException {
+        List<Long> likers = LongStream.rangeClosed(1, 1000).boxed().toList();
+        when(likeRepository.findUserIdsByPostId(1L)).thenReturn(likers);
+        when(likeRepository.findUserIdsByPostId(2L)).thenReturn(likers);
+        when(likeRepository.findUserIdsByPostId(3L)).thenReturn(likers);
+        long bitmapBytes = LikerBitmap.of(likers.stream().mapToLong(Long::longValue).toArray()).sizeInBytes();
+        LikeIndex index = index(bitmapBytes * 2 + bitmapBytes / 2, 4);
+
+        index.hasLiked(Target.POST, 1L, 1L);
+        index.hasLiked(Target.POST, 2L, 1L);
+        Thread.sleep(150);
+        index.hasLiked(Target.POST, 1L, 1L);
+        index.hasLiked(Target.POST, 3L, 1L);
+
+        assertThat(index.count(Target.POST, 1L)).isPresent();
+        assertThat(index.count(Target.POST, 2L)).isEmpty();
+        assertThat(index.count(Target.POST, 3L)).isPresent();
+    }
+}
@@ -0,0 +1,124 @@
+package com.communityplatform.content.like;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.communityplatform.content.entity.LikeEntity;
+import com.communityplatform.content.event.LikeChangedEvent.Target;
+import com.communityplatform.content.exception.LikeWriteUnavailableException;
+import com.communityplatform.content.repository.LikeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LikeWriteQueueTest {
+
+    private final LikeRepository likeRepository = mock(LikeRepository.class);
+
+    private LikeWriteQueue queue(int capacity) {
+        return new LikeWriteQueue(likeRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry(), true, capacity, 0, 500, 2, 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesBatchAndCoalescesToggles() throws Exception {
+        when(likeRepository.deleteLikes(anyList())).thenReturn(new int[0]);
+        when(likeRepository.insertLikesIfAbsent(anyList())).thenReturn(new int[] { 1, 0 });
+        when(likeRepository.findByPostIdInAndUserIdIn(List.of(1L), List.of(10L)))
+                .thenReturn(List.of(LikeEntity.builder().id(99L).userId(10L).postId(1L).build()));
+        LikeWriteQueue queue = queue(10);
+
+        CompletableFuture<LikeWriteQueue.Result> first = queue.enqueue(Target.POST, 1L, 10L, true);
+        CompletableFuture<LikeWriteQueue.Result> toggle = queue.enqueue(Target.POST, 1L, 10L, false);
+        CompletableFuture<LikeWriteQueue.Result> last = queue.enqueue(Target.POST, 1L, 10L, true);
+        CompletableFuture<LikeWriteQueue.Result> other = queue.enqueue(Target.COMMENT, 2L, 11L, true);
+        queue.flushQueued();
+
+        assertThat(first.get().status()).isEqualTo(LikeWriteQueue.Status.SUPERSEDED);
+        assertThat(toggle.get().status()).isEqualTo(LikeWriteQueue.Status.SUPERSEDED);
+        assertThat(last.get().status()).isEqualTo(LikeWriteQueue.Status.APPLIED);
+        assertThat(last.get().likeId()).isEqualTo(99L);
+        assertThat(other.get()).isEqualTo(LikeWriteQueue.Result.UNCHANGED);
+
+        ArgumentCaptor<List<LikeEntity>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(likeRepository, times(1)).insertLikesIfAbsent(inserted.capture());
+        assertThat(inserted.getValue()).extracting(LikeEntity::getPostId).containsExactly(1L, null);
+    }
+
+    @Test
+    void resolvesUnreportedCountsFromStoredLikes() throws Exception {
+        LikeEntity existing = LikeEntity.builder().id(50L).userId(10L).postId(2L).build();
+        LikeEntity added = LikeEntity.builder().id(51L).userId(10L).postId(1L).build();
+        when(likeRepository.deleteLikes(anyList())).thenReturn(new int[] { Statement.SUCCESS_NO_INFO });
+        when(likeRepository.insertLikesIfAbsent(anyList()))
+                .thenReturn(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO });
+        when(likeRepository.findByPostIdInAndUserIdIn(List.of(1L, 2L), List.of(10L)))
+                .thenReturn(List.of(existing), List.of(existing, added));
+        when(likeRepository.findByCommentIdInAndUserIdIn(List.of(3L), List.of(10L)))
+                .thenReturn(List.of(LikeEntity.builder().id(60L).userId(10L).commentId(3L).build()));
+        LikeWriteQueue queue = queue(10);
+
+        CompletableFuture<LikeWriteQueue.Result> inserted = queue.enqueue(Target.POST, 1L, 10L, true);
+        CompletableFuture<LikeWriteQueue.Result> duplicate = queue.enqueue(Target.POST, 2L, 10L, true);
+        CompletableFuture<LikeWriteQueue.Result> unliked = queue.enqueue(Target.COMMENT, 3L, 10L, false);
+        queue.flushQueued();
+
+        assertThat(inserted.get().status()).isEqualTo(LikeWriteQueue.Status.APPLIED);
+        assertThat(inserted.get().likeId()).isEqualTo(51L);
+        assertThat(duplicate.get()).isEqualTo(LikeWriteQueue.Result.UNCHANGED);
+        assertThat(unliked.get().status()).isEqualTo(LikeWriteQueue.Status.APPLIED);
+    }
+
+    @Test
+    void rejectsWhenFull() {
+        LikeWriteQueue queue = queue(1);
+        queue.enqueue(Target.POST, 1L, 10L, true);
+
+        assertThatThrownBy(() -> queue.enqueue(Target.POST, 1L, 11L, true))
+                .isInstanceOf(LikeWriteUnavailableException.class);
+    }
+
+    @Test
+    void failedBatchFailsEveryCaller() {
+        when(likeRepository.deleteLikes(anyList())).thenThrow(new IllegalStateException("deadlock"));
+        LikeWriteQueue queue = queue(10);
+
+        CompletableFuture<LikeWriteQueue.Result> result = queue.enqueue(Target.POST, 1L, 10L, false);
+        queue.flushQueued();
+
+        assertThatThrownBy(result::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void writersCompleteSubmittedWrites() {
+        when(likeRepository.deleteLikes(anyList())).thenReturn(new int[] { 1 });
+        when(likeRepository.insertLikesIfAbsent(anyList())).thenReturn(new int[0]);
+        LikeWriteQueue queue = new LikeWriteQueue(likeRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+                true, 10, 1, 500, 2, 5000);
+        queue.start();
+        try {
+            assertThat(queue.submit(Target.COMMENT, 2L, 10L, false).status())
+                    .isEqualTo(LikeWriteQueue.Status.APPLIED);
+        } finally {
+            queue.stop();
+        }
+    }
+}
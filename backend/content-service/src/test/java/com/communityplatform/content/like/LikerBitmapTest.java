@@ -0,0 +1,82 @@
+package com.communityplatform.content.like;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LikerBitmapTest {
+
+    @Test
+    void buildsFromUnsortedIdsWithDuplicates() {
+        LikerBitmap bitmap = LikerBitmap.of(new long[] { 70000L, 3L, 3L, 1L << 40, 65535L });
+
+        assertThat(bitmap.cardinality()).isEqualTo(4);
+        assertThat(bitmap.contains(3L)).isTrue();
+        assertThat(bitmap.contains(65535L)).isTrue();
+        assertThat(bitmap.contains(70000L)).isTrue();
+        assertThat(bitmap.contains(1L << 40)).isTrue();
+        assertThat(bitmap.contains(4L)).isFalse();
+    }
+
+    @Test
+    void updatesAreCopyOnWrite() {
+        LikerBitmap original = LikerBitmap.of(new long[] { 1L, 2L });
+
+        LikerBitmap added = original.with(100000L);
+        LikerBitmap removed = added.without(1L).without(2L);
+
+        assertThat(original.contains(100000L)).isFalse();
+        assertThat(added.cardinality()).isEqualTo(3);
+        assertThat(removed.cardinality()).isEqualTo(1);
+        assertThat(removed.contains(1L)).isFalse();
+        assertThat(added.with(1L)).isSameAs(added);
+        assertThat(added.without(5L)).isSameAs(added);
+    }
+
+    @Test
+    void denseRangeSwitchesToBitmapAndBack() {
+        long[] ids = new long[10000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        LikerBitmap dense = LikerBitmap.of(ids);
+
+        assertThat(dense.sizeInBytes()).isLessThan(10000L * 2);
+        assertThat(dense.contains(5000L)).isTrue();
+
+        LikerBitmap sparse = dense;
+        for (int i = 1; i <= 6000; i++) {
+            sparse = sparse.without(i);
+        }
+        assertThat(sparse.cardinality()).isEqualTo(4000);
+        assertThat(sparse.contains(6000L)).isFalse();
+        assertThat(sparse.contains(6001L)).isTrue();
+        assertThat(sparse.with(6000L).contains(6000L)).isTrue();
+    }
+
+    @Test
+    void matchesHashSetForRandomUpdates() {
+        Random random = new Random(42);
+        Set<Long> expected = new HashSet<>();
+        LikerBitmap bitmap = LikerBitmap.EMPTY;
+        for (int i = 0; i < 20000; i++) {
+            long id = random.nextInt(200000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(id);
+                bitmap = bitmap.without(id);
+            } else {
+                expected.add(id);
+                bitmap = bitmap.with(id);
+            }
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        for (long id = 0; id < 200000; id++) {
+            assertThat(bitmap.contains(id)).isEqualTo(expected.contains(id));
+        }
+    }
+}
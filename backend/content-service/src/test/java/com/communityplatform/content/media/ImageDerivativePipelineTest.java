@@ -0,0 +1,150 @@
+package com.communityplatform.content.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.communityplatform.content.entity.DerivativeStatus;
+import com.communityplatform.content.entity.MediaEntity;
+import com.communityplatform.content.entity.MediaVariantEntity;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaVariantRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageDerivativePipelineTest {
+
+    private final MediaRepository mediaRepository = mock(MediaRepository.class);
+    private final MediaVariantRepository variantRepository = mock(MediaVariantRepository.class);
+    private final MediaStorage storage = mock(MediaStorage.class);
+    private final ImageDerivativePipeline pipeline = new ImageDerivativePipeline(mediaRepository, variantRepository,
+            storage, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), true,
+            "thumb:160,feed:1080", 1, 10, 0.8f, 1024 * 1024, 10_000_000, 60000);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processStoresVariantsSmallerThanOriginal() throws Exception {
+        MediaEntity media = pendingMedia(1L, null);
+        when(mediaRepository.findById(1L)).thenReturn(Optional.of(media));
+        when(storage.get("media", "abc.png")).thenReturn(new ByteArrayInputStream(png(800, 400)));
+        when(storage.put(eq("media"), eq("abc_thumb.jpg"), eq("image/jpeg"), any(byte[].class), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(storage.publicUrl("media", "abc_thumb.jpg")).thenReturn("http://localhost:9000/media/abc_thumb.jpg");
+        when(mediaRepository.updateDerivatives(1L, 800, 400, DerivativeStatus.READY)).thenReturn(1);
+
+        pipeline.process(1L);
+
+        ArgumentCaptor<List<MediaVariantEntity>> variants = ArgumentCaptor.forClass(List.class);
+        verify(variantRepository).saveAll(variants.capture());
+        assertThat(variants.getValue()).singleElement().satisfies(variant -> {
+            assertThat(variant.getLabel()).isEqualTo("thumb");
+            assertThat(variant.getWidth()).isEqualTo(160);
+            assertThat(variant.getHeight()).isEqualTo(80);
+            assertThat(variant.getUrl()).isEqualTo("http://localhost:9000/media/abc_thumb.jpg");
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processReusesVariantsOfIdenticalContent() throws Exception {
+        MediaEntity media = pendingMedia(2L, 30L);
+        MediaEntity source = pendingMedia(1L, 30L);
+        source.setDerivativeStatus(DerivativeStatus.READY);
+        source.setWidth(800);
+        source.setHeight(400);
+        MediaVariantEntity variant = MediaVariantEntity.builder()
+                .mediaId(1L)
+                .label("thumb")
+                .objectKey("abc_thumb.jpg")
+                .mimeType("image/jpeg")
+                .width(160)
+                .height(80)
+                .fileSize(100L)
+                .url("http://localhost:9000/media/abc_thumb.jpg")
+                .build();
+
+        when(mediaRepository.findById(2L)).thenReturn(Optional.of(media));
+        when(mediaRepository.findFirstByBlobIdAndDerivativeStatusOrderByIdAsc(30L, DerivativeStatus.READY))
+                .thenReturn(Optional.of(source));
+        when(variantRepository.findByMediaId(1L)).thenReturn(List.of(variant));
+        when(mediaRepository.updateDerivatives(2L, 800, 400, DerivativeStatus.READY)).thenReturn(1);
+
+        pipeline.process(2L);
+
+        verify(storage, never()).get(any(), any());
+        ArgumentCaptor<List<MediaVariantEntity>> variants = ArgumentCaptor.forClass(List.class);
+        verify(variantRepository).saveAll(variants.capture());
+        assertThat(variants.getValue()).singleElement().satisfies(copy -> {
+            assertThat(copy.getMediaId()).isEqualTo(2L);
+            assertThat(copy.getObjectKey()).isEqualTo("abc_thumb.jpg");
+        });
+    }
+
+    @Test
+    void processMarksUnreadableImageFailed() throws Exception {
+        when(mediaRepository.findById(1L)).thenReturn(Optional.of(pendingMedia(1L, null)));
+        when(storage.get("media", "abc.png")).thenReturn(new ByteArrayInputStream("not an image".getBytes()));
+
+        pipeline.process(1L);
+
+        verify(mediaRepository).updateDerivatives(1L, null, null, DerivativeStatus.FAILED);
+        verify(variantRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void acceptsOnlyDecodableImagesWithinSizeLimit() {
+        assertThat(pipeline.accepts("image/PNG", 1024)).isTrue();
+        assertThat(pipeline.accepts("video/mp4", 1024)).isFalse();
+        assertThat(pipeline.accepts("image/jpeg", 2 * 1024 * 1024)).isFalse();
+    }
+
+    @Test
+    void scaleReachesExactTargetSize() {
+        BufferedImage scaled = ImageDerivativePipeline.scale(
+                new BufferedImage(1000, 333, BufferedImage.TYPE_INT_RGB), 160, 53, false);
+
+        assertThat(scaled.getWidth()).isEqualTo(160);
+        assertThat(scaled.getHeight()).isEqualTo(53);
+    }
+
+    private static MediaEntity pendingMedia(Long id, Long blobId) {
+        return MediaEntity.builder()
+                .id(id)
+                .storedFilename("abc.png")
+                .bucketName("media")
+                .mimeType("image/png")
+                .blobId(blobId)
+                .derivativeStatus(DerivativeStatus.PENDING)
+                .build();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", bytes);
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.communityplatform.content.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.MultipartUploadNotFoundException;
+
+class LocalMediaStorageTest {
+
+    private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private LocalMediaStorage storage() {
+        return new LocalMediaStorage(root.toString(), "http://localhost/files/", "secret");
+    }
+
+    @Test
+    void storesReadsAndDeletesObjects() throws Exception {
+        LocalMediaStorage storage = storage();
+
+        MediaStorage.await(storage.put("media", "a/b.txt", "text/plain", DATA, 4), "put");
+
+        assertThat(storage.stat("media", "a/b.txt")).hasValueSatisfying(stat -> assertThat(stat.size()).isEqualTo(4L));
+        try (InputStream in = storage.get("media", "a/b.txt")) {
+            assertThat(in.readAllBytes()).isEqualTo("0123".getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        assertThat(storage.transferTo("media", "a/b.txt", 1, 10, Channels.newChannel(range))).isEqualTo(3L);
+        assertThat(range.toString(StandardCharsets.UTF_8)).isEqualTo("123");
+
+        storage.delete("media", "a/b.txt");
+        assertThat(storage.stat("media", "a/b.txt")).isEmpty();
+    }
+
+    @Test
+    void listsObjectsInKeyOrderPageByPage() throws Exception {
+        LocalMediaStorage storage = storage();
+        for (String key : List.of("c.txt", "a/b.txt", "b.txt", "a/a.txt")) {
+            MediaStorage.await(storage.put("media", key, "text/plain", DATA, 4), "put");
+        }
+
+        MediaStorage.ObjectPage first = storage.listObjects("media", null, 3);
+        MediaStorage.ObjectPage second = storage.listObjects("media", first.lastKey(), 3);
+
+        assertThat(first.objects()).extracting(MediaStorage.ListedObject::key)
+                .containsExactly("a/a.txt", "a/b.txt", "b.txt");
+        assertThat(first.truncated()).isTrue();
+        assertThat(second.objects()).extracting(MediaStorage.ListedObject::key).containsExactly("c.txt");
+        assertThat(second.truncated()).isFalse();
+        assertThat(storage.listObjects("other", null, 3).objects()).isEmpty();
+    }
+
+    @Test
+    void deletesObjectsInBulk() throws Exception {
+        LocalMediaStorage storage = storage();
+        MediaStorage.await(storage.put("media", "a.txt", "text/plain", DATA, 4), "put");
+
+        assertThat(storage.deleteAll("media", List.of("a.txt", "missing.txt"))).isEmpty();
+        assertThat(storage.stat("media", "a.txt")).isEmpty();
+    }
+
+    @Test
+    void rejectsKeysOutsideBucket() {
+        assertThatThrownBy(() -> storage().objectPath("media", "../other/secret.txt"))
+                .isInstanceOf(InvalidMediaException.class);
+        assertThatThrownBy(() -> storage().objectPath("../media", "a.txt"))
+                .isInstanceOf(InvalidMediaException.class);
+    }
+
+    @Test
+    void assemblesMultipartUploadInPartOrder() throws Exception {
+        LocalMediaStorage storage = storage();
+        String uploadId = MediaStorage.await(storage.createMultipartUpload("media", "video.mp4", "video/mp4"), "create");
+
+        storage.writePart("media", "video.mp4", uploadId, 2, new ByteArrayInputStream(DATA, 5, 5));
+        MediaStorage.await(storage.uploadPart("media", "video.mp4", uploadId, 1, DATA, 5), "part");
+
+        List<MediaStorage.StoredPart> parts = storage.listParts("media", "video.mp4", uploadId);
+        assertThat(parts).extracting(MediaStorage.StoredPart::partNumber).containsExactly(1, 2);
+        MediaStorage.await(storage.completeMultipartUpload("media", "video.mp4", uploadId, parts), "complete");
+
+        try (InputStream in = storage.get("media", "video.mp4")) {
+            assertThat(in.readAllBytes()).isEqualTo(DATA);
+        }
+        assertThatThrownBy(() -> storage.listParts("media", "video.mp4", uploadId))
+                .isInstanceOf(MultipartUploadNotFoundException.class);
+    }
+
+    @Test
+    void rejectsCompletionWithUnknownEtag() {
+        LocalMediaStorage storage = storage();
+        String uploadId = MediaStorage.await(storage.createMultipartUpload("media", "video.mp4", "video/mp4"), "create");
+        MediaStorage.await(storage.uploadPart("media", "video.mp4", uploadId, 1, DATA, 10), "part");
+
+        assertThatThrownBy(() -> MediaStorage.await(storage.completeMultipartUpload("media", "video.mp4", uploadId,
+                List.of(new MediaStorage.StoredPart(1, "\"deadbeef\"", 10L))), "complete"))
+                .isInstanceOf(InvalidMediaException.class);
+    }
+
+    @Test
+    void verifiesPresignedUrlSignatures() {
+        LocalMediaStorage storage = storage();
+        UriComponents url = UriComponentsBuilder
+                .fromUriString(storage.presignUploadPart("media", "video.mp4", "upload-1", 3, 60)).build();
+        long expires = Long.parseLong(url.getQueryParams().getFirst("expires"));
+        String signature = url.getQueryParams().getFirst("signature");
+
+        assertThat(url.getPath()).isEqualTo("/files/media/video.mp4");
+        assertThat(storage.verifySignature("PUT", "media", "video.mp4", "upload-1", 3, expires, signature)).isTrue();
+        assertThat(storage.verifySignature("PUT", "media", "video.mp4", "upload-1", 4, expires, signature)).isFalse();
+        assertThat(storage.verifySignature("GET", "media", "video.mp4", "upload-1", 3, expires, signature)).isFalse();
+        assertThat(storage.verifySignature("PUT", "media", "video.mp4", "upload-1", 3, expires - 3600, signature))
+                .isFalse();
+    }
+}
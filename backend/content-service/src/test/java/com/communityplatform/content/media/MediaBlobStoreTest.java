@@ -0,0 +1,79 @@
+package com.communityplatform.content.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.communityplatform.content.entity.MediaBlobEntity;
+import com.communityplatform.content.repository.MediaBlobRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MediaBlobStoreTest {
+
+    private final MediaBlobRepository blobRepository = mock(MediaBlobRepository.class);
+    private final MediaBlobStore store = new MediaBlobStore(blobRepository, mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry());
+
+    @Test
+    void registerFallsBackToBlobThatWonTheRace() {
+        MediaBlobEntity winner = blob(1L, 4L);
+        when(blobRepository.saveAndFlush(any(MediaBlobEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_blob_sha256"));
+        when(blobRepository.findBySha256("abc")).thenReturn(Optional.of(winner));
+        when(blobRepository.incrementRefCount(1L)).thenReturn(1);
+
+        MediaBlobStore.Registration registration = store.register("abc", "media", "mine.png", 4L);
+
+        assertThat(registration.duplicate()).isTrue();
+        assertThat(registration.blob()).isSameAs(winner);
+    }
+
+    @Test
+    void acquireIgnoresBlobWithDifferentSizeOrNoReferences() {
+        when(blobRepository.findBySha256("abc")).thenReturn(Optional.of(blob(1L, 4L)));
+        when(blobRepository.incrementRefCount(1L)).thenReturn(0);
+
+        assertThat(store.acquire("abc", 5L)).isEmpty();
+        assertThat(store.acquire("abc", 4L)).isEmpty();
+    }
+
+    @Test
+    void releaseReturnsBlobOnlyForLastReference() {
+        MediaBlobEntity blob = blob(1L, 4L);
+        when(blobRepository.findById(1L)).thenReturn(Optional.of(blob));
+        when(blobRepository.decrementRefCount(1L)).thenReturn(1);
+        when(blobRepository.deleteIfUnreferenced(1L)).thenReturn(0, 1);
+
+        assertThat(store.release(1L)).isEmpty();
+        assertThat(store.release(1L)).containsSame(blob);
+    }
+
+    @Test
+    void releaseOfUnknownBlobDoesNothing() {
+        when(blobRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(store.release(2L)).isEmpty();
+        verify(blobRepository, never()).decrementRefCount(2L);
+    }
+
+    private static MediaBlobEntity blob(Long id, long size) {
+        return MediaBlobEntity.builder()
+                .id(id)
+                .sha256("abc")
+                .bucketName("media")
+                .objectKey("original.png")
+                .fileSize(size)
+                .refCount(1)
+                .build();
+    }
+}
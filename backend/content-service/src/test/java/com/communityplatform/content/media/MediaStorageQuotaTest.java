@@ -0,0 +1,119 @@
+package com.communityplatform.content.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.communityplatform.content.entity.MediaStorageUsageEntity;
+import com.communityplatform.content.exception.StorageQuotaExceededException;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaStorageUsageRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MediaStorageQuotaTest {
+
+    private final MediaStorageUsageRepository usageRepository = mock(MediaStorageUsageRepository.class);
+    private final MediaRepository mediaRepository = mock(MediaRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MediaStorageQuota quota(long maxBytesPerUser) {
+        return new MediaStorageQuota(usageRepository, mediaRepository, mock(PlatformTransactionManager.class),
+                meterRegistry, maxBytesPerUser);
+    }
+
+    @Test
+    void checkAvailableReturnsRemainingBytes() {
+        when(usageRepository.findByUserId(10L)).thenReturn(Optional.of(usage(10L, 2, 60)));
+
+        assertThat(quota(100).checkAvailable(10L, 40)).isEqualTo(40L);
+    }
+
+    @Test
+    void checkAvailableRejectsFileThatCannotFit() {
+        when(usageRepository.findByUserId(10L)).thenReturn(Optional.of(usage(10L, 2, 60)));
+
+        assertThatThrownBy(() -> quota(100).checkAvailable(10L, 41))
+                .isInstanceOf(StorageQuotaExceededException.class);
+        assertThat(meterRegistry.get("media.quota.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void checkAvailableRejectsUnknownSizeWhenQuotaIsUsedUp() {
+        when(usageRepository.findByUserId(10L)).thenReturn(Optional.of(usage(10L, 2, 100)));
+
+        assertThatThrownBy(() -> quota(100).checkAvailable(10L, 0))
+                .isInstanceOf(StorageQuotaExceededException.class);
+    }
+
+    @Test
+    void checkAvailableSeedsTotalsOfUntrackedUser() {
+        when(usageRepository.findByUserId(10L)).thenReturn(Optional.empty());
+        List<MediaRepository.UploaderUsage> totals = List.of(uploaderUsage(10L, 3, 90));
+        when(mediaRepository.summarizeByUploaders(List.of(10L))).thenReturn(totals);
+
+        assertThat(quota(100).checkAvailable(10L, 10)).isEqualTo(10L);
+    }
+
+    @Test
+    void checkAvailableIsUnlimitedWithoutQuota() {
+        MediaStorageQuota quota = quota(0);
+
+        assertThat(quota.checkAvailable(10L, Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE);
+        assertThat(quota.quotaBytes()).isNull();
+        verify(usageRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void addFileCreatesSeededTotalsBeforeCharging() {
+        when(usageRepository.findByUserId(10L)).thenReturn(Optional.empty());
+        List<MediaRepository.UploaderUsage> totals = List.of(uploaderUsage(10L, 1, 20));
+        when(mediaRepository.summarizeByUploaders(List.of(10L))).thenReturn(totals);
+        when(usageRepository.addFile(10L, 30L, 100L)).thenReturn(1);
+
+        quota(100).addFile(10L, 30);
+
+        ArgumentCaptor<MediaStorageUsageEntity> created = ArgumentCaptor.forClass(MediaStorageUsageEntity.class);
+        verify(usageRepository).saveAndFlush(created.capture());
+        assertThat(created.getValue().getFileCount()).isEqualTo(1L);
+        assertThat(created.getValue().getTotalBytes()).isEqualTo(20L);
+        verify(usageRepository).addFile(10L, 30L, 100L);
+    }
+
+    @Test
+    void addFileRejectsFileWhenConditionalUpdateMatchesNothing() {
+        when(usageRepository.findByUserId(10L)).thenReturn(Optional.of(usage(10L, 2, 90)));
+        when(usageRepository.addFile(10L, 30L, 100L)).thenReturn(0);
+
+        assertThatThrownBy(() -> quota(100).addFile(10L, 30))
+                .isInstanceOf(StorageQuotaExceededException.class);
+        verify(usageRepository, never()).saveAndFlush(any());
+    }
+
+    private static MediaStorageUsageEntity usage(Long userId, long fileCount, long totalBytes) {
+        return MediaStorageUsageEntity.builder()
+                .userId(userId)
+                .fileCount(fileCount)
+                .totalBytes(totalBytes)
+                .build();
+    }
+
+    static MediaRepository.UploaderUsage uploaderUsage(Long userId, long fileCount, long totalBytes) {
+        MediaRepository.UploaderUsage usage = mock(MediaRepository.UploaderUsage.class);
+        when(usage.getUploaderUserId()).thenReturn(userId);
+        when(usage.getFileCount()).thenReturn(fileCount);
+        when(usage.getTotalBytes()).thenReturn(totalBytes);
+        return usage;
+    }
+}
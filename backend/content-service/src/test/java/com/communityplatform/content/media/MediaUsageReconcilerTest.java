@@ -0,0 +1,78 @@
+package com.communityplatform.content.media;
+
+import static com.communityplatform.content.media.MediaStorageQuotaTest.uploaderUsage;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.communityplatform.content.entity.MediaStorageUsageEntity;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaStorageUsageRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MediaUsageReconcilerTest {
+
+    private final MediaRepository mediaRepository = mock(MediaRepository.class);
+    private final MediaStorageUsageRepository usageRepository = mock(MediaStorageUsageRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MediaUsageReconciler reconciler(int chunkSize) {
+        return new MediaUsageReconciler(mediaRepository, usageRepository, mock(PlatformTransactionManager.class),
+                meterRegistry, true, chunkSize, 3_600_000, 300_000);
+    }
+
+    @Test
+    void reconcileChunkCorrectsDriftedAndMissingTotals() {
+        MediaStorageUsageEntity drifted = usage(1L, 5, 500);
+        MediaStorageUsageEntity accurate = usage(2L, 1, 10);
+        MediaStorageUsageEntity orphaned = usage(4L, 2, 20);
+        List<Long> userIds = List.of(1L, 2L, 3L, 4L);
+        when(usageRepository.findByUserIdInForUpdate(userIds)).thenReturn(List.of(drifted, accurate, orphaned));
+        List<MediaRepository.UploaderUsage> actual = List.of(
+                uploaderUsage(1L, 4, 400), uploaderUsage(2L, 1, 10), uploaderUsage(3L, 2, 30));
+        when(mediaRepository.summarizeByUploaders(userIds)).thenReturn(actual);
+
+        int fixed = reconciler(500).reconcileChunk(userIds);
+
+        assertThat(fixed).isEqualTo(3);
+        assertThat(drifted.getFileCount()).isEqualTo(4L);
+        assertThat(drifted.getTotalBytes()).isEqualTo(400L);
+        assertThat(orphaned.getFileCount()).isZero();
+        assertThat(orphaned.getTotalBytes()).isZero();
+        ArgumentCaptor<MediaStorageUsageEntity> saved = ArgumentCaptor.forClass(MediaStorageUsageEntity.class);
+        verify(usageRepository, times(3)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(MediaStorageUsageEntity::getUserId).containsExactly(1L, 3L, 4L);
+        assertThat(meterRegistry.get("media.quota.reconcile.corrected").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void reconcileWalksUsersInChunks() {
+        when(mediaRepository.findUploaderIdsAfter(eq(Long.MIN_VALUE), any())).thenReturn(List.of(1L, 2L));
+        when(mediaRepository.findUploaderIdsAfter(eq(2L), any())).thenReturn(List.of(3L));
+        when(usageRepository.findUserIdsAfter(eq(Long.MIN_VALUE), any())).thenReturn(List.of());
+
+        reconciler(2).reconcile();
+
+        verify(mediaRepository).summarizeByUploaders(List.of(1L, 2L));
+        verify(mediaRepository).summarizeByUploaders(List.of(3L));
+    }
+
+    private static MediaStorageUsageEntity usage(Long userId, long fileCount, long totalBytes) {
+        return MediaStorageUsageEntity.builder()
+                .userId(userId)
+                .fileCount(fileCount)
+                .totalBytes(totalBytes)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.communityplatform.content.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.communityplatform.content.cache.MediaObjectCache;
+import com.communityplatform.content.repository.MediaBlobRepository;
+import com.communityplatform.content.repository.MediaRepository;
+import com.communityplatform.content.repository.MediaVariantRepository;
+import com.communityplatform.content.repository.PendingUploadRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrphanObjectCollectorTest {
+
+    private static final Instant OLD = Instant.now().minusSeconds(7200);
+
+    private final MediaStorage storage = mock(MediaStorage.class);
+    private final MediaRepository mediaRepository = mock(MediaRepository.class);
+    private final MediaBlobRepository blobRepository = mock(MediaBlobRepository.class);
+    private final MediaVariantRepository variantRepository = mock(MediaVariantRepository.class);
+    private final PendingUploadRepository pendingUploadRepository = mock(PendingUploadRepository.class);
+    private final MediaObjectCache objectCache = mock(MediaObjectCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrphanObjectCollector collector(boolean dryRun) {
+        return new OrphanObjectCollector(storage, mediaRepository, blobRepository, variantRepository,
+                pendingUploadRepository, objectCache, meterRegistry, "media", true, dryRun, 3_600_000, 2, 0, 3_600_000, 0);
+    }
+
+    @Test
+    void sweepRemovesOnlyUnreferencedObjectsPastGracePeriod() {
+        List<MediaStorage.ListedObject> objects = List.of(
+                object("a.png", OLD), object("a_thumb.jpg", OLD), object("blob.png", OLD),
+                object("orphan.png", OLD), object("fresh.png", Instant.now()));
+        List<String> candidates = List.of("a.png", "a_thumb.jpg", "blob.png", "orphan.png");
+        when(mediaRepository.findStoredFilenamesIn("media", candidates)).thenReturn(List.of("a.png"));
+        when(blobRepository.findObjectKeysIn("media", candidates)).thenReturn(List.of("blob.png"));
+        when(variantRepository.findObjectKeysIn(candidates)).thenReturn(List.of("a_thumb.jpg"));
+        when(storage.deleteAll("media", List.of("orphan.png"))).thenReturn(List.of());
+
+        int removed = collector(false).sweep(objects, Instant.now().minusSeconds(3600));
+
+        assertThat(removed).isEqualTo(1);
+        verify(objectCache).evict("media", "orphan.png");
+        verify(objectCache, never()).evict("media", "a.png");
+        assertThat(meterRegistry.get("media.gc.scanned").counter().count()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("media.gc.deleted").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("media.gc.deleted.bytes").counter().count()).isEqualTo(4.0);
+    }
+
+    @Test
+    void sweepCountsObjectsThatCouldNotBeRemoved() {
+        List<MediaStorage.ListedObject> objects = List.of(object("a.png", OLD), object("b.png", OLD));
+        when(storage.deleteAll("media", List.of("a.png", "b.png"))).thenReturn(List.of("b.png"));
+
+        int removed = collector(false).sweep(objects, Instant.now().minusSeconds(3600));
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(meterRegistry.get("media.gc.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sweepOnlyCountsOrphansInDryRun() {
+        int found = collector(true).sweep(List.of(object("orphan.png", OLD)), Instant.now().minusSeconds(3600));
+
+        assertThat(found).isEqualTo(1);
+        assertThat(meterRegistry.get("media.gc.orphans").counter().count()).isEqualTo(1.0);
+        verify(storage, never()).deleteAll(any(), any());
+    }
+
+    @Test
+    void collectWalksBucketPageByPage() {
+        when(storage.listObjects("media", null, 2)).thenReturn(new MediaStorage.ObjectPage(
+                List.of(object("a.png", Instant.now()), object("b.png", Instant.now())), true));
+        when(storage.listObjects("media", "b.png", 2)).thenReturn(new MediaStorage.ObjectPage(
+                List.of(object("c.png", Instant.now())), false));
+
+        collector(false).collect();
+
+        verify(storage).listObjects("media", "b.png", 2);
+        verify(storage, never()).listObjects(eq("media"), eq("c.png"), anyInt());
+        verify(mediaRepository, never()).findStoredFilenamesIn(any(), any());
+        verify(pendingUploadRepository).deleteIssuedBefore(any());
+        assertThat(meterRegistry.get("media.gc.scanned").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void startSweepsOnItsOwnThread() throws Exception {
+        CompletableFuture<String> sweepThread = new CompletableFuture<>();
+        when(storage.listObjects("media", null, 2)).thenAnswer(invocation -> {
+            sweepThread.complete(Thread.currentThread().getName());
+            return new MediaStorage.ObjectPage(List.of(), false);
+        });
+        OrphanObjectCollector collector = collector(false);
+
+        collector.start();
+        try {
+            assertThat(sweepThread.get(5, TimeUnit.SECONDS)).isEqualTo("media-gc");
+        } finally {
+            collector.stop();
+        }
+    }
+
+    private static MediaStorage.ListedObject object(String key, Instant lastModified) {
+        return new MediaStorage.ListedObject(key, 4, lastModified);
+    }
+}
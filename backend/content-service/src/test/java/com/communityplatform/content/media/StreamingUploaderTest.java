@@ -0,0 +1,155 @@
+package com.communityplatform.content.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.MediaStorageException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StreamingUploaderTest {
+
+    private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    private final MediaStorage client = mock(MediaStorage.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StreamingUploader uploader(int partSize, long maxObjectBytes) {
+        PartBufferPool pool = new PartBufferPool(meterRegistry, partSize, 4);
+        return new StreamingUploader(client, pool, meterRegistry, 2, 1000, maxObjectBytes);
+    }
+
+    @Test
+    void storesSmallObjectWithSinglePut() throws Exception {
+        when(client.put(eq("media"), eq("key"), eq("text/plain"), any(byte[].class), eq(10)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        StreamingUploader.StoredObject stored = uploader(16, 100)
+                .upload(new ByteArrayInputStream(DATA), "media", "key", "text/plain", Long.MAX_VALUE, candidate -> false);
+
+        assertThat(stored.size()).isEqualTo(10L);
+        assertThat(stored.sha256()).isEqualTo(sha256(DATA));
+        verify(client, never()).createMultipartUpload(any(), any(), any());
+        assertThat(buffersInUse()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void uploadsPartsInOrderAndCompletes() throws Exception {
+        when(client.createMultipartUpload("media", "key", "text/plain"))
+                .thenReturn(CompletableFuture.completedFuture("upload-1"));
+        when(client.uploadPart(eq("media"), eq("key"), eq("upload-1"), anyInt(), any(byte[].class), anyInt()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        new MediaStorage.StoredPart(invocation.getArgument(3), "etag-" + invocation.getArgument(3),
+                                (int) invocation.getArgument(5))));
+        when(client.completeMultipartUpload(eq("media"), eq("key"), eq("upload-1"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        StreamingUploader.StoredObject stored = uploader(4, 100)
+                .upload(new ByteArrayInputStream(DATA), "media", "key", "text/plain", Long.MAX_VALUE, candidate -> false);
+
+        ArgumentCaptor<List<MediaStorage.StoredPart>> parts = ArgumentCaptor.forClass(List.class);
+        verify(client).completeMultipartUpload(eq("media"), eq("key"), eq("upload-1"), parts.capture());
+        assertThat(parts.getValue()).extracting(MediaStorage.StoredPart::partNumber).containsExactly(1, 2, 3);
+        verify(client).uploadPart(eq("media"), eq("key"), eq("upload-1"), eq(3), any(byte[].class), eq(2));
+        assertThat(stored.size()).isEqualTo(10L);
+        assertThat(stored.sha256()).isEqualTo(sha256(DATA));
+        assertThat(buffersInUse()).isZero();
+    }
+
+    @Test
+    void skipsWriteOfContentAlreadyStored() throws Exception {
+        when(client.createMultipartUpload("media", "key", "text/plain"))
+                .thenReturn(CompletableFuture.completedFuture("upload-1"));
+        when(client.uploadPart(eq("media"), eq("key"), eq("upload-1"), anyInt(), any(byte[].class), anyInt()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        new MediaStorage.StoredPart(invocation.getArgument(3), "etag", 4L)));
+        when(client.abortMultipartUpload("media", "key", "upload-1"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        String expected = sha256(DATA);
+
+        StreamingUploader.StoredObject small = uploader(16, 100).upload(new ByteArrayInputStream(DATA),
+                "media", "key", "text/plain", Long.MAX_VALUE, candidate -> candidate.sha256().equals(expected));
+        StreamingUploader.StoredObject large = uploader(4, 100).upload(new ByteArrayInputStream(DATA),
+                "media", "key", "text/plain", Long.MAX_VALUE, candidate -> candidate.sha256().equals(expected));
+
+        assertThat(small.written()).isFalse();
+        assertThat(large.written()).isFalse();
+        assertThat(large.sha256()).isEqualTo(expected);
+        verify(client, never()).put(any(), any(), any(), any(), anyInt());
+        verify(client).abortMultipartUpload("media", "key", "upload-1");
+        verify(client, never()).completeMultipartUpload(any(), any(), any(), any());
+        assertThat(buffersInUse()).isZero();
+    }
+
+    @Test
+    void abortsUploadLargerThanLimit() {
+        when(client.createMultipartUpload("media", "key", "text/plain"))
+                .thenReturn(CompletableFuture.completedFuture("upload-1"));
+        when(client.uploadPart(eq("media"), eq("key"), eq("upload-1"), anyInt(), any(byte[].class), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(new MediaStorage.StoredPart(1, "etag", 4L)));
+        when(client.abortMultipartUpload("media", "key", "upload-1"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatThrownBy(() -> uploader(4, 6)
+                .upload(new ByteArrayInputStream(DATA), "media", "key", "text/plain", Long.MAX_VALUE, candidate -> false))
+                .isInstanceOf(InvalidMediaException.class);
+
+        verify(client).abortMultipartUpload("media", "key", "upload-1");
+        verify(client, never()).completeMultipartUpload(any(), any(), any(), any());
+        assertThat(buffersInUse()).isZero();
+    }
+
+    @Test
+    void rejectsSmallUploadLargerThanCallerLimit() {
+        assertThatThrownBy(() -> uploader(16, 100)
+                .upload(new ByteArrayInputStream(DATA), "media", "key", "text/plain", 6, candidate -> false))
+                .isInstanceOf(InvalidMediaException.class);
+
+        verify(client, never()).put(any(), any(), any(), any(), anyInt());
+        assertThat(buffersInUse()).isZero();
+    }
+
+    @Test
+    void abortsUploadWhenPartFails() {
+        when(client.createMultipartUpload("media", "key", "text/plain"))
+                .thenReturn(CompletableFuture.completedFuture("upload-1"));
+        when(client.uploadPart(eq("media"), eq("key"), eq("upload-1"), anyInt(), any(byte[].class), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+        when(client.abortMultipartUpload("media", "key", "upload-1"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatThrownBy(() -> uploader(4, 100)
+                .upload(new ByteArrayInputStream(DATA), "media", "key", "text/plain", Long.MAX_VALUE, candidate -> false))
+                .isInstanceOf(MediaStorageException.class);
+
+        verify(client).abortMultipartUpload("media", "key", "upload-1");
+        assertThat(buffersInUse()).isZero();
+    }
+
+    private double buffersInUse() {
+        return meterRegistry.get("media.upload.buffers.in-use").gauge().value();
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
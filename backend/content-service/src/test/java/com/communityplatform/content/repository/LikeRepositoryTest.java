@@ -0,0 +1,52 @@
+package com.communityplatform.content.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.communityplatform.content.entity.LikeEntity;
+
+/**
+ * Runs without a test-managed transaction, like the unlike path of
+ * LikeServiceImpl, so statements that need one must start their own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class LikeRepositoryTest {
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @AfterEach
+    void cleanUp() {
+        likeRepository.deleteAll();
+    }
+
+    @Test
+    void deleteByUserIdAndPostIdRunsWithoutOuterTransaction() {
+        likeRepository.save(LikeEntity.builder().userId(10L).postId(1L).build());
+
+        assertThat(likeRepository.deleteByUserIdAndPostId(10L, 1L)).isEqualTo(1);
+        assertThat(likeRepository.deleteByUserIdAndPostId(10L, 1L)).isZero();
+        assertThat(likeRepository.existsByUserIdAndPostId(10L, 1L)).isFalse();
+    }
+
+    @Test
+    void deleteByUserIdAndCommentIdRunsWithoutOuterTransaction() {
+        likeRepository.save(LikeEntity.builder().userId(10L).commentId(2L).build());
+
+        assertThat(likeRepository.deleteByUserIdAndCommentId(10L, 2L)).isEqualTo(1);
+        assertThat(likeRepository.deleteByUserIdAndCommentId(10L, 2L)).isZero();
+        assertThat(likeRepository.existsByUserIdAndCommentId(10L, 2L)).isFalse();
+    }
+}
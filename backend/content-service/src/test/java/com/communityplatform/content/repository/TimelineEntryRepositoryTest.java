@@ -0,0 +1,46 @@
+package com.communityplatform.content.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.communityplatform.content.entity.PostEntity;
+
+/**
+ * Runs on H2 in MySQL mode, which accepts the INSERT IGNORE the JDBC batches use.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:timeline;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class TimelineEntryRepositoryTest {
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Test
+    void insertsSkipEntriesAlreadyInTheTimeline() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        PostEntity post = PostEntity.builder().id(10L).userId(1L).createdAt(createdAt).build();
+
+        timelineEntryRepository.insertEntries(10L, 1L, createdAt, List.of(2L, 3L));
+        timelineEntryRepository.insertEntries(10L, 1L, createdAt, List.of(2L, 3L));
+        timelineEntryRepository.insertPosts(2L, List.of(post));
+        timelineEntryRepository.insertMissingPosts(List.of(3L, 4L), List.of(post));
+
+        assertThat(timelineEntryRepository.count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,69 @@
+package com.communityplatform.content.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, "Sourdough starter", "Feeding a starter twice a day");
+        index.put(2L, "Weekend hike", "We baked sourdough bread after the hike");
+        index.put(3L, "Café reviews", "Best espresso in town");
+    }
+
+    @Test
+    void searchRanksTitleMatchesFirst() {
+        SearchHits hits = index.search("sourdough", 0, 10);
+
+        assertThat(hits.postIds()).containsExactly(1L, 2L);
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    void searchRequiresEveryTermAndMatchesLastAsPrefix() {
+        assertThat(index.search("sourdough bre", 0, 10).postIds()).containsExactly(2L);
+        assertThat(index.search("CAFE", 0, 10).postIds()).containsExactly(3L);
+        assertThat(index.search("sourdough espresso", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsDocuments() {
+        index.put(1L, "Pizza dough", "Long cold fermentation");
+        index.remove(2L);
+
+        assertThat(index.search("sourdough", 0, 10).total()).isZero();
+        assertThat(index.search("dough", 0, 10).postIds()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void searchPagesResults() {
+        SearchHits hits = index.search("sourdough", 1, 1);
+
+        assertThat(hits.postIds()).containsExactly(2L);
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    void segmentRoundTripKeepsResults() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        InvertedIndex restored = InvertedIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored.size()).isEqualTo(3);
+        assertThat(restored.search("sourdough", 0, 10)).isEqualTo(index.search("sourdough", 0, 10));
+    }
+}
@@ -0,0 +1,82 @@
+package com.communityplatform.content.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.PostChangedEvent;
+import com.communityplatform.content.repository.PostRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchIndexTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    void loadBuildsIndexAndQueuesChangesUntilReady() {
+        PostSearchIndex searchIndex = searchIndex();
+        PostEntity post = PostEntity.builder().id(1L).title("Sourdough").content("Starter").build();
+        PostEntity edited = PostEntity.builder().id(1L).title("Rye").content("Starter").build();
+        when(postRepository.findChangedSince(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(post));
+        when(postRepository.findAllById(List.of(1L))).thenReturn(List.of(edited));
+
+        searchIndex.onPostChanged(PostChangedEvent.saved(edited));
+        searchIndex.load();
+
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.search("sourdough", 0, 10).total()).isZero();
+        assertThat(searchIndex.search("rye", 0, 10).postIds()).containsExactly(1L);
+
+        searchIndex.onPostChanged(PostChangedEvent.deleted(1L));
+
+        assertThat(searchIndex.search("rye", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void snapshotIsReloadedAndCaughtUpOnRestart() throws Exception {
+        PostSearchIndex first = searchIndex();
+        when(postRepository.findChangedSince(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(PostEntity.builder().id(1L).title("Sourdough").build()))
+                .thenReturn(List.of(PostEntity.builder().id(2L).title("Espresso").build()));
+        first.load();
+        first.snapshot();
+
+        try (var files = Files.list(indexDir)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .singleElement()
+                    .satisfies(name -> assertThat(name).matches("segment-\\d+\\.idx"));
+        }
+
+        PostSearchIndex restarted = searchIndex();
+        restarted.load();
+
+        assertThat(restarted.search("sourdough", 0, 10).postIds()).containsExactly(1L);
+        assertThat(restarted.search("espresso", 0, 10).postIds()).containsExactly(2L);
+    }
+
+    private PostSearchIndex searchIndex() {
+        PostSearchIndex searchIndex = new PostSearchIndex(postRepository);
+        ReflectionTestUtils.setField(searchIndex, "indexDir", indexDir.toString());
+        return searchIndex;
+    }
+}
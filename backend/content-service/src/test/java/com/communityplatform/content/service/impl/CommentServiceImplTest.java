@@ -5,9 +5,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -22,16 +25,19 @@ import org.springframework.data.domain.Pageable;
 
 import com.communityplatform.content.UserProfileDto;
 import com.communityplatform.content.UserServiceClient;
+import com.communityplatform.content.counter.EngagementCounterBuffer;
 import com.communityplatform.content.dto.comment.CommentCreateDto;
 import com.communityplatform.content.dto.comment.CommentResponseDto;
+import com.communityplatform.content.dto.comment.CommentThreadNodeDto;
 import com.communityplatform.content.dto.comment.CommentUpdateDto;
 import com.communityplatform.content.entity.CommentEntity;
 import com.communityplatform.content.entity.PostEntity;
 import com.communityplatform.content.exception.UnauthorizedOperationException;
 import com.communityplatform.content.mapper.CommentMapper;
+import com.communityplatform.content.pagination.PageCursor;
 import com.communityplatform.content.repository.CommentRepository;
-import com.communityplatform.content.repository.LikeRepository;
 import com.communityplatform.content.repository.PostRepository;
+import com.communityplatform.content.service.LikeStateService;
 import com.communityplatform.content.service.PostService;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,7 +59,10 @@ class CommentServiceImplTest {
     private UserServiceClient userServiceClient;
 
     @Mock
-    private LikeRepository likeRepository;
+    private LikeStateService likeStateService;
+
+    @Mock
+    private EngagementCounterBuffer engagementCounterBuffer;
 
     @InjectMocks
     private CommentServiceImpl commentService;
@@ -119,7 +128,7 @@ class CommentServiceImplTest {
         when(commentMapper.toResponseDto(entity)).thenReturn(response);
         when(userServiceClient.getUserById(10L))
                 .thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, null)));
-        when(likeRepository.existsByUserIdAndCommentId(5L, 2L)).thenReturn(true);
+        when(likeStateService.hasLikedComment(5L, 2L)).thenReturn(true);
 
         CommentResponseDto result = commentService.getCommentById(2L, 5L);
 
@@ -169,7 +178,7 @@ class CommentServiceImplTest {
         when(commentRepository.findByPostIdAndActive(eq(1L), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 20), 1));
         when(commentMapper.toResponseDto(entity)).thenReturn(response);
-        when(userServiceClient.getUserById(10L)).thenReturn(Optional.empty());
+        when(userServiceClient.getUsersByIds(List.of(10L))).thenReturn(Map.of());
 
         var page = commentService.getCommentsByPostId(1L, null, PageRequest.of(0, 20));
 
@@ -184,11 +193,13 @@ class CommentServiceImplTest {
         when(commentRepository.findTopLevelComments(eq(1L), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 20), 1));
         when(commentMapper.toResponseDto(entity)).thenReturn(response);
-        when(userServiceClient.getUserById(10L)).thenReturn(Optional.empty());
+        when(userServiceClient.getUsersByIds(List.of(10L))).thenReturn(Map.of());
+        when(likeStateService.findLikedCommentIds(3L, List.of(6L))).thenReturn(java.util.Set.of(6L));
 
-        var page = commentService.getTopLevelComments(1L, null, PageRequest.of(0, 20));
+        var page = commentService.getTopLevelComments(1L, 3L, PageRequest.of(0, 20));
 
         assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0).getLikedByCurrentUser()).isTrue();
     }
 
     @Test
@@ -198,25 +209,105 @@ class CommentServiceImplTest {
 
         when(commentRepository.findRepliesByParentId(2L)).thenReturn(List.of(entity));
         when(commentMapper.toResponseDto(entity)).thenReturn(response);
-        when(userServiceClient.getUserById(10L)).thenReturn(Optional.empty());
+        when(userServiceClient.getUsersByIds(List.of(10L)))
+                .thenReturn(Map.of(10L, new UserProfileDto(10L, "user", "User", "Ten", null)));
 
         List<CommentResponseDto> result = commentService.getReplies(2L, null);
 
         assertThat(result).hasSize(1);
+        assertThat(result.get(0).getAuthorFullName()).isEqualTo("User Ten");
     }
 
     @Test
-    void incrementAndDecrementLikeCount() {
-        CommentEntity entity = CommentEntity.builder()
-                .id(8L)
-                .likeCount(1)
-                .build();
-
-        when(commentRepository.findById(8L)).thenReturn(Optional.of(entity));
-
+    void incrementAndDecrementLikeCountAreBuffered() {
         commentService.incrementLikeCount(8L);
         commentService.decrementLikeCount(8L);
 
-        verify(commentRepository, org.mockito.Mockito.times(2)).save(entity);
+        verify(engagementCounterBuffer).addCommentLikes(8L, 1);
+        verify(engagementCounterBuffer).addCommentLikes(8L, -1);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void getCommentsByPostIdByCursorStartsAtOldest() {
+        CommentEntity entity = CommentEntity.builder().id(9L).postId(1L).userId(10L).content("First").build();
+        CommentResponseDto response = CommentResponseDto.builder().id(9L).postId(1L).userId(10L).content("First").build();
+        PageCursor oldest = PageCursor.ascending(null);
+
+        when(commentRepository.findByPostIdAfter(1L, oldest.createdAt(), oldest.id(), PageRequest.of(0, 21)))
+                .thenReturn(List.of(entity));
+        when(commentMapper.toResponseDto(entity)).thenReturn(response);
+        when(userServiceClient.getUsersByIds(List.of(10L))).thenReturn(Map.of());
+
+        var slice = commentService.getCommentsByPostIdByCursor(1L, null, null, null);
+
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getCommentThreadAssemblesTreeFromOneQuery() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<CommentEntity> comments = List.of(
+                comment(1L, null, start),
+                comment(2L, 1L, start.plusMinutes(1)),
+                comment(3L, 2L, start.plusMinutes(2)),
+                comment(5L, null, start.plusMinutes(3)),
+                comment(6L, 1L, start.plusMinutes(4)));
+
+        when(commentRepository.findActiveByPostId(1L)).thenReturn(comments);
+        when(commentMapper.toResponseDto(any(CommentEntity.class))).thenAnswer(invocation -> {
+            CommentEntity entity = invocation.getArgument(0);
+            return CommentResponseDto.builder().id(entity.getId()).userId(entity.getUserId()).build();
+        });
+        when(userServiceClient.getUsersByIds(List.of(10L, 10L))).thenReturn(Map.of());
+        when(likeStateService.findLikedCommentIds(3L, List.of(1L, 2L))).thenReturn(java.util.Set.of(2L));
+
+        var thread = commentService.getCommentThread(1L, 3L, null, 1, 2, 1);
+
+        assertThat(thread.isHasNext()).isTrue();
+        assertThat(PageCursor.ascending(thread.getNextCursor())).isEqualTo(new PageCursor(start, 1L));
+
+        CommentThreadNodeDto top = thread.getContent().get(0);
+        assertThat(top.getComment().getId()).isEqualTo(1L);
+        assertThat(top.getReplyCount()).isEqualTo(2);
+        assertThat(top.isHasMoreReplies()).isTrue();
+        assertThat(PageCursor.ascending(top.getRepliesCursor())).isEqualTo(new PageCursor(start.plusMinutes(1), 2L));
+
+        CommentThreadNodeDto reply = top.getReplies().get(0);
+        assertThat(reply.getComment().getLikedByCurrentUser()).isTrue();
+        assertThat(reply.getReplies()).isEmpty();
+        assertThat(reply.isHasMoreReplies()).isTrue();
+        assertThat(reply.getRepliesCursor()).isNull();
+    }
+
+    @Test
+    void getReplyThreadContinuesAfterCursor() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        CommentEntity parent = comment(1L, null, start);
+        CommentEntity seen = comment(2L, 1L, start.plusMinutes(1));
+        CommentEntity next = comment(6L, 1L, start.plusMinutes(4));
+
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(parent));
+        when(commentRepository.findActiveByPostId(1L)).thenReturn(List.of(parent, seen, next));
+        when(commentMapper.toResponseDto(next)).thenReturn(CommentResponseDto.builder().id(6L).userId(10L).build());
+        when(userServiceClient.getUsersByIds(List.of(10L))).thenReturn(Map.of());
+
+        var thread = commentService.getReplyThread(1L, null, PageCursor.of(seen).encode(), 20, 3, 5);
+
+        assertThat(thread.getContent()).extracting(node -> node.getComment().getId()).containsExactly(6L);
+        assertThat(thread.isHasNext()).isFalse();
+    }
+
+    private static CommentEntity comment(Long id, Long parentId, LocalDateTime createdAt) {
+        return CommentEntity.builder()
+                .id(id)
+                .postId(1L)
+                .userId(10L)
+                .parentCommentId(parentId)
+                .content("Comment " + id)
+                .createdAt(createdAt)
+                .build();
     }
 }
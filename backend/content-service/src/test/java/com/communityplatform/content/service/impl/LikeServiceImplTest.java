@@ -1,11 +1,16 @@
 package com.communityplatform.content.service.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -13,18 +18,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import com.communityplatform.content.UserProfileDto;
 import com.communityplatform.content.UserServiceClient;
+import com.communityplatform.content.dto.CursorPageResponseDto;
 import com.communityplatform.content.dto.like.LikeResponseDto;
+import com.communityplatform.content.dto.like.LikeSummaryDto;
 import com.communityplatform.content.entity.CommentEntity;
 import com.communityplatform.content.entity.LikeEntity;
 import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.LikeChangedEvent;
+import com.communityplatform.content.event.LikeChangedEvent.Target;
+import com.communityplatform.content.exception.CommentNotFoundException;
+import com.communityplatform.content.exception.PostNotFoundException;
+import com.communityplatform.content.like.LikeWriteQueue;
 import com.communityplatform.content.mapper.LikeMapper;
+import com.communityplatform.content.pagination.PageCursor;
 import com.communityplatform.content.repository.CommentRepository;
 import com.communityplatform.content.repository.LikeRepository;
 import com.communityplatform.content.repository.PostRepository;
 import com.communityplatform.content.service.CommentService;
+import com.communityplatform.content.service.LikeStateService;
 import com.communityplatform.content.service.PostService;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,19 +67,25 @@ class LikeServiceImplTest {
     @Mock
     private UserServiceClient userServiceClient;
 
+    @Mock
+    private LikeStateService likeStateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LikeWriteQueue likeWriteQueue;
+
     @InjectMocks
     private LikeServiceImpl likeService;
 
     @Test
-    void likePostCreatesLike() {
-        when(postRepository.findByIdAndActive(1L)).thenReturn(Optional.of(PostEntity.builder().id(1L).build()));
-        when(likeRepository.existsByUserIdAndPostId(10L, 1L)).thenReturn(false);
-
-        LikeEntity saved = LikeEntity.builder().id(1L).userId(10L).postId(1L).build();
-        when(likeRepository.save(any(LikeEntity.class))).thenReturn(saved);
+    void likePostInsertsInOneStatement() {
+        when(likeRepository.insertPostLikeIfAbsent(eq(10L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(1L));
 
         LikeResponseDto response = LikeResponseDto.builder().id(1L).userId(10L).postId(1L).build();
-        when(likeMapper.toResponseDto(saved)).thenReturn(response);
+        when(likeMapper.toResponseDto(any(LikeEntity.class))).thenReturn(response);
         when(userServiceClient.getUserById(10L))
                 .thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, null)));
 
@@ -71,29 +93,93 @@ class LikeServiceImplTest {
 
         assertThat(result.getUsername()).isEqualTo("user");
         verify(postService).incrementLikeCount(1L);
+        verify(eventPublisher).publishEvent(LikeChangedEvent.post(1L, 10L, true));
+        verify(postRepository, never()).findByIdAndActive(any());
+        verify(likeRepository, never()).save(any());
     }
 
     @Test
-    void unlikePostDeletesLike() {
-        LikeEntity existing = LikeEntity.builder().id(2L).userId(10L).postId(1L).build();
+    void likePostTwiceReturnsExistingLike() {
+        LikeEntity existing = LikeEntity.builder().id(1L).userId(10L).postId(1L).build();
+        when(likeRepository.insertPostLikeIfAbsent(eq(10L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
         when(likeRepository.findByUserIdAndPostId(10L, 1L)).thenReturn(Optional.of(existing));
+        when(likeMapper.toResponseDto(existing))
+                .thenReturn(LikeResponseDto.builder().id(1L).userId(10L).postId(1L).build());
+
+        LikeResponseDto result = likeService.likePost(1L, 10L);
+
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(postService, never()).incrementLikeCount(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void likeMissingPostThrows() {
+        when(likeRepository.insertPostLikeIfAbsent(eq(10L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(likeRepository.findByUserIdAndPostId(10L, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> likeService.likePost(1L, 10L))
+                .isInstanceOf(PostNotFoundException.class);
+    }
+
+    @Test
+    void likePostUsesGroupCommitWhenEnabled() {
+        LocalDateTime committedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(likeWriteQueue.isEnabled()).thenReturn(true);
+        when(likeWriteQueue.submit(Target.POST, 1L, 10L, true))
+                .thenReturn(new LikeWriteQueue.Result(LikeWriteQueue.Status.APPLIED, 7L, committedAt));
+        when(likeMapper.toResponseDto(any(LikeEntity.class))).thenAnswer(invocation -> {
+            LikeEntity like = invocation.getArgument(0);
+            return LikeResponseDto.builder().id(like.getId()).createdAt(like.getCreatedAt()).build();
+        });
+
+        LikeResponseDto result = likeService.likePost(1L, 10L);
+
+        assertThat(result.getId()).isEqualTo(7L);
+        assertThat(result.getCreatedAt()).isEqualTo(committedAt);
+        verify(postService).incrementLikeCount(1L);
+        verify(likeRepository, never()).insertPostLikeIfAbsent(any(), any(), any());
+    }
+
+    @Test
+    void supersededUnlikeDoesNotTouchCounters() {
+        when(likeWriteQueue.isEnabled()).thenReturn(true);
+        when(likeWriteQueue.submit(Target.POST, 1L, 10L, false)).thenReturn(LikeWriteQueue.Result.SUPERSEDED);
+
+        likeService.unlikePost(1L, 10L);
+
+        verify(postService, never()).decrementLikeCount(any());
+    }
+
+    @Test
+    void unlikePostDeletesLike() {
+        when(likeRepository.deleteByUserIdAndPostId(10L, 1L)).thenReturn(1);
 
         likeService.unlikePost(1L, 10L);
 
-        verify(likeRepository).delete(existing);
         verify(postService).decrementLikeCount(1L);
+        verify(eventPublisher).publishEvent(LikeChangedEvent.post(1L, 10L, false));
     }
 
     @Test
-    void likeCommentCreatesLike() {
-        when(commentRepository.findById(2L)).thenReturn(Optional.of(CommentEntity.builder().id(2L).build()));
-        when(likeRepository.existsByUserIdAndCommentId(10L, 2L)).thenReturn(false);
+    void unlikePostNotLikedIsNoOp() {
+        when(likeRepository.deleteByUserIdAndPostId(10L, 1L)).thenReturn(0);
 
-        LikeEntity saved = LikeEntity.builder().id(3L).userId(10L).commentId(2L).build();
-        when(likeRepository.save(any(LikeEntity.class))).thenReturn(saved);
+        likeService.unlikePost(1L, 10L);
+
+        verify(postService, never()).decrementLikeCount(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void likeCommentCreatesLike() {
+        when(likeRepository.insertCommentLikeIfAbsent(eq(10L), eq(2L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(3L));
 
         LikeResponseDto response = LikeResponseDto.builder().id(3L).userId(10L).commentId(2L).build();
-        when(likeMapper.toResponseDto(saved)).thenReturn(response);
+        when(likeMapper.toResponseDto(any(LikeEntity.class))).thenReturn(response);
         when(userServiceClient.getUserById(10L))
                 .thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, null)));
 
@@ -104,18 +190,16 @@ class LikeServiceImplTest {
 
     @Test
     void unlikeCommentDeletesLike() {
-        LikeEntity existing = LikeEntity.builder().id(4L).userId(10L).commentId(2L).build();
-        when(likeRepository.findByUserIdAndCommentId(10L, 2L)).thenReturn(Optional.of(existing));
+        when(likeRepository.deleteByUserIdAndCommentId(10L, 2L)).thenReturn(1);
 
         likeService.unlikeComment(2L, 10L);
 
-        verify(likeRepository).delete(existing);
         verify(commentService).decrementLikeCount(2L);
     }
 
     @Test
     void hasLikedPostReturnsValue() {
-        when(likeRepository.existsByUserIdAndPostId(10L, 1L)).thenReturn(true);
+        when(likeStateService.hasLikedPost(10L, 1L)).thenReturn(true);
 
         boolean result = likeService.hasLikedPost(1L, 10L);
 
@@ -124,7 +208,7 @@ class LikeServiceImplTest {
 
     @Test
     void hasLikedCommentReturnsValue() {
-        when(likeRepository.existsByUserIdAndCommentId(10L, 2L)).thenReturn(false);
+        when(likeStateService.hasLikedComment(10L, 2L)).thenReturn(false);
 
         boolean result = likeService.hasLikedComment(2L, 10L);
 
@@ -132,14 +216,16 @@ class LikeServiceImplTest {
     }
 
     @Test
-    void getPostLikesMapsResults() {
+    void getPostLikesReadsNewestSlice() {
         LikeEntity like = LikeEntity.builder().id(5L).userId(10L).postId(1L).build();
         LikeResponseDto response = LikeResponseDto.builder().id(5L).userId(10L).postId(1L).build();
+        PageCursor newest = PageCursor.descending(null);
 
-        when(likeRepository.findByPostId(1L)).thenReturn(List.of(like));
+        when(likeRepository.findByPostIdBefore(1L, newest.createdAt(), newest.id(),
+                PageRequest.of(0, PageCursor.MAX_SIZE + 1))).thenReturn(List.of(like));
         when(likeMapper.toResponseDto(like)).thenReturn(response);
-        when(userServiceClient.getUserById(10L))
-                .thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, null)));
+        when(userServiceClient.getUsersByIds(List.of(10L)))
+                .thenReturn(Map.of(10L, new UserProfileDto(10L, "user", null, null, null)));
 
         List<LikeResponseDto> result = likeService.getPostLikes(1L);
 
@@ -147,17 +233,53 @@ class LikeServiceImplTest {
     }
 
     @Test
-    void getCommentLikesMapsResults() {
-        LikeEntity like = LikeEntity.builder().id(6L).userId(10L).commentId(2L).build();
-        LikeResponseDto response = LikeResponseDto.builder().id(6L).userId(10L).commentId(2L).build();
+    void getCommentLikesByCursorSeeksPastCursor() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LikeEntity first = LikeEntity.builder().id(7L).userId(10L).commentId(2L).createdAt(start).build();
+        LikeEntity second = LikeEntity.builder().id(6L).userId(11L).commentId(2L).createdAt(start).build();
+        PageCursor cursor = new PageCursor(start.plusMinutes(1), 9L);
+
+        when(likeRepository.findByCommentIdBefore(2L, cursor.createdAt(), cursor.id(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(likeMapper.toResponseDto(first))
+                .thenReturn(LikeResponseDto.builder().id(7L).userId(10L).commentId(2L).build());
+        when(userServiceClient.getUsersByIds(List.of(10L))).thenReturn(Map.of());
+
+        CursorPageResponseDto<LikeResponseDto> result = likeService.getCommentLikesByCursor(2L, cursor.encode(), 1);
+
+        assertThat(result.getContent()).extracting(LikeResponseDto::getId).containsExactly(7L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(PageCursor.descending(result.getNextCursor())).isEqualTo(PageCursor.of(first));
+    }
 
-        when(likeRepository.findByCommentId(2L)).thenReturn(List.of(like));
-        when(likeMapper.toResponseDto(like)).thenReturn(response);
-        when(userServiceClient.getUserById(10L))
-                .thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, null)));
+    @Test
+    void getPostLikeSummaryUsesCounterAndRecentLikers() {
+        PostEntity post = PostEntity.builder().id(1L).likeCount(50000).build();
+        LikeEntity like = LikeEntity.builder().id(5L).userId(10L).postId(1L).build();
+        PageCursor newest = PageCursor.descending(null);
+
+        when(postRepository.findByIdAndActive(1L)).thenReturn(Optional.of(post));
+        when(likeRepository.findByPostIdBefore(1L, newest.createdAt(), newest.id(), PageRequest.of(0, 3)))
+                .thenReturn(List.of(like));
+        when(likeMapper.toResponseDto(like))
+                .thenReturn(LikeResponseDto.builder().id(5L).userId(10L).postId(1L).build());
+        when(userServiceClient.getUsersByIds(List.of(10L)))
+                .thenReturn(Map.of(10L, new UserProfileDto(10L, "user", null, null, null)));
+
+        LikeSummaryDto summary = likeService.getPostLikeSummary(1L, null);
 
-        List<LikeResponseDto> result = likeService.getCommentLikes(2L);
+        assertThat(summary.getTotalCount()).isEqualTo(50000);
+        assertThat(summary.getLikers()).extracting(LikeResponseDto::getUsername).containsExactly("user");
+        verify(likeRepository, never()).countByPostId(any());
+    }
+
+    @Test
+    void getCommentLikeSummaryRejectsDeletedComment() {
+        CommentEntity comment = CommentEntity.builder().id(2L).build();
+        comment.softDelete();
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(comment));
 
-        assertThat(result).hasSize(1);
+        assertThatThrownBy(() -> likeService.getCommentLikeSummary(2L, 3))
+                .isInstanceOf(CommentNotFoundException.class);
     }
 }
@@ -0,0 +1,85 @@
+package com.communityplatform.content.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.communityplatform.content.event.LikeChangedEvent.Target;
+import com.communityplatform.content.like.LikeIndex;
+import com.communityplatform.content.repository.LikeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LikeStateServiceImplTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private LikeIndex likeIndex;
+
+    @InjectMocks
+    private LikeStateServiceImpl likeStateService;
+
+    @Test
+    void findLikedPostIdsUsesSingleQueryWithDistinctIds() {
+        when(likeIndex.lookup(Target.POST, 1L, List.of(5L, 6L, 7L)))
+                .thenReturn(new LikeIndex.Lookup(Set.of(), List.of(5L, 6L, 7L)));
+        when(likeRepository.findLikedPostIds(1L, List.of(5L, 6L, 7L))).thenReturn(List.of(6L));
+
+        var liked = likeStateService.findLikedPostIds(1L, Arrays.asList(5L, 6L, 5L, null, 7L));
+
+        assertThat(liked).containsExactly(6L);
+    }
+
+    @Test
+    void findLikedCommentIdsReturnsSubset() {
+        when(likeIndex.lookup(Target.COMMENT, 1L, List.of(2L, 3L)))
+                .thenReturn(new LikeIndex.Lookup(Set.of(), List.of(2L, 3L)));
+        when(likeRepository.findLikedCommentIds(1L, List.of(2L, 3L))).thenReturn(List.of(2L, 3L));
+
+        var liked = likeStateService.findLikedCommentIds(1L, List.of(2L, 3L));
+
+        assertThat(liked).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void anonymousViewerSkipsQuery() {
+        assertThat(likeStateService.findLikedPostIds(null, List.of(5L))).isEmpty();
+        assertThat(likeStateService.hasLikedComment(null, 5L)).isFalse();
+
+        verifyNoInteractions(likeRepository);
+    }
+
+    @Test
+    void indexedItemsSkipTheQuery() {
+        when(likeIndex.lookup(Target.POST, 1L, List.of(5L, 6L)))
+                .thenReturn(new LikeIndex.Lookup(Set.of(5L), List.of(6L)));
+        when(likeRepository.findLikedPostIds(1L, List.of(6L))).thenReturn(List.of(6L));
+
+        assertThat(likeStateService.findLikedPostIds(1L, List.of(5L, 6L))).containsExactlyInAnyOrder(5L, 6L);
+    }
+
+    @Test
+    void hasLikedPostFallsBackWhenIndexCannotAnswer() {
+        when(likeIndex.hasLiked(Target.POST, 5L, 1L)).thenReturn(Optional.of(true));
+        when(likeIndex.hasLiked(Target.POST, 6L, 1L)).thenReturn(Optional.empty());
+        when(likeRepository.existsByUserIdAndPostId(1L, 6L)).thenReturn(false);
+
+        assertThat(likeStateService.hasLikedPost(1L, 5L)).isTrue();
+        assertThat(likeStateService.hasLikedPost(1L, 6L)).isFalse();
+        verify(likeRepository, never()).existsByUserIdAndPostId(1L, 5L);
+    }
+}
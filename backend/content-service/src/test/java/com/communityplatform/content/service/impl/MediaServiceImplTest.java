@@ -1,45 +1,80 @@
 package com.communityplatform.content.service.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.communityplatform.content.cache.MediaObjectCache;
+import com.communityplatform.content.cache.PresignedUrlCache;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsRequestDto;
+import com.communityplatform.content.dto.media.MediaMultipartPartUrlsResponseDto;
+import com.communityplatform.content.dto.media.MediaMultipartUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedConfirmRequestDto;
+import com.communityplatform.content.dto.media.MediaPresignedDownloadBatchResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedDownloadResponseDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadRequestDto;
 import com.communityplatform.content.dto.media.MediaPresignedUploadResponseDto;
 import com.communityplatform.content.dto.media.MediaResponseDto;
 import com.communityplatform.content.dto.media.MediaUploadResponseDto;
+import com.communityplatform.content.dto.media.MediaVariantDto;
+import com.communityplatform.content.entity.DerivativeStatus;
+import com.communityplatform.content.entity.MediaBlobEntity;
 import com.communityplatform.content.entity.MediaEntity;
+import com.communityplatform.content.entity.MediaVariantEntity;
+import com.communityplatform.content.entity.PendingUploadEntity;
+import com.communityplatform.content.entity.PostMediaEntity;
+import com.communityplatform.content.event.MediaStoredEvent;
+import com.communityplatform.content.exception.InvalidMediaException;
+import com.communityplatform.content.exception.StorageQuotaExceededException;
+import com.communityplatform.content.exception.UnauthorizedOperationException;
 import com.communityplatform.content.mapper.MediaMapper;
+import com.communityplatform.content.media.ImageDerivativePipeline;
+import com.communityplatform.content.media.MediaBlobStore;
+import com.communityplatform.content.media.MediaStorage;
+import com.communityplatform.content.media.MediaStorageQuota;
+import com.communityplatform.content.media.StreamingUploader;
 import com.communityplatform.content.repository.MediaRepository;
-
-import io.minio.GetPresignedObjectUrlArgs;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.RemoveObjectArgs;
-import io.minio.StatObjectArgs;
-import io.minio.StatObjectResponse;
+import com.communityplatform.content.repository.MediaVariantRepository;
+import com.communityplatform.content.repository.PendingUploadRepository;
+import com.communityplatform.content.repository.PostMediaRepository;
 
 @ExtendWith(MockitoExtension.class)
 class MediaServiceImplTest {
 
+    /** SHA-256 of "data". */
+    private static final String DATA_SHA256 = "3a6eb0790f39ac87c94f3856b2dd2c5d110e6811602261a9a923d3bb23adc8b7";
+
     @Mock
     private MediaRepository mediaRepository;
 
@@ -47,19 +82,54 @@ class MediaServiceImplTest {
     private MediaMapper mediaMapper;
 
     @Mock
-    private MinioClient minioClient;
+    private MediaStorage storage;
+
+    @Mock
+    private StreamingUploader streamingUploader;
+
+    @Mock
+    private MediaBlobStore blobStore;
 
     @Mock
-    private MinioClient presignedMinioClient;
+    private MediaVariantRepository variantRepository;
+
+    @Mock
+    private ImageDerivativePipeline derivativePipeline;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MediaStorageQuota storageQuota;
+
+    @Mock
+    private PostMediaRepository postMediaRepository;
 
     private MediaServiceImpl mediaService;
 
+    @Mock
+    private MediaObjectCache objectCache;
+
+    @Mock
+    private PendingUploadRepository pendingUploadRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
-        mediaService = new MediaServiceImpl(mediaRepository, mediaMapper, minioClient, presignedMinioClient);
+        PresignedUrlCache presignedUrlCache = new PresignedUrlCache();
+        ReflectionTestUtils.setField(presignedUrlCache, "minRemainingSeconds", 60L);
+        ReflectionTestUtils.setField(presignedUrlCache, "maxEntries", 100);
+        mediaService = new MediaServiceImpl(mediaRepository, mediaMapper, storage, streamingUploader, blobStore, variantRepository, derivativePipeline, eventPublisher,
+                presignedUrlCache, storageQuota, postMediaRepository, objectCache, pendingUploadRepository,
+                transactionManager);
         ReflectionTestUtils.setField(mediaService, "bucketName", "media");
-        ReflectionTestUtils.setField(mediaService, "publicUrl", "http://localhost:9000");
         ReflectionTestUtils.setField(mediaService, "presignedExpirySeconds", 300);
+        ReflectionTestUtils.setField(mediaService, "multipartPartSize", 8L * 1024 * 1024);
+        ReflectionTestUtils.setField(mediaService, "maxPartUrls", 100);
+        ReflectionTestUtils.setField(mediaService, "confirmHashMaxBytes", 16L);
+        ReflectionTestUtils.setField(mediaService, "maxDownloadBatchSize", 3);
     }
 
     @Test
@@ -79,6 +149,7 @@ class MediaServiceImplTest {
                 .bucketName("media")
                 .uploaderUserId(10L)
                 .url("http://localhost:9000/media/stored.png")
+                .derivativeStatus(DerivativeStatus.PENDING)
                 .build();
 
         MediaUploadResponseDto response = MediaUploadResponseDto.builder()
@@ -86,13 +157,110 @@ class MediaServiceImplTest {
                 .url(saved.getUrl())
                 .build();
 
-        when(minioClient.putObject(any(PutObjectArgs.class))).thenReturn(null);
+        stubUpload(4L, "abc123");
+        when(derivativePipeline.accepts("image/png", 4L)).thenReturn(true);
+        when(blobStore.register(eq("abc123"), eq("media"), any(), eq(4L)))
+                .thenAnswer(invocation -> new MediaBlobStore.Registration(
+                        newBlob(20L, invocation.getArgument(2)), false));
         when(mediaRepository.save(any(MediaEntity.class))).thenReturn(saved);
         when(mediaMapper.toUploadResponseDto(saved)).thenReturn(response);
 
         MediaUploadResponseDto result = mediaService.uploadMedia(file, 10L);
 
         assertThat(result.getId()).isEqualTo(1L);
+        ArgumentCaptor<MediaEntity> entity = ArgumentCaptor.forClass(MediaEntity.class);
+        verify(mediaRepository).save(entity.capture());
+        assertThat(entity.getValue().getBlobId()).isEqualTo(20L);
+        assertThat(entity.getValue().getDerivativeStatus()).isEqualTo(DerivativeStatus.PENDING);
+        verify(eventPublisher).publishEvent(new MediaStoredEvent(1L));
+    }
+
+    @Test
+    void streamMediaStoresStreamedObject() {
+        ByteArrayInputStream content = new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8));
+        stubUpload(4L, "abc123");
+        when(blobStore.register(eq("abc123"), eq("media"), any(), eq(4L)))
+                .thenAnswer(invocation -> new MediaBlobStore.Registration(
+                        newBlob(20L, invocation.getArgument(2)), false));
+        MediaEntity saved = MediaEntity.builder().id(1L).build();
+        MediaUploadResponseDto response = MediaUploadResponseDto.builder().id(1L).build();
+        when(mediaRepository.save(any(MediaEntity.class))).thenReturn(saved);
+        when(mediaMapper.toUploadResponseDto(saved)).thenReturn(response);
+
+        MediaUploadResponseDto result = mediaService.streamMedia(content, 4L, "my%20image.png", "image/png",
+                "ABC123", 10L);
+
+        assertThat(result.getId()).isEqualTo(1L);
+        ArgumentCaptor<MediaEntity> entity = ArgumentCaptor.forClass(MediaEntity.class);
+        verify(mediaRepository).save(entity.capture());
+        assertThat(entity.getValue().getOriginalFilename()).isEqualTo("my image.png");
+        assertThat(entity.getValue().getFileSize()).isEqualTo(4L);
+        assertThat(entity.getValue().getStoredFilename()).endsWith(".png");
+        InOrder chargeAndSave = inOrder(transactionManager, storageQuota, mediaRepository);
+        chargeAndSave.verify(transactionManager).getTransaction(any());
+        chargeAndSave.verify(storageQuota).addFile(10L, 4L);
+        chargeAndSave.verify(mediaRepository).save(any(MediaEntity.class));
+        chargeAndSave.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void streamMediaReferencesExistingBlobForDuplicateContent() {
+        ByteArrayInputStream content = new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8));
+        stubUpload(4L, "abc123");
+        when(blobStore.acquire("abc123", 4L)).thenReturn(Optional.of(newBlob(30L, "original.png")));
+        when(storage.publicUrl("media", "original.png")).thenReturn("http://localhost:9000/media/original.png");
+        MediaEntity saved = MediaEntity.builder().id(2L).build();
+        when(mediaRepository.save(any(MediaEntity.class))).thenReturn(saved);
+        when(mediaMapper.toUploadResponseDto(saved)).thenReturn(MediaUploadResponseDto.builder().id(2L).build());
+
+        mediaService.streamMedia(content, null, "copy.png", "image/png", null, 10L);
+
+        ArgumentCaptor<MediaEntity> entity = ArgumentCaptor.forClass(MediaEntity.class);
+        verify(mediaRepository).save(entity.capture());
+        assertThat(entity.getValue().getBlobId()).isEqualTo(30L);
+        assertThat(entity.getValue().getStoredFilename()).isEqualTo("original.png");
+        assertThat(entity.getValue().getUrl()).isEqualTo("http://localhost:9000/media/original.png");
+        verify(blobStore, never()).register(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void streamMediaRejectsHashMismatchBeforeStoring() throws Exception {
+        ByteArrayInputStream content = new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8));
+        stubUpload(4L, "abc123");
+
+        assertThatThrownBy(() -> mediaService.streamMedia(content, 4L, "image.png", "image/png", "def456", 10L))
+                .isInstanceOf(InvalidMediaException.class);
+
+        verify(blobStore, never()).acquire(any(), anyLong());
+        verify(mediaRepository, never()).save(any());
+    }
+
+    @Test
+    void streamMediaRejectsUploadOverQuotaBeforeStreaming() {
+        ByteArrayInputStream content = new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8));
+        when(storageQuota.checkAvailable(10L, 4L)).thenThrow(new StorageQuotaExceededException(2L));
+
+        assertThatThrownBy(() -> mediaService.streamMedia(content, 4L, "image.png", "image/png", null, 10L))
+                .isInstanceOf(StorageQuotaExceededException.class);
+
+        verify(streamingUploader, never()).upload(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void streamMediaReleasesBlobWhenQuotaIsExceededOnSave() {
+        ByteArrayInputStream content = new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8));
+        stubUpload(4L, "abc123");
+        when(blobStore.register(eq("abc123"), eq("media"), any(), eq(4L)))
+                .thenAnswer(invocation -> new MediaBlobStore.Registration(
+                        newBlob(20L, invocation.getArgument(2)), false));
+        doThrow(new StorageQuotaExceededException(2L)).when(storageQuota).addFile(10L, 4L);
+        when(blobStore.release(20L)).thenReturn(Optional.of(newBlob(20L, "stored.png")));
+
+        assertThatThrownBy(() -> mediaService.streamMedia(content, null, "image.png", "image/png", null, 10L))
+                .isInstanceOf(StorageQuotaExceededException.class);
+
+        verify(storage).delete("media", "stored.png");
+        verify(mediaRepository, never()).save(any());
     }
 
     @Test
@@ -115,6 +283,25 @@ class MediaServiceImplTest {
         assertThat(result.getUrl()).isEqualTo(entity.getUrl());
     }
 
+    @Test
+    void getMediaByIdIncludesVariantsOnceReady() {
+        MediaEntity entity = MediaEntity.builder()
+                .id(2L)
+                .derivativeStatus(DerivativeStatus.READY)
+                .build();
+        MediaVariantEntity variant = newVariant(2L, "2_thumb.jpg");
+        MediaVariantDto variantDto = MediaVariantDto.builder().label("thumb").build();
+
+        when(mediaRepository.findById(2L)).thenReturn(Optional.of(entity));
+        when(mediaMapper.toResponseDto(entity)).thenReturn(MediaResponseDto.builder().id(2L).build());
+        when(variantRepository.findByMediaIdIn(List.of(2L))).thenReturn(List.of(variant));
+        when(mediaMapper.toVariantDto(variant)).thenReturn(variantDto);
+
+        MediaResponseDto result = mediaService.getMediaById(2L);
+
+        assertThat(result.getVariants()).containsExactly(variantDto);
+    }
+
     @Test
     void getMediaByUserReturnsPage() {
         MediaEntity entity = MediaEntity.builder().id(3L).uploaderUserId(10L).build();
@@ -135,12 +322,15 @@ class MediaServiceImplTest {
                 .originalFilename("image.png")
                 .build();
 
-        when(presignedMinioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
-                .thenReturn("http://upload");
+        when(storage.presignPut(eq("media"), any(), eq(300))).thenReturn("http://upload");
 
         MediaPresignedUploadResponseDto result = mediaService.createPresignedUpload(request, 10L);
 
         assertThat(result.getUploadUrl()).isEqualTo("http://upload");
+        ArgumentCaptor<PendingUploadEntity> pending = ArgumentCaptor.forClass(PendingUploadEntity.class);
+        verify(pendingUploadRepository).save(pending.capture());
+        assertThat(pending.getValue().getObjectKey()).isEqualTo(result.getObjectKey());
+        assertThat(pending.getValue().getUploaderUserId()).isEqualTo(10L);
     }
 
     @Test
@@ -163,7 +353,7 @@ class MediaServiceImplTest {
                 .storedFilename("stored.png")
                 .build();
 
-        when(mediaRepository.findByStoredFilename("stored.png")).thenReturn(Optional.of(existing));
+        when(mediaRepository.findFirstByStoredFilenameOrderByIdAsc("stored.png")).thenReturn(Optional.of(existing));
         when(mediaMapper.toUploadResponseDto(existing)).thenReturn(response);
 
         MediaUploadResponseDto result = mediaService.confirmPresignedUpload(request, 10L);
@@ -179,12 +369,15 @@ class MediaServiceImplTest {
                 .fileSize(4L)
                 .build();
 
-        when(mediaRepository.findByStoredFilename("stored.png")).thenReturn(Optional.empty());
+        when(mediaRepository.findFirstByStoredFilenameOrderByIdAsc("stored.png")).thenReturn(Optional.empty());
+        when(pendingUploadRepository.findByObjectKey("stored.png")).thenReturn(Optional.of(pending("stored.png", 10L)));
 
-        StatObjectResponse stat = org.mockito.Mockito.mock(StatObjectResponse.class);
-        when(stat.size()).thenReturn(4L);
-        when(stat.contentType()).thenReturn("image/png");
-        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+        when(storage.stat("media", "stored.png"))
+                .thenReturn(Optional.of(new MediaStorage.ObjectStat(4L, "image/png")));
+        when(storage.get("media", "stored.png"))
+                .thenReturn(new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8)));
+        when(blobStore.register(DATA_SHA256, "media", "stored.png", 4L))
+                .thenReturn(new MediaBlobStore.Registration(newBlob(21L, "stored.png"), false));
 
         MediaEntity saved = MediaEntity.builder()
                 .id(5L)
@@ -210,6 +403,143 @@ class MediaServiceImplTest {
         assertThat(result.getId()).isEqualTo(5L);
     }
 
+    @Test
+    void confirmPresignedUploadRetryFindsMediaOfDuplicateContent() throws Exception {
+        MediaPresignedConfirmRequestDto request = MediaPresignedConfirmRequestDto.builder()
+                .storedFilename("client.png")
+                .originalFilename("image.png")
+                .fileSize(4L)
+                .build();
+        AtomicReference<MediaEntity> saved = new AtomicReference<>();
+
+        when(mediaRepository.findFirstByUploadKeyOrderByIdAsc("client.png"))
+                .thenAnswer(invocation -> Optional.ofNullable(saved.get()));
+        when(pendingUploadRepository.findByObjectKey("client.png")).thenReturn(Optional.of(pending("client.png", 10L)));
+        when(storage.stat("media", "client.png"))
+                .thenReturn(Optional.of(new MediaStorage.ObjectStat(4L, "image/png")));
+        when(storage.get("media", "client.png"))
+                .thenReturn(new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8)));
+        when(blobStore.acquire(DATA_SHA256, 4L)).thenReturn(Optional.of(newBlob(30L, "original.png")));
+        when(mediaRepository.save(any(MediaEntity.class))).thenAnswer(invocation -> {
+            MediaEntity entity = invocation.getArgument(0);
+            entity.setId(12L);
+            saved.set(entity);
+            return entity;
+        });
+        when(mediaMapper.toUploadResponseDto(any(MediaEntity.class))).thenAnswer(invocation ->
+                MediaUploadResponseDto.builder().id(invocation.<MediaEntity>getArgument(0).getId()).build());
+
+        MediaUploadResponseDto first = mediaService.confirmPresignedUpload(request, 10L);
+        MediaUploadResponseDto retried = mediaService.confirmPresignedUpload(request, 10L);
+
+        assertThat(saved.get().getStoredFilename()).isEqualTo("original.png");
+        assertThat(saved.get().getUploadKey()).isEqualTo("client.png");
+        assertThat(retried.getId()).isEqualTo(first.getId());
+        verify(storage).delete("media", "client.png");
+        verify(storage, times(1)).stat("media", "client.png");
+        verify(mediaRepository, times(1)).save(any(MediaEntity.class));
+        verify(pendingUploadRepository).deleteByObjectKey("client.png");
+    }
+
+    @Test
+    void confirmPresignedUploadRejectsKeyNotIssuedToCaller() {
+        MediaPresignedConfirmRequestDto request = MediaPresignedConfirmRequestDto.builder()
+                .storedFilename("victim_thumb.jpg")
+                .originalFilename("image.jpg")
+                .build();
+
+        when(pendingUploadRepository.findByObjectKey("victim_thumb.jpg")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> mediaService.confirmPresignedUpload(request, 10L))
+                .isInstanceOf(UnauthorizedOperationException.class);
+        verify(storage, never()).stat(any(), any());
+        verify(storage, never()).delete(any(), any());
+    }
+
+    @Test
+    void confirmPresignedUploadRejectsKeyIssuedToAnotherUser() {
+        MediaPresignedConfirmRequestDto request = MediaPresignedConfirmRequestDto.builder()
+                .storedFilename("other.png")
+                .originalFilename("image.png")
+                .build();
+
+        when(pendingUploadRepository.findByObjectKey("other.png")).thenReturn(Optional.of(pending("other.png", 11L)));
+
+        assertThatThrownBy(() -> mediaService.confirmPresignedUpload(request, 10L))
+                .isInstanceOf(UnauthorizedOperationException.class);
+        verify(storage, never()).delete(any(), any());
+    }
+
+    @Test
+    void createMultipartUploadGrowsPartsForLargeFiles() {
+        MediaPresignedUploadRequestDto request = MediaPresignedUploadRequestDto.builder()
+                .originalFilename("video.mp4")
+                .mimeType("video/mp4")
+                .fileSize(200L * 1024 * 1024 * 1024)
+                .build();
+
+        when(storage.createMultipartUpload(eq("media"), any(), eq("video/mp4")))
+                .thenReturn(CompletableFuture.completedFuture("upload-1"));
+
+        MediaMultipartUploadResponseDto result = mediaService.createMultipartUpload(request, 10L);
+
+        assertThat(result.getUploadId()).isEqualTo("upload-1");
+        assertThat(result.getObjectKey()).endsWith(".mp4");
+        assertThat(result.getPartSize()).isGreaterThan(8L * 1024 * 1024);
+        assertThat(result.getPartCount()).isLessThanOrEqualTo(10000);
+        assertThat(result.getPartSize() * result.getPartCount()).isGreaterThanOrEqualTo(request.getFileSize());
+    }
+
+    @Test
+    void createMultipartPartUrlsSignsEachPart() throws Exception {
+        MediaMultipartPartUrlsRequestDto request = MediaMultipartPartUrlsRequestDto.builder()
+                .objectKey("stored.mp4")
+                .uploadId("upload-1")
+                .partNumbers(List.of(2, 1, 2))
+                .build();
+
+        when(storage.presignUploadPart("media", "stored.mp4", "upload-1", 1, 300)).thenReturn("http://part/1");
+        when(storage.presignUploadPart("media", "stored.mp4", "upload-1", 2, 300)).thenReturn("http://part/2");
+
+        MediaMultipartPartUrlsResponseDto result = mediaService.createMultipartPartUrls(request);
+
+        assertThat(result.getParts()).extracting(MediaMultipartPartUrlsResponseDto.PartUrl::getPartNumber)
+                .containsExactly(1, 2);
+        assertThat(result.getParts()).extracting(MediaMultipartPartUrlsResponseDto.PartUrl::getUploadUrl)
+                .containsExactly("http://part/1", "http://part/2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void confirmPresignedUploadCompletesMultipartWithStoredParts() throws Exception {
+        MediaPresignedConfirmRequestDto request = MediaPresignedConfirmRequestDto.builder()
+                .storedFilename("stored.mp4")
+                .originalFilename("video.mp4")
+                .uploadId("upload-1")
+                .build();
+
+        when(mediaRepository.findFirstByStoredFilenameOrderByIdAsc("stored.mp4")).thenReturn(Optional.empty());
+        when(pendingUploadRepository.findByObjectKey("stored.mp4")).thenReturn(Optional.of(pending("stored.mp4", 10L)));
+        when(storage.listParts("media", "stored.mp4", "upload-1")).thenReturn(List.of(
+                new MediaStorage.StoredPart(2, "etag-2", 10L), new MediaStorage.StoredPart(1, "etag-1", 10L)));
+        when(storage.completeMultipartUpload(eq("media"), eq("stored.mp4"), eq("upload-1"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(storage.stat("media", "stored.mp4"))
+                .thenReturn(Optional.of(new MediaStorage.ObjectStat(20L, "video/mp4")));
+        when(blobStore.register(null, "media", "stored.mp4", 20L))
+                .thenReturn(new MediaBlobStore.Registration(newBlob(22L, "stored.mp4"), false));
+        MediaEntity saved = MediaEntity.builder().id(8L).build();
+        when(mediaRepository.save(any(MediaEntity.class))).thenReturn(saved);
+        when(mediaMapper.toUploadResponseDto(saved)).thenReturn(MediaUploadResponseDto.builder().id(8L).build());
+
+        MediaUploadResponseDto result = mediaService.confirmPresignedUpload(request, 10L);
+
+        assertThat(result.getId()).isEqualTo(8L);
+        ArgumentCaptor<List<MediaStorage.StoredPart>> parts = ArgumentCaptor.forClass(List.class);
+        verify(storage).completeMultipartUpload(eq("media"), eq("stored.mp4"), eq("upload-1"), parts.capture());
+        assertThat(parts.getValue()).extracting(MediaStorage.StoredPart::partNumber).containsExactly(1, 2);
+    }
+
     @Test
     void createPresignedDownloadReturnsUrl() throws Exception {
         MediaEntity entity = MediaEntity.builder()
@@ -219,14 +549,40 @@ class MediaServiceImplTest {
                 .build();
 
         when(mediaRepository.findById(6L)).thenReturn(Optional.of(entity));
-        when(presignedMinioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
-                .thenReturn("http://download");
+        when(storage.presignGet("media", "stored.png", 300)).thenReturn("http://download");
 
         MediaPresignedDownloadResponseDto result = mediaService.createPresignedDownload(6L);
 
         assertThat(result.getDownloadUrl()).isEqualTo("http://download");
     }
 
+    @Test
+    void createPresignedDownloadsSignsEachObjectOnceAndReportsMissing() throws Exception {
+        MediaEntity first = MediaEntity.builder().id(6L).bucketName("media").storedFilename("a.png").build();
+        MediaEntity second = MediaEntity.builder().id(7L).bucketName("media").storedFilename("b.png").build();
+
+        when(mediaRepository.findAllById(List.of(7L, 6L, 8L))).thenReturn(List.of(first, second));
+        when(storage.presignGet("media", "b.png", 300)).thenReturn("http://download/b");
+        when(storage.presignGet("media", "a.png", 300)).thenReturn("http://download/a");
+
+        MediaPresignedDownloadBatchResponseDto result = mediaService.createPresignedDownloads(List.of(7L, 6L, 8L, 7L));
+        MediaPresignedDownloadBatchResponseDto again = mediaService.createPresignedDownloads(List.of(7L, 6L, 8L));
+
+        assertThat(result.getDownloads()).extracting(MediaPresignedDownloadResponseDto::getMediaId)
+                .containsExactly(7L, 6L);
+        assertThat(result.getMissingIds()).containsExactly(8L);
+        assertThat(again.getDownloads()).extracting(MediaPresignedDownloadResponseDto::getDownloadUrl)
+                .containsExactly("http://download/b", "http://download/a");
+        verify(storage, times(2)).presignGet(eq("media"), any(), eq(300));
+    }
+
+    @Test
+    void createPresignedDownloadsRejectsOversizedBatch() {
+        assertThatThrownBy(() -> mediaService.createPresignedDownloads(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(InvalidMediaException.class);
+        verify(mediaRepository, never()).findAllById(any());
+    }
+
     @Test
     void deleteMediaRemovesObject() throws Exception {
         MediaEntity entity = MediaEntity.builder()
@@ -240,7 +596,158 @@ class MediaServiceImplTest {
 
         mediaService.deleteMedia(7L, 10L);
 
-        verify(minioClient).removeObject(any(RemoveObjectArgs.class));
+        verify(storage).delete("media", "stored.png");
+        verify(objectCache).evict("media", "stored.png");
         verify(mediaRepository).delete(entity);
+        verify(storageQuota).removeFile(10L, 0L);
+        verify(postMediaRepository).deleteByMediaId(7L);
+    }
+
+    @Test
+    void attachToPostStoresMediaInGivenOrder() {
+        when(mediaRepository.findAllById(List.of(31L, 30L))).thenReturn(List.of(
+                MediaEntity.builder().id(30L).uploaderUserId(10L).build(),
+                MediaEntity.builder().id(31L).uploaderUserId(10L).build()));
+
+        mediaService.attachToPost(1L, List.of(31L, 30L, 31L), 10L);
+
+        verify(postMediaRepository).deleteByPostId(1L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PostMediaEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(postMediaRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(PostMediaEntity::getMediaId).containsExactly(31L, 30L);
+        assertThat(saved.getValue()).extracting(PostMediaEntity::getPosition).containsExactly(0, 1);
+    }
+
+    @Test
+    void attachToPostRejectsMediaOfOtherUsers() {
+        when(mediaRepository.findAllById(List.of(30L)))
+                .thenReturn(List.of(MediaEntity.builder().id(30L).uploaderUserId(11L).build()));
+
+        assertThatThrownBy(() -> mediaService.attachToPost(1L, List.of(30L), 10L))
+                .isInstanceOf(UnauthorizedOperationException.class);
+        verify(postMediaRepository, never()).deleteByPostId(any());
+    }
+
+    @Test
+    void attachToPostRejectsUnknownMedia() {
+        when(mediaRepository.findAllById(List.of(30L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> mediaService.attachToPost(1L, List.of(30L), 10L))
+                .isInstanceOf(InvalidMediaException.class);
+    }
+
+    @Test
+    void getPostAttachmentsGroupsMediaByPostInOrder() {
+        MediaEntity first = MediaEntity.builder().id(31L).derivativeStatus(DerivativeStatus.READY).build();
+        MediaEntity second = MediaEntity.builder().id(30L).build();
+        when(postMediaRepository.findAttachments(List.of(1L, 2L)))
+                .thenReturn(List.of(attachment(1L, first), attachment(1L, second)));
+        when(variantRepository.findByMediaIdIn(List.of(31L))).thenReturn(List.of(newVariant(31L, "thumb.jpg")));
+        MediaVariantDto variant = MediaVariantDto.builder().label("thumb").build();
+        when(mediaMapper.toVariantDto(any())).thenReturn(variant);
+        when(mediaMapper.toResponseDto(first)).thenReturn(MediaResponseDto.builder().id(31L).build());
+        when(mediaMapper.toResponseDto(second)).thenReturn(MediaResponseDto.builder().id(30L).build());
+
+        Map<Long, List<MediaResponseDto>> attachments = mediaService.getPostAttachments(List.of(1L, 2L));
+
+        assertThat(attachments).containsOnlyKeys(1L);
+        assertThat(attachments.get(1L)).extracting(MediaResponseDto::getId).containsExactly(31L, 30L);
+        assertThat(attachments.get(1L).get(0).getVariants()).containsExactly(variant);
+    }
+
+    @Test
+    void deleteMediaKeepsSharedObject() throws Exception {
+        MediaEntity entity = MediaEntity.builder()
+                .id(9L)
+                .bucketName("media")
+                .storedFilename("stored.png")
+                .uploaderUserId(10L)
+                .blobId(30L)
+                .build();
+
+        when(mediaRepository.findById(9L)).thenReturn(Optional.of(entity));
+        when(blobStore.release(30L)).thenReturn(Optional.empty());
+
+        mediaService.deleteMedia(9L, 10L);
+
+        verify(mediaRepository).delete(entity);
+        verify(storage, never()).delete(any(), any());
+        verify(objectCache, never()).evict(any(), any());
+    }
+
+    @Test
+    void deleteMediaRemovesObjectWithLastReference() throws Exception {
+        MediaEntity entity = MediaEntity.builder()
+                .id(9L)
+                .bucketName("media")
+                .storedFilename("stored.png")
+                .uploaderUserId(10L)
+                .blobId(30L)
+                .build();
+
+        when(mediaRepository.findById(9L)).thenReturn(Optional.of(entity));
+        when(blobStore.release(30L)).thenReturn(Optional.of(newBlob(30L, "stored.png")));
+        when(variantRepository.findByMediaId(9L)).thenReturn(List.of(newVariant(9L, "stored_thumb.jpg")));
+
+        mediaService.deleteMedia(9L, 10L);
+
+        verify(variantRepository).deleteByMediaId(9L);
+        ArgumentCaptor<String> removed = ArgumentCaptor.forClass(String.class);
+        verify(storage, times(2)).delete(eq("media"), removed.capture());
+        assertThat(removed.getAllValues()).containsExactly("stored.png", "stored_thumb.jpg");
+        verify(objectCache).evict("media", "stored.png");
+        verify(objectCache).evict("media", "stored_thumb.jpg");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubUpload(long size, String sha256) {
+        when(streamingUploader.upload(any(), eq("media"), any(), any(), anyLong(), any())).thenAnswer(invocation -> {
+            StreamingUploader.StoredObject stored = new StreamingUploader.StoredObject(size, sha256, true);
+            Predicate<StreamingUploader.StoredObject> alreadyStored = invocation.getArgument(5);
+            return alreadyStored.test(stored) ? new StreamingUploader.StoredObject(size, sha256, false) : stored;
+        });
+    }
+
+    private static PostMediaRepository.Attachment attachment(Long postId, MediaEntity media) {
+        return new PostMediaRepository.Attachment() {
+            @Override
+            public Long getPostId() {
+                return postId;
+            }
+
+            @Override
+            public MediaEntity getMedia() {
+                return media;
+            }
+        };
+    }
+
+    private static MediaBlobEntity newBlob(Long id, String objectKey) {
+        return MediaBlobEntity.builder()
+                .id(id)
+                .sha256("abc123")
+                .bucketName("media")
+                .objectKey(objectKey)
+                .fileSize(4L)
+                .refCount(1)
+                .build();
+    }
+
+    private static PendingUploadEntity pending(String objectKey, Long uploaderUserId) {
+        return PendingUploadEntity.builder().objectKey(objectKey).uploaderUserId(uploaderUserId).build();
+    }
+
+    private static MediaVariantEntity newVariant(Long mediaId, String objectKey) {
+        return MediaVariantEntity.builder()
+                .mediaId(mediaId)
+                .label("thumb")
+                .objectKey(objectKey)
+                .mimeType("image/jpeg")
+                .width(160)
+                .height(90)
+                .fileSize(100L)
+                .url("http://localhost:9000/media/" + objectKey)
+                .build();
     }
 }
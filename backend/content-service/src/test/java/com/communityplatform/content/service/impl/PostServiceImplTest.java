@@ -4,12 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,21 +21,33 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import com.communityplatform.content.UserProfileDto;
 import com.communityplatform.content.UserServiceClient;
+import com.communityplatform.content.counter.EngagementCounterBuffer;
+import com.communityplatform.content.dto.media.MediaResponseDto;
 import com.communityplatform.content.dto.post.PostCreateDto;
 import com.communityplatform.content.dto.post.PostResponseDto;
 import com.communityplatform.content.dto.post.PostSummaryDto;
 import com.communityplatform.content.dto.post.PostUpdateDto;
 import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.PostChangedEvent;
+import com.communityplatform.content.event.PostCreatedEvent;
+import com.communityplatform.content.exception.InvalidCursorException;
 import com.communityplatform.content.exception.UnauthorizedOperationException;
 import com.communityplatform.content.mapper.PostMapper;
-import com.communityplatform.content.repository.LikeRepository;
+import com.communityplatform.content.pagination.PageCursor;
 import com.communityplatform.content.repository.PostRepository;
+import com.communityplatform.content.search.PostSearchIndex;
+import com.communityplatform.content.search.SearchHits;
+import com.communityplatform.content.service.LikeStateService;
+import com.communityplatform.content.service.MediaService;
+import com.communityplatform.content.service.TimelineService;
+import com.communityplatform.content.trending.TrendingEngine;
 
 @ExtendWith(MockitoExtension.class)
 class PostServiceImplTest {
@@ -46,7 +62,25 @@ class PostServiceImplTest {
     private UserServiceClient userServiceClient;
 
     @Mock
-    private LikeRepository likeRepository;
+    private LikeStateService likeStateService;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private EngagementCounterBuffer engagementCounterBuffer;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private TrendingEngine trendingEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MediaService mediaService;
 
     @InjectMocks
     private PostServiceImpl postService;
@@ -89,6 +123,9 @@ class PostServiceImplTest {
 
         assertThat(result.getUsername()).isEqualTo("user");
         assertThat(result.getLikedByCurrentUser()).isFalse();
+        verify(eventPublisher).publishEvent(new PostCreatedEvent(1L, 10L, null));
+        verify(timelineService, never()).fanOutPost(any(), any(), any());
+        verify(eventPublisher).publishEvent(PostChangedEvent.saved(saved));
     }
 
     @Test
@@ -109,7 +146,7 @@ class PostServiceImplTest {
         when(postMapper.toResponseDto(entity)).thenReturn(response);
         when(userServiceClient.getUserById(10L))
                 .thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, null)));
-        when(likeRepository.existsByUserIdAndPostId(5L, 2L)).thenReturn(true);
+        when(likeStateService.hasLikedPost(5L, 2L)).thenReturn(true);
 
         PostResponseDto result = postService.getPostById(2L, 5L);
 
@@ -141,6 +178,8 @@ class PostServiceImplTest {
         ArgumentCaptor<PostEntity> captor = ArgumentCaptor.forClass(PostEntity.class);
         verify(postRepository).save(captor.capture());
         assertThat(captor.getValue().getDeletedAt()).isNotNull();
+        verify(timelineService).retractPost(4L);
+        verify(eventPublisher).publishEvent(PostChangedEvent.deleted(4L));
     }
 
     @Test
@@ -151,14 +190,55 @@ class PostServiceImplTest {
         when(postRepository.findAllActive(any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 20), 1));
         when(postMapper.toSummaryDto(entity)).thenReturn(summary);
-        when(userServiceClient.getUserById(10L))
-                .thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, "pic")));
-        when(likeRepository.existsByUserIdAndPostId(1L, 5L)).thenReturn(true);
+        when(userServiceClient.getUsersByIds(List.of(10L)))
+                .thenReturn(Map.of(10L, new UserProfileDto(10L, "user", null, null, "pic")));
+        when(likeStateService.findLikedPostIds(1L, List.of(5L))).thenReturn(Set.of(5L));
+
+        when(mediaService.getPostAttachments(List.of(5L)))
+                .thenReturn(Map.of(5L, List.of(MediaResponseDto.builder().id(30L).build())));
 
         var page = postService.getAllPosts(1L, PageRequest.of(0, 20));
 
         assertThat(page.getContent().get(0).getUsername()).isEqualTo("user");
         assertThat(page.getContent().get(0).getLikedByCurrentUser()).isTrue();
+        assertThat(page.getContent().get(0).getMedia()).extracting(MediaResponseDto::getId).containsExactly(30L);
+    }
+
+    @Test
+    void createPostAttachesMedia() {
+        PostCreateDto request = PostCreateDto.builder()
+                .userId(10L)
+                .title("Title")
+                .content("Content")
+                .mediaIds(List.of(31L, 30L))
+                .build();
+        PostEntity entity = PostEntity.builder().userId(10L).title("Title").content("Content").build();
+        PostEntity saved = PostEntity.builder().id(1L).userId(10L).title("Title").content("Content").build();
+        List<MediaResponseDto> media = List.of(MediaResponseDto.builder().id(31L).build(),
+                MediaResponseDto.builder().id(30L).build());
+
+        when(postMapper.toEntity(request)).thenReturn(entity);
+        when(postRepository.save(entity)).thenReturn(saved);
+        when(postMapper.toResponseDto(saved)).thenReturn(PostResponseDto.builder().id(1L).userId(10L).build());
+        when(mediaService.getPostAttachments(List.of(1L))).thenReturn(Map.of(1L, media));
+
+        PostResponseDto result = postService.createPost(request);
+
+        verify(mediaService).attachToPost(1L, List.of(31L, 30L), 10L);
+        assertThat(result.getMedia()).isEqualTo(media);
+    }
+
+    @Test
+    void updatePostLeavesMediaAloneWhenNotGiven() {
+        PostEntity entity = PostEntity.builder().id(8L).userId(10L).title("Old").build();
+
+        when(postRepository.findByIdAndActive(8L)).thenReturn(Optional.of(entity));
+        when(postRepository.save(entity)).thenReturn(entity);
+        when(postMapper.toResponseDto(entity)).thenReturn(PostResponseDto.builder().id(8L).userId(10L).build());
+
+        postService.updatePost(8L, PostUpdateDto.builder().title("New").build(), 10L);
+
+        verify(mediaService, never()).attachToPost(any(), any(), any());
     }
 
     @Test
@@ -171,17 +251,16 @@ class PostServiceImplTest {
     }
 
     @Test
-    void getFeedPostsMergesSelf() {
+    void getFeedPostsReadsHomeTimeline() {
         PostEntity entity = PostEntity.builder().id(6L).userId(1L).title("Feed").build();
         PostSummaryDto summary = PostSummaryDto.builder().id(6L).userId(1L).title("Feed").build();
 
-        when(userServiceClient.getFollowingIds(1L)).thenReturn(List.of(2L));
-        when(postRepository.findByUserIdInAndDeletedAtIsNull(eq(List.of(2L, 1L)), any(Pageable.class)))
+        when(timelineService.getHomeTimeline(eq(1L), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 20), 1));
         when(postMapper.toSummaryDto(entity)).thenReturn(summary);
-        when(userServiceClient.getUserById(1L))
-                .thenReturn(Optional.of(new UserProfileDto(1L, "user", null, null, null)));
-        when(likeRepository.existsByUserIdAndPostId(1L, 6L)).thenReturn(false);
+        when(userServiceClient.getUsersByIds(List.of(1L)))
+                .thenReturn(Map.of(1L, new UserProfileDto(1L, "user", null, null, null)));
+        when(likeStateService.findLikedPostIds(1L, List.of(6L))).thenReturn(Set.of());
 
         var page = postService.getFeedPosts(1L, PageRequest.of(0, 20));
 
@@ -196,13 +275,50 @@ class PostServiceImplTest {
         when(postRepository.searchByTitleOrContent(eq("term"), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 20), 1));
         when(postMapper.toSummaryDto(entity)).thenReturn(summary);
-        when(userServiceClient.getUserById(2L)).thenReturn(Optional.empty());
+        when(userServiceClient.getUsersByIds(List.of(2L))).thenReturn(Map.of());
 
         var page = postService.searchPosts("term", null, PageRequest.of(0, 20));
 
         assertThat(page.getContent()).hasSize(1);
     }
 
+    @Test
+    void searchPostsUsesIndexRanking() {
+        PostEntity first = PostEntity.builder().id(7L).userId(2L).title("Best").build();
+        PostEntity second = PostEntity.builder().id(3L).userId(2L).title("Other").build();
+        PostSummaryDto firstSummary = PostSummaryDto.builder().id(7L).userId(2L).title("Best").build();
+        PostSummaryDto secondSummary = PostSummaryDto.builder().id(3L).userId(2L).title("Other").build();
+
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search("term", 0, 20)).thenReturn(new SearchHits(List.of(7L, 3L), 2));
+        when(postRepository.findAllById(List.of(7L, 3L))).thenReturn(List.of(second, first));
+        when(postMapper.toSummaryDto(first)).thenReturn(firstSummary);
+        when(postMapper.toSummaryDto(second)).thenReturn(secondSummary);
+        when(userServiceClient.getUsersByIds(List.of(2L, 2L))).thenReturn(Map.of());
+
+        var page = postService.searchPosts("term", null, PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).containsExactly(firstSummary, secondSummary);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void getTrendingPostsServesPrecomputedRanking() {
+        PostEntity entity = PostEntity.builder().id(8L).userId(2L).title("Hot").build();
+        PostSummaryDto summary = PostSummaryDto.builder().id(8L).userId(2L).title("Hot").build();
+
+        when(trendingEngine.isReady()).thenReturn(true);
+        when(trendingEngine.getTrending(PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(8L, 4L), PageRequest.of(0, 20), 2));
+        when(postRepository.findAllById(List.of(8L, 4L))).thenReturn(List.of(entity));
+        when(postMapper.toSummaryDto(entity)).thenReturn(summary);
+        when(userServiceClient.getUsersByIds(List.of(2L))).thenReturn(Map.of());
+
+        var page = postService.getTrendingPosts(null, PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).containsExactly(summary);
+    }
+
     @Test
     void updatePostReturnsResponse() {
         PostEntity entity = PostEntity.builder().id(8L).userId(10L).title("Old").build();
@@ -212,7 +328,7 @@ class PostServiceImplTest {
         when(postRepository.save(entity)).thenReturn(entity);
         when(postMapper.toResponseDto(entity)).thenReturn(response);
         when(userServiceClient.getUserById(10L)).thenReturn(Optional.of(new UserProfileDto(10L, "user", null, null, null)));
-        when(likeRepository.existsByUserIdAndPostId(10L, 8L)).thenReturn(false);
+        when(likeStateService.hasLikedPost(10L, 8L)).thenReturn(false);
 
         PostResponseDto result = postService.updatePost(8L, PostUpdateDto.builder().title("New").build(), 10L);
 
@@ -220,20 +336,44 @@ class PostServiceImplTest {
     }
 
     @Test
-    void incrementAndDecrementCounts() {
-        PostEntity entity = PostEntity.builder()
-                .id(9L)
-                .likeCount(1)
-                .commentCount(1)
-                .build();
-
-        when(postRepository.findById(9L)).thenReturn(Optional.of(entity));
-
+    void incrementAndDecrementCountsAreBuffered() {
         postService.incrementLikeCount(9L);
         postService.decrementLikeCount(9L);
         postService.incrementCommentCount(9L);
         postService.decrementCommentCount(9L);
 
-        verify(postRepository, org.mockito.Mockito.times(4)).save(entity);
+        verify(engagementCounterBuffer).addPostLikes(9L, 1);
+        verify(engagementCounterBuffer).addPostLikes(9L, -1);
+        verify(engagementCounterBuffer).addPostComments(9L, 1);
+        verify(engagementCounterBuffer).addPostComments(9L, -1);
+        verify(trendingEngine).recordLike(9L, 1);
+        verify(trendingEngine).recordComment(9L, -1);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void getAllPostsByCursorReturnsNextCursorWhenMoreRows() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        PostEntity first = PostEntity.builder().id(12L).userId(10L).title("First").createdAt(createdAt).build();
+        PostEntity extra = PostEntity.builder().id(11L).userId(10L).title("Extra").createdAt(createdAt).build();
+        PostSummaryDto summary = PostSummaryDto.builder().id(12L).userId(10L).title("First").build();
+        PageCursor position = new PageCursor(createdAt.plusDays(1), 20L);
+
+        when(postRepository.findAllActiveBefore(position.createdAt(), 20L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, extra));
+        when(postMapper.toSummaryDto(first)).thenReturn(summary);
+        when(userServiceClient.getUsersByIds(List.of(10L))).thenReturn(Map.of());
+
+        var slice = postService.getAllPostsByCursor(null, position.encode(), 1);
+
+        assertThat(slice.getContent()).containsExactly(summary);
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(PageCursor.descending(slice.getNextCursor())).isEqualTo(new PageCursor(createdAt, 12L));
+    }
+
+    @Test
+    void getAllPostsByCursorRejectsMalformedCursor() {
+        assertThatThrownBy(() -> postService.getAllPostsByCursor(null, "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
     }
 }
@@ -0,0 +1,229 @@
+package com.communityplatform.content.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.communityplatform.content.UserServiceClient;
+import com.communityplatform.content.entity.HighFanoutAuthorEntity;
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.entity.TimelineEntryEntity;
+import com.communityplatform.content.pagination.PageCursor;
+import com.communityplatform.content.repository.HighFanoutAuthorRepository;
+import com.communityplatform.content.repository.MaterializedTimelineRepository;
+import com.communityplatform.content.repository.PostRepository;
+import com.communityplatform.content.repository.TimelineEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceImplTest {
+
+    @Mock
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Mock
+    private HighFanoutAuthorRepository highFanoutAuthorRepository;
+
+    @Mock
+    private MaterializedTimelineRepository materializedTimelineRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @InjectMocks
+    private TimelineServiceImpl timelineService;
+
+    private PostEntity post(Long id, Long userId, LocalDateTime createdAt) {
+        return PostEntity.builder().id(id).userId(userId).title("Post").createdAt(createdAt).build();
+    }
+
+    @Test
+    void fanOutPostPushesToAuthorAndFollowers() {
+        ReflectionTestUtils.setField(timelineService, "maxEntries", 800);
+        ReflectionTestUtils.setField(timelineService, "fanoutFollowerThreshold", 10);
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        when(userServiceClient.getFollowerIds(1L)).thenReturn(Optional.of(List.of(2L, 3L)));
+        when(highFanoutAuthorRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        timelineService.fanOutPost(10L, 1L, createdAt);
+
+        verify(timelineEntryRepository).insertEntries(10L, 1L, createdAt, List.of(1L, 2L, 3L));
+        verify(timelineEntryRepository).trimTimelines(List.of(1L, 2L, 3L), 800);
+    }
+
+    @Test
+    void fanOutPostSkipsFollowersAboveThreshold() {
+        ReflectionTestUtils.setField(timelineService, "maxEntries", 800);
+        ReflectionTestUtils.setField(timelineService, "fanoutFollowerThreshold", 1);
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        when(userServiceClient.getFollowerIds(1L)).thenReturn(Optional.of(List.of(2L, 3L)));
+        when(highFanoutAuthorRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        timelineService.fanOutPost(10L, 1L, createdAt);
+
+        ArgumentCaptor<HighFanoutAuthorEntity> captor = ArgumentCaptor.forClass(HighFanoutAuthorEntity.class);
+        verify(highFanoutAuthorRepository).save(captor.capture());
+        assertThat(captor.getValue().getUserId()).isEqualTo(1L);
+        assertThat(captor.getValue().getFollowerCount()).isEqualTo(2L);
+        verify(timelineEntryRepository).insertEntries(10L, 1L, createdAt, List.of(1L));
+    }
+
+    @Test
+    void fanOutPostBackfillsFollowersWhenAuthorLeavesHighFanout() {
+        ReflectionTestUtils.setField(timelineService, "maxEntries", 800);
+        ReflectionTestUtils.setField(timelineService, "fanoutFollowerThreshold", 10);
+        ReflectionTestUtils.setField(timelineService, "backfillPosts", 100);
+        LocalDateTime createdAt = LocalDateTime.now();
+        HighFanoutAuthorEntity highFanout = HighFanoutAuthorEntity.builder().userId(1L).followerCount(0L).build();
+        PostEntity current = post(10L, 1L, createdAt);
+        PostEntity earlier = post(9L, 1L, createdAt.minusHours(1));
+
+        when(userServiceClient.getFollowerIds(1L)).thenReturn(Optional.of(List.of(2L, 3L)));
+        when(highFanoutAuthorRepository.findByUserId(1L)).thenReturn(Optional.of(highFanout));
+        when(postRepository.findByUserIdBefore(eq(1L), any(), any(), eq(PageRequest.of(0, 100))))
+                .thenReturn(List.of(current, earlier));
+
+        timelineService.fanOutPost(10L, 1L, createdAt);
+
+        verify(timelineEntryRepository).insertEntries(10L, 1L, createdAt, List.of(1L, 2L, 3L));
+        verify(timelineEntryRepository).insertMissingPosts(List.of(1L, 2L, 3L), List.of(earlier));
+        verify(highFanoutAuthorRepository).delete(highFanout);
+    }
+
+    @Test
+    void fanOutPostKeepsAuthorHighFanoutWhenFollowersUnknown() {
+        ReflectionTestUtils.setField(timelineService, "maxEntries", 800);
+        LocalDateTime createdAt = LocalDateTime.now();
+        HighFanoutAuthorEntity highFanout = HighFanoutAuthorEntity.builder().userId(1L).followerCount(0L).build();
+
+        when(userServiceClient.getFollowerIds(1L)).thenReturn(Optional.empty());
+        when(highFanoutAuthorRepository.findByUserId(1L)).thenReturn(Optional.of(highFanout));
+
+        timelineService.fanOutPost(10L, 1L, createdAt);
+
+        verify(highFanoutAuthorRepository).save(highFanout);
+        verify(highFanoutAuthorRepository, never()).delete(any());
+        verify(timelineEntryRepository, never()).insertMissingPosts(any(), any());
+        verify(timelineEntryRepository).insertEntries(10L, 1L, createdAt, List.of(1L));
+    }
+
+    @Test
+    void retractPostDeletesEntries() {
+        timelineService.retractPost(10L);
+
+        verify(timelineEntryRepository).deleteByPostId(10L);
+    }
+
+    @Test
+    void getHomeTimelineReadsMaterializedEntries() {
+        PostEntity first = post(12L, 2L, LocalDateTime.now());
+        PostEntity second = post(11L, 3L, LocalDateTime.now().minusMinutes(1));
+
+        when(materializedTimelineRepository.existsByOwnerUserId(1L)).thenReturn(true);
+        when(highFanoutAuthorRepository.findAllUserIds()).thenReturn(List.of());
+        when(timelineEntryRepository.findPostIdsByOwnerUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(12L, 11L), PageRequest.of(0, 20), 2));
+        when(postRepository.findAllById(List.of(12L, 11L))).thenReturn(List.of(second, first));
+
+        var page = timelineService.getHomeTimeline(1L, PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).containsExactly(first, second);
+        verify(userServiceClient, never()).getFollowingIds(any());
+    }
+
+    @Test
+    void getHomeTimelineMergesHighFanoutAuthors() {
+        LocalDateTime now = LocalDateTime.now();
+        PostEntity fanned = post(20L, 2L, now.minusMinutes(2));
+        PostEntity pulled = post(21L, 9L, now.minusMinutes(1));
+        TimelineEntryEntity entry = TimelineEntryEntity.builder()
+                .ownerUserId(1L).postId(20L).authorUserId(2L).postCreatedAt(fanned.getCreatedAt()).build();
+
+        when(materializedTimelineRepository.existsByOwnerUserId(1L)).thenReturn(true);
+        when(highFanoutAuthorRepository.findAllUserIds()).thenReturn(List.of(9L, 99L));
+        when(userServiceClient.getFollowingIds(1L)).thenReturn(List.of(2L, 9L));
+        when(timelineEntryRepository.findByOwnerUserIdExcludingAuthors(eq(1L), eq(List.of(9L)), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(entry), PageRequest.of(0, 20), 1));
+        when(postRepository.findByUserIdInAndDeletedAtIsNull(eq(List.of(9L)), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(pulled), PageRequest.of(0, 20), 1));
+        when(postRepository.findAllById(List.of(20L))).thenReturn(List.of(fanned));
+
+        var page = timelineService.getHomeTimeline(1L, PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).containsExactly(pulled, fanned);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void getHomeTimelineSeedsTimelineOnFirstRead() {
+        ReflectionTestUtils.setField(timelineService, "maxEntries", 800);
+        PostEntity entity = post(6L, 2L, LocalDateTime.now());
+        PageCursor newest = PageCursor.descending(null);
+
+        when(materializedTimelineRepository.existsByOwnerUserId(1L)).thenReturn(false);
+        when(materializedTimelineRepository.claim(1L)).thenReturn(1);
+        when(userServiceClient.getFollowingIds(1L)).thenReturn(List.of(2L));
+        when(highFanoutAuthorRepository.findAllUserIds()).thenReturn(List.of());
+        when(postRepository.findByUserIdInBefore(List.of(2L, 1L), newest.createdAt(), newest.id(),
+                PageRequest.of(0, 800))).thenReturn(List.of(entity));
+        when(timelineEntryRepository.findPostIdsByOwnerUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(6L), PageRequest.of(0, 20), 1));
+        when(postRepository.findAllById(List.of(6L))).thenReturn(List.of(entity));
+
+        var page = timelineService.getHomeTimeline(1L, PageRequest.of(0, 20));
+
+        verify(timelineEntryRepository).deleteByOwnerUserId(1L);
+        verify(timelineEntryRepository).insertPosts(1L, List.of(entity));
+        assertThat(page.getContent()).containsExactly(entity);
+    }
+
+    @Test
+    void applyFollowChangeBackfillsFollowedAuthor() {
+        ReflectionTestUtils.setField(timelineService, "maxEntries", 800);
+        PostEntity entity = post(7L, 2L, LocalDateTime.now());
+        PageCursor newest = PageCursor.descending(null);
+
+        when(materializedTimelineRepository.existsByOwnerUserId(1L)).thenReturn(true);
+        when(highFanoutAuthorRepository.findByUserId(2L)).thenReturn(Optional.empty());
+        when(postRepository.findByUserIdBefore(2L, newest.createdAt(), newest.id(), PageRequest.of(0, 800)))
+                .thenReturn(List.of(entity));
+
+        timelineService.applyFollowChange(1L, 2L, true);
+
+        verify(timelineEntryRepository).deleteByOwnerUserIdAndAuthorUserId(1L, 2L);
+        verify(timelineEntryRepository).insertPosts(1L, List.of(entity));
+        verify(timelineEntryRepository).trimTimelines(List.of(1L), 800);
+    }
+
+    @Test
+    void applyFollowChangeRemovesUnfollowedAuthor() {
+        when(materializedTimelineRepository.existsByOwnerUserId(1L)).thenReturn(true);
+
+        timelineService.applyFollowChange(1L, 2L, false);
+
+        verify(timelineEntryRepository).deleteByOwnerUserIdAndAuthorUserId(1L, 2L);
+        verify(postRepository, never()).findByUserIdBefore(any(), any(), any(), any());
+    }
+}
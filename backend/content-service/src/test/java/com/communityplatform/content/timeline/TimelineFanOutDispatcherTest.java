@@ -0,0 +1,78 @@
+package com.communityplatform.content.timeline;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.communityplatform.content.event.PostCreatedEvent;
+import com.communityplatform.content.service.TimelineService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineFanOutDispatcherTest {
+
+    @Mock
+    private TimelineService timelineService;
+
+    private TimelineFanOutDispatcher dispatcher;
+
+    @AfterEach
+    void stop() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void fansOutCreatedPostInBackground() {
+        dispatcher = new TimelineFanOutDispatcher(timelineService, new SimpleMeterRegistry(), 1, 10);
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        dispatcher.onPostCreated(new PostCreatedEvent(10L, 1L, createdAt));
+
+        verify(timelineService, timeout(5000)).fanOutPost(10L, 1L, createdAt);
+    }
+
+    @Test
+    void defersAuthorWhenFanOutFails() {
+        dispatcher = new TimelineFanOutDispatcher(timelineService, new SimpleMeterRegistry(), 1, 10);
+        LocalDateTime createdAt = LocalDateTime.now();
+        doThrow(new IllegalStateException("down")).when(timelineService).fanOutPost(10L, 1L, createdAt);
+
+        dispatcher.onPostCreated(new PostCreatedEvent(10L, 1L, createdAt));
+
+        verify(timelineService, timeout(5000)).deferFanOut(1L);
+    }
+
+    @Test
+    void defersAuthorWhenQueueIsFull() throws InterruptedException {
+        dispatcher = new TimelineFanOutDispatcher(timelineService, new SimpleMeterRegistry(), 1, 1);
+        LocalDateTime createdAt = LocalDateTime.now();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(timelineService).fanOutPost(10L, 1L, createdAt);
+
+        dispatcher.onPostCreated(new PostCreatedEvent(10L, 1L, createdAt));
+        started.await();
+        dispatcher.onPostCreated(new PostCreatedEvent(11L, 2L, createdAt));
+        dispatcher.onPostCreated(new PostCreatedEvent(12L, 3L, createdAt));
+
+        verify(timelineService).deferFanOut(3L);
+        release.countDown();
+    }
+}
@@ -0,0 +1,137 @@
+package com.communityplatform.content.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.communityplatform.content.entity.PostEntity;
+import com.communityplatform.content.event.PostChangedEvent;
+import com.communityplatform.content.repository.PostRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingEngineTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private MutableClock clock;
+    private TrendingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T12:00:00Z"));
+        engine = new TrendingEngine(postRepository, clock);
+        ReflectionTestUtils.setField(engine, "halfLifeHours", 6.0);
+        ReflectionTestUtils.setField(engine, "windowHours", 72L);
+        ReflectionTestUtils.setField(engine, "topK", 2);
+    }
+
+    @Test
+    void refreshSeedsFromStoredCountsAndKeepsTopK() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        when(postRepository.findActiveCreatedSince(eq(now.minusHours(72)), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(
+                        post(1L, now.minusHours(1), 5, 0),
+                        post(2L, now.minusHours(1), 1, 1),
+                        post(3L, now.minusHours(1), 9, 3)));
+
+        engine.refresh();
+
+        assertThat(engine.isReady()).isTrue();
+        assertThat(engine.getTrending(PageRequest.of(0, 10)).getContent()).containsExactly(3L, 1L);
+        assertThat(engine.getTrending(PageRequest.of(1, 1)).getContent()).containsExactly(1L);
+    }
+
+    @Test
+    void recentEngagementOutranksOlderEngagement() {
+        when(postRepository.findActiveCreatedSince(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of());
+        engine.refresh();
+        engine.onPostChanged(created(1L, LocalDateTime.now(clock)));
+        engine.onPostChanged(created(2L, LocalDateTime.now(clock)));
+
+        for (int i = 0; i < 10; i++) {
+            engine.recordLike(1L, 1);
+        }
+        clock.advance(Duration.ofHours(24));
+        engine.refresh();
+        for (int i = 0; i < 3; i++) {
+            engine.recordComment(2L, 1);
+        }
+        engine.refresh();
+
+        assertThat(engine.getTrending(PageRequest.of(0, 10)).getContent()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void deletedAndExpiredPostsDropOut() {
+        when(postRepository.findActiveCreatedSince(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of());
+        engine.refresh();
+        engine.onPostChanged(created(1L, LocalDateTime.now(clock)));
+        engine.onPostChanged(created(2L, LocalDateTime.now(clock).minusHours(71)));
+        engine.onPostChanged(created(3L, LocalDateTime.now(clock).minusHours(100)));
+        engine.refresh();
+
+        assertThat(engine.getTrending(PageRequest.of(0, 10)).getContent()).containsExactly(1L, 2L);
+
+        engine.onPostChanged(PostChangedEvent.deleted(1L));
+        clock.advance(Duration.ofHours(2));
+        engine.refresh();
+
+        assertThat(engine.getTrending(PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    private static PostEntity post(Long id, LocalDateTime createdAt, int likes, int comments) {
+        return PostEntity.builder().id(id).createdAt(createdAt).likeCount(likes).commentCount(comments).build();
+    }
+
+    private static PostChangedEvent created(Long id, LocalDateTime createdAt) {
+        return PostChangedEvent.saved(PostEntity.builder().id(id).title("Post").createdAt(createdAt).build());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
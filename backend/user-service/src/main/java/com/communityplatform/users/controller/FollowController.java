@@ -101,6 +101,21 @@ public class FollowController {
         return ResponseEntity.ok(followers);
     }
 
+    /**
+     * Get the IDs of a user's followers.
+     * GET /api/v1/users/{userId}/followers/ids
+     */
+    @Operation(summary = "Get user's follower IDs", description = "Retrieves only the IDs of users following the specified user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Follower IDs retrieved successfully")
+    })
+    @GetMapping("/{userId}/followers/ids")
+    public ResponseEntity<List<Long>> getFollowerIds(@PathVariable Long userId) {
+        log.info("GET /api/v1/users/{}/followers/ids - Fetching follower ids", userId);
+        List<Long> followerIds = followService.getFollowerIds(userId);
+        return ResponseEntity.ok(followerIds);
+    }
+
     /**
      * Get users that a user is following.
      * GET /api/v1/users/{userId}/following
@@ -116,6 +131,21 @@ public class FollowController {
         return ResponseEntity.ok(following);
     }
 
+    /**
+     * Get the IDs of users that a user is following.
+     * GET /api/v1/users/{userId}/following/ids
+     */
+    @Operation(summary = "Get followed user IDs", description = "Retrieves only the IDs of users the specified user is following")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Following IDs retrieved successfully")
+    })
+    @GetMapping("/{userId}/following/ids")
+    public ResponseEntity<List<Long>> getFollowingIds(@PathVariable Long userId) {
+        log.info("GET /api/v1/users/{}/following/ids - Fetching following ids", userId);
+        List<Long> followingIds = followService.getFollowingIds(userId);
+        return ResponseEntity.ok(followingIds);
+    }
+
     /**
      * Check if the authenticated user is following a specific user.
      * GET /api/v1/users/{userId}/follow/check
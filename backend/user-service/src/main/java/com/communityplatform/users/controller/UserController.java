@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.communityplatform.users.dto.user.ChangePasswordDto;
@@ -79,6 +80,25 @@ public class UserController {
                 return ResponseEntity.ok(response);
         }
 
+        /**
+         * Get multiple users by ID in one call.
+         * GET /api/v1/users/batch?ids=1,2,3
+         * 
+         * @param ids user IDs
+         * @return 200 OK with the users that exist and are active
+         */
+        @Operation(summary = "Get users by IDs", description = "Retrieves several active users in a single lookup; unknown IDs are skipped")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Too many IDs requested")
+        })
+        @GetMapping("/batch")
+        public ResponseEntity<List<UserResponseDto>> getUsersByIds(@RequestParam List<Long> ids) {
+                log.info("GET /api/v1/users/batch - Fetching {} users", ids.size());
+                List<UserResponseDto> response = userService.getUsersByIds(ids);
+                return ResponseEntity.ok(response);
+        }
+
         /**
          * Get all active users.
          * GET /api/v1/users
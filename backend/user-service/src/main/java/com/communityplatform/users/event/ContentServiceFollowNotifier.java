@@ -0,0 +1,61 @@
+package com.communityplatform.users.event;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forwards committed follow changes to content-service so it can invalidate its
+ * cached follow graph and update home timelines.
+ * 
+ * Delivery is best effort: content-service cache entries also expire on their
+ * own, so a lost notification only delays visibility of the change.
+ */
+@Component
+@Slf4j
+public class ContentServiceFollowNotifier {
+
+    private final RestClient contentServiceRestClient;
+    private final boolean enabled;
+
+    public ContentServiceFollowNotifier(RestClient.Builder builder,
+            @Value("${content-service.base-url}") String baseUrl,
+            @Value("${content-service.timeout-ms:2000}") long timeoutMs,
+            @Value("${content-service.follow-events.enabled:true}") boolean enabled) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(timeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        this.contentServiceRestClient = builder
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+        this.enabled = enabled;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFollowChanged(FollowChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            contentServiceRestClient.post()
+                    .uri("/internal/follow-events")
+                    .body(event)
+                    .retrieve()
+                    .toBodilessEntity();
+            log.debug("Notified content-service of follow change {} -> {}", event.followerId(), event.followingId());
+        } catch (Exception ex) {
+            log.warn("Failed to notify content-service of follow change {} -> {}: {}",
+                    event.followerId(), event.followingId(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.communityplatform.users.event;
+
+/**
+ * Application event published when a follow relationship is created or removed.
+ * 
+ * @param followerId  ID of the user who follows / unfollows
+ * @param followingId ID of the user being followed / unfollowed
+ * @param following   true for a follow, false for an unfollow
+ */
+public record FollowChangedEvent(Long followerId, Long followingId, boolean following) {
+
+    public static FollowChangedEvent followed(Long followerId, Long followingId) {
+        return new FollowChangedEvent(followerId, followingId, true);
+    }
+
+    public static FollowChangedEvent unfollowed(Long followerId, Long followingId) {
+        return new FollowChangedEvent(followerId, followingId, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.communityplatform.users.exception;
+
+/**
+ * Exception thrown when a batch lookup requests more IDs than allowed.
+ */
+public class BatchSizeExceededException extends BusinessException {
+
+    public BatchSizeExceededException(int maxSize) {
+        super("Cannot fetch more than " + maxSize + " users at once");
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.communityplatform.users.exception.BadCredentialsException;
+import com.communityplatform.users.exception.BatchSizeExceededException;
 import com.communityplatform.users.exception.DuplicateUserException;
 import com.communityplatform.users.exception.InvalidTokenException;
 import com.communityplatform.users.exception.ResourceNotFoundException;
@@ -241,6 +242,23 @@ public class GlobalExceptionHandler {
                 return problem;
         }
 
+        /**
+         * Handle BatchSizeExceededException (400 BAD REQUEST).
+         */
+        @ExceptionHandler(BatchSizeExceededException.class)
+        public ProblemDetail handleBatchSizeExceeded(BatchSizeExceededException ex, HttpServletRequest request) {
+                log.error("Batch size exceeded: {}", ex.getMessage());
+
+                ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                                HttpStatus.BAD_REQUEST,
+                                ex.getMessage());
+                problem.setTitle("Batch Size Exceeded");
+                problem.setProperty("timestamp", LocalDateTime.now());
+                problem.setProperty("path", request.getRequestURI());
+
+                return problem;
+        }
+
         /**
          * Handle AlreadyFollowingException (409 CONFLICT).
          */
@@ -5,6 +5,8 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +45,20 @@ public interface FollowRepository extends JpaRepository<FollowEntity, Long> {
      */
     List<FollowEntity> findByFollowingId(Long followingId);
 
+    /**
+     * Find the IDs of all followers of a specific user.
+     * Projects only the ID column so no user rows have to be loaded.
+     */
+    @Query("SELECT f.followerId FROM FollowEntity f WHERE f.followingId = :followingId")
+    List<Long> findFollowerIdsByFollowingId(@Param("followingId") Long followingId);
+
+    /**
+     * Find the IDs of all users a specific user is following.
+     * Projects only the ID column so no user rows have to be loaded.
+     */
+    @Query("SELECT f.followingId FROM FollowEntity f WHERE f.followerId = :followerId")
+    List<Long> findFollowingIdsByFollowerId(@Param("followerId") Long followerId);
+
     /**
      * Count followers of a specific user.
      */
@@ -35,6 +35,15 @@ public interface FollowService {
      */
     List<UserSummaryDto> getFollowers(Long userId);
 
+    /**
+     * Get the IDs of all followers of a user.
+     * Lightweight variant of {@link #getFollowers(Long)} for service-to-service use.
+     * 
+     * @param userId ID of the user
+     * @return list of follower IDs
+     */
+    List<Long> getFollowerIds(Long userId);
+
     /**
      * Get all users that a user is following.
      * 
@@ -43,6 +52,15 @@ public interface FollowService {
      */
     List<UserSummaryDto> getFollowing(Long userId);
 
+    /**
+     * Get the IDs of all users a user is following.
+     * Lightweight variant of {@link #getFollowing(Long)} for service-to-service use.
+     * 
+     * @param userId ID of the user
+     * @return list of followed user IDs
+     */
+    List<Long> getFollowingIds(Long userId);
+
     /**
      * Check if one user is following another.
      * 
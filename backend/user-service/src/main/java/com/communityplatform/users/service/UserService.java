@@ -1,5 +1,6 @@
 package com.communityplatform.users.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.communityplatform.users.dto.user.ChangePasswordDto;
@@ -30,6 +31,15 @@ public interface UserService {
      */
     UserResponseDto getUserById(Long userId);
 
+    /**
+     * Get active users by IDs in a single lookup.
+     * Unknown or deleted IDs are silently skipped.
+     * 
+     * @param userIds user IDs (duplicates and nulls are ignored)
+     * @return list of active users, in no particular order
+     */
+    List<UserResponseDto> getUsersByIds(Collection<Long> userIds);
+
     /**
      * Get all active users.
      * 
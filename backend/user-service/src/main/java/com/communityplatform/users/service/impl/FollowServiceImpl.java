@@ -3,6 +3,7 @@ package com.communityplatform.users.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,6 +12,7 @@ import com.communityplatform.users.dto.follow.FollowResponseDto;
 import com.communityplatform.users.dto.user.UserSummaryDto;
 import com.communityplatform.users.entity.FollowEntity;
 import com.communityplatform.users.entity.UserEntity;
+import com.communityplatform.users.event.FollowChangedEvent;
 import com.communityplatform.users.exception.AlreadyFollowingException;
 import com.communityplatform.users.exception.NotFollowingException;
 import com.communityplatform.users.exception.SelfFollowException;
@@ -32,6 +34,7 @@ public class FollowServiceImpl implements FollowService {
 
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -60,6 +63,7 @@ public class FollowServiceImpl implements FollowService {
                 .build();
 
         followRepository.save(follow);
+        eventPublisher.publishEvent(FollowChangedEvent.followed(followerId, followingId));
         log.info("User {} now following user {}", followerId, followingId);
     }
 
@@ -75,6 +79,7 @@ public class FollowServiceImpl implements FollowService {
 
         // Delete follow relationship
         followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId);
+        eventPublisher.publishEvent(FollowChangedEvent.unfollowed(followerId, followingId));
         log.info("User {} unfollowed user {}", followerId, followingId);
     }
 
@@ -97,6 +102,13 @@ public class FollowServiceImpl implements FollowService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getFollowerIds(Long userId) {
+        log.debug("Getting follower ids for user {}", userId);
+        return followRepository.findFollowerIdsByFollowingId(userId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UserSummaryDto> getFollowing(Long userId) {
@@ -116,6 +128,13 @@ public class FollowServiceImpl implements FollowService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getFollowingIds(Long userId) {
+        log.debug("Getting following ids for user {}", userId);
+        return followRepository.findFollowingIdsByFollowerId(userId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public FollowResponseDto isFollowing(Long followerId, Long followingId) {
@@ -1,6 +1,12 @@
 package com.communityplatform.users.service.impl;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -12,6 +18,7 @@ import com.communityplatform.users.dto.user.UserResponseDto;
 import com.communityplatform.users.dto.user.UserUpdateDto;
 import com.communityplatform.users.entity.UserEntity;
 import com.communityplatform.users.exception.BadCredentialsException;
+import com.communityplatform.users.exception.BatchSizeExceededException;
 import com.communityplatform.users.exception.DuplicateUserException;
 import com.communityplatform.users.exception.UserNotFoundException;
 import com.communityplatform.users.mapper.UserMapper;
@@ -31,6 +38,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    /** Upper bound on IDs accepted by a single batch lookup. */
+    static final int MAX_BATCH_SIZE = 100;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
@@ -86,6 +96,27 @@ public class UserServiceImpl implements UserService {
         return userMapper.toResponseDto(entity);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> getUsersByIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BatchSizeExceededException(MAX_BATCH_SIZE);
+        }
+
+        log.info("Fetching {} users by id", distinctIds.size());
+        return userMapper.toResponseDtoList(userRepository.findAllActiveByIdIn(distinctIds));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UserResponseDto> getAllUsers() {
@@ -77,6 +77,15 @@ class FollowControllerTest {
                 .andExpect(jsonPath("$[0].username").value("u1"));
     }
 
+    @Test
+    void getFollowerIdsReturnsOk() throws Exception {
+        when(followService.getFollowerIds(5L)).thenReturn(List.of(1L, 2L));
+
+        mockMvc.perform(get("/api/v1/users/5/followers/ids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1]").value(2));
+    }
+
     @Test
     void getFollowingReturnsOk() throws Exception {
         List<UserSummaryDto> response = List.of(
@@ -89,6 +98,15 @@ class FollowControllerTest {
                 .andExpect(jsonPath("$[0].username").value("u2"));
     }
 
+    @Test
+    void getFollowingIdsReturnsOk() throws Exception {
+        when(followService.getFollowingIds(5L)).thenReturn(List.of(2L, 3L));
+
+        mockMvc.perform(get("/api/v1/users/5/following/ids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(2));
+    }
+
     @Test
     void isFollowingReturnsOk() throws Exception {
         when(userRepository.existsById(anyLong())).thenReturn(true);
@@ -102,6 +102,19 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].username").value("u1"));
     }
 
+    @Test
+    void getUsersByIdsReturnsOk() throws Exception {
+        List<UserResponseDto> response = List.of(
+                UserResponseDto.builder().id(1L).username("u1").build(),
+                UserResponseDto.builder().id(3L).username("u3").build());
+
+        when(userService.getUsersByIds(List.of(1L, 3L))).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/users/batch").param("ids", "1,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].username").value("u3"));
+    }
+
     @Test
     void updateUserReturnsOk() throws Exception {
         UserUpdateDto request = UserUpdateDto.builder()
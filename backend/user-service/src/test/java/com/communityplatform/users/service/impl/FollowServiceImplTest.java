@@ -13,12 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.communityplatform.users.dto.follow.FollowCountDto;
 import com.communityplatform.users.dto.follow.FollowResponseDto;
 import com.communityplatform.users.dto.user.UserSummaryDto;
 import com.communityplatform.users.entity.FollowEntity;
 import com.communityplatform.users.entity.UserEntity;
+import com.communityplatform.users.event.FollowChangedEvent;
 import com.communityplatform.users.exception.SelfFollowException;
 import com.communityplatform.users.repository.FollowRepository;
 import com.communityplatform.users.repository.UserRepository;
@@ -32,6 +34,9 @@ class FollowServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FollowServiceImpl followService;
 
@@ -43,6 +48,17 @@ class FollowServiceImplTest {
         followService.followUser(1L, 2L);
 
         verify(followRepository).save(any(FollowEntity.class));
+        verify(eventPublisher).publishEvent(FollowChangedEvent.followed(1L, 2L));
+    }
+
+    @Test
+    void unfollowUserPublishesEvent() {
+        when(followRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(true);
+
+        followService.unfollowUser(1L, 2L);
+
+        verify(followRepository).deleteByFollowerIdAndFollowingId(1L, 2L);
+        verify(eventPublisher).publishEvent(FollowChangedEvent.unfollowed(1L, 2L));
     }
 
     @Test
@@ -64,6 +80,24 @@ class FollowServiceImplTest {
         assertThat(result.get(0).getFullName()).isEqualTo("User One");
     }
 
+    @Test
+    void getFollowerIdsReturnsProjectedIds() {
+        when(followRepository.findFollowerIdsByFollowingId(3L)).thenReturn(List.of(1L, 2L));
+
+        List<Long> result = followService.getFollowerIds(3L);
+
+        assertThat(result).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void getFollowingIdsReturnsProjectedIds() {
+        when(followRepository.findFollowingIdsByFollowerId(5L)).thenReturn(List.of(6L, 7L));
+
+        List<Long> result = followService.getFollowingIds(5L);
+
+        assertThat(result).containsExactly(6L, 7L);
+    }
+
     @Test
     void getFollowingReturnsEmptyWhenNoFollows() {
         when(followRepository.findByFollowerId(5L)).thenReturn(List.of());
@@ -25,6 +25,7 @@ import com.communityplatform.users.dto.user.UserResponseDto;
 import com.communityplatform.users.dto.user.UserUpdateDto;
 import com.communityplatform.users.entity.UserEntity;
 import com.communityplatform.users.exception.BadCredentialsException;
+import com.communityplatform.users.exception.BatchSizeExceededException;
 import com.communityplatform.users.exception.DuplicateUserException;
 import com.communityplatform.users.exception.UserNotFoundException;
 import com.communityplatform.users.mapper.UserMapper;
@@ -151,6 +152,33 @@ class UserServiceImplTest {
         assertThat(result).hasSize(1);
     }
 
+    @Test
+    void getUsersByIdsDeduplicatesAndSkipsNulls() {
+        List<UserEntity> entities = List.of(
+                UserEntity.builder().id(1L).username("u1").build(),
+                UserEntity.builder().id(2L).username("u2").build());
+        List<UserResponseDto> responses = List.of(
+                UserResponseDto.builder().id(1L).username("u1").build(),
+                UserResponseDto.builder().id(2L).username("u2").build());
+
+        when(userRepository.findAllActiveByIdIn(java.util.Set.of(1L, 2L))).thenReturn(entities);
+        when(userMapper.toResponseDtoList(entities)).thenReturn(responses);
+
+        List<UserResponseDto> result = userService.getUsersByIds(java.util.Arrays.asList(1L, 2L, 1L, null));
+
+        assertThat(result).hasSize(2);
+    }
+
+    @Test
+    void getUsersByIdsRejectsOversizedBatch() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, UserServiceImpl.MAX_BATCH_SIZE + 1)
+                .boxed()
+                .toList();
+
+        assertThatThrownBy(() -> userService.getUsersByIds(ids))
+                .isInstanceOf(BatchSizeExceededException.class);
+    }
+
     @Test
     void updateUserReturnsResponse() {
         UserEntity entity = UserEntity.builder()
@@ -1,9 +1,12 @@
+import { MediaResponse } from './media.model';
+
 export interface PostSummary {
   id: number;
   userId: number;
   username?: string;
   profilePictureUrl?: string;
   title: string;
+  media?: MediaResponse[];
   likeCount: number;
   commentCount: number;
   createdAt: string;
@@ -18,6 +21,7 @@ export interface Post {
   title: string;
   content: string;
   mediaUrls?: string;
+  media?: MediaResponse[];
   likeCount: number;
   commentCount: number;
   likedByCurrentUser?: boolean;
@@ -29,10 +33,12 @@ export interface PostCreate {
   title: string;
   content: string;
   mediaUrls?: string;
+  mediaIds?: number[];
 }
 
 export interface PostUpdate {
   title?: string;
   content?: string;
   mediaUrls?: string;
+  mediaIds?: number[];
 }
@@ -163,22 +163,22 @@ export class FeedComponent {
                         fileSize: file.size
                       })
                     ),
-                    map((confirmed) => confirmed.url)
+                    map((confirmed) => confirmed.id)
                   )
                 )
               )
           ),
           toArray()
         )
-      : of([] as string[]);
+      : of([] as number[]);
 
     upload$
       .pipe(
-        switchMap((urls) =>
+        switchMap((mediaIds) =>
           this.postService.create({
             title,
             content,
-            mediaUrls: urls.length ? urls.join(',') : undefined
+            mediaIds: mediaIds.length ? mediaIds : undefined
           })
         )
       )
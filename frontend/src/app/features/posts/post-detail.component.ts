@@ -38,6 +38,10 @@ export class PostDetailComponent {
   readonly errorMessage = signal<string | null>(null);
   readonly editing = signal(false);
   readonly mediaUrls = computed(() => {
+    const media = this.post()?.media;
+    if (media?.length) {
+      return media.map((item) => item.url);
+    }
     const raw = this.post()?.mediaUrls;
     if (!raw) {
       return [] as string[];